@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.benchmark;
+
+import com.google.common.collect.Range;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import vartas.discord.blanc.command.reddit.SnowflakeCommand;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares computing the core statistics of a subreddit with one pass per value, as it is done by the individual
+ * methods of the {@link SnowflakeCommand}, with computing all of them within a single pass.
+ * <p>
+ * Run with {@code java -jar benchmark/target/benchmarks.jar AggregationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AggregationBenchmark {
+    private static final Instant FROM = Instant.parse("2020-01-01T00:00:00Z");
+    private static final SnowflakeCommand COMMAND = new SnowflakeCommand() {};
+
+    /**
+     * The number of days in the range.
+     */
+    @Param({"30", "90"})
+    public int days;
+
+    private SyntheticSubreddit subreddit;
+    private Range<Instant> range;
+
+    @Setup
+    public void setUp(){
+        subreddit = new SyntheticSubreddit(FROM, days, 50, 20, days);
+        range = Range.closedOpen(FROM, FROM.plus(days, ChronoUnit.DAYS));
+    }
+
+    @Benchmark
+    public void perMethod(Blackhole blackhole){
+        blackhole.consume(COMMAND.countSubmissions(subreddit, range));
+        blackhole.consume(COMMAND.countComments(subreddit, range));
+        blackhole.consume(COMMAND.countUniqueSubmitters(subreddit, range));
+        blackhole.consume(COMMAND.countUniqueCommenters(subreddit, range));
+        blackhole.consume(COMMAND.countTotalSubmissionScore(subreddit, range));
+        blackhole.consume(COMMAND.countTotalCommentScore(subreddit, range));
+        blackhole.consume(COMMAND.countSubmissionsPerDay(subreddit, range));
+        blackhole.consume(COMMAND.countCommentsPerDay(subreddit, range));
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole){
+        SnowflakeCommand.CoreStatistics statistics = COMMAND.getCoreStatistics(subreddit, range);
+        blackhole.consume(statistics.getSubmissions());
+        blackhole.consume(statistics.getComments());
+        blackhole.consume(statistics.getUniqueSubmitters());
+        blackhole.consume(statistics.getUniqueCommenters());
+        blackhole.consume(statistics.getTotalSubmissionScore());
+        blackhole.consume(statistics.getTotalCommentScore());
+        blackhole.consume(statistics.getSubmissionsPerDay());
+        blackhole.consume(statistics.getCommentsPerDay());
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.benchmark;
+
+import com.google.common.collect.Range;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import vartas.discord.blanc.command.reddit.SnowflakeCommand;
+import vartas.discord.blanc.command.reddit.SubmissionCommand;
+import vartas.discord.blanc.command.reddit.SubredditCommand;
+import vartas.discord.blanc.command.reddit.aggregation.Aggregation;
+import vartas.discord.blanc.command.reddit.aggregation.DailyAccumulator;
+import vartas.discord.blanc.command.reddit.aggregation.DailyRollup;
+import vartas.reddit.Submission;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the analytics behind the Reddit commands over synthetic subreddits of increasing size.
+ * <p>
+ * The datasets are generated in-memory with a fixed seed, so that the results of different runs are comparable and
+ * no connection to Reddit is required. The column-based statistics are measured both with an empty and with a filled
+ * {@link Aggregation#CACHE}.<br>
+ * Run all benchmarks of this class with {@link AnalyticsSuite}, which enables the allocation profiler and stores the
+ * results as JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class AnalyticsBenchmark {
+    private static final Instant FROM = Instant.parse("2020-01-01T00:00:00Z");
+    private static final SnowflakeCommand COMMAND = new SnowflakeCommand() {};
+    /**
+     * The number of days containing submissions.
+     */
+    private static final int DAYS = 10;
+    /**
+     * The average number of comments of every submission.
+     */
+    private static final int COMMENTS_PER_SUBMISSION = 10;
+    /**
+     * The number of leaders in the top lists.
+     */
+    private static final int SIZE = 10;
+
+    /**
+     * The approximate number of comments in the subreddit.
+     */
+    @Param({"1000", "100000", "10000000"})
+    public int comments;
+
+    private SyntheticSubreddit subreddit;
+    private Range<Instant> range;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        int submissionsPerDay = Math.max(1, comments / (DAYS * COMMENTS_PER_SUBMISSION));
+
+        subreddit = new SyntheticSubreddit(FROM, DAYS, submissionsPerDay, COMMENTS_PER_SUBMISSION, comments);
+        range = Range.closedOpen(FROM, FROM.plus(DAYS, ChronoUnit.DAYS));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        Aggregation.CACHE.invalidateAll();
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      SnowflakeCommand
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public Object topSubmitters(){
+        return COMMAND.getTopSubmitters(subreddit, range, SIZE);
+    }
+
+    @Benchmark
+    public Object topCommenters(){
+        return COMMAND.getTopCommenters(subreddit, range, SIZE);
+    }
+
+    @Benchmark
+    public Object topSubmissions(){
+        return COMMAND.getTopSubmissions(subreddit, range, SIZE);
+    }
+
+    @Benchmark
+    public Object topComments(){
+        return COMMAND.getTopComments(subreddit, range, SIZE);
+    }
+
+    @Benchmark
+    public void countsUncached(Blackhole blackhole){
+        Aggregation.CACHE.invalidateAll();
+        counts(blackhole);
+    }
+
+    @Benchmark
+    public void countsCached(Blackhole blackhole){
+        counts(blackhole);
+    }
+
+    private void counts(Blackhole blackhole){
+        blackhole.consume(COMMAND.countSubmissions(subreddit, range));
+        blackhole.consume(COMMAND.countNsfwSubmissions(subreddit, range));
+        blackhole.consume(COMMAND.countSpoilerSubmissions(subreddit, range));
+        blackhole.consume(COMMAND.countComments(subreddit, range));
+        blackhole.consume(COMMAND.countUniqueSubmitters(subreddit, range));
+        blackhole.consume(COMMAND.countUniqueCommenters(subreddit, range));
+        blackhole.consume(COMMAND.countTotalSubmissionScore(subreddit, range));
+        blackhole.consume(COMMAND.countTotalCommentScore(subreddit, range));
+    }
+
+    @Benchmark
+    public Object coreStatisticsUncached(){
+        Aggregation.CACHE.invalidateAll();
+        return COMMAND.getCoreStatistics(subreddit, range);
+    }
+
+    @Benchmark
+    public Object coreStatisticsCached(){
+        return COMMAND.getCoreStatistics(subreddit, range);
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      SubmissionCommand
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public Object tags(){
+        return SubmissionCommand.countTags(subreddit, range);
+    }
+
+    @Benchmark
+    public Object flairs(){
+        return SubmissionCommand.countFlairs(subreddit, range);
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      SubredditCommand
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Computes the daily rollups, as it is done by the rollup store for days that haven't been stored yet.
+     */
+    @Benchmark
+    public Object chartRollups(){
+        return Aggregation.ofSubmissions(subreddit, range, new DailyAccumulator<>(Submission::getCreated, new DailyRollup()));
+    }
+
+    @Benchmark
+    public Object chartExactSubmitters(){
+        return SubredditCommand.getExactSubmitters(subreddit, range);
+    }
+
+    @Benchmark
+    public Object chartExactCommenters(){
+        return SubredditCommand.getExactCommenters(subreddit, range);
+    }
+}
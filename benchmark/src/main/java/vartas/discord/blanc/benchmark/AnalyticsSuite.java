@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the {@link AnalyticsBenchmark} with the allocation profiler and writes the results as JSON, so that they can
+ * be compared across different versions.
+ * <p>
+ * Run with {@code java -cp benchmark/target/benchmarks.jar vartas.discord.blanc.benchmark.AnalyticsSuite}. The
+ * results are written to {@value #RESULT_FILE}, unless a different file is specified via {@code -rff}. All other
+ * JMH command line options, e.g. {@code -p comments=1000}, are passed through.
+ */
+public class AnalyticsSuite {
+    /**
+     * The default file containing the results.
+     */
+    public static final String RESULT_FILE = "analytics.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .include(AnalyticsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(commandLineOptions.getResult().orElse(RESULT_FILE))
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import vartas.discord.blanc.blacklist.BlacklistPattern;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the previous approach of joining all blacklisted expressions into a single regular expression with the
+ * {@link BlacklistPattern}, for a guild with a large blacklist.
+ * <p>
+ * Run with {@code java -jar benchmark/target/benchmarks.jar BlacklistBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlacklistBenchmark {
+    /**
+     * Typical chat messages, none of which contain a blacklisted expression.
+     */
+    private static final String[] MESSAGES = {
+            "hey, has anyone seen the new episode yet?",
+            "lol",
+            "I think the patch notes mentioned something about the matchmaking, but I'm not entirely sure.",
+            "https://www.reddit.com/r/discordapp/comments/abcdef/some_thread_title/",
+            "Can a moderator take a look at #general? There's someone spamming the same image over and over again, " +
+            "I've already reported them but nothing happened so far. Thanks in advance!"
+    };
+
+    @Param({"10", "100", "1000"})
+    public int size;
+    /**
+     * The percentage of blacklisted expressions that aren't plain words.
+     */
+    @Param({"0", "5"})
+    public int expressions;
+
+    private Pattern legacy;
+    private BlacklistPattern pattern;
+
+    @Setup
+    public void setUp(){
+        Random random = new Random(size);
+        List<String> blacklist = new ArrayList<>(size);
+
+        for(int i = 0 ; i < size ; ++i) {
+            String word = word(random);
+            blacklist.add(random.nextInt(100) < expressions ? word + "s?\\b" : word);
+        }
+
+        legacy = Pattern.compile(String.join("|", blacklist));
+        pattern = BlacklistPattern.compile(blacklist).orElseThrow();
+    }
+
+    private static String word(Random random){
+        int length = 5 + random.nextInt(8);
+        StringBuilder builder = new StringBuilder(length);
+        for(int i = 0 ; i < length ; ++i)
+            builder.append((char)('a' + random.nextInt(26)));
+        return builder.toString();
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole){
+        for(String message : MESSAGES)
+            blackhole.consume(legacy.matcher(message).find());
+    }
+
+    @Benchmark
+    public void blacklistPattern(Blackhole blackhole){
+        for(String message : MESSAGES)
+            blackhole.consume(pattern.matches(message));
+    }
+}
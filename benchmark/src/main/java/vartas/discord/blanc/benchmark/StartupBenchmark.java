@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.benchmark;
+
+import de.se_rwth.commons.logging.Log;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.TextChannel;
+import org.openjdk.jmh.annotations.*;
+import vartas.discord.blanc.JDAShardLoader;
+import vartas.discord.blanc.Shard;
+import vartas.discord.blanc.callable.MontiCoreCommandParser;
+import vartas.discord.blanc.cluster.ShardRange;
+import vartas.discord.blanc.gateway.FakeDiscord;
+import vartas.discord.blanc.io.$json.JSONCredentials;
+import vartas.discord.blanc.io.Credentials;
+import vartas.discord.blanc.monticore.MontiCoreCommandBuilder;
+import vartas.discord.blanc.parser.JDATypeResolver;
+import vartas.discord.blanc.parser.Parser;
+import vartas.discord.blanc.visitor.RedditVisitor;
+import vartas.reddit.Client;
+import vartas.reddit.Subreddit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time until the response to the first command received after startup has been sent. Every measurement
+ * is done in a fresh JVM, so that the cost of loading and initializing the parser is included.
+ * <p>
+ * The shard is loaded by the {@link JDAShardLoader}, exactly like the application does, except that the connection to
+ * Discord is replaced by a {@link FakeDiscord}. The handshake is emulated by delaying the moment the shard becomes
+ * ready. When the parser is warmed up in the background, as done by the application, its initialization overlaps
+ * with the handshake.
+ * <p>
+ * Run with {@code java -jar benchmark/target/benchmarks.jar StartupBenchmark}. The effect of the class-data sharing
+ * archive can be measured by additionally passing {@code -jvmArgsAppend -XX:SharedArchiveFile=<archive>}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+    /**
+     * The first command received by the application.
+     */
+    private static final String COMMAND = "b: ping";
+    /**
+     * The maximum time to wait for the response.
+     */
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Whether the parser is created and warmed up while the gateway connection is established.
+     */
+    @Param({"false", "true"})
+    public boolean warmUp;
+    /**
+     * The time in milliseconds until the gateway has finished the handshake.
+     */
+    @Param({"100", "500"})
+    public int handshake;
+
+    private Credentials credentials;
+    private FakeDiscord discord;
+    private TextChannel textChannel;
+    private Member member;
+    private Shard shard;
+
+    @Setup
+    public void setUp() throws IOException{
+        Log.enableFailQuick(false);
+
+        credentials = new Credentials();
+        credentials.setGlobalPrefix("b");
+        credentials.setShardCount(1);
+        credentials.setJsonDirectory(Files.createTempDirectory("json"));
+        JSONCredentials.setCredentials(credentials);
+
+        discord = new FakeDiscord(1L, "Blanc");
+        Guild guild = discord.addGuild(discord.nextId(), "Guild");
+        textChannel = discord.addTextChannel(guild, discord.nextId(), "general");
+        member = discord.addMember(guild, discord.addUser(discord.nextId(), "User", false));
+
+        discord.stub(discord.getJDA(), "awaitReady", args -> {
+            try {
+                Thread.sleep(handshake);
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+            return discord.getJDA();
+        });
+    }
+
+    @TearDown
+    public void tearDown(){
+        if(shard != null)
+            shard.shutdown();
+    }
+
+    @Benchmark
+    public Shard timeToFirstCommand() throws InterruptedException{
+        CompletableFuture<Parser> parser = warmUp
+                ? CompletableFuture.supplyAsync(() -> new MontiCoreCommandParser().warmUp())
+                : null;
+
+        JDAShardLoader shardLoader = new JDAShardLoader(
+                credentials,
+                (shard, jda) -> new MontiCoreCommandBuilder(
+                        new JDATypeResolver(shard, jda),
+                        shard,
+                        parser == null ? new MontiCoreCommandParser() : parser.join(),
+                        credentials.getGlobalPrefix()
+                ),
+                discord.getShardManager(),
+                new RedditVisitor(new OfflineClient(), 0),
+                ShardRange.all(1),
+                false
+        );
+
+        shard = shardLoader.load(0);
+        discord.dispatch(discord.guildMessage(textChannel, member, COMMAND));
+
+        if(!discord.getRestRecorder().await(1, TIMEOUT))
+            throw new IllegalStateException("No response to the first command after " + TIMEOUT);
+
+        return shard;
+    }
+
+    /**
+     * The Reddit feeds aren't part of the startup, so no subreddits are ever requested.
+     */
+    private static class OfflineClient extends Client {
+        @Override
+        public Subreddit getSubreddits(String key){
+            return Optional.ofNullable(getIfPresentSubreddits(key)).orElseThrow(NoSuchElementException::new);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.benchmark;
+
+import vartas.reddit.Comment;
+import vartas.reddit.Submission;
+import vartas.reddit.Subreddit;
+import vartas.reddit.factory.SubmissionFactory;
+
+import javax.annotation.Nonnull;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * An in-memory {@link Subreddit} with randomly generated submissions and comments.
+ * <p>
+ * All snowflakes are created upfront, so that the benchmarks only measure the time spent for evaluating them and
+ * not the time for creating them. The content is deterministic for a given seed.
+ */
+@Nonnull
+public class SyntheticSubreddit extends Subreddit {
+    /**
+     * The number of distinct authors. A small fraction of the snowflakes is written by deleted accounts.
+     */
+    private static final int AUTHORS = 5000;
+    /**
+     * The submissions of every day, ordered by their creation date.
+     */
+    @Nonnull
+    private final NavigableMap<Instant, List<Submission>> submissions = new TreeMap<>();
+
+    /**
+     * @param from the first day containing submissions.
+     * @param days the number of days containing submissions.
+     * @param submissionsPerDay the number of submissions on every day.
+     * @param commentsPerSubmission the average number of comments of every submission.
+     * @param seed the seed for the random generator.
+     */
+    public SyntheticSubreddit(@Nonnull Instant from, int days, int submissionsPerDay, int commentsPerSubmission, long seed){
+        Random random = new Random(seed);
+        Instant day = from.truncatedTo(ChronoUnit.DAYS);
+
+        for(int i = 0 ; i < days ; ++i){
+            List<Submission> values = new ArrayList<>(submissionsPerDay);
+
+            for(int j = 0 ; j < submissionsPerDay ; ++j) {
+                Instant created = day.plusSeconds(random.nextInt(86400));
+                Submission submission = SubmissionFactory.create(
+                        SyntheticSubmission::new,
+                        author(random),
+                        "Submission " + i + "/" + j,
+                        random.nextInt(1000),
+                        random.nextInt(20) == 0,
+                        random.nextInt(50) == 0,
+                        Long.toString(i * (long)submissionsPerDay + j, 36),
+                        created
+                );
+
+                int comments = random.nextInt(2 * commentsPerSubmission + 1);
+                for(int k = 0 ; k < comments ; ++k){
+                    Comment comment = new SyntheticComment();
+                    comment.setAuthor(author(random));
+                    comment.setScore(random.nextInt(200) - 20);
+                    comment.setId(submission.getId() + "_" + Integer.toString(k, 36));
+                    comment.setCreated(created.plusSeconds(random.nextInt(3600)));
+                    comment.setSubmission(submission);
+                    submission.addComments(comment);
+                }
+
+                values.add(submission);
+            }
+
+            submissions.put(day, values);
+            day = day.plus(1, ChronoUnit.DAYS);
+        }
+    }
+
+    @Nonnull
+    private static String author(@Nonnull Random random){
+        return random.nextInt(100) == 0 ? "[deleted]" : "user" + random.nextInt(AUTHORS);
+    }
+
+    @Override
+    public List<Submission> getSubmissions(Instant inclusiveFrom, Instant exclusiveTo){
+        List<Submission> result = new ArrayList<>();
+        for(List<Submission> values : submissions.subMap(inclusiveFrom.truncatedTo(ChronoUnit.DAYS), true, exclusiveTo, false).values())
+            for(Submission submission : values)
+                if(!submission.getCreated().isBefore(inclusiveFrom) && submission.getCreated().isBefore(exclusiveTo))
+                    result.add(submission);
+        return result;
+    }
+
+    private static class SyntheticSubmission extends Submission {
+        @Override
+        public String getPermaLink(){
+            return getShortLink();
+        }
+
+        @Override
+        public String getUrl(){
+            return getShortLink();
+        }
+    }
+
+    private static class SyntheticComment extends Comment {
+        @Override
+        public String getPermaLink(){
+            return getSubmission().getPermaLink() + getId();
+        }
+    }
+}
@@ -83,7 +83,7 @@ public class JSONGuild extends JSONGuildTOP {
      */
     @Nonnull
     protected static Path getFileDirectory(long id){
-        return JSONCredentials.CREDENTIALS.getJsonDirectory().resolve(Long.toUnsignedString(id));
+        return JSONCredentials.getCredentials().getJsonDirectory().resolve(Long.toUnsignedString(id));
     }
 
     /**
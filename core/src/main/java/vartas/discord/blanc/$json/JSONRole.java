@@ -78,7 +78,7 @@ public class JSONRole extends JSONRoleTOP {
      */
     @Nonnull
     protected static Path getFileDirectory(long id){
-        return JSONCredentials.CREDENTIALS.getJsonDirectory().resolve(Long.toUnsignedString(id));
+        return JSONCredentials.getCredentials().getJsonDirectory().resolve(Long.toUnsignedString(id));
     }
 
     /**
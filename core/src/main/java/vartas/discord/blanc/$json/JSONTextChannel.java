@@ -38,7 +38,7 @@ public class JSONTextChannel extends JSONTextChannelTOP {
     }
 
     protected static Path getFileDirectory(Guild guild){
-        return JSONCredentials.CREDENTIALS.getJsonDirectory().resolve(Long.toUnsignedString(guild.getId()));
+        return JSONCredentials.getCredentials().getJsonDirectory().resolve(Long.toUnsignedString(guild.getId()));
     }
 
     public static TextChannel fromJson(TextChannel target, Guild guild, long id) throws IOException {
@@ -38,7 +38,7 @@ public class JSONWebhook extends JSONWebhookTOP {
     }
 
     protected static Path getFileDirectory(Guild guild){
-        return JSONCredentials.CREDENTIALS.getJsonDirectory().resolve(Long.toUnsignedString(guild.getId()));
+        return JSONCredentials.getCredentials().getJsonDirectory().resolve(Long.toUnsignedString(guild.getId()));
     }
 
     public static Webhook fromJson(Webhook target, Guild guild, long id) throws IOException {
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc;
+
+import org.slf4j.Logger;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Utility methods bridging the synchronous and the asynchronous variants of the outbound Discord operations.
+ */
+@Nonnull
+public final class CompletableFutures {
+    private CompletableFutures(){}
+
+    /**
+     * Executes the operation in the calling thread. This is the fallback for implementations which don't provide
+     * an asynchronous variant of an operation.
+     * @param operation the synchronous operation.
+     * @return a completed future or a future that failed with the exception thrown by the operation.
+     */
+    @Nonnull
+    public static CompletableFuture<Void> run(@Nonnull Runnable operation){
+        try{
+            operation.run();
+            return CompletableFuture.completedFuture(null);
+        }catch(RuntimeException e){
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Waits for the operation to complete. Unlike {@link CompletableFuture#join()}, the original exception is
+     * rethrown, so that the synchronous variants of the operations fail in the same way as before.
+     * @param future the asynchronous operation.
+     * @throws CancellationException if the operation has been cancelled.
+     */
+    public static void join(@Nonnull CompletableFuture<?> future){
+        try{
+            future.join();
+        }catch(CompletionException e){
+            Throwable cause = e.getCause();
+
+            if(cause instanceof RuntimeException)
+                throw (RuntimeException)cause;
+            else if(cause instanceof Error)
+                throw (Error)cause;
+            else
+                throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Logs the failure of an operation whose result nobody waits for, instead of silently dropping it.
+     * @param future the asynchronous operation.
+     * @param log the logger the failure is written to.
+     * @param <T> the result type of the operation.
+     * @return a future that completes with the same result as the operation, once the failure has been logged.
+     */
+    @Nonnull
+    public static <T> CompletableFuture<T> log(@Nonnull CompletableFuture<T> future, @Nonnull Logger log){
+        return future.whenComplete((ignored, e) -> {
+            if(e != null)
+                log.error(e.toString(), e);
+        });
+    }
+}
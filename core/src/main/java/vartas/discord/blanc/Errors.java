@@ -54,6 +54,8 @@ public enum Errors {
     UNKNOWN_MESSAGE(0x5005, "The specified message couldn't be found."),
     //Guild attributes
     INVALID_PATTERN(0x6000, "The blacklist pattern couldn't be compiled."),
+    BLACKLIST_OVERLOADED(0x6001, "The blacklist queue is full, the message hasn't been checked."),
+    BLACKLIST_DELETE_FAILED(0x6002, "The blacklisted message couldn't be deleted."),
     //Monticore
     INVALID_COMMAND(0x7000, "The text sequence is not a valid command.");
 
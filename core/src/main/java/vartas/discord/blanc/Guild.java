@@ -17,37 +17,29 @@
 
 package vartas.discord.blanc;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import vartas.discord.blanc.blacklist.BlacklistPattern;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Optional;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 
 /**
  * The internal representation of a Discord guild.
  */
 @Nonnull
 public abstract class Guild extends GuildTOP {
-    /**
-     * This class' logger.
-     */
-    @Nonnull
-    private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
     /**
      * The pattern derived from the blacklisted words.
      * May be null if there are no banned words.
      */
     @Nullable
-    private Pattern pattern;
+    private BlacklistPattern pattern;
 
     /**
      * @return an {@link Optional} containing the pattern for blacklisted words.
      */
     @Nonnull
-    public Optional<Pattern> getPattern(){
+    public Optional<BlacklistPattern> getPattern(){
         return Optional.ofNullable(pattern);
     }
 
@@ -60,20 +52,12 @@ public abstract class Guild extends GuildTOP {
      * Generates a pattern based on the blacklisted words. The pattern will accept any word that is accepted
      * by at least one blacklisted expression. In other words, any text sequence that is matched by the pattern
      * should be removed.<br>
-     * Choosing this approach instead of matching the word with each expression one by one will drastically
-     * reduce the overhead of the operation.
+     * Plain words are matched in a single pass via an Aho-Corasick automaton, while the remaining expressions are
+     * combined into a single regular expression. Invalid expressions are ignored.
+     * @see BlacklistPattern
      */
     public void compilePattern() {
-        try {
-            if (isEmptyBlacklist()) {
-                pattern = null;
-            } else {
-                pattern = Pattern.compile(getBlacklist().stream().reduce((u, v) -> u + "|" + v).orElseThrow());
-            }
-        } catch (PatternSyntaxException e) {
-            log.error(Errors.INVALID_PATTERN.toString(), e.toString());
-            pattern = null;
-        }
+        pattern = BlacklistPattern.compile(getBlacklist()).orElse(null);
     }
 
     /**
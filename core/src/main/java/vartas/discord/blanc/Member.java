@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The internal representation of a Discord user within a guild.
+ */
+@Nonnull
+public abstract class Member extends MemberTOP {
+    /**
+     * Adds and removes the roles without waiting for a response from the Discord server.<br>
+     * By default, the roles are modified in the calling thread via {@link #modifyRoles(Collection, Collection)}.
+     * @param rolesToAdd the roles that are added to this member.
+     * @param rolesToRemove the roles that are removed from this member.
+     * @return a future that completes once the roles have been modified.
+     */
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> modifyRolesAsync(@Nonnull Collection<Role> rolesToAdd, @Nonnull Collection<Role> rolesToRemove){
+        return CompletableFutures.run(() -> modifyRoles(rolesToAdd, rolesToRemove));
+    }
+
+    /**
+     * The permissions are computed via {@link #getPermissionsRaw(TextChannel)}.
+     * @param textChannel the {@link TextChannel} the permissions are granted in.
+     * @return a read-only view over the raw permissions.
+     * @see Permissions#asSet(long)
+     */
+    @Nonnull
+    @Override
+    public Set<Permission> getPermissions(@Nonnull TextChannel textChannel){
+        return Permissions.asSet(getPermissionsRaw(textChannel));
+    }
+
+    @Override
+    public Member getRealThis() {
+        return this;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The internal representation of a Discord message.
+ */
+@Nonnull
+public class Message extends MessageTOP {
+    /**
+     * Deletes this message without waiting for a response from the Discord server.<br>
+     * By default, the message is deleted in the calling thread via {@link #delete()}.
+     * @return a future that completes once the message has been deleted.
+     */
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> deleteAsync(){
+        return CompletableFutures.run(this::delete);
+    }
+
+    /**
+     * Adds a reaction to this message without waiting for a response from the Discord server.<br>
+     * By default, the reaction is added in the calling thread via {@link #react(String)}.
+     * @param emote the emote that is added as a reaction.
+     * @return a future that completes once the reaction has been added.
+     */
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> reactAsync(@Nonnull String emote){
+        return CompletableFutures.run(() -> react(emote));
+    }
+
+    @Override
+    public Message getRealThis() {
+        return this;
+    }
+}
@@ -28,8 +28,11 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Nonnull
 public abstract class MessageChannel extends MessageChannelTOP{
@@ -119,7 +122,82 @@ public abstract class MessageChannel extends MessageChannelTOP{
         }
     }
 
+    /**
+     * Submits the content of the stream as a file to the Discord server.<br>
+     * By default, the stream is read into memory and submitted via {@link #send(byte[], String)}. Implementations
+     * should override this method, if they are able to submit the stream directly.
+     * @param inputStream the content of the file. The stream is closed afterwards.
+     * @param qualifiedName the name of the file, including its extension.
+     */
+    public void send(@Nonnull InputStream inputStream, @Nonnull String qualifiedName){
+        try(InputStream source = inputStream) {
+            send(source.readAllBytes(), qualifiedName);
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public void send(@Nonnull String format, @Nonnull Object... arguments){
         send(String.format(format, arguments));
     }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Asynchronous
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Submits the {@link Message} to the Discord server without waiting for a response.<br>
+     * By default, the message is sent in the calling thread via {@link #send(Message)}. Implementations should
+     * override this method, if they are able to submit the message asynchronously.
+     * @param message the submitted {@link Message}.
+     * @return a future that completes once the message has been sent.
+     */
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> sendAsync(@Nonnull Message message){
+        return CompletableFutures.run(() -> send(message));
+    }
+
+    /**
+     * Wraps the {@link MessageEmbed} around a {@link Message} and submits them to the Discord server without waiting
+     * for a response.
+     * @param messageEmbed the content of the submitted {@link Message}
+     * @return a future that completes once the message has been sent.
+     */
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> sendAsync(@Nonnull MessageEmbed messageEmbed){
+        Message message = MessageFactory.create(0, Instant.now(), null);
+
+        message.addMessageEmbeds(messageEmbed);
+
+        return sendAsync(message);
+    }
+
+    /**
+     * Submits the file to the Discord server without waiting for a response.<br>
+     * By default, the file is sent in the calling thread via {@link #send(byte[], String)}.
+     * @param bytes the content of the file.
+     * @param qualifiedName the name of the file, including its extension.
+     * @return a future that completes once the file has been sent.
+     */
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> sendAsync(@Nonnull byte[] bytes, @Nonnull String qualifiedName){
+        return CompletableFutures.run(() -> send(bytes, qualifiedName));
+    }
+
+    /**
+     * Submits the content of the stream as a file to the Discord server without waiting for a response.<br>
+     * By default, the file is sent in the calling thread via {@link #send(InputStream, String)}.
+     * @param inputStream the content of the file. The stream is closed afterwards.
+     * @param qualifiedName the name of the file, including its extension.
+     * @return a future that completes once the file has been sent.
+     */
+    @Nonnull
+    public CompletableFuture<Void> sendAsync(@Nonnull InputStream inputStream, @Nonnull String qualifiedName){
+        return CompletableFutures.run(() -> send(inputStream, qualifiedName));
+    }
 }
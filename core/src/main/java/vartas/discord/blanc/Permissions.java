@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Utility methods for the raw representation of {@link Permission Permissions}.
+ * <p>
+ * The permissions are declared in the same order as the bits of the Discord permission flags, which means that the
+ * flag of a permission is determined by its ordinal. A set of permissions can therefore be stored in a single
+ * <code>long</code> and checked with a single mask comparison.
+ */
+@Nonnull
+public final class Permissions {
+    /**
+     * All permissions, in the order of their bits.
+     */
+    @Nonnull
+    private static final Permission[] PERMISSIONS = Permission.values();
+    /**
+     * The raw value containing every known permission.
+     */
+    public static final long ALL = (1L << PERMISSIONS.length) - 1;
+
+    private Permissions(){}
+
+    /**
+     * @param permission an arbitrary permission.
+     * @return the Discord flag of the permission.
+     */
+    public static long getRaw(@Nonnull Permission permission){
+        return 1L << permission.ordinal();
+    }
+
+    /**
+     * @param permissions an arbitrary collection of permissions.
+     * @return the combined Discord flags of all permissions.
+     */
+    public static long getRaw(@Nonnull Collection<Permission> permissions){
+        long raw = 0;
+        for(Permission permission : permissions)
+            raw |= getRaw(permission);
+        return raw;
+    }
+
+    /**
+     * Creates a read-only {@link Set} view over the raw permissions. Bits which don't correspond to a known
+     * {@link Permission} are ignored.
+     * @param raw the combined Discord flags.
+     * @return a {@link Set} containing all permissions whose flags are set.
+     */
+    @Nonnull
+    public static Set<Permission> asSet(long raw){
+        return new PermissionSet(raw & ALL);
+    }
+
+    /**
+     * The {@link Set} view over the raw permissions. Checking whether a permission is contained doesn't require any
+     * allocation.
+     */
+    @Nonnull
+    private static final class PermissionSet extends AbstractSet<Permission> {
+        private final long raw;
+
+        private PermissionSet(long raw){
+            this.raw = raw;
+        }
+
+        @Override
+        public boolean contains(Object object){
+            return object instanceof Permission && (raw & getRaw((Permission)object)) != 0;
+        }
+
+        @Override
+        public int size(){
+            return Long.bitCount(raw);
+        }
+
+        @Override
+        @Nonnull
+        public Iterator<Permission> iterator(){
+            return new Iterator<>(){
+                private long remaining = raw;
+
+                @Override
+                public boolean hasNext(){
+                    return remaining != 0;
+                }
+
+                @Override
+                public Permission next(){
+                    if(remaining == 0)
+                        throw new NoSuchElementException();
+
+                    int index = Long.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                    return PERMISSIONS[index];
+                }
+            };
+        }
+    }
+}
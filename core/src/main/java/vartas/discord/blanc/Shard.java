@@ -32,6 +32,7 @@ import javax.annotation.Nonnull;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.concurrent.*;
 
 @Nonnull
@@ -40,6 +41,11 @@ public abstract class Shard extends ShardTOP{
     protected final ExecutorService worker;
     @Nonnull
     protected final ScheduledExecutorService executor;
+    /**
+     * The components whose lifetime is bound to this shard, such as the background threads of the listeners.
+     */
+    @Nonnull
+    private final List<Killable> components = new CopyOnWriteArrayList<>();
     @Nonnull
     protected final static Semaphore MUTEX = new Semaphore(1);
     @Nonnull
@@ -70,15 +76,24 @@ public abstract class Shard extends ShardTOP{
     @Nonnull
     public Shard(@Nonnull RedditVisitor redditVisitor, @Nonnull StatusMessageRunnable statusMessageRunnable){
         this(redditVisitor);
-        this.executor.scheduleAtFixedRate(statusMessageRunnable, 0, JSONCredentials.CREDENTIALS.getStatusMessageUpdateInterval(), TimeUnit.MINUTES);
+        this.executor.scheduleAtFixedRate(statusMessageRunnable, 0, JSONCredentials.getCredentials().getStatusMessageUpdateInterval(), TimeUnit.MINUTES);
     }
 
     public void submit(Runnable runnable){
         worker.submit(runnable);
     }
 
+    /**
+     * Binds the lifetime of the component to this shard. The component is shut down before the shard itself.
+     * @param component a component used by this shard.
+     */
+    public void register(@Nonnull Killable component){
+        components.add(component);
+    }
+
     @Override
     public void shutdown() {
+        components.forEach(Killable::shutdown);
         //Prevents any further IO operations to avoid data corruption
         //Even if the threads block, they'll be terminated by System.exit()
         if(MODIFIES_FILE || MUTEX.availablePermits() > 0)
@@ -95,7 +110,7 @@ public abstract class Shard extends ShardTOP{
         String fileName = JSONGuild.getFileName(guild);
         JSONObject jsonGuild = JSONGuild.toJson(guild, new JSONObject());
 
-        Path fileDirectory = JSONCredentials.CREDENTIALS.getJsonDirectory().resolve(Long.toString(guild.getId()));
+        Path fileDirectory = JSONCredentials.getCredentials().getJsonDirectory().resolve(Long.toString(guild.getId()));
         Path filePath = fileDirectory.resolve(fileName);
 
         write(jsonGuild, filePath);
@@ -105,7 +120,7 @@ public abstract class Shard extends ShardTOP{
         String fileName = JSONTextChannel.getFileName(channel);
         JSONObject jsonChannel = JSONTextChannel.toJson(channel, new JSONObject());
 
-        Path fileDirectory = JSONCredentials.CREDENTIALS.getJsonDirectory().resolve(Long.toString(guild.getId()));
+        Path fileDirectory = JSONCredentials.getCredentials().getJsonDirectory().resolve(Long.toString(guild.getId()));
         Path filePath = fileDirectory.resolve(fileName);
 
         write(jsonChannel, filePath);
@@ -115,7 +130,7 @@ public abstract class Shard extends ShardTOP{
         String fileName = JSONRole.getFileName(role);
         JSONObject jsonRole = JSONRole.toJson(role, new JSONObject());
 
-        Path fileDirectory = JSONCredentials.CREDENTIALS.getJsonDirectory().resolve(Long.toString(guild.getId()));
+        Path fileDirectory = JSONCredentials.getCredentials().getJsonDirectory().resolve(Long.toString(guild.getId()));
         Path filePath = fileDirectory.resolve(fileName);
 
         write(jsonRole, filePath);
@@ -125,7 +140,7 @@ public abstract class Shard extends ShardTOP{
         String fileName = JSONWebhook.getFileName(webhook);
         JSONObject jsonWebhook = JSONWebhook.toJson(webhook, new JSONObject());
 
-        Path fileDirectory = JSONCredentials.CREDENTIALS.getJsonDirectory().resolve(Long.toString(guild.getId()));
+        Path fileDirectory = JSONCredentials.getCredentials().getJsonDirectory().resolve(Long.toString(guild.getId()));
         Path filePath = fileDirectory.resolve(fileName);
 
         write(jsonWebhook, filePath);
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import vartas.discord.blanc.cluster.ShardRange;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Loads all shards of this process concurrently.
+ * <p>
+ * Every shard is handed over as soon as it is ready, so that it is able to process commands while the remaining
+ * shards are still connecting. The order in which the shards connect to Discord is up to the {@link ShardLoader},
+ * which has to respect the identify limits of the gateway.
+ */
+@Nonnull
+public class ShardStartup {
+    /**
+     * This class' logger.
+     */
+    @Nonnull
+    private static final Logger log = LoggerFactory.getLogger(ShardStartup.class.getSimpleName());
+    /**
+     * The loader for the individual shards.
+     */
+    @Nonnull
+    private final ShardLoader shardLoader;
+    /**
+     * The time it took until each shard was ready, relative to the start of the startup.
+     */
+    @Nonnull
+    private final Map<Integer, Duration> readyTimes = new ConcurrentSkipListMap<>();
+
+    public ShardStartup(@Nonnull ShardLoader shardLoader){
+        this.shardLoader = shardLoader;
+    }
+
+    /**
+     * Starts loading all shards in the range.
+     * @param shards the shards operated by this process.
+     * @param onReady called for every shard, as soon as it is ready.
+     * @return a future that completes once all shards are ready or exceptionally, if at least one shard couldn't be
+     *         loaded.
+     */
+    @Nonnull
+    public CompletableFuture<Void> start(@Nonnull ShardRange shards, @Nonnull Consumer<? super Shard> onReady){
+        ExecutorService executor = Executors.newFixedThreadPool(
+                shards.size(),
+                new ThreadFactoryBuilder().setNameFormat("Startup#%d").build()
+        );
+        List<CompletableFuture<Void>> futures = new ArrayList<>(shards.size());
+        long start = System.nanoTime();
+
+        for(int shardId = shards.getFirst() ; shardId <= shards.getLast() ; ++shardId){
+            int id = shardId;
+            futures.add(CompletableFuture.supplyAsync(() -> shardLoader.load(id), executor).thenAccept(shard -> {
+                Duration readyTime = Duration.ofNanos(System.nanoTime() - start);
+                readyTimes.put(id, readyTime);
+                log.info("Shard {} is ready after {} ms.", id, readyTime.toMillis());
+                onReady.accept(shard);
+            }));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((ignored, throwable) -> {
+            executor.shutdown();
+
+            if(throwable == null)
+                log.info("All {} shards are ready after {} ms.", shards.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+            else
+                log.error("Failed loading the shards.", throwable);
+        });
+    }
+
+    /**
+     * @return the time it took until each of the shards was ready, ordered by the shard id. Shards that aren't ready
+     *         yet are missing.
+     */
+    @Nonnull
+    public Map<Integer, Duration> getReadyTimes(){
+        return Collections.unmodifiableMap(readyTimes);
+    }
+}
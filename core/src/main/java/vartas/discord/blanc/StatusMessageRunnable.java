@@ -19,6 +19,7 @@ package vartas.discord.blanc;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import vartas.discord.blanc.io.StatusMessages;
 import vartas.discord.blanc.io.$json.JSONStatusMessages;
 
 import javax.annotation.Nonnull;
@@ -38,8 +39,9 @@ public class StatusMessageRunnable implements Runnable{
 
     @Override
     public void run() {
-        int index = random.nextInt(JSONStatusMessages.STATUS_MESSAGES.sizeStatusMessages());
-        String statusMessage = JSONStatusMessages.STATUS_MESSAGES.getStatusMessages(index);
+        StatusMessages statusMessages = JSONStatusMessages.getStatusMessages();
+        int index = random.nextInt(statusMessages.sizeStatusMessages());
+        String statusMessage = statusMessages.getStatusMessages(index);
         selfUser.modifyStatusMessage(statusMessage);
         log.trace("Changing status message to '{}'.", statusMessage);
     }
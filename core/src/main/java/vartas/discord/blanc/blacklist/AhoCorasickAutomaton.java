@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.blacklist;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * An immutable Aho-Corasick automaton over a fixed set of literal keywords.
+ * <p>
+ * The automaton checks whether a text contains at least one of the keywords in a single pass over the text,
+ * independent of the number of keywords. In contrast to an alternation of all keywords in a regular expression,
+ * there is no backtracking involved, meaning that the running time is linear in the length of the text.
+ * <p>
+ * The transitions of each state are stored as sorted arrays, which keeps the memory footprint small even for large
+ * keyword sets, while still allowing a lookup in logarithmic time.
+ */
+@Nonnull
+public final class AhoCorasickAutomaton {
+    /**
+     * The initial state of the automaton.
+     */
+    private static final int ROOT = 0;
+    /**
+     * The sorted input characters of the outgoing transitions, for every state.
+     */
+    @Nonnull
+    private final char[][] keys;
+    /**
+     * The target states of the outgoing transitions, for every state. The indices match with {@link #keys}.
+     */
+    @Nonnull
+    private final int[][] targets;
+    /**
+     * The state that is visited when no matching transition exists, for every state.
+     */
+    @Nonnull
+    private final int[] failures;
+    /**
+     * Whether a keyword ends in this state or in one of its failure states.
+     */
+    @Nonnull
+    private final boolean[] accepting;
+
+    /**
+     * Builds the automaton over the specified keywords.
+     * @param keywords the literal keywords accepted by the automaton.
+     */
+    public AhoCorasickAutomaton(@Nonnull Collection<String> keywords){
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Boolean> terminals = new ArrayList<>();
+
+        trie.add(new TreeMap<>());
+        terminals.add(false);
+
+        //Build the keyword trie
+        for(String keyword : keywords){
+            int state = ROOT;
+            for(int i = 0 ; i < keyword.length() ; ++i){
+                Map<Character, Integer> transitions = trie.get(state);
+                Integer next = transitions.get(keyword.charAt(i));
+
+                if(next == null){
+                    next = trie.size();
+                    transitions.put(keyword.charAt(i), next);
+                    trie.add(new TreeMap<>());
+                    terminals.add(false);
+                }
+
+                state = next;
+            }
+            terminals.set(state, true);
+        }
+
+        int size = trie.size();
+        keys = new char[size][];
+        targets = new int[size][];
+        failures = new int[size];
+        accepting = new boolean[size];
+
+        //Freeze the trie into arrays
+        for(int state = 0 ; state < size ; ++state){
+            Map<Character, Integer> transitions = trie.get(state);
+            keys[state] = new char[transitions.size()];
+            targets[state] = new int[transitions.size()];
+            accepting[state] = terminals.get(state);
+
+            int index = 0;
+            for(Map.Entry<Character, Integer> entry : transitions.entrySet()){
+                keys[state][index] = entry.getKey();
+                targets[state][index] = entry.getValue();
+                ++index;
+            }
+        }
+
+        //Compute the failure links in breadth-first order, so that the links of all shorter prefixes are known
+        Deque<Integer> queue = new ArrayDeque<>();
+        for(int target : targets[ROOT]){
+            failures[target] = ROOT;
+            queue.add(target);
+        }
+
+        while(!queue.isEmpty()){
+            int state = queue.poll();
+            for(int i = 0 ; i < keys[state].length ; ++i){
+                char key = keys[state][i];
+                int target = targets[state][i];
+
+                int failure = failures[state];
+                while(failure != ROOT && next(failure, key) < 0)
+                    failure = failures[failure];
+
+                int candidate = next(failure, key);
+                failures[target] = candidate < 0 || candidate == target ? ROOT : candidate;
+                //A state also accepts if any of its suffixes is a keyword
+                accepting[target] |= accepting[failures[target]];
+
+                queue.add(target);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the text contains at least one of the keywords. The search stops at the first occurrence.
+     * @param text the text that is scanned.
+     * @return true if at least one keyword is a substring of the text.
+     */
+    public boolean find(@Nonnull CharSequence text){
+        int state = ROOT;
+
+        //The empty keyword is contained in every text
+        if(accepting[state])
+            return true;
+
+        for(int i = 0 ; i < text.length() ; ++i){
+            char key = text.charAt(i);
+            int next;
+
+            while((next = next(state, key)) < 0 && state != ROOT)
+                state = failures[state];
+
+            state = Math.max(next, ROOT);
+
+            if(accepting[state])
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the number of states of this automaton, including the initial state.
+     */
+    public int size(){
+        return failures.length;
+    }
+
+    /**
+     * @param state the current state.
+     * @param key the next input character.
+     * @return the target state of the transition or a negative value, if no such transition exists.
+     */
+    private int next(int state, char key){
+        int index = Arrays.binarySearch(keys[state], key);
+        return index < 0 ? -1 : targets[state][index];
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.blacklist;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import vartas.discord.blanc.*;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The compiled form of the blacklisted expressions of a {@link Guild}.
+ * <p>
+ * Most blacklisted expressions are plain words without any special characters. Those are matched by an
+ * {@link AhoCorasickAutomaton}, which scans the text in a single pass, regardless of how many words there are.
+ * Only the remaining expressions, that make actual use of the regular expression syntax, are combined into a single
+ * {@link Pattern}, which is then only consulted if none of the literal words occurred.
+ */
+@Nonnull
+public final class BlacklistPattern {
+    /**
+     * This class' logger.
+     */
+    @Nonnull
+    private static final Logger log = LoggerFactory.getLogger(BlacklistPattern.class.getSimpleName());
+    /**
+     * The characters with a special meaning in a regular expression.
+     */
+    @Nonnull
+    private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+    /**
+     * The automaton over all blacklisted words without special characters.
+     */
+    @Nonnull
+    private final AhoCorasickAutomaton literals;
+    /**
+     * The alternation over all remaining, valid expressions.
+     * May be null if all blacklisted expressions are literals.
+     */
+    @Nullable
+    private final Pattern expressions;
+    /**
+     * The blacklisted expressions this pattern has been created from.
+     */
+    @Nonnull
+    private final String source;
+
+    private BlacklistPattern(@Nonnull AhoCorasickAutomaton literals, @Nullable Pattern expressions, @Nonnull String source){
+        this.literals = literals;
+        this.expressions = expressions;
+        this.source = source;
+    }
+
+    /**
+     * Compiles the blacklisted expressions. Expressions that aren't valid regular expressions are ignored.
+     * @param blacklist the blacklisted expressions.
+     * @return an {@link Optional} containing the compiled pattern or {@link Optional#empty()} if there are no valid
+     *         expressions.
+     */
+    @Nonnull
+    public static Optional<BlacklistPattern> compile(@Nonnull Collection<String> blacklist){
+        List<String> literals = new ArrayList<>();
+        List<String> expressions = new ArrayList<>();
+
+        for(String entry : blacklist){
+            if(isLiteral(entry)) {
+                literals.add(entry);
+            }else{
+                try{
+                    Pattern.compile(entry);
+                    expressions.add("(?:" + entry + ")");
+                }catch(PatternSyntaxException e){
+                    log.error(Errors.INVALID_PATTERN.toString(), e.toString());
+                }
+            }
+        }
+
+        if(literals.isEmpty() && expressions.isEmpty())
+            return Optional.empty();
+
+        Pattern pattern = expressions.isEmpty() ? null : Pattern.compile(String.join("|", expressions));
+        return Optional.of(new BlacklistPattern(new AhoCorasickAutomaton(literals), pattern, String.join("|", blacklist)));
+    }
+
+    /**
+     * @param entry a blacklisted expression.
+     * @return true if the expression doesn't contain any characters with a special meaning.
+     */
+    private static boolean isLiteral(@Nonnull String entry){
+        for(int i = 0 ; i < entry.length() ; ++i)
+            if(METACHARACTERS.indexOf(entry.charAt(i)) >= 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * @param text an arbitrary text.
+     * @return true if at least one blacklisted expression occurs in the text.
+     */
+    public boolean matches(@Nonnull CharSequence text){
+        return literals.find(text) || (expressions != null && expressions.matcher(text).find());
+    }
+
+    /**
+     * Checks the content of the {@link Message}, as well as the titles, authors and fields of its embeds.
+     * The check stops as soon as the first blacklisted expression has been found.
+     * @param message the {@link Message} that is checked.
+     * @return true if the {@link Message} contains at least one blacklisted expression.
+     */
+    public boolean matches(@Nonnull Message message){
+        if(message.getContent().map(this::matches).orElse(false))
+            return true;
+
+        for(MessageEmbed messageEmbed : message.getMessageEmbeds())
+            if(matches(messageEmbed))
+                return true;
+
+        return false;
+    }
+
+    private boolean matches(@Nonnull MessageEmbed messageEmbed){
+        if(messageEmbed.getTitle().map(Title::getName).map(this::matches).orElse(false))
+            return true;
+
+        if(messageEmbed.getAuthor().map(Author::getName).map(this::matches).orElse(false))
+            return true;
+
+        for(Field field : messageEmbed.getFields())
+            if(matches(field.getTitle()) || matches(field.getContent().toString()))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * @return all blacklisted expressions, separated by a '|'.
+     */
+    @Override
+    public String toString(){
+        return source;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.cluster;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import vartas.discord.blanc.Killable;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A single process of the cluster. Upon creation, the process waits until it is able to claim a {@link ShardRange}
+ * and afterwards keeps renewing its lease in the background. Whenever the lease of another member expires without
+ * being released, e.g. because that process crashed, its range is taken over as well, so that no shards are left
+ * unattended until a new process joins the cluster.
+ * @see LeaseDirectory
+ */
+@Nonnull
+public class ClusterMember implements Killable {
+    /**
+     * How often the lease is renewed. Several renewals may fail before the lease expires.
+     */
+    @Nonnull
+    public static final Duration RENEWAL_RATE = LeaseDirectory.LEASE_DURATION.dividedBy(3);
+    /**
+     * This class' logger.
+     */
+    @Nonnull
+    private static final Logger log = LoggerFactory.getLogger(ClusterMember.class.getSimpleName());
+    @Nonnull
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Cluster#%d").setDaemon(true).build()
+    );
+    @Nonnull
+    private final LeaseDirectory leaseDirectory;
+    /**
+     * The lease this member has joined the cluster with.
+     */
+    @Nonnull
+    private final LeaseDirectory.Lease lease;
+    /**
+     * All leases held by this member, including the ones taken over from other members.
+     */
+    @Nonnull
+    private final List<LeaseDirectory.Lease> leases = new CopyOnWriteArrayList<>();
+
+    private ClusterMember(@Nonnull LeaseDirectory leaseDirectory, @Nonnull LeaseDirectory.Lease lease, @Nonnull Runnable onLoss, @Nonnull Consumer<LeaseDirectory.Lease> onTakeover){
+        this.leaseDirectory = leaseDirectory;
+        this.lease = lease;
+        this.leases.add(lease);
+        this.executor.scheduleAtFixedRate(() -> {
+            if(renew(onLoss))
+                takeover(onTakeover);
+        }, RENEWAL_RATE.toMillis(), RENEWAL_RATE.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Blocks until one of the shard ranges is available.
+     * @param directory the lease directory shared by all members of the cluster.
+     * @param size the number of members in the cluster.
+     * @param shardCount the total number of shards.
+     * @param onLoss called when the lease has been taken over by another process. From this point onwards, the shards
+     *               of this member are operated by the other process.
+     * @param onTakeover called when this member has taken over the expired lease of another process. From this point
+     *                   onwards, this member has to operate the shards of that lease as well.
+     * @return the member holding one of the shard ranges.
+     * @throws InterruptedException if the thread was interrupted while waiting for a free range.
+     */
+    @Nonnull
+    public static ClusterMember join(@Nonnull Path directory, int size, int shardCount, @Nonnull Runnable onLoss, @Nonnull Consumer<LeaseDirectory.Lease> onTakeover) throws InterruptedException{
+        LeaseDirectory leaseDirectory = new LeaseDirectory(directory, size, shardCount);
+        Optional<LeaseDirectory.Lease> lease = leaseDirectory.tryAcquire();
+
+        while(lease.isEmpty()){
+            log.info("All {} shard ranges are taken, waiting for a lease to expire.", size);
+            Thread.sleep(RENEWAL_RATE.toMillis());
+            lease = leaseDirectory.tryAcquire();
+        }
+
+        log.info("Joined the cluster with shards {}.", lease.get().getShards());
+        return new ClusterMember(leaseDirectory, lease.get(), onLoss, onTakeover);
+    }
+
+    /**
+     * @param onLoss called when one of the leases has been taken over by another process.
+     * @return <code>false</code> if one of the leases has been lost.
+     */
+    private boolean renew(@Nonnull Runnable onLoss){
+        for(LeaseDirectory.Lease lease : leases){
+            try{
+                if(!leaseDirectory.renew(lease)){
+                    log.error("The lease for the shards {} has been taken over by another process.", lease.getShards());
+                    executor.shutdown();
+                    onLoss.run();
+                    return false;
+                }
+            }catch(RuntimeException e){
+                //The lease remains valid until it expires
+                log.warn("Failed renewing the lease for the shards {}: {}", lease.getShards(), e.toString());
+            }
+        }
+        return true;
+    }
+
+    private void takeover(@Nonnull Consumer<LeaseDirectory.Lease> onTakeover){
+        try{
+            Optional<LeaseDirectory.Lease> expired = leaseDirectory.tryAcquireExpired();
+
+            if(expired.isPresent()){
+                log.info("Took over the shards {}.", expired.get().getShards());
+                leases.add(expired.get());
+                onTakeover.accept(expired.get());
+            }
+        }catch(RuntimeException e){
+            log.warn("Failed taking over expired leases: {}", e.toString());
+        }
+    }
+
+    /**
+     * @return the shards this process has joined the cluster with. Shards that have been taken over later on are
+     *         passed to the callback of {@link #join(Path, int, int, Runnable, Consumer)} instead.
+     */
+    @Nonnull
+    public ShardRange getShards(){
+        return lease.getShards();
+    }
+
+    /**
+     * @return <code>true</code> if the lease this process has joined the cluster with is responsible for the work that
+     *         is done once in the cluster.
+     */
+    public boolean isLeader(){
+        return lease.isLeader();
+    }
+
+    /**
+     * Stops renewing the leases and hands the shards over to the next process joining the cluster.
+     */
+    @Override
+    public void shutdown(){
+        executor.shutdown();
+        for(LeaseDirectory.Lease lease : leases){
+            try{
+                leaseDirectory.release(lease);
+            }catch(RuntimeException e){
+                log.warn("Failed releasing the lease for the shards {}: {}", lease.getShards(), e.toString());
+            }
+        }
+    }
+}
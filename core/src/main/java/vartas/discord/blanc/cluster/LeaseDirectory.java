@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.cluster;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The coordinator of a cluster, implemented as a directory shared by all processes on the same machine.
+ * <p>
+ * The shards are split into a fixed number of {@link ShardRange ranges}, one for every member of the cluster. A
+ * process joins the cluster by claiming one of those ranges, for which it creates a lease file in the directory. The
+ * lease has to be renewed periodically. If a process stops renewing its lease, e.g. because it crashed, the lease
+ * expires and the range is handed out to the next process that joins the cluster, or taken over by one of the
+ * remaining members, which is how the cluster is rebalanced.
+ * <p>
+ * All modifications happen while holding a file lock on the directory, so that multiple processes never claim the
+ * same range. Work that has to be done exactly once in the whole cluster is assigned to the member holding the first
+ * range, the leader.
+ */
+@Nonnull
+public class LeaseDirectory {
+    /**
+     * The amount of time after which a lease that hasn't been renewed expires.
+     */
+    @Nonnull
+    public static final Duration LEASE_DURATION = Duration.ofSeconds(30);
+    /**
+     * File locks are held by the whole JVM, so they can't be used to synchronize multiple instances in the same
+     * process.
+     */
+    @Nonnull
+    private static final Object MUTEX = new Object();
+    /**
+     * The name of the file that is locked while the leases are modified.
+     */
+    @Nonnull
+    private static final String LOCK = ".lock";
+    /**
+     * This class' logger.
+     */
+    @Nonnull
+    private static final Logger log = LoggerFactory.getLogger(LeaseDirectory.class.getSimpleName());
+    /**
+     * The directory containing all lease files.
+     */
+    @Nonnull
+    private final Path directory;
+    /**
+     * The number of ranges the shards are split into.
+     */
+    private final int size;
+    /**
+     * The total number of shards.
+     */
+    private final int shardCount;
+    /**
+     * The clock used for the expiration of the leases.
+     */
+    @Nonnull
+    private final Clock clock;
+    /**
+     * The id identifying this process in the lease files.
+     */
+    @Nonnull
+    private final String memberId;
+
+    /**
+     * @param directory the directory shared by all members of the cluster.
+     * @param size the number of members in the cluster.
+     * @param shardCount the total number of shards.
+     */
+    public LeaseDirectory(@Nonnull Path directory, int size, int shardCount){
+        this(directory, size, shardCount, Clock.systemUTC(), UUID.randomUUID().toString());
+    }
+
+    LeaseDirectory(@Nonnull Path directory, int size, int shardCount, @Nonnull Clock clock, @Nonnull String memberId){
+        //Fail early on an invalid configuration
+        ShardRange.of(0, size, shardCount);
+
+        this.directory = directory;
+        this.size = size;
+        this.shardCount = shardCount;
+        this.clock = clock;
+        this.memberId = memberId;
+    }
+
+    /**
+     * Claims the first range that is either free or whose lease has expired.
+     * @return an {@link Optional} containing the claimed lease or {@link Optional#empty()} if all ranges are taken.
+     * @throws UncheckedIOException if the lease directory couldn't be accessed.
+     */
+    @Nonnull
+    public Optional<Lease> tryAcquire() throws UncheckedIOException{
+        return acquire(true);
+    }
+
+    /**
+     * Claims the first range whose lease has expired, i.e. whose owner has stopped without releasing it. Ranges
+     * that have been released are left for the next process that joins the cluster.
+     * @return an {@link Optional} containing the claimed lease or {@link Optional#empty()} if no lease has expired.
+     * @throws UncheckedIOException if the lease directory couldn't be accessed.
+     */
+    @Nonnull
+    public Optional<Lease> tryAcquireExpired() throws UncheckedIOException{
+        return acquire(false);
+    }
+
+    @Nonnull
+    private Optional<Lease> acquire(boolean includeFree) throws UncheckedIOException{
+        return locked(() -> {
+            Instant now = clock.instant();
+
+            for(int index = 0 ; index < size ; ++index){
+                Optional<Entry> entry = read(index);
+
+                if((entry.isEmpty() && includeFree) || (entry.isPresent() && entry.get().isExpired(now))){
+                    entry.ifPresent(e -> log.warn("Taking over the expired lease of {} for range {}.", e.memberId, e.index));
+                    write(new Entry(index, memberId, now));
+                    return Optional.of(new Lease(index));
+                }
+            }
+
+            return Optional.empty();
+        });
+    }
+
+    /**
+     * Extends the lease by another {@link #LEASE_DURATION}.
+     * @param lease a lease of this process.
+     * @return <code>false</code> if the lease has been lost to another process, in which case this process has to
+     *         stop operating the shards of the lease.
+     * @throws UncheckedIOException if the lease directory couldn't be accessed.
+     */
+    public boolean renew(@Nonnull Lease lease) throws UncheckedIOException{
+        return locked(() -> {
+            Optional<Entry> entry = read(lease.getIndex());
+
+            if(entry.isEmpty() || !entry.get().memberId.equals(memberId))
+                return false;
+
+            write(new Entry(lease.getIndex(), memberId, clock.instant()));
+            return true;
+        });
+    }
+
+    /**
+     * Gives up the lease, so that the range can immediately be claimed by another process.
+     * @param lease a lease of this process.
+     * @throws UncheckedIOException if the lease directory couldn't be accessed.
+     */
+    public void release(@Nonnull Lease lease) throws UncheckedIOException{
+        locked(() -> {
+            Optional<Entry> entry = read(lease.getIndex());
+
+            if(entry.isPresent() && entry.get().memberId.equals(memberId))
+                Files.delete(getPath(lease.getIndex()));
+
+            return null;
+        });
+    }
+
+    @Nonnull
+    private <T> T locked(@Nonnull IOSupplier<T> supplier) throws UncheckedIOException{
+        synchronized (MUTEX){
+            try{
+                Files.createDirectories(directory);
+
+                try(FileChannel channel = FileChannel.open(directory.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                    FileLock ignored = channel.lock()){
+                    return supplier.get();
+                }
+            }catch(IOException e){
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Nonnull
+    private Path getPath(int index){
+        return directory.resolve("range-" + index + ".lease");
+    }
+
+    @Nonnull
+    private Optional<Entry> read(int index) throws IOException{
+        Path path = getPath(index);
+
+        if(Files.notExists(path))
+            return Optional.empty();
+
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+
+        //A corrupted lease is treated like a free one
+        if(lines.size() < 2)
+            return Optional.empty();
+
+        try{
+            return Optional.of(new Entry(index, lines.get(0), Instant.ofEpochMilli(Long.parseLong(lines.get(1)))));
+        }catch(NumberFormatException | DateTimeException e){
+            log.warn("Ignoring the corrupted lease for range {}: {}", index, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    private void write(@Nonnull Entry entry) throws IOException{
+        Path path = getPath(entry.index);
+        Path temporary = directory.resolve(path.getFileName() + ".tmp");
+
+        //Replace the old lease at once, so that other processes never read a partially written lease
+        Files.write(temporary, List.of(entry.memberId, Long.toString(entry.renewed.toEpochMilli())), StandardCharsets.UTF_8);
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The content of a single lease file.
+     */
+    private static final class Entry {
+        private final int index;
+        @Nonnull
+        private final String memberId;
+        @Nonnull
+        private final Instant renewed;
+
+        private Entry(int index, @Nonnull String memberId, @Nonnull Instant renewed){
+            this.index = index;
+            this.memberId = memberId;
+            this.renewed = renewed;
+        }
+
+        private boolean isExpired(@Nonnull Instant now){
+            return renewed.plus(LEASE_DURATION).isBefore(now);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOSupplier <T> {
+        T get() throws IOException;
+    }
+
+    /**
+     * The claim of this process on one of the ranges.
+     */
+    @Nonnull
+    public final class Lease {
+        /**
+         * The index of the claimed range.
+         */
+        private final int index;
+
+        private Lease(int index){
+            Preconditions.checkArgument(index >= 0 && index < size);
+            this.index = index;
+        }
+
+        public int getIndex(){
+            return index;
+        }
+
+        /**
+         * @return the shards operated by the owner of this lease.
+         */
+        @Nonnull
+        public ShardRange getShards(){
+            return ShardRange.of(index, size, shardCount);
+        }
+
+        /**
+         * @return <code>true</code> if this process is responsible for the work that is done once in the cluster.
+         */
+        public boolean isLeader(){
+            return index == 0;
+        }
+    }
+}
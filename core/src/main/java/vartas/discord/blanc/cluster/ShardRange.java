@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.cluster;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A contiguous range of shards, operated by a single process.
+ */
+@Nonnull
+public final class ShardRange {
+    /**
+     * The id of the first shard in this range.
+     */
+    private final int first;
+    /**
+     * The id of the last shard in this range. Inclusive.
+     */
+    private final int last;
+
+    private ShardRange(int first, int last){
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * Splits the shards into equally sized, contiguous ranges and returns the range with the specified index. The
+     * sizes of two ranges differ by at most one shard.
+     * @param index the index of the range.
+     * @param size the total number of ranges.
+     * @param shardCount the total number of shards.
+     * @return the shards in the range with the specified index.
+     * @throws IllegalArgumentException if there are fewer shards than ranges or if the index is out of bounds.
+     */
+    @Nonnull
+    public static ShardRange of(int index, int size, int shardCount) throws IllegalArgumentException{
+        Preconditions.checkArgument(size > 0 && size <= shardCount, "Can't split %s shards into %s ranges.", shardCount, size);
+        Preconditions.checkArgument(index >= 0 && index < size, "Range %s out of bounds.", index);
+
+        return new ShardRange(index * shardCount / size, (index + 1) * shardCount / size - 1);
+    }
+
+    /**
+     * @param shardCount the total number of shards.
+     * @return the range over all shards.
+     */
+    @Nonnull
+    public static ShardRange all(int shardCount){
+        return of(0, 1, shardCount);
+    }
+
+    public int getFirst(){
+        return first;
+    }
+
+    public int getLast(){
+        return last;
+    }
+
+    public int size(){
+        return last - first + 1;
+    }
+
+    public boolean contains(int shardId){
+        return first <= shardId && shardId <= last;
+    }
+
+    @Override
+    public boolean equals(Object object){
+        if(!(object instanceof ShardRange))
+            return false;
+
+        ShardRange other = (ShardRange)object;
+        return first == other.first && last == other.last;
+    }
+
+    @Override
+    public int hashCode(){
+        return 31 * first + last;
+    }
+
+    @Override
+    public String toString(){
+        return "[" + first + ", " + last + "]";
+    }
+}
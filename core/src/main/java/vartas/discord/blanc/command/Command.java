@@ -17,15 +17,17 @@
 
 package vartas.discord.blanc.command;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import vartas.discord.blanc.*;
+import vartas.discord.blanc.io.RankTable;
+import vartas.discord.blanc.io.$json.JSONCredentials;
+import vartas.discord.blanc.io.$json.JSONRanks;
 
 import javax.annotation.Nonnull;
-import java.util.EnumSet;
-import java.util.HashSet;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The base class for all commands. A command is a subroutine of the application than can be executed via a
@@ -34,22 +36,16 @@ import java.util.Set;
 @Nonnull
 public abstract class Command extends CommandTOP {
     /**
-     * Specifies the hierarchy between the different ranks. It is not necessary for a {@link User} to have a specific
-     * {@link Rank}, as long as they have a {@link Rank} that inherits it. A prime example for this is
-     * {@link Rank#ROOT}, which includes all other ranks.
+     * This class' logger.
      */
     @Nonnull
-    private static final Multimap<Rank, Rank> RANK_ALIASES = HashMultimap.create();
-
-    static{
-        RANK_ALIASES.putAll(Rank.ROOT, EnumSet.allOf(Rank.class));
-        RANK_ALIASES.put(Rank.DEVELOPER, Rank.REDDIT);
-    }
+    private static final Logger log = LoggerFactory.getLogger(Command.class.getSimpleName());
 
     /**
      * Checks if the specified {@link User} has the given {@link Rank}. Upon failure, a {@link PermissionException} is
      * thrown. The check will succeed if the {@link User} either has the {link Rank} explicitly or implicitly via
-     * aliases.
+     * aliases. The ranks are looked up directly in {@link JSONRanks#getRanks()}, without materializing the ranks of
+     * the {@link User}.
      * @param user The {@link User} associated with the given {@link Rank}.
      * @param rank The {@link Rank} associated with the {@link User}.
      * @see Rank
@@ -57,7 +53,7 @@ public abstract class Command extends CommandTOP {
      * @throws PermissionException If the user doesn't have the given rank.
      */
     protected void checkRank(@Nonnull User user, @Nonnull Rank rank) throws PermissionException{
-        if(!getEffectiveRanks(user).contains(rank))
+        if(!RankTable.grants(JSONRanks.getRanks().getMask(user.getId()), rank))
             throw PermissionException.of(Errors.INSUFFICIENT_RANK, rank);
     }
 
@@ -74,20 +70,27 @@ public abstract class Command extends CommandTOP {
 
     /**
      * Computes all ranks owned the specified {@link User}. The returned {@link Set} contains all explicitly owned
-     * ranks, as well as all aliases specified in {@link #RANK_ALIASES}. Note that an user always has {@link Rank#USER}.
+     * ranks, as well as all ranks inherited from them. Note that an user always has {@link Rank#USER}.
      * @param user The {@link User} associated with the calculated {@link Rank}.
      * @return A set containing all ranks associated with the {@link User}.
      */
     @Nonnull
     protected Set<Rank> getEffectiveRanks(@Nonnull User user){
-        Set<Rank> effectiveRanks = new HashSet<>();
-
-        //Every user has the USER rank by default
-        effectiveRanks.add(Rank.USER);
-        effectiveRanks.addAll(user.getRanks());
-        for(Rank rank : user.getRanks())
-            effectiveRanks.addAll(RANK_ALIASES.get(rank));
+        return RankTable.effectiveRanks(JSONRanks.getRanks().getMask(user.getId()));
+    }
 
-        return effectiveRanks;
+    /**
+     * Finishes an outbound operation of this {@link Command}, such as sending the response.<br>
+     * By default, the calling thread waits for the operation, so that failures are handled like any other exception
+     * thrown by the {@link Command}. If asynchronous commands are enabled in the credentials, the worker thread is
+     * released immediately instead and failures are only logged.
+     * @param operation the asynchronous operation.
+     */
+    protected void complete(@Nonnull CompletableFuture<Void> operation){
+        if(JSONCredentials.getCredentials().getAsyncCommands()) {
+            CompletableFutures.log(operation, log);
+        }else{
+            CompletableFutures.join(operation);
+        }
     }
 }
@@ -30,7 +30,6 @@ import vartas.discord.blanc.prettyprint.ArgumentPrettyPrinter;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Optional;
-import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -39,6 +38,8 @@ import java.util.stream.Collectors;
  * {@link IntermediateCommand}. In this state, the syntactical correctness of the command is verified.
  * <p>
  * In the next step, assuming that the verification was successful, the concrete command instance is calculated.
+ * The {@link AbstractTypeResolver} used for this step is shared by all commands of the {@link Shard}, with the
+ * {@link Guild} and {@link TextChannel} of the received {@link Message} being passed along with the arguments.
  * @see IntermediateCommand
  * @see Command
  */
@@ -59,30 +60,25 @@ public abstract class CommandBuilder extends CommandBuilderTOP {
      */
     @Nonnull
     private final String globalPrefix;
-    /**
-     * Provides the type resolver for the command arguments. The type resolver is guild-sensitive, so for each
-     * command, an individual resolver has to be created.
-     */
-    @Nonnull
-    private final BiFunction<? super Guild, ? super TextChannel, ? extends AbstractTypeResolver> typeResolverFunction;
 
     /**
      * Initializes the builder.
+     * @param typeResolver The {@link AbstractTypeResolver} used for the arguments of all commands.
+     * @param shard The {@link Shard} all commands are received in.
      * @param parser The {@link Parser} used for processing the messages.
      * @param globalPrefix The global command prefix.
      */
     @Nonnull
     public CommandBuilder(
-            @Nonnull BiFunction<? super Guild, ? super TextChannel, ? extends AbstractTypeResolver> typeResolverFunction,
+            @Nonnull AbstractTypeResolver typeResolver,
             @Nonnull Shard shard,
             @Nonnull Parser parser,
             @Nonnull String globalPrefix
     )
     {
-        super(typeResolverFunction, shard);
+        super(typeResolver, shard);
         this.parser = parser;
         this.globalPrefix = globalPrefix;
-        this.typeResolverFunction = typeResolverFunction;
         super.shard = shard;
     }
 
@@ -123,10 +119,8 @@ public abstract class CommandBuilder extends CommandBuilderTOP {
                 command.getArguments().stream().map(ArgumentPrettyPrinter::printPretty).collect(Collectors.toList())
         );
 
-        typeResolver = typeResolverFunction.apply(null, null);
-
         if(comparePrefix(command))
-            return build(command.getName(), command.getArguments(), command.getFlags())
+            return build(command.getName(), null, null, command.getArguments(), command.getFlags())
                     .map(c -> provideContext(c, message, channel));
         else
             return Optional.empty();
@@ -162,15 +156,24 @@ public abstract class CommandBuilder extends CommandBuilderTOP {
                 command.getArguments().stream().map(ArgumentPrettyPrinter::printPretty).collect(Collectors.toList())
         );
 
-        typeResolver = typeResolverFunction.apply(guild, textChannel);
-
         if(comparePrefix(command) || comparePrefix(command, guild))
-            return build(command.getName(), command.getArguments(), command.getFlags())
+            return build(command.getName(), guild, textChannel, command.getArguments(), command.getFlags())
                     .map(c -> provideContext(c, message, guild, textChannel));
         else
             return Optional.empty();
     }
 
+    /**
+     * A cheap check on the raw content of a received message, which doesn't involve the {@link Parser}. Messages
+     * outside a guild can only be commands if they start with the global prefix, which allows rejecting all other
+     * messages before any further processing happens.
+     * @param content the raw content of the received {@link Message}.
+     * @return <code>false</code> if the content can't be a command with the global prefix.
+     */
+    public boolean hasGlobalPrefix(@Nonnull String content){
+        return content.stripLeading().startsWith(globalPrefix);
+    }
+
     /**
      * Checks if the {@link Command} starts with the ${@link Guild} prefix.
      * @param command The {@link Command} associated with the received {@link Message}.
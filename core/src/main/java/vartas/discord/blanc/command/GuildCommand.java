@@ -41,8 +41,25 @@ public abstract class GuildCommand extends GuildCommandTOP{
      * @throws PermissionException If the user doesn't have at least one of the required permissions.
      */
     protected void checkPermission(@Nonnull Member member, @Nonnull TextChannel textChannel, @Nonnull Permission permission){
-        if(!member.getPermissions(textChannel).contains(permission))
-            throw PermissionException.of(Errors.INSUFFICIENT_PERMISSION, permission);
+        checkPermissions(member, textChannel, Permissions.getRaw(permission));
+    }
+
+    /**
+     * Checks if the specified {@link Member} has all of the given Discord permissions. In contrast to
+     * {@link #checkPermission(Member, TextChannel, Permission)}, the permissions of the {@link Member} are only
+     * computed once, regardless of how many permissions are required.
+     * @param member The {@link Member} associated with the given permissions.
+     * @param textChannel The {@link TextChannel} associated with the given permissions.
+     * @param permissions The combined flags of all required permissions.
+     * @see Permissions#getRaw(Permission)
+     * @see Errors#INSUFFICIENT_PERMISSION
+     * @throws PermissionException If the user doesn't have at least one of the required permissions.
+     */
+    protected void checkPermissions(@Nonnull Member member, @Nonnull TextChannel textChannel, long permissions){
+        long missing = permissions & ~member.getPermissionsRaw(textChannel);
+
+        if(missing != 0)
+            throw PermissionException.of(Errors.INSUFFICIENT_PERMISSION, Permissions.asSet(missing));
     }
 
     /**
@@ -23,19 +23,52 @@ import vartas.discord.blanc.Errors;
 import vartas.discord.blanc.io.Credentials;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.file.Paths;
 
 public class JSONCredentials extends JSONCredentialsTOP {
+    /**
+     * The global configuration. It is only read from the disk on first access, unless it has already been provided
+     * via {@link #setCredentials(Credentials)}.
+     */
+    @Nullable
+    private static volatile Credentials credentials;
+
+    /**
+     * @return the global configuration, which is loaded from {@code credentials.json} on first access.
+     */
     @Nonnull
-    public static Credentials CREDENTIALS = new Credentials();
+    public static Credentials getCredentials(){
+        Credentials result = credentials;
+        if(result == null){
+            synchronized (JSONCredentials.class){
+                result = credentials;
+                if(result == null)
+                    credentials = result = load();
+            }
+        }
+        return result;
+    }
 
-    static{
+    /**
+     * Replaces the global configuration, so that it doesn't have to be read a second time, once the configuration
+     * has already been loaded at startup.
+     * @param credentials the new global configuration.
+     */
+    public static void setCredentials(@Nonnull Credentials credentials){
+        JSONCredentials.credentials = credentials;
+    }
+
+    @Nonnull
+    private static Credentials load(){
+        Credentials result = new Credentials();
         try{
-            fromJson(CREDENTIALS, Paths.get("credentials.json"));
+            fromJson(result, Paths.get("credentials.json"));
         }catch(IOException e){
             LoggerFactory.getLogger(JSONCredentials.class.getSimpleName()).error(Errors.INVALID_FILE.toString(), e.toString());
         }
+        return result;
     }
 
     @Override
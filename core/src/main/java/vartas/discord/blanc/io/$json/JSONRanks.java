@@ -22,19 +22,40 @@ import org.json.JSONObject;
 import org.slf4j.LoggerFactory;
 import vartas.discord.blanc.Errors;
 import vartas.discord.blanc.Rank;
+import vartas.discord.blanc.io.RankTable;
 import vartas.discord.blanc.io.Ranks;
 
+import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.nio.file.Paths;
 
 public class JSONRanks extends JSONRanksTOP {
-    public static Ranks RANKS = new Ranks();
+    /**
+     * The ranks of all users, which are loaded from {@code ranks.json} on first access. Modifications have to be
+     * written back via {@link #toJson(Ranks, JSONObject)} using {@link RankTable#toRanks()}.
+     * @return the ranks of all users.
+     */
+    @Nonnull
+    public static RankTable getRanks(){
+        return Holder.RANKS;
+    }
+
+    /**
+     * The file is only read once the holder is initialized, which doesn't happen before the ranks of the first user
+     * are requested, instead of whenever this class is loaded.
+     */
+    private static final class Holder{
+        @Nonnull
+        private static final RankTable RANKS = new RankTable();
 
-    static{
-        try{
-            fromJson(RANKS, Paths.get("ranks.json"));
-        }catch(IOException e){
-            LoggerFactory.getLogger(JSONRanks.class.getSimpleName()).error(Errors.INVALID_FILE.toString(), e.toString());
+        static{
+            try{
+                Ranks ranks = new Ranks();
+                fromJson(ranks, Paths.get("ranks.json"));
+                RANKS.putAll(ranks);
+            }catch(IOException e){
+                LoggerFactory.getLogger(JSONRanks.class.getSimpleName()).error(Errors.INVALID_FILE.toString(), e.toString());
+            }
         }
     }
 
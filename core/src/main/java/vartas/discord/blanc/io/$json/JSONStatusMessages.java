@@ -23,17 +23,33 @@ import org.slf4j.LoggerFactory;
 import vartas.discord.blanc.Errors;
 import vartas.discord.blanc.io.StatusMessages;
 
+import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.nio.file.Paths;
 
 public class JSONStatusMessages extends JSONStatusMessagesTOP {
-    public static StatusMessages STATUS_MESSAGES = new StatusMessages();
+    /**
+     * @return the status messages of the bot, which are loaded from {@code status.json} on first access.
+     */
+    @Nonnull
+    public static StatusMessages getStatusMessages(){
+        return Holder.STATUS_MESSAGES;
+    }
+
+    /**
+     * The file is only read once the holder is initialized, which doesn't happen before the first status message
+     * is required, instead of whenever this class is loaded.
+     */
+    private static final class Holder{
+        @Nonnull
+        private static final StatusMessages STATUS_MESSAGES = new StatusMessages();
 
-    static{
-        try{
-            fromJson(STATUS_MESSAGES, Paths.get("status.json"));
-        }catch(IOException e){
-            LoggerFactory.getLogger(JSONStatusMessages.class.getSimpleName()).error(Errors.INVALID_FILE.toString(), e.toString());
+        static{
+            try{
+                fromJson(STATUS_MESSAGES, Paths.get("status.json"));
+            }catch(IOException e){
+                LoggerFactory.getLogger(JSONStatusMessages.class.getSimpleName()).error(Errors.INVALID_FILE.toString(), e.toString());
+            }
         }
     }
 
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.io;
+
+import vartas.discord.blanc.Rank;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A thread-safe table containing the ranks of all users.<br>
+ * The ranks of a single user are stored as a bitmask, where each {@link Rank} corresponds to the bit at the position
+ * of its ordinal. The users themselves are stored via their primitive id in a sorted array. Lookups are therefore
+ * free of any allocations and don't require any locks, since they operate on an immutable snapshot of the table.
+ * Modifications are synchronized and replace the snapshot with an updated copy. This is feasible as long as
+ * modifications are rare, compared to lookups.
+ */
+@Nonnull
+public final class RankTable {
+    /**
+     * Specifies the hierarchy between the different ranks. It is not necessary for a user to have a specific
+     * {@link Rank}, as long as they have a {@link Rank} that inherits it. A prime example for this is
+     * {@link Rank#ROOT}, which includes all other ranks.<br>
+     * The entry at the position of the ordinal of a {@link Rank} contains the mask of all ranks granting it.
+     */
+    @Nonnull
+    private static final int[] GRANTED_BY = new int[Rank.values().length];
+    /**
+     * The mask of all ranks every user has implicitly.
+     */
+    private static final int DEFAULT_MASK = mask(Rank.USER);
+
+    static{
+        for(Rank rank : Rank.values())
+            GRANTED_BY[rank.ordinal()] = mask(rank) | mask(Rank.ROOT);
+        GRANTED_BY[Rank.REDDIT.ordinal()] |= mask(Rank.DEVELOPER);
+    }
+
+    /**
+     * The current state of the table.
+     */
+    @Nonnull
+    private volatile Snapshot snapshot = new Snapshot(new long[0], new int[0]);
+
+    //----------------------------------------------------------------------------------------------------------------//
+    //
+    //      Masks
+    //
+    //----------------------------------------------------------------------------------------------------------------//
+
+    /**
+     * @param rank an arbitrary {@link Rank}.
+     * @return the mask containing only the specified {@link Rank}.
+     */
+    public static int mask(@Nonnull Rank rank){
+        return 1 << rank.ordinal();
+    }
+
+    /**
+     * @param ranks an arbitrary collection of ranks.
+     * @return the mask containing all specified ranks.
+     */
+    public static int mask(@Nonnull Iterable<Rank> ranks){
+        int mask = 0;
+        for(Rank rank : ranks)
+            mask |= mask(rank);
+        return mask;
+    }
+
+    /**
+     * @param mask an arbitrary mask.
+     * @return a new, modifiable {@link Set} containing all ranks in the mask.
+     */
+    @Nonnull
+    public static Set<Rank> ranks(int mask){
+        Set<Rank> ranks = EnumSet.noneOf(Rank.class);
+        for(Rank rank : Rank.values())
+            if((mask & mask(rank)) != 0)
+                ranks.add(rank);
+        return ranks;
+    }
+
+    /**
+     * Checks whether the mask grants the specified {@link Rank}, either explicitly or implicitly via the rank
+     * hierarchy. Note that every user implicitly has {@link Rank#USER}.
+     * @param mask the ranks of a user.
+     * @param rank the required {@link Rank}.
+     * @return true if the ranks in the mask grant the specified {@link Rank}.
+     */
+    public static boolean grants(int mask, @Nonnull Rank rank){
+        return ((mask | DEFAULT_MASK) & GRANTED_BY[rank.ordinal()]) != 0;
+    }
+
+    /**
+     * @param mask the ranks of a user.
+     * @return a new, modifiable {@link Set} containing all ranks that are granted by the mask.
+     */
+    @Nonnull
+    public static Set<Rank> effectiveRanks(int mask){
+        Set<Rank> ranks = EnumSet.noneOf(Rank.class);
+        for(Rank rank : Rank.values())
+            if(grants(mask, rank))
+                ranks.add(rank);
+        return ranks;
+    }
+
+    //----------------------------------------------------------------------------------------------------------------//
+    //
+    //      Lookup
+    //
+    //----------------------------------------------------------------------------------------------------------------//
+
+    /**
+     * @param id the id of a user.
+     * @return the mask containing all ranks explicitly assigned to the user.
+     */
+    public int getMask(long id){
+        Snapshot snapshot = this.snapshot;
+        int index = Arrays.binarySearch(snapshot.ids, id);
+        return index < 0 ? 0 : snapshot.masks[index];
+    }
+
+    /**
+     * @param id the id of a user.
+     * @return a new, modifiable {@link Set} containing all ranks explicitly assigned to the user.
+     */
+    @Nonnull
+    public Set<Rank> getRanks(long id){
+        return ranks(getMask(id));
+    }
+
+    /**
+     * The returned view doesn't hold any state on its own. Every access reads the current mask of the user and every
+     * modification is written through to this table. Creating a view is therefore cheap, as long as the ranks are
+     * never requested.
+     * @param id the id of a user.
+     * @return a modifiable view over all ranks explicitly assigned to the user.
+     */
+    @Nonnull
+    public Set<Rank> view(long id){
+        return new View(id);
+    }
+
+    /**
+     * @param id the id of a user.
+     * @param rank an arbitrary {@link Rank}.
+     * @return true if the {@link Rank} has been explicitly assigned to the user.
+     */
+    public boolean containsRank(long id, @Nonnull Rank rank){
+        return (getMask(id) & mask(rank)) != 0;
+    }
+
+    /**
+     * @return the number of users with at least one rank.
+     */
+    public int size(){
+        return snapshot.ids.length;
+    }
+
+    //----------------------------------------------------------------------------------------------------------------//
+    //
+    //      Modification
+    //
+    //----------------------------------------------------------------------------------------------------------------//
+
+    /**
+     * Atomically replaces the ranks of the user with the result of the given function.
+     * @param id the id of a user.
+     * @param function the function computing the new mask, based on the current mask of the user.
+     * @return the new mask of the user.
+     */
+    public synchronized int update(long id, @Nonnull IntUnaryOperator function){
+        Snapshot snapshot = this.snapshot;
+        int index = Arrays.binarySearch(snapshot.ids, id);
+        int oldMask = index < 0 ? 0 : snapshot.masks[index];
+        int newMask = function.applyAsInt(oldMask);
+
+        if(oldMask == newMask)
+            return newMask;
+
+        long[] ids;
+        int[] masks;
+
+        if(index >= 0 && newMask != 0){
+            //Replace the existing entry
+            ids = snapshot.ids;
+            masks = snapshot.masks.clone();
+            masks[index] = newMask;
+        }else if(index >= 0){
+            //Remove the existing entry
+            ids = new long[snapshot.ids.length - 1];
+            masks = new int[snapshot.masks.length - 1];
+            System.arraycopy(snapshot.ids, 0, ids, 0, index);
+            System.arraycopy(snapshot.masks, 0, masks, 0, index);
+            System.arraycopy(snapshot.ids, index + 1, ids, index, ids.length - index);
+            System.arraycopy(snapshot.masks, index + 1, masks, index, masks.length - index);
+        }else{
+            //Insert a new entry
+            int insertion = -(index + 1);
+            ids = new long[snapshot.ids.length + 1];
+            masks = new int[snapshot.masks.length + 1];
+            System.arraycopy(snapshot.ids, 0, ids, 0, insertion);
+            System.arraycopy(snapshot.masks, 0, masks, 0, insertion);
+            ids[insertion] = id;
+            masks[insertion] = newMask;
+            System.arraycopy(snapshot.ids, insertion, ids, insertion + 1, snapshot.ids.length - insertion);
+            System.arraycopy(snapshot.masks, insertion, masks, insertion + 1, snapshot.masks.length - insertion);
+        }
+
+        this.snapshot = new Snapshot(ids, masks);
+        return newMask;
+    }
+
+    /**
+     * Assigns the {@link Rank} to the user.
+     * @param id the id of a user.
+     * @param rank the new {@link Rank} of the user.
+     */
+    public void addRank(long id, @Nonnull Rank rank){
+        update(id, mask -> mask | mask(rank));
+    }
+
+    /**
+     * Removes the {@link Rank} from the user.
+     * @param id the id of a user.
+     * @param rank the old {@link Rank} of the user.
+     */
+    public void removeRank(long id, @Nonnull Rank rank){
+        update(id, mask -> mask & ~mask(rank));
+    }
+
+    //----------------------------------------------------------------------------------------------------------------//
+    //
+    //      Persistence
+    //
+    //----------------------------------------------------------------------------------------------------------------//
+
+    /**
+     * Adds all ranks of the {@link Ranks} instance to this table.
+     * @param ranks the deserialized ranks.
+     */
+    public synchronized void putAll(@Nonnull Ranks ranks){
+        ranks.asMapRanks().forEach((id, values) -> update(id, mask -> mask | mask(values)));
+    }
+
+    /**
+     * @return a consistent copy of this table, in a format that can be serialized.
+     */
+    @Nonnull
+    public Ranks toRanks(){
+        Snapshot snapshot = this.snapshot;
+        Ranks ranks = new Ranks();
+
+        for(int i = 0 ; i < snapshot.ids.length ; ++i)
+            for(Rank rank : ranks(snapshot.masks[i]))
+                ranks.putRanks(snapshot.ids[i], rank);
+
+        return ranks;
+    }
+
+    /**
+     * The ranks of a single user, backed by this table.
+     */
+    private final class View extends AbstractSet<Rank>{
+        private final long id;
+
+        private View(long id){
+            this.id = id;
+        }
+
+        @Override
+        public boolean contains(Object o){
+            return o instanceof Rank && containsRank(id, (Rank)o);
+        }
+
+        @Override
+        public boolean add(@Nonnull Rank rank){
+            int mask = getMask(id);
+            return mask != update(id, value -> value | mask(rank));
+        }
+
+        @Override
+        public boolean remove(Object o){
+            if(!(o instanceof Rank))
+                return false;
+
+            int mask = getMask(id);
+            return mask != update(id, value -> value & ~mask((Rank)o));
+        }
+
+        @Override
+        public void clear(){
+            update(id, value -> 0);
+        }
+
+        @Override
+        public int size(){
+            return Integer.bitCount(getMask(id));
+        }
+
+        @Nonnull
+        @Override
+        public Iterator<Rank> iterator(){
+            //Iterate over a copy, so that the view can be modified during the iteration
+            Iterator<Rank> iterator = ranks(getMask(id)).iterator();
+            return new Iterator<>(){
+                private Rank current;
+
+                @Override
+                public boolean hasNext(){
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Rank next(){
+                    return current = iterator.next();
+                }
+
+                @Override
+                public void remove(){
+                    if(current == null)
+                        throw new IllegalStateException();
+                    removeRank(id, current);
+                    current = null;
+                }
+            };
+        }
+    }
+
+    /**
+     * An immutable state of the table.
+     */
+    private static final class Snapshot{
+        /**
+         * The sorted ids of all users with at least one rank.
+         */
+        @Nonnull
+        private final long[] ids;
+        /**
+         * The ranks of the users, in the same order as the ids.
+         */
+        @Nonnull
+        private final int[] masks;
+
+        private Snapshot(@Nonnull long[] ids, @Nonnull int[] masks){
+            this.ids = ids;
+            this.masks = masks;
+        }
+    }
+}
@@ -28,15 +28,19 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * The {@link IntermediateCommand} generated by the parser is only able to store the {@link Argument} as either a
  * {@link String} or {@link Number}. This class is able to use those arguments to create more complex data types.
+ * <p>
+ * A single instance is shared by all commands of a shard, which is why the {@link Guild} and {@link TextChannel} the
+ * command was received in are provided with every call, rather than being stored in the resolver. The visitors used
+ * for the individual types are kept separately for every thread, so that they can be reused without any
+ * synchronization.
  *
  * @see StringArgument
  * @see MentionArgument
@@ -44,54 +48,32 @@ import java.util.stream.Collectors;
  */
 @Nonnull
 public abstract class AbstractTypeResolver extends AbstractTypeResolverTOP {
-    /**
-     * The {@link Guild} associated with all resolved types.
-     * <code>null</code> if the resolver doesn't support guilds.
-     */
-    @Nullable
-    protected Guild guild;
-    /**
-     * The {@link TextChannel} associated with all resolved types.
-     * <code>null</code> if the resolver doesn't support guilds.
-     */
-    @Nullable
-    protected TextChannel textChannel;
-
-    /**
-     * Creates a fresh resolver instance for types that require a {@link Guild}.
-     *
-     * @param guild The {@link Guild} associated with the resolved types.
-     * @param textChannel The {@link TextChannel} associated with the resolved types.
-     */
     @Nonnull
-    public AbstractTypeResolver(@Nullable Guild guild, @Nullable TextChannel textChannel) {
-        this.guild = guild;
-        this.textChannel = textChannel;
-    }
-
-    /**
-     * Creates a fresh resolver instance for types that don't require a {@link Guild}.
-     */
+    private final ThreadLocal<StringResolver> stringResolver = ThreadLocal.withInitial(StringResolver::new);
     @Nonnull
-    public AbstractTypeResolver() {
-        this(null, null);
-    }
+    private final ThreadLocal<LocalDateResolver> localDateResolver = ThreadLocal.withInitial(LocalDateResolver::new);
+    @Nonnull
+    private final ThreadLocal<BigDecimalResolver> bigDecimalResolver = ThreadLocal.withInitial(BigDecimalResolver::new);
+    @Nonnull
+    private final ThreadLocal<ConfigurationModuleResolver> configurationModuleResolver = ThreadLocal.withInitial(ConfigurationModuleResolver::new);
+    @Nonnull
+    private final ThreadLocal<ChronoUnitResolver> chronoUnitResolver = ThreadLocal.withInitial(ChronoUnitResolver::new);
 
     /**
      * Attempts to transform the provided {@link Argument} into a {@link String}.
      * <p>
      * This transformation is only possible for instances of {@link StringArgument}, in which case its value is used.
      *
+     * @param guild The {@link Guild} the command was received in. May be <code>null</code>.
+     * @param textChannel The {@link TextChannel} the command was received in. May be <code>null</code>.
      * @param argument The {@link Argument} from which the {@link String} is extracted.
      * @return The {@link String} extracted from the {@link Argument}.
      * @throws NoSuchElementException If the {@link Argument} can't be resolved as a {@link String}.
      */
     @Override
     @Nonnull
-    public String resolveString(@Nonnull Argument argument) throws NoSuchElementException {
-        return new StringResolver().apply(argument).orElseThrow(
-                () -> TypeResolverException.of(Errors.UNKNOWN_ENTITY, ArgumentPrettyPrinter.printPretty(argument))
-        );
+    public String resolveString(@Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull Argument argument) throws NoSuchElementException {
+        return orElseThrow(stringResolver.get().apply(argument), argument);
     }
 
     /**
@@ -100,6 +82,8 @@ public abstract class AbstractTypeResolver extends AbstractTypeResolverTOP {
      * This transformation is only possible for instances of {@link StringArgument}, in which case we assume the
      * value to represent a valid date. The date format is "yyyy-mm-dd".
      *
+     * @param guild The {@link Guild} the command was received in. May be <code>null</code>.
+     * @param textChannel The {@link TextChannel} the command was received in. May be <code>null</code>.
      * @param argument The {@link Argument} from which the {@link LocalDate} is extracted.
      * @return The {@link LocalDate} extracted from the {@link Argument}.
      * @throws NoSuchElementException If the {@link Argument} can't be resolved as a {@link LocalDate}.
@@ -108,10 +92,8 @@ public abstract class AbstractTypeResolver extends AbstractTypeResolverTOP {
      */
     @Override
     @Nonnull
-    public LocalDate resolveLocalDate(@Nonnull Argument argument) throws NoSuchElementException {
-        return new LocalDateResolver().apply(argument).orElseThrow(
-                () -> TypeResolverException.of(Errors.UNKNOWN_ENTITY, ArgumentPrettyPrinter.printPretty(argument))
-        );
+    public LocalDate resolveLocalDate(@Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull Argument argument) throws NoSuchElementException {
+        return orElseThrow(localDateResolver.get().apply(argument), argument);
     }
 
     /**
@@ -120,16 +102,16 @@ public abstract class AbstractTypeResolver extends AbstractTypeResolverTOP {
      * Numbers are represented using arithmetic expressions which, in turn, are instances of {@link ArithmeticArgument}.
      * The parser already evaluates the expressions, therefore the {@link Argument} only contains the final result.
      *
+     * @param guild The {@link Guild} the command was received in. May be <code>null</code>.
+     * @param textChannel The {@link TextChannel} the command was received in. May be <code>null</code>.
      * @param argument The {@link Argument} from which the {@link BigDecimal} is extracted.
      * @return The {@link BigDecimal} extracted from the {@link Argument}.
      * @throws NoSuchElementException If the {@link Argument} can't be resolved as a {@link BigDecimal}.
      */
     @Override
     @Nonnull
-    public BigDecimal resolveBigDecimal(@Nonnull Argument argument) throws NoSuchElementException {
-        return new BigDecimalResolver().apply(argument).orElseThrow(
-                () -> TypeResolverException.of(Errors.UNKNOWN_ENTITY, ArgumentPrettyPrinter.printPretty(argument))
-        );
+    public BigDecimal resolveBigDecimal(@Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull Argument argument) throws NoSuchElementException {
+        return orElseThrow(bigDecimalResolver.get().apply(argument), argument);
     }
 
     /**
@@ -137,6 +119,8 @@ public abstract class AbstractTypeResolver extends AbstractTypeResolverTOP {
      * <p>
      * A module is identified by finding the enum value with the matching name. The check is case-insensitive.
      *
+     * @param guild The {@link Guild} the command was received in. May be <code>null</code>.
+     * @param textChannel The {@link TextChannel} the command was received in. May be <code>null</code>.
      * @param argument The {@link Argument} from which the {@link ConfigurationModule} is extracted.
      * @return The {@link ConfigurationModule} extracted from the {@link Argument}.
      * @throws NoSuchElementException If the {@link Argument} can't be resolved as a {@link ConfigurationModule}.
@@ -144,10 +128,8 @@ public abstract class AbstractTypeResolver extends AbstractTypeResolverTOP {
      */
     @Override
     @Nonnull
-    public ConfigurationModule resolveConfigurationModule(@Nonnull Argument argument) throws NoSuchElementException {
-        return new ConfigurationModuleResolver().apply(argument).orElseThrow(
-                () -> TypeResolverException.of(Errors.UNKNOWN_ENTITY, ArgumentPrettyPrinter.printPretty(argument))
-        );
+    public ConfigurationModule resolveConfigurationModule(@Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull Argument argument) throws NoSuchElementException {
+        return orElseThrow(configurationModuleResolver.get().apply(argument), argument);
     }
 
     /**
@@ -155,6 +137,8 @@ public abstract class AbstractTypeResolver extends AbstractTypeResolverTOP {
      * <p>
      * The time unit is identified by finding the enum value with the matching name. The check is case-insensitive.
      *
+     * @param guild The {@link Guild} the command was received in. May be <code>null</code>.
+     * @param textChannel The {@link TextChannel} the command was received in. May be <code>null</code>.
      * @param argument The {@link Argument} from which the {@link ChronoUnit} is extracted.
      * @return The {@link ChronoUnit} extracted from the {@link Argument}.
      * @throws NoSuchElementException If the {@link Argument} can't be resolved as a {@link ChronoUnit}.
@@ -162,10 +146,8 @@ public abstract class AbstractTypeResolver extends AbstractTypeResolverTOP {
      */
     @Override
     @Nonnull
-    public ChronoUnit resolveChronoUnit(@Nonnull Argument argument) throws NoSuchElementException {
-        return new ChronoUnitResolver().apply(argument).orElseThrow(
-                () -> TypeResolverException.of(Errors.UNKNOWN_ENTITY, ArgumentPrettyPrinter.printPretty(argument))
-        );
+    public ChronoUnit resolveChronoUnit(@Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull Argument argument) throws NoSuchElementException {
+        return orElseThrow(chronoUnitResolver.get().apply(argument), argument);
     }
 
     /**
@@ -173,19 +155,21 @@ public abstract class AbstractTypeResolver extends AbstractTypeResolverTOP {
      * index, {@link Optional#empty()} is return. Otherwise an {@link Optional} containing the resolved argument at the
      * specific position is returned. This method is used for commands, where the program has a default state that is
      * executed if no {@link Argument} is provided.
+     * @param guild The {@link Guild} the command was received in. May be <code>null</code>.
+     * @param textChannel The {@link TextChannel} the command was received in. May be <code>null</code>.
      * @param arguments A {@link List} of all arguments of a  received {@link Command}.
      * @param index The index of the {@link Argument} that is resolved. May be larger than the size of the provided
      *              {@link List}.
-     * @param transformer The {@link Function} for transforming the {@link Argument} at the specified index into a new
-     *                    type.
+     * @param resolver The {@link Resolver} for transforming the {@link Argument} at the specified index into a new
+     *                 type.
      * @param <T> The generic type the {@link Argument} is resolved into.
      * @return An {@link Optional} containing the resolved type. If the index is outside the range of the provided
      *         {@link List}, {@link Optional#empty()} is returned.
      * @throws NoSuchElementException If the {@link Argument} can't be resolved. Note that this exception is only thrown
      *                                if the {@link List} contains an {@link Argument} at the specified index.
      */
-    public <T> Optional<T> resolveOptional(@Nonnull List<? extends Argument> arguments, int index, @Nonnull Function<? super Argument, T> transformer) throws NoSuchElementException {
-        return index < arguments.size() ? Optional.of(transformer.apply(arguments.get(index))) : Optional.empty();
+    public <T> Optional<T> resolveOptional(@Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull List<? extends Argument> arguments, int index, @Nonnull Resolver<T> resolver) throws NoSuchElementException {
+        return index < arguments.size() ? Optional.of(resolver.resolve(this, guild, textChannel, arguments.get(index))) : Optional.empty();
     }
 
 
@@ -193,19 +177,43 @@ public abstract class AbstractTypeResolver extends AbstractTypeResolverTOP {
      * Attempts to transform an list of arguments at once. This method is used for commands that may require an
      * arbitrary amount of arguments. In that case, multiple arguments are grouped together to match the {@link Command}
      * signature.
-     * @param arguments A (sub-)list of all arguments of a  received {@link Command}.
-     * @param transformer The {@link Function} for transforming all arguments of the provided {@link List} into the
-     *                    specified type.
+     * @param guild The {@link Guild} the command was received in. May be <code>null</code>.
+     * @param textChannel The {@link TextChannel} the command was received in. May be <code>null</code>.
+     * @param arguments A {@link List} of all arguments of a  received {@link Command}.
+     * @param index The index of the first {@link Argument} that is resolved.
+     * @param resolver The {@link Resolver} for transforming all arguments starting at the specified index into the
+     *                 specified type.
      * @param <T> The generic type the {@link Argument} is resolved into.
      * @return An {@link List} containing all resolved types, in order in which they appear.
      * @throws NoSuchElementException If at least one {@link Argument} can't be resolved..
      */
-    public <T> List<T> resolveMany(@Nonnull List<? extends Argument> arguments, @Nonnull Function<? super Argument, T> transformer) throws NoSuchElementException {
-        return arguments.stream().map(transformer).collect(Collectors.toList());
+    public <T> List<T> resolveMany(@Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull List<? extends Argument> arguments, int index, @Nonnull Resolver<T> resolver) throws NoSuchElementException {
+        List<T> result = new ArrayList<>(Math.max(arguments.size() - index, 0));
+        for(int i = index ; i < arguments.size() ; ++i)
+            result.add(resolver.resolve(this, guild, textChannel, arguments.get(i)));
+        return result;
+    }
+
+    @Nonnull
+    private static <T> T orElseThrow(@Nonnull Optional<T> value, @Nonnull Argument argument) throws NoSuchElementException{
+        if(value.isPresent())
+            return value.get();
+        else
+            throw TypeResolverException.of(Errors.UNKNOWN_ENTITY, ArgumentPrettyPrinter.printPretty(argument));
     }
 
     @Override
     public AbstractTypeResolver getRealThis(){
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * One of the resolve methods of this class. Since the method is referenced without a bound receiver, e.g.
+     * <code>AbstractTypeResolver::resolveString</code>, the same instance is used for every command.
+     * @param <T> The generic type the {@link Argument} is resolved into.
+     */
+    @FunctionalInterface
+    public interface Resolver <T> {
+        T resolve(@Nonnull AbstractTypeResolver resolver, @Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull Argument argument) throws NoSuchElementException;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.parser;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A case-insensitive index from names to the ids of the entities carrying them.
+ * <p>
+ * The names are kept in sorted order, which allows both exact and prefix lookups in logarithmic time, instead of
+ * scanning over all entities. Multiple entities may share the same name and a single entity may be indexed under
+ * multiple names, e.g. both its name and its nickname.
+ * <p>
+ * The normalized names are interned, so that names occurring in multiple indices, such as the name of a user
+ * sharing multiple guilds with the bot, are only stored once. This class is thread-safe.
+ */
+@Nonnull
+public final class NameIndex {
+    /**
+     * The normalized names shared between all indices.
+     */
+    @Nonnull
+    private static final Interner<String> NAMES = Interners.newWeakInterner();
+    /**
+     * The ids of all entities, grouped by their normalized name.
+     */
+    @Nonnull
+    private final ConcurrentNavigableMap<String, long[]> index = new ConcurrentSkipListMap<>();
+
+    /**
+     * Adds the entity to the index.
+     * @param name one of the names of the entity.
+     * @param id the id of the entity.
+     */
+    public void add(@Nonnull String name, long id){
+        index.compute(NAMES.intern(normalize(name)), (key, ids) -> {
+            if(ids == null)
+                return new long[]{id};
+
+            for(long value : ids)
+                if(value == id)
+                    return ids;
+
+            long[] result = Arrays.copyOf(ids, ids.length + 1);
+            result[ids.length] = id;
+            return result;
+        });
+    }
+
+    /**
+     * Removes the entity from the index. Names without any remaining entities are removed as well.
+     * @param name one of the names of the entity.
+     * @param id the id of the entity.
+     */
+    public void remove(@Nonnull String name, long id){
+        index.computeIfPresent(normalize(name), (key, ids) -> {
+            long[] result = Arrays.stream(ids).filter(value -> value != id).toArray();
+            return result.length == 0 ? null : result;
+        });
+    }
+
+    /**
+     * @param name the name of the requested entities.
+     * @return the ids of all entities with the specified name, ignoring the case.
+     */
+    @Nonnull
+    public Set<Long> get(@Nonnull String name){
+        Set<Long> result = new LinkedHashSet<>();
+        addAll(result, index.get(normalize(name)), Integer.MAX_VALUE);
+        return result;
+    }
+
+    /**
+     * Resolution only succeeds if a name identifies a single entity. Callers are therefore usually only interested in
+     * whether there is more than one match, which is why the number of returned ids can be limited.
+     * @param prefix the prefix of the name of the requested entities.
+     * @param limit the maximum number of returned ids.
+     * @return the ids of the entities whose name starts with the specified prefix, ignoring the case.
+     */
+    @Nonnull
+    public Set<Long> getByPrefix(@Nonnull String prefix, int limit){
+        String key = normalize(prefix);
+        Set<Long> result = new LinkedHashSet<>();
+
+        for(long[] ids : index.subMap(key, true, key + Character.MAX_VALUE, false).values()){
+            addAll(result, ids, limit);
+
+            if(result.size() >= limit)
+                break;
+        }
+
+        return result;
+    }
+
+    /**
+     * Performs a fuzzy lookup, accepting names that differ from the requested name by at most the given number of
+     * inserted, deleted or replaced characters.<br>
+     * In order to avoid a scan over the whole index, only names with the same first character are considered.
+     * @param name the approximate name of the requested entities.
+     * @param distance the maximum edit distance between the requested name and the name of an entity.
+     * @param limit the maximum number of returned ids.
+     * @return the ids of the entities whose name is close to the specified name, ignoring the case.
+     */
+    @Nonnull
+    public Set<Long> getByDistance(@Nonnull String name, int distance, int limit){
+        String key = normalize(name);
+        Set<Long> result = new LinkedHashSet<>();
+
+        if(key.isEmpty())
+            return result;
+
+        String first = key.substring(0, 1);
+
+        for(Map.Entry<String, long[]> entry : index.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()){
+            if(isWithinDistance(key, entry.getKey(), distance))
+                addAll(result, entry.getValue(), limit);
+
+            if(result.size() >= limit)
+                break;
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the number of distinct names in this index.
+     */
+    public int size(){
+        return index.size();
+    }
+
+    /**
+     * Removes all names from this index.
+     */
+    public void clear(){
+        index.clear();
+    }
+
+    private static void addAll(@Nonnull Set<Long> target, long[] ids, int limit){
+        if(ids == null)
+            return;
+
+        for(int i = 0 ; i < ids.length && target.size() < limit ; ++i)
+            target.add(ids[i]);
+    }
+
+    @Nonnull
+    private static String normalize(@Nonnull String name){
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Computes the Levenshtein distance row by row and stops as soon as the distance can't be within the bound
+     * anymore.
+     * @param source the requested name.
+     * @param target the indexed name.
+     * @param distance the maximum edit distance.
+     * @return true if the edit distance between both names doesn't exceed the given bound.
+     */
+    private static boolean isWithinDistance(@Nonnull String source, @Nonnull String target, int distance){
+        if(Math.abs(source.length() - target.length()) > distance)
+            return false;
+
+        int[] previous = new int[target.length() + 1];
+        int[] current = new int[target.length() + 1];
+
+        for(int j = 0 ; j <= target.length() ; ++j)
+            previous[j] = j;
+
+        for(int i = 1 ; i <= source.length() ; ++i){
+            current[0] = i;
+            int minimum = current[0];
+
+            for(int j = 1 ; j <= target.length() ; ++j){
+                int cost = source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                minimum = Math.min(minimum, current[j]);
+            }
+
+            //All remaining rows can only increase the distance
+            if(minimum > distance)
+                return false;
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[target.length()] <= distance;
+    }
+}
@@ -67,20 +67,35 @@ public class RedditVisitor implements ArchitectureVisitor {
      */
     @Nonnull
     private Instant minimumAge = previousExecution;
+    /**
+     * The id of the first shard operated by this process. Every process of a cluster has its own visitor, so the
+     * time window has to be advanced by each of them.
+     */
+    private final int primaryShard;
 
     /**
      * Initializes the visitor.
      * @param redditClient The hook point for receiving new {@link Submission submissions}
+     * @param primaryShard The id of the first shard operated by this process.
      */
-    public RedditVisitor(@Nonnull vartas.reddit.Client redditClient){
+    public RedditVisitor(@Nonnull vartas.reddit.Client redditClient, int primaryShard){
         this.redditClient = redditClient;
+        this.primaryShard = primaryShard;
+    }
+
+    /**
+     * Initializes the visitor for a process operating all shards.
+     * @param redditClient The hook point for receiving new {@link Submission submissions}
+     */
+    public RedditVisitor(@Nonnull vartas.reddit.Client redditClient){
+        this(redditClient, 0);
     }
 
     /**
      * In order to keep the minimum age synchronized between multiple shards, {@link #minimumAge} is only updated to the
-     * current time for the first shard. All succeeding shards use exactly the same time. This is to avoid missing out
-     * on submissions that have been made between the small time difference between the processing the individual
-     * shards.
+     * current time for the first shard of this process. All succeeding shards use exactly the same time. This is to
+     * avoid missing out on submissions that have been made between the small time difference between the processing
+     * the individual shards.
      * @param shard The current {@link Shard}.
      */
     @Override
@@ -88,7 +103,7 @@ public class RedditVisitor implements ArchitectureVisitor {
         log.trace("Visiting shard {}.", shard.getId());
 
         //Keep the dates synchronized between multiple shards.
-        if(shard.getId() == 0) {
+        if(shard.getId() == primaryShard) {
             //Take the timestamp from the last cycle
             previousExecution = minimumAge;
             //Submissions need to be at least one minute old
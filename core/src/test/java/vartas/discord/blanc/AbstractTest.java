@@ -38,7 +38,7 @@ public abstract class AbstractTest {
     @BeforeAll
     public static void setUpAll() throws IOException {
         credentials = JSONCredentials.fromJson(new Credentials(), RESOURCES.resolve("credentials.json"));
-        JSONCredentials.CREDENTIALS = credentials;
+        JSONCredentials.setCredentials(credentials);
     }
     public ShardMock shard;
     public GuildMock guild;
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompletableFuturesTest {
+    @Test
+    public void testRun(){
+        assertThat(CompletableFutures.run(() -> {})).isCompleted();
+    }
+
+    @Test
+    public void testRunFailure(){
+        CompletableFuture<Void> future = CompletableFutures.run(() -> {
+            throw new UnsupportedOperationException();
+        });
+
+        assertThat(future).isCompletedExceptionally();
+    }
+
+    @Test
+    public void testJoinFailure(){
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(new UnsupportedOperationException());
+
+        assertThatThrownBy(() -> CompletableFutures.join(future)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testJoinCheckedFailure(){
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(new Exception());
+
+        assertThatThrownBy(() -> CompletableFutures.join(future)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testLogFailure(){
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CompletableFuture<Void> logged = CompletableFutures.log(future, LoggerFactory.getLogger(getClass()));
+        future.completeExceptionally(new UnsupportedOperationException());
+
+        assertThatThrownBy(() -> CompletableFutures.join(logged)).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
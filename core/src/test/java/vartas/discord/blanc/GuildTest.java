@@ -18,8 +18,7 @@
 package vartas.discord.blanc;
 
 import org.junit.jupiter.api.Test;
-
-import java.util.regex.Pattern;
+import vartas.discord.blanc.blacklist.BlacklistPattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -34,7 +33,7 @@ public class GuildTest extends AbstractTest{
     @Test
     public void testCompilePattern(){
         guild.compilePattern();
-        assertThat(guild.getPattern()).map(Pattern::toString).contains("handholding");
+        assertThat(guild.getPattern()).map(BlacklistPattern::toString).contains("handholding");
     }
 
     @Test
@@ -29,8 +29,10 @@ import vartas.reddit.factory.SubredditFactory;
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -190,6 +192,38 @@ public class MessageChannelTest extends AbstractTest{
         assertThat(expected).containsExactly(retrieved);
     }
 
+    @Test
+    public void testSendStream() throws IOException {
+        byte[] expected = "content".getBytes(StandardCharsets.UTF_8);
+        textChannel.send(new ByteArrayInputStream(expected), "file.txt");
+
+        Message message = getSendMessage();
+        assertThat(message.getAttachments()).hasSize(1);
+
+        byte[] retrieved = message.getAttachments(0).retrieveContent().readAllBytes();
+
+        assertThat(expected).containsExactly(retrieved);
+    }
+
+    @Test
+    public void testSendMessageEmbedAsync(){
+        assertThat(textChannel.sendAsync(messageEmbed)).isCompleted();
+
+        Message message = getSendMessage();
+        assertThat(message.containsMessageEmbeds(messageEmbed)).isTrue();
+    }
+
+    @Test
+    public void testSendStreamAsync() throws IOException {
+        byte[] expected = "content".getBytes(StandardCharsets.UTF_8);
+        assertThat(textChannel.sendAsync(new ByteArrayInputStream(expected), "file.txt")).isCompleted();
+
+        Message message = getSendMessage();
+        byte[] retrieved = message.getAttachments(0).retrieveContent().readAllBytes();
+
+        assertThat(expected).containsExactly(retrieved);
+    }
+
     @Test
     public void testSendString(){
         textChannel.send("%d + %d = %d", 1, 2, 3);
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PermissionsTest {
+    @Test
+    public void testGetRaw(){
+        assertThat(Permissions.getRaw(Permission.CREATE_INSTANT_INVITE)).isEqualTo(0x1L);
+        assertThat(Permissions.getRaw(Permission.ADMINISTRATOR)).isEqualTo(0x8L);
+        assertThat(Permissions.getRaw(Permission.MANAGE_EMOJIS)).isEqualTo(0x40000000L);
+    }
+
+    @Test
+    public void testGetRawCollection(){
+        assertThat(Permissions.getRaw(EnumSet.of(Permission.KICK_MEMBERS, Permission.BAN_MEMBERS))).isEqualTo(0x6L);
+        assertThat(Permissions.getRaw(EnumSet.noneOf(Permission.class))).isZero();
+    }
+
+    @Test
+    public void testAsSet(){
+        Set<Permission> permissions = Permissions.asSet(0x6L);
+
+        assertThat(permissions).containsExactly(Permission.KICK_MEMBERS, Permission.BAN_MEMBERS);
+        assertThat(permissions).doesNotContain(Permission.ADMINISTRATOR);
+    }
+
+    @Test
+    public void testAsSetIgnoresUnknownFlags(){
+        assertThat(Permissions.asSet(~Permissions.ALL)).isEmpty();
+        assertThat(Permissions.asSet(-1L)).containsExactlyInAnyOrder(Permission.values());
+    }
+
+    @Test
+    public void testAll(){
+        assertThat(Permissions.asSet(Permissions.ALL)).hasSize(Permission.values().length);
+    }
+}
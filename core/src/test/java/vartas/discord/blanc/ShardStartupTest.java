@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.cluster.ShardRange;
+import vartas.discord.blanc.mock.ShardMock;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ShardStartupTest extends AbstractTest {
+    CountDownLatch latch;
+    ShardLoader shardLoader;
+    ShardStartup startup;
+    List<Integer> ready;
+
+    @BeforeEach
+    public void setUp(){
+        latch = new CountDownLatch(1);
+        ready = new CopyOnWriteArrayList<>();
+        shardLoader = new ShardLoader(credentials){
+            @Override
+            public Shard load(int shardId){
+                //The second shard only becomes ready after the first one has been handed over
+                if(shardId == 1){
+                    try{
+                        latch.await();
+                    }catch(InterruptedException e){
+                        throw new IllegalStateException(e);
+                    }
+                }else if(shardId == 2){
+                    throw new UnsupportedOperationException();
+                }
+                return new ShardMock(shardId);
+            }
+        };
+        startup = new ShardStartup(shardLoader);
+    }
+
+    @Test
+    public void testStart() throws Exception{
+        CompletableFuture<Void> future = startup.start(ShardRange.of(0, 1, 2), shard -> {
+            ready.add(shard.getId());
+            latch.countDown();
+        });
+
+        future.get(10, TimeUnit.SECONDS);
+
+        assertThat(ready).containsExactly(0, 1);
+        assertThat(startup.getReadyTimes()).containsOnlyKeys(0, 1);
+    }
+
+    @Test
+    public void testStartFailure(){
+        latch.countDown();
+
+        CompletableFuture<Void> future = startup.start(ShardRange.of(0, 1, 3), shard -> ready.add(shard.getId()));
+
+        assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(ready).containsExactlyInAnyOrder(0, 1);
+        assertThat(startup.getReadyTimes()).containsOnlyKeys(0, 1);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.blacklist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AhoCorasickAutomatonTest {
+    AhoCorasickAutomaton automaton;
+    @BeforeEach
+    public void setUp(){
+        automaton = new AhoCorasickAutomaton(List.of("he", "she", "his", "hers"));
+    }
+
+    @Test
+    public void testFind(){
+        assertThat(automaton.find("ushers")).isTrue();
+        assertThat(automaton.find("this")).isTrue();
+        assertThat(automaton.find("hi")).isFalse();
+        assertThat(automaton.find("")).isFalse();
+    }
+
+    @Test
+    public void testFindSuffix(){
+        //"she" fails on 'r' and has to fall back to "he" before reaching "hers"
+        assertThat(new AhoCorasickAutomaton(List.of("sheep", "hers")).find("shers")).isTrue();
+        //"abcd" fails on 'x', "bcx" has to be found via the failure link of "abc"
+        assertThat(new AhoCorasickAutomaton(List.of("abcd", "bcx")).find("abcx")).isTrue();
+        assertThat(new AhoCorasickAutomaton(List.of("abcd", "bcx")).find("abcbc")).isFalse();
+    }
+
+    @Test
+    public void testFindEmpty(){
+        assertThat(new AhoCorasickAutomaton(Collections.emptyList()).find("text")).isFalse();
+        assertThat(new AhoCorasickAutomaton(List.of("")).find("")).isTrue();
+    }
+
+    @Test
+    public void testSize(){
+        //The initial state and h, he, her, hers, hi, his, s, sh, she
+        assertThat(automaton.size()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.blacklist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.Message;
+import vartas.discord.blanc.MessageEmbed;
+import vartas.discord.blanc.mock.MessageMock;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BlacklistPatternTest {
+    BlacklistPattern pattern;
+    Message message;
+    MessageEmbed messageEmbed;
+    @BeforeEach
+    public void setUp(){
+        pattern = BlacklistPattern.compile(List.of("handholding", "lewd", "no+pe")).orElseThrow();
+        message = new MessageMock();
+        messageEmbed = new MessageEmbed();
+    }
+
+    @Test
+    public void testCompile(){
+        assertThat(BlacklistPattern.compile(Collections.emptyList())).isEmpty();
+        assertThat(BlacklistPattern.compile(List.of("["))).isEmpty();
+        assertThat(BlacklistPattern.compile(List.of("[", "lewd"))).map(BlacklistPattern::toString).contains("[|lewd");
+    }
+
+    @Test
+    public void testMatches(){
+        assertThat(pattern.matches("no handholding allowed")).isTrue();
+        assertThat(pattern.matches("nooooope")).isTrue();
+        assertThat(pattern.matches("holding hands")).isFalse();
+    }
+
+    @Test
+    public void testMatchesContent(){
+        assertThat(pattern.matches(message)).isFalse();
+        message.setContent("lewd");
+        assertThat(pattern.matches(message)).isTrue();
+    }
+
+    @Test
+    public void testMatchesTitle(){
+        message.addMessageEmbeds(messageEmbed);
+        messageEmbed.setTitle("lewd");
+        assertThat(pattern.matches(message)).isTrue();
+    }
+
+    @Test
+    public void testMatchesAuthor(){
+        message.addMessageEmbeds(messageEmbed);
+        messageEmbed.setAuthor("nope");
+        assertThat(pattern.matches(message)).isTrue();
+    }
+
+    @Test
+    public void testMatchesField(){
+        message.addMessageEmbeds(messageEmbed);
+        messageEmbed.addFields("Title", "Content");
+        assertThat(pattern.matches(message)).isFalse();
+        messageEmbed.addFields("Title", "handholding");
+        assertThat(pattern.matches(message)).isTrue();
+    }
+
+    @Test
+    public void testToString(){
+        assertThat(pattern.toString()).isEqualTo("handholding|lewd|no+pe");
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.cluster;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LeaseDirectoryTest {
+    Path directory = Paths.get("target", "test", "cluster");
+    Instant now = Instant.ofEpochSecond(1000);
+    LeaseDirectory first;
+    LeaseDirectory second;
+    LeaseDirectory third;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        if(Files.exists(directory))
+            try(Stream<Path> paths = Files.walk(directory)){
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+
+        first = create("first", now);
+        second = create("second", now);
+        third = create("third", now);
+    }
+
+    private LeaseDirectory create(String memberId, Instant instant){
+        return new LeaseDirectory(directory, 2, 4, Clock.fixed(instant, ZoneOffset.UTC), memberId);
+    }
+
+    @Test
+    public void testAcquire(){
+        LeaseDirectory.Lease lease1 = first.tryAcquire().orElseThrow();
+        LeaseDirectory.Lease lease2 = second.tryAcquire().orElseThrow();
+
+        assertThat(lease1.getShards()).isEqualTo(ShardRange.of(0, 2, 4));
+        assertThat(lease1.isLeader()).isTrue();
+        assertThat(lease2.getShards()).isEqualTo(ShardRange.of(1, 2, 4));
+        assertThat(lease2.isLeader()).isFalse();
+        assertThat(third.tryAcquire()).isEmpty();
+    }
+
+    @Test
+    public void testRenew(){
+        LeaseDirectory.Lease lease = first.tryAcquire().orElseThrow();
+
+        assertThat(first.renew(lease)).isTrue();
+    }
+
+    @Test
+    public void testRelease(){
+        LeaseDirectory.Lease lease = first.tryAcquire().orElseThrow();
+        second.tryAcquire().orElseThrow();
+
+        first.release(lease);
+
+        LeaseDirectory.Lease takeover = third.tryAcquire().orElseThrow();
+        assertThat(takeover.getShards()).isEqualTo(lease.getShards());
+        assertThat(takeover.isLeader()).isTrue();
+    }
+
+    @Test
+    public void testTakeOverExpiredLease(){
+        LeaseDirectory.Lease lease = first.tryAcquire().orElseThrow();
+        second.tryAcquire().orElseThrow();
+
+        //Neither lease has expired yet
+        third = create("third", now.plus(LeaseDirectory.LEASE_DURATION));
+        assertThat(third.tryAcquire()).isEmpty();
+
+        third = create("third", now.plus(LeaseDirectory.LEASE_DURATION).plusSeconds(1));
+        LeaseDirectory.Lease takeover = third.tryAcquire().orElseThrow();
+
+        assertThat(takeover.getShards()).isEqualTo(lease.getShards());
+        assertThat(first.renew(lease)).isFalse();
+        assertThat(third.renew(takeover)).isTrue();
+    }
+
+    @Test
+    public void testAcquireExpired(){
+        LeaseDirectory.Lease lease = first.tryAcquire().orElseThrow();
+
+        //The second range is free, but not expired
+        assertThat(second.tryAcquireExpired()).isEmpty();
+
+        second = create("second", now.plus(LeaseDirectory.LEASE_DURATION).plusSeconds(1));
+        LeaseDirectory.Lease takeover = second.tryAcquireExpired().orElseThrow();
+
+        assertThat(takeover.getShards()).isEqualTo(lease.getShards());
+        assertThat(first.renew(lease)).isFalse();
+    }
+
+    @Test
+    public void testCorruptedLease() throws IOException {
+        Files.createDirectories(directory);
+        Files.write(directory.resolve("range-0.lease"), List.of("first", "invalid"), StandardCharsets.UTF_8);
+
+        LeaseDirectory.Lease lease = second.tryAcquire().orElseThrow();
+        assertThat(lease.isLeader()).isTrue();
+        assertThat(second.renew(lease)).isTrue();
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+        first.tryAcquire().orElseThrow();
+
+        try(Stream<Path> paths = Files.list(directory)){
+            assertThat(paths.map(path -> path.getFileName().toString())).containsExactlyInAnyOrder(".lock", "range-0.lease");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ShardRangeTest {
+    @Test
+    public void testAll(){
+        ShardRange range = ShardRange.all(4);
+
+        assertThat(range.getFirst()).isEqualTo(0);
+        assertThat(range.getLast()).isEqualTo(3);
+        assertThat(range.size()).isEqualTo(4);
+    }
+
+    @Test
+    public void testOf(){
+        assertThat(ShardRange.of(0, 3, 10)).isEqualTo(ShardRange.of(0, 1, 3));
+        assertThat(ShardRange.of(1, 3, 10).getFirst()).isEqualTo(3);
+        assertThat(ShardRange.of(1, 3, 10).getLast()).isEqualTo(5);
+        assertThat(ShardRange.of(2, 3, 10).getFirst()).isEqualTo(6);
+        assertThat(ShardRange.of(2, 3, 10).getLast()).isEqualTo(9);
+    }
+
+    @Test
+    public void testCoversAllShards(){
+        int shardCount = 17;
+        int size = 5;
+        int shards = 0;
+
+        for(int i = 0 ; i < size ; ++i){
+            ShardRange range = ShardRange.of(i, size, shardCount);
+            assertThat(range.getFirst()).isEqualTo(shards);
+            shards += range.size();
+        }
+
+        assertThat(shards).isEqualTo(shardCount);
+    }
+
+    @Test
+    public void testContains(){
+        ShardRange range = ShardRange.of(1, 2, 4);
+
+        assertThat(range.contains(1)).isFalse();
+        assertThat(range.contains(2)).isTrue();
+        assertThat(range.contains(3)).isTrue();
+        assertThat(range.contains(4)).isFalse();
+    }
+
+    @Test
+    public void testInvalidRange(){
+        assertThatThrownBy(() -> ShardRange.of(0, 3, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ShardRange.of(3, 3, 6)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -99,6 +99,14 @@ public class CommandBuilderTest extends AbstractTest {
         assertThat(commandBuilder.build(privateMessage, privateChannel)).isEmpty();
     }
 
+    @Test
+    public void testHasGlobalPrefix(){
+        assertThat(commandBuilder.hasGlobalPrefix("!!:command")).isTrue();
+        assertThat(commandBuilder.hasGlobalPrefix("  !!:command")).isTrue();
+        assertThat(commandBuilder.hasGlobalPrefix("command")).isFalse();
+        assertThat(commandBuilder.hasGlobalPrefix("")).isFalse();
+    }
+
     @Test
     public void testGetRealThis(){
         assertThat(commandBuilder.getRealThis()).isInstanceOf(CommandBuilder.class);
@@ -17,9 +17,11 @@
 
 package vartas.discord.blanc.command;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import vartas.discord.blanc.*;
+import vartas.discord.blanc.io.$json.JSONRanks;
 import vartas.discord.blanc.mock.AttachmentMock;
 import vartas.discord.blanc.mock.MessageCommandMock;
 import vartas.discord.blanc.mock.MessageMock;
@@ -38,9 +40,14 @@ public class CommandTest extends AbstractTest {
         message = new MessageMock();
     }
 
+    @AfterEach
+    public void tearDown(){
+        JSONRanks.getRanks().update(user.getId(), mask -> 0);
+    }
+
     @Test
     public void testCheckRootRank(){
-        user.addRanks(Rank.ROOT);
+        JSONRanks.getRanks().addRank(user.getId(), Rank.ROOT);
         assertDoesNotThrow(() -> command.checkRank(user, Rank.USER));
         assertDoesNotThrow(() -> command.checkRank(user, Rank.DEVELOPER));
         assertDoesNotThrow(() -> command.checkRank(user, Rank.ROOT));
@@ -48,7 +55,7 @@ public class CommandTest extends AbstractTest {
 
     @Test
     public void testCheckDeveloperRank(){
-        user.addRanks(Rank.DEVELOPER);
+        JSONRanks.getRanks().addRank(user.getId(), Rank.DEVELOPER);
         assertDoesNotThrow(() -> command.checkRank(user, Rank.USER));
         assertDoesNotThrow(() -> command.checkRank(user, Rank.DEVELOPER));
         assertThrows(PermissionException.class, () -> command.checkRank(user, Rank.ROOT));
@@ -56,7 +63,7 @@ public class CommandTest extends AbstractTest {
 
     @Test
     public void testCheckUserRank(){
-        user.addRanks(Rank.USER);
+        JSONRanks.getRanks().addRank(user.getId(), Rank.USER);
         assertDoesNotThrow(() -> command.checkRank(user, Rank.USER));
         assertThrows(PermissionException.class, () -> command.checkRank(user, Rank.DEVELOPER));
         assertThrows(PermissionException.class, () -> command.checkRank(user, Rank.ROOT));
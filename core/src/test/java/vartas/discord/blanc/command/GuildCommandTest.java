@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import vartas.discord.blanc.AbstractTest;
 import vartas.discord.blanc.Permission;
 import vartas.discord.blanc.PermissionException;
+import vartas.discord.blanc.Permissions;
 import vartas.discord.blanc.mock.CommandBuilderMock;
 import vartas.discord.blanc.mock.GuildCommandMock;
 import vartas.discord.blanc.mock.ParserMock;
@@ -52,6 +53,19 @@ public class GuildCommandTest extends AbstractTest {
         Assertions.assertThrows(PermissionException.class, () -> guildCommand.checkPermission(member, textChannel, Permission.CHANGE_NICKNAME));
     }
 
+    @Test
+    public void testCheckPermissions(){
+        member.permissions.put(textChannel, Permission.CHANGE_NICKNAME);
+        member.permissions.put(textChannel, Permission.MANAGE_ROLES);
+        guildCommand.checkPermissions(member, textChannel, Permissions.getRaw(Permission.CHANGE_NICKNAME) | Permissions.getRaw(Permission.MANAGE_ROLES));
+    }
+
+    @Test
+    public void testCheckPartiallyMissingPermissions(){
+        member.permissions.put(textChannel, Permission.CHANGE_NICKNAME);
+        Assertions.assertThrows(PermissionException.class, () -> guildCommand.checkPermissions(member, textChannel, Permissions.getRaw(Permission.CHANGE_NICKNAME) | Permissions.getRaw(Permission.MANAGE_ROLES)));
+    }
+
     @Test
     public void testGetRealThis(){
         assertThat(guildCommand.getRealThis()).isInstanceOf(GuildCommand.class);
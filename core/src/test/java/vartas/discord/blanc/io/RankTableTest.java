@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.io;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.Rank;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RankTableTest {
+    RankTable table;
+    @BeforeEach
+    public void setUp(){
+        table = new RankTable();
+        table.addRank(3L, Rank.DEVELOPER);
+        table.addRank(1L, Rank.REDDIT);
+        table.addRank(2L, Rank.ROOT);
+    }
+
+    @Test
+    public void testGetRanks(){
+        assertThat(table.getRanks(1L)).containsExactly(Rank.REDDIT);
+        assertThat(table.getRanks(2L)).containsExactly(Rank.ROOT);
+        assertThat(table.getRanks(3L)).containsExactly(Rank.DEVELOPER);
+        assertThat(table.getRanks(4L)).isEmpty();
+    }
+
+    @Test
+    public void testContainsRank(){
+        assertThat(table.containsRank(1L, Rank.REDDIT)).isTrue();
+        assertThat(table.containsRank(1L, Rank.ROOT)).isFalse();
+        assertThat(table.containsRank(4L, Rank.REDDIT)).isFalse();
+    }
+
+    @Test
+    public void testAddRank(){
+        table.addRank(1L, Rank.DEVELOPER);
+        assertThat(table.getRanks(1L)).containsExactlyInAnyOrder(Rank.REDDIT, Rank.DEVELOPER);
+        assertThat(table.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void testRemoveRank(){
+        table.removeRank(2L, Rank.ROOT);
+        assertThat(table.getRanks(2L)).isEmpty();
+        assertThat(table.getRanks(1L)).containsExactly(Rank.REDDIT);
+        assertThat(table.getRanks(3L)).containsExactly(Rank.DEVELOPER);
+        assertThat(table.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testUpdate(){
+        assertThat(table.update(1L, mask -> mask ^ RankTable.mask(Rank.REDDIT))).isEqualTo(0);
+        assertThat(table.update(1L, mask -> mask ^ RankTable.mask(Rank.REDDIT))).isEqualTo(RankTable.mask(Rank.REDDIT));
+    }
+
+    @Test
+    public void testView(){
+        Set<Rank> view = table.view(1L);
+        assertThat(view).containsExactly(Rank.REDDIT);
+
+        table.addRank(1L, Rank.DEVELOPER);
+        assertThat(view).containsExactlyInAnyOrder(Rank.REDDIT, Rank.DEVELOPER);
+        assertThat(view.contains(Rank.ROOT)).isFalse();
+    }
+
+    @Test
+    public void testModifyView(){
+        Set<Rank> view = table.view(4L);
+        assertThat(view).isEmpty();
+
+        assertThat(view.add(Rank.ROOT)).isTrue();
+        assertThat(view.add(Rank.ROOT)).isFalse();
+        assertThat(table.getRanks(4L)).containsExactly(Rank.ROOT);
+
+        assertThat(view.remove(Rank.ROOT)).isTrue();
+        assertThat(view.remove(Rank.ROOT)).isFalse();
+        assertThat(table.getRanks(4L)).isEmpty();
+        assertThat(table.size()).isEqualTo(3);
+
+        table.view(1L).removeIf(rank -> rank == Rank.REDDIT);
+        assertThat(table.getRanks(1L)).isEmpty();
+    }
+
+    @Test
+    public void testGrants(){
+        int root = RankTable.mask(Rank.ROOT);
+        int developer = RankTable.mask(Rank.DEVELOPER);
+
+        assertThat(RankTable.grants(0, Rank.USER)).isTrue();
+        assertThat(RankTable.grants(0, Rank.REDDIT)).isFalse();
+        assertThat(RankTable.grants(developer, Rank.REDDIT)).isTrue();
+        assertThat(RankTable.grants(developer, Rank.ROOT)).isFalse();
+        assertThat(RankTable.grants(root, Rank.DEVELOPER)).isTrue();
+        assertThat(RankTable.effectiveRanks(root)).containsExactlyInAnyOrder(Rank.values());
+    }
+
+    @Test
+    public void testToRanks(){
+        Ranks ranks = table.toRanks();
+        assertThat(ranks.getRanks().get(1L)).containsExactly(Rank.REDDIT);
+        assertThat(ranks.getRanks().get(2L)).containsExactly(Rank.ROOT);
+
+        RankTable copy = new RankTable();
+        copy.putAll(ranks);
+        assertThat(copy.getRanks(3L)).containsExactly(Rank.DEVELOPER);
+        assertThat(copy.size()).isEqualTo(3);
+    }
+}
@@ -25,32 +25,32 @@ import java.util.NoSuchElementException;
 
 public class AbstractTypeResolverMock extends AbstractTypeResolver {
     @Override
-    public Guild resolveGuild(Argument argument) throws NoSuchElementException {
+    public Guild resolveGuild(Guild guild, TextChannel textChannel, Argument argument) throws NoSuchElementException {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public User resolveUser(Argument argument) throws NoSuchElementException {
+    public User resolveUser(Guild guild, TextChannel textChannel, Argument argument) throws NoSuchElementException {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public Member resolveMember(Argument argument) throws NoSuchElementException {
+    public Member resolveMember(Guild guild, TextChannel textChannel, Argument argument) throws NoSuchElementException {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public Message resolveMessage(Argument argument) throws NoSuchElementException {
+    public Message resolveMessage(Guild guild, TextChannel textChannel, Argument argument) throws NoSuchElementException {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public TextChannel resolveTextChannel(Argument argument) throws NoSuchElementException {
+    public TextChannel resolveTextChannel(Guild guild, TextChannel textChannel, Argument argument) throws NoSuchElementException {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public Role resolveRole(Argument argument) throws NoSuchElementException {
+    public Role resolveRole(Guild guild, TextChannel textChannel, Argument argument) throws NoSuchElementException {
         throw new UnsupportedOperationException();
     }
 }
@@ -19,6 +19,8 @@ package vartas.discord.blanc.mock;
 
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Table;
+import vartas.discord.blanc.Guild;
+import vartas.discord.blanc.TextChannel;
 import vartas.discord.blanc.command.Command;
 import vartas.discord.blanc.command.CommandBuilder;
 import vartas.discord.blanc.parser.Argument;
@@ -32,11 +34,11 @@ public class CommandBuilderMock extends CommandBuilder {
     public Table<String, List<? extends Argument>, Command> commandTable = HashBasedTable.create();
 
     public CommandBuilderMock(@Nonnull Parser parser, @Nonnull String globalPrefix) {
-        super((x,y) -> null, new ShardMock(), parser, globalPrefix);
+        super(new AbstractTypeResolverMock(), new ShardMock(), parser, globalPrefix);
     }
 
     @Override
-    protected Optional<Command> build(String name, List<? extends Argument> arguments, List<String> flags) {
+    protected Optional<Command> build(String name, Guild guild, TextChannel textChannel, List<? extends Argument> arguments, List<String> flags) {
         return Optional.ofNullable(commandTable.get(name, arguments));
     }
 }
@@ -39,10 +39,9 @@ public class MemberMock extends Member {
     }
 
 
-    @Nonnull
     @Override
-    public Set<Permission> getPermissions(@Nonnull TextChannel textChannel) {
-        return permissions.get(textChannel);
+    public long getPermissionsRaw(@Nonnull TextChannel textChannel) {
+        return Permissions.getRaw(permissions.get(textChannel));
     }
 
     @Override
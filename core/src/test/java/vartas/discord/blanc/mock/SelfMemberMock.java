@@ -35,10 +35,9 @@ public class SelfMemberMock extends SelfMember {
         SelfMemberFactory.create(() -> this, OnlineStatus.ONLINE, id, name);
     }
 
-    @Nonnull
     @Override
-    public Set<Permission> getPermissions(@Nonnull TextChannel textChannel) {
-        return permissions.get(textChannel);
+    public long getPermissionsRaw(@Nonnull TextChannel textChannel) {
+        return Permissions.getRaw(permissions.get(textChannel));
     }
 
     @Override
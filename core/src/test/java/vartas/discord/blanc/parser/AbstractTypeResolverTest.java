@@ -59,47 +59,48 @@ public class AbstractTypeResolverTest {
 
     @Test
     public void testResolveString(){
-        assertThat(resolver.resolveString(stringArgument)).contains("Content");
-        assertThrows(TypeResolverException.class, () -> resolver.resolveString(dummyArgument));
+        assertThat(resolver.resolveString(null, null, stringArgument)).contains("Content");
+        assertThrows(TypeResolverException.class, () -> resolver.resolveString(null, null, dummyArgument));
     }
 
     @Test
     public void testResolveLocalDate(){
-        assertThat(resolver.resolveLocalDate(localDateArgument)).isEqualTo(LocalDate.ofEpochDay(1337));
-        assertThrows(TypeResolverException.class, () -> resolver.resolveLocalDate(dummyArgument));
+        assertThat(resolver.resolveLocalDate(null, null, localDateArgument)).isEqualTo(LocalDate.ofEpochDay(1337));
+        assertThrows(TypeResolverException.class, () -> resolver.resolveLocalDate(null, null, dummyArgument));
     }
 
     @Test
     public void testResolveBigDecimal(){
-        assertThat(resolver.resolveBigDecimal(bigDecimalArgument)).isEqualTo(BigDecimal.TEN);
-        assertThrows(TypeResolverException.class, () -> resolver.resolveBigDecimal(dummyArgument));
+        assertThat(resolver.resolveBigDecimal(null, null, bigDecimalArgument)).isEqualTo(BigDecimal.TEN);
+        assertThrows(TypeResolverException.class, () -> resolver.resolveBigDecimal(null, null, dummyArgument));
     }
 
     @Test
     public void testResolveConfigurationModule(){
-        assertThat(resolver.resolveConfigurationModule(configurationModuleArgument)).isEqualTo(ConfigurationModule.BLACKLIST);
-        assertThrows(TypeResolverException.class, () -> resolver.resolveConfigurationModule(dummyArgument));
+        assertThat(resolver.resolveConfigurationModule(null, null, configurationModuleArgument)).isEqualTo(ConfigurationModule.BLACKLIST);
+        assertThrows(TypeResolverException.class, () -> resolver.resolveConfigurationModule(null, null, dummyArgument));
     }
 
     @Test
     public void testResolveInterval(){
-        assertThat(resolver.resolveChronoUnit(intervalArgument)).isEqualTo(ChronoUnit.HOURS);
-        assertThrows(TypeResolverException.class, () -> resolver.resolveChronoUnit(dummyArgument));
+        assertThat(resolver.resolveChronoUnit(null, null, intervalArgument)).isEqualTo(ChronoUnit.HOURS);
+        assertThrows(TypeResolverException.class, () -> resolver.resolveChronoUnit(null, null, dummyArgument));
     }
 
     @Test
     public void testResolveMany(){
         List<Argument> data = Collections.singletonList(bigDecimalArgument);
 
-        assertThat(resolver.resolveMany(data, resolver::resolveBigDecimal)).containsExactly(BigDecimal.TEN);
+        assertThat(resolver.resolveMany(null, null, data, 0, AbstractTypeResolver::resolveBigDecimal)).containsExactly(BigDecimal.TEN);
+        assertThat(resolver.resolveMany(null, null, data, 1, AbstractTypeResolver::resolveBigDecimal)).isEmpty();
     }
 
     @Test
     public void testResolveOptional(){
         List<Argument> data = Collections.singletonList(bigDecimalArgument);
 
-        assertThat(resolver.resolveOptional(data, 0, resolver::resolveBigDecimal)).contains(BigDecimal.TEN);
-        assertThat(resolver.resolveOptional(data, 1, resolver::resolveBigDecimal)).isEmpty();
+        assertThat(resolver.resolveOptional(null, null, data, 0, AbstractTypeResolver::resolveBigDecimal)).contains(BigDecimal.TEN);
+        assertThat(resolver.resolveOptional(null, null, data, 1, AbstractTypeResolver::resolveBigDecimal)).isEmpty();
     }
 
     @Test
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NameIndexTest {
+    NameIndex index;
+    @BeforeEach
+    public void setUp(){
+        index = new NameIndex();
+        index.add("Zavarov", 1);
+        index.add("zava", 2);
+        index.add("Moderator", 3);
+        index.add("Moderators", 4);
+        index.add("Mod", 3);
+    }
+
+    @Test
+    public void testGet(){
+        assertThat(index.get("ZAVAROV")).containsExactly(1L);
+        assertThat(index.get("mod")).containsExactly(3L);
+        assertThat(index.get("unknown")).isEmpty();
+    }
+
+    @Test
+    public void testAddDuplicate(){
+        index.add("mod", 3);
+        index.add("mod", 5);
+        assertThat(index.get("Mod")).containsExactly(3L, 5L);
+    }
+
+    @Test
+    public void testRemove(){
+        index.remove("MODERATOR", 3);
+        assertThat(index.get("Moderator")).isEmpty();
+        assertThat(index.get("Mod")).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    public void testGetByPrefix(){
+        assertThat(index.getByPrefix("zav", Integer.MAX_VALUE)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.getByPrefix("Moderator", Integer.MAX_VALUE)).containsExactlyInAnyOrder(3L, 4L);
+        assertThat(index.getByPrefix("mod", 1)).hasSize(1);
+        assertThat(index.getByPrefix("x", Integer.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    public void testGetByDistance(){
+        assertThat(index.getByDistance("Zavarv", 1, Integer.MAX_VALUE)).containsExactly(1L);
+        assertThat(index.getByDistance("Moderater", 1, Integer.MAX_VALUE)).containsExactly(3L);
+        assertThat(index.getByDistance("Moderater", 2, Integer.MAX_VALUE)).containsExactlyInAnyOrder(3L, 4L);
+        assertThat(index.getByDistance("", 1, Integer.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    public void testClear(){
+        index.clear();
+        assertThat(index.size()).isZero();
+    }
+}
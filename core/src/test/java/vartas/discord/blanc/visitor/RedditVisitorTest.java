@@ -45,7 +45,7 @@ public class RedditVisitorTest extends AbstractTest {
     @BeforeEach
     public void setUp() {
         initRedditHook();
-        jsonDirectory = JSONCredentials.CREDENTIALS.getJsonDirectory();
+        jsonDirectory = JSONCredentials.getCredentials().getJsonDirectory();
         redditVisitor = new RedditVisitor(redditHook);
     }
 
@@ -86,7 +86,7 @@ public class RedditVisitorTest extends AbstractTest {
 
     @Test
     public void testServerException(){
-        JSONCredentials.CREDENTIALS.setJsonDirectory(targetDirectory);
+        JSONCredentials.getCredentials().setJsonDirectory(targetDirectory);
         subreddit.action = SubredditMock.ACTION.SERVER_EXCEPTION;
 
         shard.accept(redditVisitor);
@@ -97,7 +97,7 @@ public class RedditVisitorTest extends AbstractTest {
 
     @Test
     public void testClientException(){
-        JSONCredentials.CREDENTIALS.setJsonDirectory(targetDirectory);
+        JSONCredentials.getCredentials().setJsonDirectory(targetDirectory);
         subreddit.action = SubredditMock.ACTION.CLIENT_EXCEPTION;
 
         shard.accept(redditVisitor);
@@ -108,7 +108,7 @@ public class RedditVisitorTest extends AbstractTest {
 
     @Test
     public void testForbiddenException(){
-        JSONCredentials.CREDENTIALS.setJsonDirectory(targetDirectory);
+        JSONCredentials.getCredentials().setJsonDirectory(targetDirectory);
         subreddit.action = SubredditMock.ACTION.FORBIDDEN_EXCEPTION;
 
         shard.accept(redditVisitor);
@@ -119,7 +119,7 @@ public class RedditVisitorTest extends AbstractTest {
 
     @Test
     public void testRedditUnsuccessfulException(){
-        JSONCredentials.CREDENTIALS.setJsonDirectory(targetDirectory);
+        JSONCredentials.getCredentials().setJsonDirectory(targetDirectory);
         subreddit.action = SubredditMock.ACTION.UNSUCCESSFUL_EXCEPTION;
 
         shard.accept(redditVisitor);
@@ -130,7 +130,7 @@ public class RedditVisitorTest extends AbstractTest {
 
     @Test
     public void testUnknownException(){
-        JSONCredentials.CREDENTIALS.setJsonDirectory(targetDirectory);
+        JSONCredentials.getCredentials().setJsonDirectory(targetDirectory);
         subreddit.action = SubredditMock.ACTION.UNKNOWN_EXCEPTION;
 
         shard.accept(redditVisitor);
@@ -141,7 +141,7 @@ public class RedditVisitorTest extends AbstractTest {
 
     @Test
     public void testSuccess(){
-        JSONCredentials.CREDENTIALS.setJsonDirectory(targetDirectory);
+        JSONCredentials.getCredentials().setJsonDirectory(targetDirectory);
         shard.accept(redditVisitor);
 
         assertThat(textChannel.retrieveMessages()).isNotEmpty();
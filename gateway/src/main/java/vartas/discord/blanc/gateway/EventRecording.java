@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import net.dv8tion.jda.api.OnlineStatus;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.GenericEvent;
+import org.json.JSONObject;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+/**
+ * A stream of recorded events. Every line of a recording is a single JSON object describing one event:
+ * <pre>
+ *     {"type":"message","guild":1,"channel":2,"user":3,"content":"b:ping"}
+ *     {"type":"private_message","user":3,"content":"hello"}
+ *     {"type":"presence","guild":1,"user":3,"status":"IDLE"}
+ *     {"type":"member_join","guild":1,"user":4}
+ * </pre>
+ * Guilds, channels, users and members that don't exist yet are created when the event is created. The user names
+ * are taken from the optional {@code "name"} field, the remaining names are derived from the ids.
+ */
+@Nonnull
+public class EventRecording implements Iterator<GenericEvent> {
+    @Nonnull
+    private final FakeDiscord discord;
+    @Nonnull
+    private final Iterator<String> lines;
+
+    private EventRecording(@Nonnull FakeDiscord discord, @Nonnull List<String> lines){
+        this.discord = discord;
+        this.lines = lines.iterator();
+    }
+
+    /**
+     * Reads the recording. Empty lines are skipped, the events themselves are only created while the stream is
+     * consumed.
+     * @param discord the instance creating the events.
+     * @param path the file containing the recording.
+     * @return the events stored in the file.
+     * @throws UncheckedIOException if the file couldn't be read.
+     */
+    @Nonnull
+    public static EventRecording read(@Nonnull FakeDiscord discord, @Nonnull Path path){
+        try{
+            List<String> lines = Files.readAllLines(path).stream().filter(line -> !line.isBlank()).collect(Collectors.toList());
+            return new EventRecording(discord, lines);
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext(){
+        return lines.hasNext();
+    }
+
+    /**
+     * @return the next recorded event.
+     * @throws IllegalArgumentException if the event has an unknown type.
+     * @throws org.json.JSONException if a required field is missing.
+     */
+    @Override
+    public GenericEvent next(){
+        if(!hasNext())
+            throw new NoSuchElementException();
+
+        JSONObject event = new JSONObject(lines.next());
+        String type = event.getString("type");
+
+        switch(type){
+            case "message":
+                Guild guild = getGuild(event.getLong("guild"));
+                return discord.guildMessage(getTextChannel(guild, event.getLong("channel")), getMember(guild, event), event.getString("content"));
+            case "private_message":
+                return discord.privateMessage(getUser(event), event.getString("content"));
+            case "presence":
+                return discord.presenceUpdate(getMember(getGuild(event.getLong("guild")), event), OnlineStatus.valueOf(event.getString("status")));
+            case "member_join":
+                return discord.memberJoin(getGuild(event.getLong("guild")), getUser(event));
+            default:
+                throw new IllegalArgumentException("Unknown event type " + type);
+        }
+    }
+
+    @Nonnull
+    private Guild getGuild(long id){
+        Guild guild = discord.getJDA().getGuildById(id);
+        return guild == null ? discord.addGuild(id, "Guild#" + Long.toUnsignedString(id)) : guild;
+    }
+
+    @Nonnull
+    private TextChannel getTextChannel(@Nonnull Guild guild, long id){
+        TextChannel textChannel = guild.getTextChannelById(id);
+        return textChannel == null ? discord.addTextChannel(guild, id, "channel-" + Long.toUnsignedString(id)) : textChannel;
+    }
+
+    @Nonnull
+    private User getUser(@Nonnull JSONObject event){
+        long id = event.getLong("user");
+        User user = discord.getJDA().getUserById(id);
+        return user == null ? discord.addUser(id, event.optString("name", "User#" + Long.toUnsignedString(id)), false) : user;
+    }
+
+    @Nonnull
+    private Member getMember(@Nonnull Guild guild, @Nonnull JSONObject event){
+        User user = getUser(event);
+        Member member = guild.getMember(user);
+        return member == null ? discord.addMember(guild, user) : member;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import com.google.common.base.Preconditions;
+import net.dv8tion.jda.api.events.GenericEvent;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Dispatches a stream of events at a fixed rate. Each event is scheduled relative to the start of the replay, rather
+ * than to the previous event, so that slow listeners don't reduce the overall rate.
+ */
+@Nonnull
+public class EventReplay {
+    @Nonnull
+    private final FakeDiscord discord;
+    /**
+     * The time between two events or {@code 0}, if the events are dispatched as fast as possible.
+     */
+    private final long intervalNanos;
+
+    /**
+     * @param discord the instance dispatching the events.
+     * @param rate the number of events per second. A non-positive rate dispatches the events as fast as possible.
+     */
+    public EventReplay(@Nonnull FakeDiscord discord, double rate){
+        this.discord = discord;
+        this.intervalNanos = rate > 0 ? (long)(TimeUnit.SECONDS.toNanos(1) / rate) : 0L;
+    }
+
+    /**
+     * Dispatches all events in the calling thread.
+     * @param events the events that are dispatched.
+     * @return the number of dispatched events and the time it took to dispatch them.
+     */
+    @Nonnull
+    public Result replay(@Nonnull Iterator<? extends GenericEvent> events){
+        long start = System.nanoTime();
+        long count = 0;
+
+        while(events.hasNext()){
+            GenericEvent event = events.next();
+
+            long deadline = start + count * intervalNanos;
+            long remaining;
+            while((remaining = deadline - System.nanoTime()) > 0)
+                LockSupport.parkNanos(remaining);
+
+            discord.dispatch(event);
+            ++count;
+        }
+
+        return new Result(count, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * The outcome of a replay.
+     */
+    @Nonnull
+    public static final class Result {
+        private final long count;
+        @Nonnull
+        private final Duration duration;
+
+        private Result(long count, @Nonnull Duration duration){
+            Preconditions.checkArgument(count >= 0);
+            this.count = count;
+            this.duration = duration;
+        }
+
+        /**
+         * @return the number of dispatched events.
+         */
+        public long getCount(){
+            return count;
+        }
+
+        /**
+         * @return the time between the start of the replay and the return of the last listener.
+         */
+        @Nonnull
+        public Duration getDuration(){
+            return duration;
+        }
+
+        /**
+         * @return the average number of events dispatched per second.
+         */
+        public double getEventsPerSecond(){
+            long nanos = Math.max(duration.toNanos(), 1L);
+            return count * (double)TimeUnit.SECONDS.toNanos(1) / nanos;
+        }
+
+        @Override
+        public String toString(){
+            return String.format("%d events in %d ms (%.1f/s)", count, duration.toMillis(), getEventsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import net.dv8tion.jda.api.entities.ISnowflake;
+import net.dv8tion.jda.api.entities.Member;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Backs a fake cache view, such as the member cache of a guild. The view is backed by the current state of the
+ * {@link FakeDiscord}, meaning that it reflects all changes made after it has been created.
+ */
+@Nonnull
+final class FakeCacheView implements InvocationHandler {
+    @Nonnull
+    private final Supplier<? extends Collection<?>> elements;
+
+    private FakeCacheView(@Nonnull Supplier<? extends Collection<?>> elements){
+        this.elements = elements;
+    }
+
+    /**
+     * @param type the interface of the cache view, e.g. {@code MemberCacheView}.
+     * @param elements the current elements of the view.
+     * @param <T> the type of the cache view.
+     * @return a new fake cache view.
+     */
+    @Nonnull
+    static <T> T create(@Nonnull Class<T> type, @Nonnull Supplier<? extends Collection<?>> elements){
+        return Fakes.create(type, new FakeCacheView(elements));
+    }
+
+    @Nonnull
+    private List<Object> snapshot(){
+        return List.copyOf(elements.get());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable{
+        Object[] arguments = args == null ? new Object[0] : args;
+        Class<?> returnType = method.getReturnType();
+
+        if(method.getDeclaringClass() == Object.class)
+            return Fakes.invokeObjectMethod(proxy, method, arguments, snapshot().toString());
+
+        switch(method.getName()){
+            case "iterator":
+                return snapshot().iterator();
+            case "lockedIterator":
+                return createIterator(returnType, snapshot().iterator());
+            case "spliterator":
+                return snapshot().spliterator();
+            case "stream":
+            case "streamUnordered":
+                return snapshot().stream();
+            case "parallelStream":
+                return snapshot().parallelStream();
+            case "asList":
+                return snapshot();
+            case "asSet":
+                return Collections.unmodifiableSet(new LinkedHashSet<>(snapshot()));
+            case "size":
+                return Fakes.number(returnType, snapshot().size());
+            case "isEmpty":
+                return snapshot().isEmpty();
+            case "forEach":
+            case "forEachUnordered":
+                snapshot().forEach((Consumer<Object>)arguments[0]);
+                return null;
+            case "getElementById":
+                return getElementById(Fakes.id(arguments[0]));
+            case "getElementsByName":
+                return getElementsBy(FakeCacheView::getName, arguments);
+            case "getElementsByUsername":
+                return getElementsBy(element -> ((Member)element).getUser().getName(), arguments);
+            case "getElementsByNickname":
+                return getElementsBy(element -> ((Member)element).getNickname(), arguments);
+            default:
+                return method.isDefault() ? Fakes.invokeDefault(proxy, method, arguments) : Fakes.defaultValue(returnType);
+        }
+    }
+
+    @Nullable
+    private Object getElementById(long id){
+        for(Object element : snapshot())
+            if(element instanceof ISnowflake && ((ISnowflake)element).getIdLong() == id)
+                return element;
+        return null;
+    }
+
+    /**
+     * @param property the name of an element.
+     * @param arguments the requested name, optionally followed by whether the case should be ignored.
+     * @return all elements with the requested name.
+     */
+    @Nonnull
+    private List<Object> getElementsBy(@Nonnull Function<Object, String> property, @Nonnull Object[] arguments){
+        String name = (String)arguments[0];
+        boolean ignoreCase = arguments.length > 1 && (Boolean)arguments[1];
+
+        return snapshot().stream().filter(element -> {
+            String value = property.apply(element);
+            return ignoreCase ? name.equalsIgnoreCase(value) : name.equals(value);
+        }).collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Members are found by their effective name, all other elements by their name.
+     */
+    @Nullable
+    private static String getName(@Nonnull Object element){
+        if(element instanceof Member)
+            return ((Member)element).getEffectiveName();
+
+        try{
+            return (String)element.getClass().getMethod("getName").invoke(element);
+        }catch(ReflectiveOperationException e){
+            return null;
+        }
+    }
+
+    /**
+     * Locked iterators are closeable iterators. The fake views don't require any locks.
+     */
+    @Nonnull
+    private static Object createIterator(@Nonnull Class<?> type, @Nonnull Iterator<Object> iterator){
+        return Fakes.create(type, (proxy, method, args) -> {
+            Object[] arguments = args == null ? new Object[0] : args;
+
+            if(method.getDeclaringClass() == Object.class)
+                return Fakes.invokeObjectMethod(proxy, method, arguments, iterator.toString());
+
+            switch(method.getName()){
+                case "hasNext":
+                    return iterator.hasNext();
+                case "next":
+                    return iterator.next();
+                case "close":
+                    return null;
+                default:
+                    return method.isDefault() ? Fakes.invokeDefault(proxy, method, arguments) : Fakes.defaultValue(method.getReturnType());
+            }
+        });
+    }
+}
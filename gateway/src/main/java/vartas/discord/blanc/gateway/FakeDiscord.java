@@ -0,0 +1,555 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import com.google.common.base.Preconditions;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.OnlineStatus;
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.*;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.priv.PrivateMessageReceivedEvent;
+import net.dv8tion.jda.api.events.user.update.UserUpdateOnlineStatusEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * An offline stand-in for Discord, operating a single shard. It replaces the layer below the JDA adapters: All guilds,
+ * channels, roles and members are fake JDA entities, which are backed by the state of this instance. Events are
+ * created explicitly and passed to the listeners registered at the fake {@link JDA} instance, while all requests to
+ * Discord are recorded by the {@link RestRecorder}, instead of being sent.
+ * <p>
+ * The events are created with the same state changes the gateway would make before firing them, e.g. a member
+ * joining a guild is added to the member cache. They should therefore be created right before they are dispatched.
+ */
+@Nonnull
+public class FakeDiscord {
+    /**
+     * The first second of 2015, which is the reference time of all snowflakes.
+     */
+    private static final long DISCORD_EPOCH = 1420070400000L;
+    /**
+     * Distinguishes snowflakes created within the same millisecond. Shared across all instances, so that snowflakes
+     * are unique even if the adapters cache entities across multiple instances.
+     */
+    @Nonnull
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    /**
+     * This class' logger.
+     */
+    @Nonnull
+    private static final Logger log = LoggerFactory.getLogger(FakeDiscord.class.getSimpleName());
+    @Nonnull
+    private final RestRecorder restRecorder = new RestRecorder();
+    @Nonnull
+    private final AtomicLong responseNumber = new AtomicLong();
+    /**
+     * The listeners registered at the fake {@link JDA} and {@link ShardManager} instance.
+     */
+    @Nonnull
+    private final List<Object> listeners = new CopyOnWriteArrayList<>();
+    /**
+     * The handlers of all fake entities, for registering additional answers.
+     */
+    @Nonnull
+    private final Map<Object, FakeHandler> handlers = new ConcurrentHashMap<>();
+    @Nonnull
+    private final Map<Long, Guild> guilds = new ConcurrentSkipListMap<>();
+    @Nonnull
+    private final Map<Long, User> users = new ConcurrentSkipListMap<>();
+    @Nonnull
+    private final Map<Guild, GuildState> guildStates = new ConcurrentHashMap<>();
+    @Nonnull
+    private final Map<Member, MemberState> memberStates = new ConcurrentHashMap<>();
+    @Nonnull
+    private final Map<User, PrivateChannel> privateChannels = new ConcurrentHashMap<>();
+    @Nonnull
+    private final JDA jda;
+    @Nonnull
+    private final ShardManager shardManager;
+    @Nonnull
+    private final SelfUser selfUser;
+
+    /**
+     * Creates a new instance without any guilds.
+     * @param selfId the id of the bot account.
+     * @param selfName the name of the bot account.
+     */
+    public FakeDiscord(long selfId, @Nonnull String selfName){
+        this.jda = fake(JDA.class);
+        this.shardManager = fake(ShardManager.class);
+        this.selfUser = fake(SelfUser.class);
+
+        answerUser(selfUser, selfId, selfName, true);
+        users.put(selfId, selfUser);
+
+        stub(jda, "getSelfUser", args -> selfUser);
+        stub(jda, "getGuildById", args -> guilds.get(Fakes.id(args[0])));
+        stub(jda, "getGuildCache", args -> guilds.values());
+        stub(jda, "getGuilds", args -> List.copyOf(guilds.values()));
+        stub(jda, "getUserById", args -> users.get(Fakes.id(args[0])));
+        stub(jda, "getUserCache", args -> users.values());
+        stub(jda, "getUsers", args -> List.copyOf(users.values()));
+        stub(jda, "retrieveUserById", args -> users.get(Fakes.id(args[0])));
+        stub(jda, "getTextChannelById", args -> getTextChannelById(Fakes.id(args[0])));
+        stub(jda, "addEventListener", args -> listeners.addAll(Arrays.asList((Object[])args[0])));
+        stub(jda, "removeEventListener", args -> listeners.removeAll(Arrays.asList((Object[])args[0])));
+        stub(jda, "getRegisteredListeners", args -> List.copyOf(listeners));
+        stub(jda, "awaitReady", args -> jda);
+        stub(jda, "getStatus", args -> JDA.Status.CONNECTED);
+        stub(jda, "getShardManager", args -> shardManager);
+
+        stub(shardManager, "getShardById", args -> jda);
+        stub(shardManager, "getShards", args -> List.of(jda));
+        stub(shardManager, "getShardsTotal", args -> 1);
+        stub(shardManager, "getGuildById", args -> guilds.get(Fakes.id(args[0])));
+        stub(shardManager, "getGuildCache", args -> guilds.values());
+        stub(shardManager, "getUserById", args -> users.get(Fakes.id(args[0])));
+        stub(shardManager, "getUserCache", args -> users.values());
+        stub(shardManager, "addEventListener", args -> listeners.addAll(Arrays.asList((Object[])args[0])));
+        stub(shardManager, "removeEventListener", args -> listeners.removeAll(Arrays.asList((Object[])args[0])));
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Getter
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the stand-in for the REST API, which records all requests.
+     */
+    @Nonnull
+    public RestRecorder getRestRecorder(){
+        return restRecorder;
+    }
+
+    /**
+     * @return the JDA instance of the single shard.
+     */
+    @Nonnull
+    public JDA getJDA(){
+        return jda;
+    }
+
+    /**
+     * @return the shard manager, which returns the single JDA instance for every shard.
+     */
+    @Nonnull
+    public ShardManager getShardManager(){
+        return shardManager;
+    }
+
+    /**
+     * @return the user of the bot account.
+     */
+    @Nonnull
+    public SelfUser getSelfUser(){
+        return selfUser;
+    }
+
+    /**
+     * @return a new, unique snowflake based on the current time.
+     */
+    public long nextId(){
+        return ((System.currentTimeMillis() - DISCORD_EPOCH) << 22) | (SEQUENCE.getAndIncrement() & 0x3FFFFF);
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Entities
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Overwrites the behavior of a fake entity.
+     * @param entity a fake entity created by this instance.
+     * @param method the name of the method. Overloaded methods share the same answer.
+     * @param answer computes the result of the method, based on its arguments. For requests, the answer computes
+     *               the result of the request, while the request itself is still recorded.
+     */
+    public void stub(@Nonnull Object entity, @Nonnull String method, @Nonnull Function<Object[], ?> answer){
+        FakeHandler handler = handlers.get(entity);
+        Preconditions.checkArgument(handler != null, "%s wasn't created by this instance.", entity);
+        handler.answer(method, answer);
+    }
+
+    /**
+     * Creates a new guild. The bot is always a member of the guild.
+     * @param id the id of the guild.
+     * @param name the name of the guild.
+     * @return the new guild.
+     */
+    @Nonnull
+    public Guild addGuild(long id, @Nonnull String name){
+        Guild guild = fake(Guild.class);
+        GuildState state = new GuildState();
+
+        guilds.put(id, guild);
+        guildStates.put(guild, state);
+
+        stub(guild, "getIdLong", args -> id);
+        stub(guild, "getName", args -> name);
+        stub(guild, "getJDA", args -> jda);
+        stub(guild, "getOwnerIdLong", args -> state.owner.get());
+        stub(guild, "getOwnerId", args -> Long.toUnsignedString(state.owner.get()));
+        stub(guild, "getOwner", args -> state.members.get(state.owner.get()));
+        stub(guild, "getSelfMember", args -> state.members.get(selfUser.getIdLong()));
+        stub(guild, "getMember", args -> state.members.get(((User)args[0]).getIdLong()));
+        stub(guild, "isMember", args -> state.members.containsKey(((User)args[0]).getIdLong()));
+        stub(guild, "getMemberById", args -> state.members.get(Fakes.id(args[0])));
+        stub(guild, "getMembers", args -> List.copyOf(state.members.values()));
+        stub(guild, "getMemberCache", args -> state.members.values());
+        stub(guild, "getMemberCount", args -> state.members.size());
+        stub(guild, "getTextChannelById", args -> state.textChannels.get(Fakes.id(args[0])));
+        stub(guild, "getTextChannels", args -> List.copyOf(state.textChannels.values()));
+        stub(guild, "getTextChannelCache", args -> state.textChannels.values());
+        stub(guild, "getRoleById", args -> state.roles.get(Fakes.id(args[0])));
+        stub(guild, "getRoles", args -> List.copyOf(state.roles.values()));
+        stub(guild, "getRoleCache", args -> state.roles.values());
+        stub(guild, "getPublicRole", args -> state.roles.get(id));
+
+        //The public role shares the id of the guild
+        addRole(guild, id, "@everyone", 0L);
+        addMember(guild, selfUser);
+
+        return guild;
+    }
+
+    /**
+     * @param guild a fake guild created by this instance.
+     * @param owner the new owner of the guild.
+     */
+    public void setOwner(@Nonnull Guild guild, @Nonnull User owner){
+        getState(guild).owner.set(owner.getIdLong());
+    }
+
+    /**
+     * Creates a new text channel in the guild.
+     * @param guild a fake guild created by this instance.
+     * @param id the id of the text channel.
+     * @param name the name of the text channel.
+     * @return the new text channel.
+     */
+    @Nonnull
+    public TextChannel addTextChannel(@Nonnull Guild guild, long id, @Nonnull String name){
+        TextChannel textChannel = fake(TextChannel.class);
+
+        stub(textChannel, "getIdLong", args -> id);
+        stub(textChannel, "getName", args -> name);
+        stub(textChannel, "getGuild", args -> guild);
+        stub(textChannel, "getJDA", args -> jda);
+        stub(textChannel, "getType", args -> ChannelType.TEXT);
+        stub(textChannel, "getAsMention", args -> "<#" + Long.toUnsignedString(id) + ">");
+        stub(textChannel, "canTalk", args -> true);
+
+        getState(guild).textChannels.put(id, textChannel);
+        return textChannel;
+    }
+
+    /**
+     * Creates a new role in the guild.
+     * @param guild a fake guild created by this instance.
+     * @param id the id of the role.
+     * @param name the name of the role.
+     * @param permissions the raw permissions granted by the role.
+     * @return the new role.
+     * @see Permission#getRaw(Permission...)
+     */
+    @Nonnull
+    public Role addRole(@Nonnull Guild guild, long id, @Nonnull String name, long permissions){
+        Role role = fake(Role.class);
+
+        stub(role, "getIdLong", args -> id);
+        stub(role, "getName", args -> name);
+        stub(role, "getGuild", args -> guild);
+        stub(role, "getJDA", args -> jda);
+        stub(role, "isPublicRole", args -> id == guild.getIdLong());
+        stub(role, "getPermissionsRaw", args -> permissions);
+        stub(role, "getPermissions", args -> Permission.getPermissions(permissions));
+        stub(role, "getAsMention", args -> "<@&" + Long.toUnsignedString(id) + ">");
+
+        getState(guild).roles.put(id, role);
+        return role;
+    }
+
+    /**
+     * Creates a new user. The user isn't a member of any guild.
+     * @param id the id of the user.
+     * @param name the name of the user.
+     * @param bot whether the user is a bot account.
+     * @return the new user.
+     */
+    @Nonnull
+    public User addUser(long id, @Nonnull String name, boolean bot){
+        User user = fake(User.class);
+        answerUser(user, id, name, bot);
+        users.put(id, user);
+        return user;
+    }
+
+    /**
+     * Adds the user to the guild, without firing an event.
+     * @param guild a fake guild created by this instance.
+     * @param user a fake user created by this instance.
+     * @return the new member of the guild.
+     * @see #memberJoin(Guild, User)
+     */
+    @Nonnull
+    public Member addMember(@Nonnull Guild guild, @Nonnull User user){
+        Member member = fake(Member.class);
+        MemberState state = new MemberState();
+        OffsetDateTime timeJoined = OffsetDateTime.now();
+        long id = user.getIdLong();
+
+        memberStates.put(member, state);
+
+        stub(member, "getIdLong", args -> id);
+        stub(member, "getUser", args -> user);
+        stub(member, "getGuild", args -> guild);
+        stub(member, "getJDA", args -> jda);
+        stub(member, "getRoles", args -> List.copyOf(state.roles));
+        stub(member, "getOnlineStatus", args -> state.onlineStatus.get());
+        stub(member, "isOwner", args -> guild.getOwnerIdLong() == id);
+        stub(member, "getEffectiveName", args -> user.getName());
+        stub(member, "getAsMention", args -> "<@!" + Long.toUnsignedString(id) + ">");
+        stub(member, "getTimeJoined", args -> timeJoined);
+        stub(member, "hasTimeJoined", args -> true);
+
+        getState(guild).members.put(id, member);
+        return member;
+    }
+
+    /**
+     * Grants the role to the member, without firing an event.
+     * @param member a fake member created by this instance.
+     * @param role a fake role of the same guild.
+     */
+    public void assignRole(@Nonnull Member member, @Nonnull Role role){
+        Preconditions.checkArgument(member.getGuild().equals(role.getGuild()), "%s and %s are in different guilds.", member, role);
+        getState(member).roles.add(role);
+    }
+
+    /**
+     * @param user a fake user created by this instance.
+     * @return the private channel with the user.
+     */
+    @Nonnull
+    public PrivateChannel getPrivateChannel(@Nonnull User user){
+        return privateChannels.computeIfAbsent(user, key -> {
+            PrivateChannel privateChannel = fake(PrivateChannel.class);
+
+            stub(privateChannel, "getIdLong", args -> user.getIdLong());
+            stub(privateChannel, "getName", args -> user.getName());
+            stub(privateChannel, "getUser", args -> user);
+            stub(privateChannel, "getJDA", args -> jda);
+            stub(privateChannel, "getType", args -> ChannelType.PRIVATE);
+
+            return privateChannel;
+        });
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Events
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Passes the event to all registered listeners. Like in JDA, a failing listener doesn't affect the remaining ones.
+     * @param event the dispatched event.
+     */
+    public void dispatch(@Nonnull GenericEvent event){
+        for(Object listener : listeners){
+            try{
+                if(listener instanceof EventListener)
+                    ((EventListener)listener).onEvent(event);
+            }catch(Throwable e){
+                log.error("One of the listeners had an uncaught exception", e);
+            }
+        }
+    }
+
+    /**
+     * @param textChannel a fake text channel created by this instance.
+     * @param author a fake member of the same guild.
+     * @param content the raw content of the message.
+     * @return the event of the member sending the message in the text channel.
+     */
+    @Nonnull
+    public GuildMessageReceivedEvent guildMessage(@Nonnull TextChannel textChannel, @Nonnull Member author, @Nonnull String content){
+        Message message = createMessage(textChannel, author.getUser(), author, content);
+        return new GuildMessageReceivedEvent(jda, responseNumber.incrementAndGet(), message);
+    }
+
+    /**
+     * @param author a fake user created by this instance.
+     * @param content the raw content of the message.
+     * @return the event of the user sending the message to the bot.
+     */
+    @Nonnull
+    public PrivateMessageReceivedEvent privateMessage(@Nonnull User author, @Nonnull String content){
+        Message message = createMessage(getPrivateChannel(author), author, null, content);
+        return new PrivateMessageReceivedEvent(jda, responseNumber.incrementAndGet(), message);
+    }
+
+    /**
+     * Changes the online status of the member.
+     * @param member a fake member created by this instance.
+     * @param onlineStatus the new online status.
+     * @return the event of the member changing their online status.
+     */
+    @Nonnull
+    public UserUpdateOnlineStatusEvent presenceUpdate(@Nonnull Member member, @Nonnull OnlineStatus onlineStatus){
+        OnlineStatus oldOnlineStatus = getState(member).onlineStatus.getAndSet(onlineStatus);
+        return new UserUpdateOnlineStatusEvent(jda, responseNumber.incrementAndGet(), member, oldOnlineStatus);
+    }
+
+    /**
+     * Adds the user to the guild.
+     * @param guild a fake guild created by this instance.
+     * @param user a fake user created by this instance.
+     * @return the event of the user joining the guild.
+     */
+    @Nonnull
+    public GuildMemberJoinEvent memberJoin(@Nonnull Guild guild, @Nonnull User user){
+        Member member = addMember(guild, user);
+        return new GuildMemberJoinEvent(jda, responseNumber.incrementAndGet(), member);
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Internal
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    @Nonnull
+    private <T> T fake(@Nonnull Class<T> type){
+        FakeHandler handler = new FakeHandler(type, this);
+        T entity = Fakes.create(type, handler);
+        handlers.put(entity, handler);
+        return entity;
+    }
+
+    private void answerUser(@Nonnull User user, long id, @Nonnull String name, boolean bot){
+        stub(user, "getIdLong", args -> id);
+        stub(user, "getName", args -> name);
+        stub(user, "getDiscriminator", args -> "0000");
+        stub(user, "isBot", args -> bot);
+        stub(user, "getJDA", args -> jda);
+        stub(user, "getAsMention", args -> "<@" + Long.toUnsignedString(id) + ">");
+        stub(user, "getMutualGuilds", args -> guilds.values().stream().filter(guild -> guild.isMember(user)).collect(Collectors.toUnmodifiableList()));
+        stub(user, "openPrivateChannel", args -> getPrivateChannel(user));
+    }
+
+    @Nonnull
+    private Message createMessage(@Nonnull MessageChannel channel, @Nonnull User author, @Nullable Member member, @Nonnull String content){
+        Message message = fake(Message.class);
+        long id = nextId();
+
+        stub(message, "getIdLong", args -> id);
+        stub(message, "getContentRaw", args -> content);
+        stub(message, "getContentDisplay", args -> content);
+        stub(message, "getContentStripped", args -> content);
+        stub(message, "getAuthor", args -> author);
+        stub(message, "getMember", args -> member);
+        stub(message, "getJDA", args -> jda);
+        stub(message, "getType", args -> MessageType.DEFAULT);
+        stub(message, "getChannel", args -> channel);
+        stub(message, "getChannelType", args -> channel.getType());
+        stub(message, "isFromType", args -> channel.getType() == args[0]);
+        stub(message, "isFromGuild", args -> channel instanceof TextChannel);
+        stub(message, "getTextChannel", args -> cast(channel, TextChannel.class));
+        stub(message, "getPrivateChannel", args -> cast(channel, PrivateChannel.class));
+        stub(message, "getGuild", args -> cast(channel, TextChannel.class).getGuild());
+
+        return message;
+    }
+
+    /**
+     * Like JDA, messages throw an exception when requesting a channel of the wrong type.
+     */
+    @Nonnull
+    private static <T extends MessageChannel> T cast(@Nonnull MessageChannel channel, @Nonnull Class<T> type){
+        if(!type.isInstance(channel))
+            throw new IllegalStateException("This message was not sent in a " + type.getSimpleName());
+        return type.cast(channel);
+    }
+
+    @Nullable
+    private TextChannel getTextChannelById(long id){
+        for(GuildState state : guildStates.values())
+            if(state.textChannels.containsKey(id))
+                return state.textChannels.get(id);
+        return null;
+    }
+
+    @Nonnull
+    private GuildState getState(@Nonnull Guild guild){
+        GuildState state = guildStates.get(guild);
+        Preconditions.checkArgument(state != null, "%s wasn't created by this instance.", guild);
+        return state;
+    }
+
+    @Nonnull
+    private MemberState getState(@Nonnull Member member){
+        MemberState state = memberStates.get(member);
+        Preconditions.checkArgument(state != null, "%s wasn't created by this instance.", member);
+        return state;
+    }
+
+    /**
+     * The entities of a single guild.
+     */
+    private static final class GuildState{
+        @Nonnull
+        private final Map<Long, Member> members = new ConcurrentSkipListMap<>();
+        @Nonnull
+        private final Map<Long, TextChannel> textChannels = new ConcurrentSkipListMap<>();
+        @Nonnull
+        private final Map<Long, Role> roles = new ConcurrentSkipListMap<>();
+        @Nonnull
+        private final AtomicLong owner = new AtomicLong();
+    }
+
+    /**
+     * The mutable state of a single member.
+     */
+    private static final class MemberState{
+        @Nonnull
+        private final List<Role> roles = new CopyOnWriteArrayList<>();
+        @Nonnull
+        private final AtomicReference<OnlineStatus> onlineStatus = new AtomicReference<>(OnlineStatus.ONLINE);
+    }
+}
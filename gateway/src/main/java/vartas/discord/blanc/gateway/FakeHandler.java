@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.utils.cache.CacheView;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Backs a fake JDA entity, such as a guild or a member. Methods are answered by the functions registered for their
+ * name, falling back to the default implementation of the interface and finally to a neutral value.
+ * <p>
+ * Methods returning a request are never answered directly. Instead, a fake request is returned, which is only recorded
+ * once it is executed. The registered function provides the result of this request.
+ */
+@Nonnull
+final class FakeHandler implements InvocationHandler {
+    @Nonnull
+    private final Class<?> type;
+    @Nonnull
+    private final FakeDiscord discord;
+    /**
+     * The answers for the individual methods, identified by their name. Overloaded methods share the same answer.
+     */
+    @Nonnull
+    private final Map<String, Function<Object[], ?>> answers = new ConcurrentHashMap<>();
+
+    FakeHandler(@Nonnull Class<?> type, @Nonnull FakeDiscord discord){
+        this.type = type;
+        this.discord = discord;
+    }
+
+    /**
+     * @param method the name of the method.
+     * @param answer computes the result of the method, based on its arguments.
+     */
+    void answer(@Nonnull String method, @Nonnull Function<Object[], ?> answer){
+        answers.put(method, answer);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable{
+        Object[] arguments = args == null ? new Object[0] : args;
+        Function<Object[], ?> answer = answers.get(method.getName());
+        Class<?> returnType = method.getReturnType();
+
+        if(method.getDeclaringClass() == Object.class)
+            return Fakes.invokeObjectMethod(proxy, method, arguments, toString(proxy));
+
+        //The default implementations would create requests which require a connection to Discord
+        if(RestAction.class.isAssignableFrom(returnType) && returnType.isInterface()){
+            String route = type.getSimpleName() + "#" + method.getName();
+            Object result = answer == null ? null : answer.apply(arguments);
+            return FakeRestAction.create(returnType, discord, route, Arrays.asList(arguments), result);
+        }
+
+        //The view reflects the current state, hence the answer is called whenever the view is accessed
+        if(CacheView.class.isAssignableFrom(returnType) && returnType.isInterface()){
+            if(answer == null)
+                return FakeCacheView.create(returnType, Collections::emptyList);
+            else
+                return FakeCacheView.create(returnType, () -> (Collection<?>)answer.apply(arguments));
+        }
+
+        if(answer != null)
+            return answer.apply(arguments);
+
+        if(method.isDefault())
+            return Fakes.invokeDefault(proxy, method, arguments);
+
+        return Fakes.defaultValue(returnType);
+    }
+
+    @Nonnull
+    private String toString(@Nonnull Object proxy){
+        Function<Object[], ?> id = answers.get("getIdLong");
+        return "Fake" + type.getSimpleName() + "(" + (id == null ? System.identityHashCode(proxy) : id.apply(new Object[0])) + ")";
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Backs a fake request. Instead of being sent to Discord, the request is recorded by the {@link RestRecorder} once it
+ * is executed. Methods that return the request itself, e.g. for appending additional content, are recorded as
+ * modifiers.
+ */
+@Nonnull
+final class FakeRestAction implements InvocationHandler {
+    @Nonnull
+    private final FakeDiscord discord;
+    @Nonnull
+    private final String route;
+    @Nonnull
+    private final List<Object> arguments;
+    @Nonnull
+    private final List<String> modifiers = new CopyOnWriteArrayList<>();
+    @Nullable
+    private final Object result;
+
+    private FakeRestAction(@Nonnull FakeDiscord discord, @Nonnull String route, @Nonnull List<Object> arguments, @Nullable Object result){
+        this.discord = discord;
+        this.route = route;
+        this.arguments = arguments;
+        this.result = result;
+    }
+
+    /**
+     * @param type the interface of the request, e.g. {@code MessageAction}.
+     * @param discord the fake Discord instance recording the request.
+     * @param route the interface and method that created the request, e.g. {@code TextChannel#sendMessage}.
+     * @param arguments the arguments of the method that created the request.
+     * @param result the result of the request.
+     * @param <T> the type of the request.
+     * @return a new fake request.
+     */
+    @Nonnull
+    static <T> T create(@Nonnull Class<T> type, @Nonnull FakeDiscord discord, @Nonnull String route, @Nonnull List<Object> arguments, @Nullable Object result){
+        return Fakes.create(type, new FakeRestAction(discord, route, arguments, result));
+    }
+
+    @Nullable
+    private Object execute(){
+        return discord.getRestRecorder().execute(new RestCall(route, arguments, List.copyOf(modifiers), System.nanoTime()), result);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable{
+        Object[] arguments = args == null ? new Object[0] : args;
+        String name = method.getName();
+        Class<?> returnType = method.getReturnType();
+
+        if(method.getDeclaringClass() == Object.class)
+            return Fakes.invokeObjectMethod(proxy, method, arguments, route + this.arguments);
+
+        //queue(), queueAfter(...)
+        if(name.startsWith("queue")){
+            Object response = execute();
+            //The first consumer is called on success
+            for(Object argument : arguments){
+                if(argument instanceof Consumer){
+                    ((Consumer<Object>)argument).accept(response);
+                    break;
+                }
+            }
+            return Fakes.defaultValue(returnType);
+        }
+
+        //complete(), completeAfter(...)
+        if(name.startsWith("complete"))
+            return execute();
+
+        //submit(), submitAfter(...)
+        if(name.startsWith("submit")){
+            CompletableFuture<Object> future = CompletableFuture.completedFuture(execute());
+            return returnType.isInstance(future) ? future : Fakes.defaultValue(returnType);
+        }
+
+        if(name.equals("getJDA"))
+            return discord.getJDA();
+
+        //Operators such as map(...) wrap the request, which is executed through this instance
+        if(method.isDefault())
+            return Fakes.invokeDefault(proxy, method, arguments);
+
+        //Modifications of the request, e.g. append(...)
+        if(returnType.isInstance(proxy)){
+            modifiers.add(name);
+            return proxy;
+        }
+
+        return Fakes.defaultValue(returnType);
+    }
+}
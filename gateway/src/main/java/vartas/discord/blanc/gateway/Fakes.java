@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Utility methods shared by the invocation handlers backing the fake JDA entities.
+ */
+@Nonnull
+final class Fakes {
+    private Fakes(){}
+
+    /**
+     * @param type the interface implemented by the fake instance.
+     * @param handler the handler all method calls are delegated to.
+     * @param <T> the type of the fake instance.
+     * @return a new fake instance of the interface.
+     */
+    @Nonnull
+    static <T> T create(@Nonnull Class<T> type, @Nonnull InvocationHandler handler){
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Fake instances are only equal to themselves.
+     * @param proxy the fake instance.
+     * @param method one of the methods declared by {@link Object}.
+     * @param args the arguments of the method.
+     * @param description the value returned by {@link Object#toString()}.
+     * @return the result of the method.
+     */
+    @Nonnull
+    static Object invokeObjectMethod(@Nonnull Object proxy, @Nonnull Method method, @Nonnull Object[] args, @Nonnull String description){
+        switch(method.getName()){
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return description;
+        }
+    }
+
+    /**
+     * Calls the default implementation of an interface method.
+     * @param proxy the fake instance.
+     * @param method a default method of an interface implemented by the fake instance.
+     * @param args the arguments of the method.
+     * @return the result of the default implementation.
+     * @throws Throwable if the default implementation fails.
+     */
+    @Nullable
+    static Object invokeDefault(@Nonnull Object proxy, @Nonnull Method method, @Nonnull Object[] args) throws Throwable{
+        Class<?> declaringClass = method.getDeclaringClass();
+        return MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup())
+                .unreflectSpecial(method, declaringClass)
+                .bindTo(proxy)
+                //Variable arguments have already been collected into an array
+                .asFixedArity()
+                .invokeWithArguments(args);
+    }
+
+    /**
+     * The value returned by methods for which neither an answer nor a default implementation exists.
+     * Primitives are zero, collections are empty and enumerations are {@code UNKNOWN}, if such a constant exists.
+     * Any other value is {@code null}.
+     * @param type the return type of the method.
+     * @return the default value for the type.
+     */
+    @Nullable
+    static Object defaultValue(@Nonnull Class<?> type){
+        if(type == boolean.class)
+            return false;
+        else if(type == long.class)
+            return 0L;
+        else if(type == int.class)
+            return 0;
+        else if(type == short.class)
+            return (short)0;
+        else if(type == byte.class)
+            return (byte)0;
+        else if(type == char.class)
+            return '\0';
+        else if(type == float.class)
+            return 0F;
+        else if(type == double.class)
+            return 0D;
+        else if(type == Optional.class)
+            return Optional.empty();
+        else if(type == List.class || type == Collection.class)
+            return Collections.emptyList();
+        else if(type == Set.class)
+            return Collections.emptySet();
+        else if(type == Map.class)
+            return Collections.emptyMap();
+        else if(type == Stream.class)
+            return Stream.empty();
+        else if(type.isEnum())
+            return Arrays.stream(type.getEnumConstants()).filter(constant -> ((Enum<?>)constant).name().equals("UNKNOWN")).findAny().orElse(null);
+        else
+            return null;
+    }
+
+    /**
+     * Converts a number into the boxed type of a primitive return type.
+     * @param type the return type of the method.
+     * @param value an arbitrary number.
+     * @return the number as an instance of the boxed return type.
+     */
+    @Nonnull
+    static Object number(@Nonnull Class<?> type, long value){
+        return type == long.class || type == Long.class ? (Object)value : (Object)Math.toIntExact(value);
+    }
+
+    /**
+     * JDA accepts snowflakes both as numbers and as strings.
+     * @param id the argument containing a snowflake.
+     * @return the snowflake as a number.
+     */
+    static long id(@Nonnull Object id){
+        return id instanceof Number ? ((Number)id).longValue() : Long.parseUnsignedLong(id.toString());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A request which would have been sent to Discord. Requests are only recorded once they are executed, e.g. via
+ * {@code queue()} or {@code complete()}.
+ */
+@Nonnull
+public final class RestCall {
+    /**
+     * The interface and the method that created the request, e.g. {@code TextChannel#sendMessage}.
+     */
+    @Nonnull
+    private final String route;
+    /**
+     * The arguments of the method that created the request.
+     */
+    @Nonnull
+    private final List<Object> arguments;
+    /**
+     * The methods that have been called on the request before it was executed, e.g. {@code append}.
+     */
+    @Nonnull
+    private final List<String> modifiers;
+    /**
+     * The value of {@link System#nanoTime()} when the request was executed.
+     */
+    private final long nanoTime;
+
+    RestCall(@Nonnull String route, @Nonnull List<Object> arguments, @Nonnull List<String> modifiers, long nanoTime){
+        this.route = route;
+        this.arguments = Collections.unmodifiableList(arguments);
+        this.modifiers = Collections.unmodifiableList(modifiers);
+        this.nanoTime = nanoTime;
+    }
+
+    @Nonnull
+    public String getRoute(){
+        return route;
+    }
+
+    @Nonnull
+    public List<Object> getArguments(){
+        return arguments;
+    }
+
+    @Nonnull
+    public List<String> getModifiers(){
+        return modifiers;
+    }
+
+    public long getNanoTime(){
+        return nanoTime;
+    }
+
+    @Override
+    public String toString(){
+        return route + arguments;
+    }
+}
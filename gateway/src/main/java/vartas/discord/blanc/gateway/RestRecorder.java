@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The stand-in for the REST API of Discord. Instead of being sent, all requests are recorded in the order in which
+ * they have been executed. Unless specified otherwise, each request succeeds immediately.
+ */
+@Nonnull
+public class RestRecorder {
+    /**
+     * All requests that have been executed so far.
+     */
+    @Nonnull
+    private final List<RestCall> calls = new ArrayList<>();
+    /**
+     * The responses for specific routes, overwriting the ones provided by the fake entities.
+     */
+    @Nonnull
+    private final Map<String, Function<RestCall, ?>> responses = new ConcurrentHashMap<>();
+
+    /**
+     * Specifies the result of all requests with the given route.
+     * @param route the route of the requests, e.g. {@code JDA#retrieveUserById}.
+     * @param response computes the result of the request.
+     */
+    public void respond(@Nonnull String route, @Nonnull Function<RestCall, ?> response){
+        responses.put(route, response);
+    }
+
+    /**
+     * @return all requests that have been executed so far.
+     */
+    @Nonnull
+    public synchronized List<RestCall> getCalls(){
+        return new ArrayList<>(calls);
+    }
+
+    /**
+     * @param route the route of the requests, e.g. {@code TextChannel#sendMessage}.
+     * @return all requests with the given route, that have been executed so far.
+     */
+    @Nonnull
+    public synchronized List<RestCall> getCalls(@Nonnull String route){
+        return calls.stream().filter(call -> call.getRoute().equals(route)).collect(Collectors.toList());
+    }
+
+    /**
+     * @return the number of requests that have been executed so far.
+     */
+    public synchronized int size(){
+        return calls.size();
+    }
+
+    /**
+     * Forgets all requests that have been executed so far.
+     */
+    public synchronized void clear(){
+        calls.clear();
+    }
+
+    /**
+     * Blocks until the specified number of requests have been executed. Commands are executed asynchronously, so
+     * this is used to wait for their response.
+     * @param count the total number of requests.
+     * @param timeout the maximum time to wait.
+     * @return true if the requests have been executed before the timeout elapsed.
+     * @throws InterruptedException if the calling thread was interrupted while waiting.
+     */
+    public synchronized boolean await(int count, @Nonnull Duration timeout) throws InterruptedException{
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while(calls.size() < count){
+            long remaining = deadline - System.nanoTime();
+
+            if(remaining <= 0)
+                return false;
+
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+
+        return true;
+    }
+
+    /**
+     * Records the request.
+     * @param call the executed request.
+     * @param result the result provided by the fake entity which created the request.
+     * @return the result of the request.
+     */
+    @Nullable
+    Object execute(@Nonnull RestCall call, @Nullable Object result){
+        synchronized (this){
+            calls.add(call);
+            notifyAll();
+        }
+
+        Function<RestCall, ?> response = responses.get(call.getRoute());
+        return response == null ? result : response.apply(call);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import com.google.common.base.Preconditions;
+import net.dv8tion.jda.api.OnlineStatus;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.GenericEvent;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * A reproducible stream of synthetic events in a single guild, resembling the traffic of an active server.
+ * Of all events, roughly 5% are new members, 15% are changes of the online status, 10% are commands and the
+ * remaining events are plain messages.
+ * <p>
+ * The events are created lazily, meaning that the state of the guild changes as the stream is consumed.
+ */
+@Nonnull
+public class SyntheticStream implements Iterator<GenericEvent> {
+    @Nonnull
+    private static final OnlineStatus[] STATUS = {OnlineStatus.ONLINE, OnlineStatus.IDLE, OnlineStatus.DO_NOT_DISTURB, OnlineStatus.OFFLINE};
+    @Nonnull
+    private final FakeDiscord discord;
+    @Nonnull
+    private final Guild guild;
+    @Nonnull
+    private final List<TextChannel> textChannels;
+    @Nonnull
+    private final List<Member> members;
+    @Nonnull
+    private final List<String> commands;
+    @Nonnull
+    private final Random random;
+    private final int size;
+    private int index = 0;
+
+    /**
+     * @param discord the instance creating the events.
+     * @param guild a fake guild with at least one text channel.
+     * @param commands the raw content of the commands, including the prefix.
+     * @param size the number of events in this stream.
+     * @param seed the seed for choosing the events.
+     */
+    public SyntheticStream(@Nonnull FakeDiscord discord, @Nonnull Guild guild, @Nonnull List<String> commands, int size, long seed){
+        Preconditions.checkArgument(!guild.getTextChannels().isEmpty(), "%s has no text channels.", guild);
+        Preconditions.checkArgument(!commands.isEmpty(), "No commands were specified.");
+        Preconditions.checkArgument(size >= 0, "Negative size %s.", size);
+
+        this.discord = discord;
+        this.guild = guild;
+        this.textChannels = List.copyOf(guild.getTextChannels());
+        this.members = guild.getMembers().stream().filter(member -> !member.getUser().isBot()).collect(Collectors.toCollection(ArrayList::new));
+        this.commands = List.copyOf(commands);
+        this.random = new Random(seed);
+        this.size = size;
+    }
+
+    @Override
+    public boolean hasNext(){
+        return index < size;
+    }
+
+    @Override
+    public GenericEvent next(){
+        if(!hasNext())
+            throw new NoSuchElementException();
+        return create(index++);
+    }
+
+    /**
+     * @param index the position of the event in this stream.
+     * @return a new, random event.
+     */
+    @Nonnull
+    private GenericEvent create(int index){
+        int roll = random.nextInt(100);
+
+        //Without any members, the first event has to be a member joining the guild
+        if(roll < 5 || members.isEmpty()){
+            long id = discord.nextId();
+            User user = discord.addUser(id, "User#" + index, false);
+            GenericEvent event = discord.memberJoin(guild, user);
+            members.add(guild.getMember(user));
+            return event;
+        }
+
+        Member member = members.get(random.nextInt(members.size()));
+
+        if(roll < 20)
+            return discord.presenceUpdate(member, STATUS[random.nextInt(STATUS.length)]);
+
+        TextChannel textChannel = textChannels.get(random.nextInt(textChannels.size()));
+
+        if(roll < 30)
+            return discord.guildMessage(textChannel, member, commands.get(random.nextInt(commands.size())));
+        else
+            return discord.guildMessage(textChannel, member, "Message #" + index);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import de.se_rwth.commons.logging.Log;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import vartas.discord.blanc.io.$json.JSONCredentials;
+import vartas.discord.blanc.io.Credentials;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public abstract class AbstractTest {
+    public static Path RESOURCES = Paths.get("src","test","resources");
+    public static Credentials credentials;
+    public FakeDiscord discord;
+
+    @BeforeAll
+    public static void setUpAll() throws IOException {
+        Log.enableFailQuick(false);
+        credentials = JSONCredentials.fromJson(new Credentials(), RESOURCES.resolve("credentials.json"));
+        JSONCredentials.setCredentials(credentials);
+    }
+
+    @BeforeEach
+    public void setUpDiscord(){
+        discord = new FakeDiscord(1L, "Blanc");
+    }
+}
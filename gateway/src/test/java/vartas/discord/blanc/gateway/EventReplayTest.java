@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.priv.PrivateMessageReceivedEvent;
+import net.dv8tion.jda.api.events.user.update.UserUpdateOnlineStatusEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventReplayTest extends AbstractTest {
+    Guild guild;
+    List<GenericEvent> events;
+
+    @BeforeEach
+    public void setUp(){
+        guild = discord.addGuild(discord.nextId(), "Guild");
+        discord.addTextChannel(guild, discord.nextId(), "general");
+        events = new ArrayList<>();
+        discord.getJDA().addEventListener((EventListener) events::add);
+    }
+
+    @Test
+    public void testRate(){
+        List<GenericEvent> stream = Collections.nCopies(11, discord.privateMessage(discord.getSelfUser(), "Hello"));
+
+        EventReplay.Result result = new EventReplay(discord, 100).replay(stream.iterator());
+
+        //The last event is scheduled 100ms after the first one
+        assertThat(result.getCount()).isEqualTo(11);
+        assertThat(result.getDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+        assertThat(events).hasSize(11);
+    }
+
+    @Test
+    public void testSyntheticStream(){
+        SyntheticStream stream = new SyntheticStream(discord, guild, List.of("b: ping"), 1000, 0L);
+
+        EventReplay.Result result = new EventReplay(discord, 0).replay(stream);
+
+        assertThat(result.getCount()).isEqualTo(1000);
+        assertThat(events).hasSize(1000);
+        assertThat(events).hasAtLeastOneElementOfType(GuildMemberJoinEvent.class);
+        assertThat(events).hasAtLeastOneElementOfType(UserUpdateOnlineStatusEvent.class);
+        assertThat(events).hasAtLeastOneElementOfType(GuildMessageReceivedEvent.class);
+        assertThat(events)
+                .filteredOn(GuildMessageReceivedEvent.class::isInstance)
+                .extracting(event -> ((GuildMessageReceivedEvent)event).getMessage().getContentRaw())
+                .contains("b: ping");
+    }
+
+    @Test
+    public void testSyntheticStreamIsReproducible(){
+        List<String> first = new ArrayList<>();
+        new SyntheticStream(discord, guild, List.of("b: ping"), 100, 42L).forEachRemaining(event -> first.add(event.getClass().getSimpleName()));
+
+        Guild other = discord.addGuild(discord.nextId(), "Other");
+        discord.addTextChannel(other, discord.nextId(), "general");
+        List<String> second = new ArrayList<>();
+        new SyntheticStream(discord, other, List.of("b: ping"), 100, 42L).forEachRemaining(event -> second.add(event.getClass().getSimpleName()));
+
+        assertThat(first).isEqualTo(second);
+    }
+
+    @Test
+    public void testRecording(){
+        EventRecording recording = EventRecording.read(discord, RESOURCES.resolve("recording.jsonl"));
+
+        new EventReplay(discord, 0).replay(recording);
+
+        assertThat(events).hasSize(5);
+        assertThat(events.get(0)).isInstanceOf(GuildMemberJoinEvent.class);
+        assertThat(events.get(1)).isInstanceOf(GuildMessageReceivedEvent.class);
+        assertThat(events.get(2)).isInstanceOf(UserUpdateOnlineStatusEvent.class);
+        assertThat(events.get(3)).isInstanceOf(GuildMessageReceivedEvent.class);
+        assertThat(events.get(4)).isInstanceOf(PrivateMessageReceivedEvent.class);
+
+        Guild recorded = discord.getJDA().getGuildById(100L);
+        assertThat(recorded).isNotNull();
+        assertThat(recorded.getTextChannelById(200L)).isNotNull();
+        assertThat(recorded.getMemberById(300L).getUser().getName()).isEqualTo("Alice");
+        assertThat(recorded.getMemberById(301L).getUser().getName()).isEqualTo("Bob");
+    }
+}
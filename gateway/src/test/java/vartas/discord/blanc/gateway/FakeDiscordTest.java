@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import net.dv8tion.jda.api.OnlineStatus;
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.*;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import net.dv8tion.jda.api.events.user.update.UserUpdateOnlineStatusEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.internal.utils.PermissionUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.JDAMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FakeDiscordTest extends AbstractTest {
+    Guild guild;
+    TextChannel textChannel;
+    User user;
+    Member member;
+
+    @BeforeEach
+    public void setUp(){
+        guild = discord.addGuild(discord.nextId(), "Guild");
+        textChannel = discord.addTextChannel(guild, discord.nextId(), "general");
+        user = discord.addUser(discord.nextId(), "User", false);
+        member = discord.addMember(guild, user);
+    }
+
+    @Test
+    public void testDispatch(){
+        List<GenericEvent> events = new ArrayList<>();
+        discord.getJDA().addEventListener((EventListener) events::add);
+
+        GuildMessageReceivedEvent event = discord.guildMessage(textChannel, member, "Hello");
+        discord.dispatch(event);
+
+        assertThat(events).containsExactly(event);
+        assertThat(event.getAuthor()).isEqualTo(user);
+        assertThat(event.getChannel()).isEqualTo(textChannel);
+        assertThat(event.getGuild()).isEqualTo(guild);
+        assertThat(event.getMessage().getContentRaw()).isEqualTo("Hello");
+    }
+
+    @Test
+    public void testFailingListener(){
+        List<GenericEvent> events = new ArrayList<>();
+        discord.getJDA().addEventListener((EventListener) event -> { throw new IllegalStateException(); });
+        discord.getJDA().addEventListener((EventListener) events::add);
+
+        discord.dispatch(discord.guildMessage(textChannel, member, "Hello"));
+
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    public void testCache(){
+        assertThat(discord.getJDA().getGuildById(guild.getIdLong())).isEqualTo(guild);
+        assertThat(discord.getJDA().getTextChannelById(textChannel.getIdLong())).isEqualTo(textChannel);
+        assertThat(discord.getShardManager().getShardById(0)).isEqualTo(discord.getJDA());
+        assertThat(guild.getSelfMember().getUser()).isEqualTo(discord.getSelfUser());
+        assertThat(guild.getMemberCache().size()).isEqualTo(2);
+        assertThat(guild.getMemberCache().getElementById(user.getIdLong())).isEqualTo(member);
+        assertThat(guild.getTextChannelCache().getElementsByName("general")).containsExactly(textChannel);
+    }
+
+    @Test
+    public void testMemberJoin(){
+        User newUser = discord.addUser(discord.nextId(), "NewUser", false);
+        assertThat(guild.isMember(newUser)).isFalse();
+
+        GuildMemberJoinEvent event = discord.memberJoin(guild, newUser);
+
+        assertThat(guild.isMember(newUser)).isTrue();
+        assertThat(event.getMember()).isEqualTo(guild.getMember(newUser));
+        assertThat(guild.getMemberCache().size()).isEqualTo(3);
+    }
+
+    @Test
+    public void testPresenceUpdate(){
+        assertThat(member.getOnlineStatus()).isEqualTo(OnlineStatus.ONLINE);
+
+        UserUpdateOnlineStatusEvent event = discord.presenceUpdate(member, OnlineStatus.IDLE);
+
+        assertThat(member.getOnlineStatus()).isEqualTo(OnlineStatus.IDLE);
+        assertThat(event.getOldOnlineStatus()).isEqualTo(OnlineStatus.ONLINE);
+        assertThat(event.getNewOnlineStatus()).isEqualTo(OnlineStatus.IDLE);
+    }
+
+    @Test
+    public void testRestAction(){
+        RestAction<Message> restAction = textChannel.sendMessage("Hello");
+        assertThat(discord.getRestRecorder().size()).isEqualTo(0);
+
+        restAction.queue();
+
+        assertThat(discord.getRestRecorder().getCalls("TextChannel#sendMessage")).hasSize(1);
+        assertThat(discord.getRestRecorder().getCalls().get(0).getArguments()).containsExactly("Hello");
+    }
+
+    @Test
+    public void testRespond(){
+        Message message = discord.guildMessage(textChannel, member, "Hello").getMessage();
+        discord.getRestRecorder().respond("TextChannel#sendMessage", call -> message);
+
+        assertThat(textChannel.sendMessage("Hello").complete()).isEqualTo(message);
+    }
+
+    @Test
+    public void testAdapter() throws Exception{
+        Message message = discord.guildMessage(textChannel, member, "Hello").getMessage();
+
+        JDAMessage.create(message).deleteAsync().get();
+
+        assertThat(discord.getRestRecorder().getCalls("Message#delete")).hasSize(1);
+    }
+
+    @Test
+    public void testPermissions(){
+        Role role = discord.addRole(guild, discord.nextId(), "Admin", Permission.getRaw(Permission.ADMINISTRATOR));
+        assertThat(Permission.getPermissions(PermissionUtil.getEffectivePermission(member))).doesNotContain(Permission.ADMINISTRATOR);
+
+        discord.assignRole(member, role);
+
+        assertThat(member.getRoles()).containsExactly(role);
+        assertThat(Permission.getPermissions(PermissionUtil.getEffectivePermission(member))).contains(Permission.ADMINISTRATOR);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.gateway;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.entities.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.JDAShardLoader;
+import vartas.discord.blanc.Shard;
+import vartas.discord.blanc.callable.MontiCoreCommandParser;
+import vartas.discord.blanc.cluster.ShardRange;
+import vartas.discord.blanc.monticore.MontiCoreCommandBuilder;
+import vartas.discord.blanc.parser.JDATypeResolver;
+import vartas.discord.blanc.visitor.RedditVisitor;
+import vartas.reddit.Client;
+import vartas.reddit.Subreddit;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JDAShardLoaderTest extends AbstractTest {
+    Guild guild;
+    TextChannel textChannel;
+    Member member;
+    Member bot;
+    Shard shard;
+
+    @BeforeEach
+    public void setUp(){
+        guild = discord.addGuild(discord.nextId(), "Guild");
+        textChannel = discord.addTextChannel(guild, discord.nextId(), "general");
+        member = discord.addMember(guild, discord.addUser(discord.nextId(), "User", false));
+        bot = discord.addMember(guild, discord.addUser(discord.nextId(), "Bot", true));
+
+        Client client = new Client(){
+            @Override
+            public Subreddit getSubreddits(String key){
+                return Optional.ofNullable(getIfPresentSubreddits(key)).orElseThrow(NoSuchElementException::new);
+            }
+        };
+
+        JDAShardLoader shardLoader = new JDAShardLoader(
+                credentials,
+                (shard, jda) -> new MontiCoreCommandBuilder(new JDATypeResolver(shard, jda), shard, new MontiCoreCommandParser(), credentials.getGlobalPrefix()),
+                discord.getShardManager(),
+                new RedditVisitor(client, 0),
+                ShardRange.all(1),
+                false
+        );
+
+        shard = shardLoader.load(0);
+        discord.getRestRecorder().clear();
+    }
+
+    @Test
+    public void testLoad(){
+        assertThat(shard.getId()).isEqualTo(0);
+        assertThat(discord.getJDA().getRegisteredListeners()).hasSize(4);
+    }
+
+    @Test
+    public void testCommand() throws InterruptedException{
+        discord.dispatch(discord.guildMessage(textChannel, member, "b: ping"));
+
+        assertThat(discord.getRestRecorder().await(1, Duration.ofSeconds(10))).isTrue();
+        assertThat(discord.getRestRecorder().getCalls("TextChannel#sendMessage")).hasSize(1);
+    }
+
+    @Test
+    public void testIgnoreBots() throws InterruptedException{
+        discord.dispatch(discord.guildMessage(textChannel, bot, "b: ping"));
+
+        assertThat(discord.getRestRecorder().await(1, Duration.ofMillis(500))).isFalse();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc;
+
+import net.dv8tion.jda.api.requests.RestAction;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Converts the JDA rest actions into the futures of the asynchronous API.
+ */
+@Nonnull
+final class JDAFutures {
+    private JDAFutures(){}
+
+    /**
+     * Queues the request. Neither the calling thread nor a JDA thread is blocked while waiting for the response.
+     * @param restAction the request to the Discord server.
+     * @return a future that completes once the request has been processed.
+     */
+    @Nonnull
+    static CompletableFuture<Void> queue(@Nonnull RestAction<?> restAction){
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        restAction.queue(ignored -> future.complete(null), future::completeExceptionally);
+        return future;
+    }
+}
@@ -20,7 +20,6 @@ package vartas.discord.blanc;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Sets;
-import net.dv8tion.jda.api.OnlineStatus;
 import org.atteo.evo.inflector.English;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -171,6 +170,7 @@ public class JDAGuild extends Guild{
     @Override
     public MessageEmbed toMessageEmbed(){
         MessageEmbed messageEmbed = new MessageEmbed();
+        JDAGuildSummary.Summary summary = JDAGuildSummary.GUILD_SUMMARY.get(guild);
 
         setTitle(messageEmbed);
         setThumbnail(messageEmbed);
@@ -178,9 +178,9 @@ public class JDAGuild extends Guild{
         addRegion(messageEmbed);
         addTextChannels(messageEmbed);
         addVoiceChannels(messageEmbed);
-        addAdministrators(messageEmbed);
-        addModerators(messageEmbed);
-        addMembers(messageEmbed);
+        addAdministrators(messageEmbed, summary);
+        addModerators(messageEmbed, summary);
+        addMembers(messageEmbed, summary);
         addRoles(messageEmbed);
         addCreated(messageEmbed);
 
@@ -217,41 +217,24 @@ public class JDAGuild extends Guild{
         messageEmbed.addFields(English.plural("#VoiceChannel",size), size, true);
     }
 
-    private void addAdministrators(MessageEmbed messageEmbed){
+    private void addAdministrators(MessageEmbed messageEmbed, JDAGuildSummary.Summary summary){
         //The owner is always an administrator, however, that account may be suspended
-        List<net.dv8tion.jda.api.entities.Member> administrators = guild.getMembers()
-                .stream()
-                .filter(m -> !m.getUser().isBot())
-                .filter(m -> m.getPermissions().containsAll(ADMINISTRATOR_PERMISSIONS))
-                .sorted(Comparator.comparingLong(u -> u.getUser().getIdLong()))
-                .collect(Collectors.toList());
-
-        administrators.stream()
-                .map(net.dv8tion.jda.api.entities.Member::getAsMention)
-                .reduce((u, v) -> u + "\n" + v)
-                .ifPresent(content -> messageEmbed.addFields(English.plural("Admin", administrators.size()), content));
+        List<String> administrators = summary.getAdministrators();
 
+        if(!administrators.isEmpty())
+            messageEmbed.addFields(English.plural("Admin", administrators.size()), String.join("\n", administrators));
     }
 
-    private void addModerators(MessageEmbed messageEmbed){
-        List<net.dv8tion.jda.api.entities.Member> moderators = guild.getMembers().stream()
-                .filter(m -> !m.getUser().isBot())
-                .filter(m -> !m.getPermissions().containsAll(ADMINISTRATOR_PERMISSIONS))
-                .filter(m -> !Collections.disjoint(m.getPermissions(), MODERATOR_PERMISSIONS))
-                .collect(Collectors.toList());
-
-        moderators.stream()
-                .map(net.dv8tion.jda.api.entities.Member::getAsMention)
-                .reduce((u, v) -> u + "\n" + v)
-                .ifPresent(content -> messageEmbed.addFields(English.plural("Moderator", moderators.size()), content));
-    }
+    private void addModerators(MessageEmbed messageEmbed, JDAGuildSummary.Summary summary){
+        List<String> moderators = summary.getModerators();
 
-    private void addMembers(MessageEmbed messageEmbed){
-        int online = (int)guild.getMembers().stream()
-                .filter(e -> !e.getOnlineStatus().equals(OnlineStatus.OFFLINE))
-                .count();
+        if(!moderators.isEmpty())
+            messageEmbed.addFields(English.plural("Moderator", moderators.size()), String.join("\n", moderators));
+    }
 
-        int total = guild.getMembers().size();
+    private void addMembers(MessageEmbed messageEmbed, JDAGuildSummary.Summary summary){
+        int online = summary.getOnline();
+        int total = summary.getTotal();
 
         messageEmbed.addFields(English.plural("#Member",total), String.format("%d / %d",online,total), true);
 
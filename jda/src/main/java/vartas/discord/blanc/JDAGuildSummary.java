@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.dv8tion.jda.api.OnlineStatus;
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleAddEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleRemoveEvent;
+import net.dv8tion.jda.api.events.guild.update.GuildUpdateOwnerEvent;
+import net.dv8tion.jda.api.events.role.RoleDeleteEvent;
+import net.dv8tion.jda.api.events.role.update.RoleUpdatePermissionsEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.internal.utils.PermissionUtil;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The administrators, moderators and member counts of all guilds, as shown in the guild information.
+ * <p>
+ * A summary is computed in a single pass over the member cache, where the permissions of each member are compared
+ * against precomputed bitmasks. Summaries are cached for a short time and discarded as soon as the members or the
+ * permissions of the guild change, which is why this listener has to be registered on every shard. The number of
+ * online members is not tracked and is therefore only as accurate as the lifetime of the cached summary.
+ */
+@Nonnull
+public class JDAGuildSummary extends ListenerAdapter {
+    /**
+     * The summaries shared between all shards.
+     */
+    @Nonnull
+    public static final JDAGuildSummary GUILD_SUMMARY = new JDAGuildSummary();
+    /**
+     * The raw permissions an administrator has to have.
+     */
+    private static final long ADMINISTRATOR_PERMISSIONS = Permission.getRaw(JDAGuild.ADMINISTRATOR_PERMISSIONS);
+    /**
+     * The raw permissions a moderator needs at least one of.
+     */
+    private static final long MODERATOR_PERMISSIONS = Permission.getRaw(JDAGuild.MODERATOR_PERMISSIONS);
+    /**
+     * The summaries of all guilds that have been requested recently.
+     */
+    @Nonnull
+    private final Cache<Long, Summary> summaries = CacheBuilder.newBuilder().expireAfterWrite(Duration.ofMinutes(1)).build();
+
+    /**
+     * @param guild the guild whose members are summarized.
+     * @return the cached summary of the guild or a new summary, if none exists or if it has expired.
+     */
+    @Nonnull
+    public Summary get(@Nonnull Guild guild){
+        try{
+            return summaries.get(guild.getIdLong(), () -> collect(guild));
+        }catch(ExecutionException e){
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Walks over the member cache exactly once.
+     * @param guild the guild whose members are summarized.
+     * @return the summary over the current state of the member cache.
+     */
+    @Nonnull
+    private static Summary collect(@Nonnull Guild guild){
+        List<Member> administrators = new ArrayList<>();
+        List<Member> moderators = new ArrayList<>();
+        int[] online = new int[1];
+        int[] total = new int[1];
+
+        guild.getMemberCache().forEach(member -> {
+            ++total[0];
+
+            if(member.getOnlineStatus() != OnlineStatus.OFFLINE)
+                ++online[0];
+
+            if(member.getUser().isBot())
+                return;
+
+            long permissions = PermissionUtil.getEffectivePermission(member);
+
+            if((permissions & ADMINISTRATOR_PERMISSIONS) == ADMINISTRATOR_PERMISSIONS)
+                administrators.add(member);
+            else if((permissions & MODERATOR_PERMISSIONS) != 0)
+                moderators.add(member);
+        });
+
+        administrators.sort(Comparator.comparingLong(member -> member.getUser().getIdLong()));
+
+        return new Summary(mentions(administrators), mentions(moderators), online[0], total[0]);
+    }
+
+    @Nonnull
+    private static List<String> mentions(@Nonnull Collection<Member> members){
+        List<String> mentions = new ArrayList<>(members.size());
+        for(Member member : members)
+            mentions.add(member.getAsMention());
+        return Collections.unmodifiableList(mentions);
+    }
+
+    private void invalidate(@Nonnull Guild guild){
+        summaries.invalidate(guild.getIdLong());
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Events
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void onGuildLeave(@Nonnull GuildLeaveEvent event){
+        invalidate(event.getGuild());
+    }
+
+    @Override
+    public void onGuildUpdateOwner(@Nonnull GuildUpdateOwnerEvent event){
+        invalidate(event.getGuild());
+    }
+
+    @Override
+    public void onGuildMemberJoin(@Nonnull GuildMemberJoinEvent event){
+        invalidate(event.getGuild());
+    }
+
+    @Override
+    public void onGuildMemberRemove(@Nonnull GuildMemberRemoveEvent event){
+        invalidate(event.getGuild());
+    }
+
+    @Override
+    public void onGuildMemberRoleAdd(@Nonnull GuildMemberRoleAddEvent event){
+        invalidate(event.getGuild());
+    }
+
+    @Override
+    public void onGuildMemberRoleRemove(@Nonnull GuildMemberRoleRemoveEvent event){
+        invalidate(event.getGuild());
+    }
+
+    @Override
+    public void onRoleDelete(@Nonnull RoleDeleteEvent event){
+        invalidate(event.getGuild());
+    }
+
+    @Override
+    public void onRoleUpdatePermissions(@Nonnull RoleUpdatePermissionsEvent event){
+        invalidate(event.getGuild());
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Summary
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The members of a guild, grouped by their permissions.
+     */
+    @Nonnull
+    public static final class Summary {
+        /**
+         * The mentions of all human administrators, ordered by their id.
+         */
+        @Nonnull
+        private final List<String> administrators;
+        /**
+         * The mentions of all human moderators, who aren't administrators.
+         */
+        @Nonnull
+        private final List<String> moderators;
+        /**
+         * The number of members that aren't offline.
+         */
+        private final int online;
+        /**
+         * The number of all members.
+         */
+        private final int total;
+
+        private Summary(@Nonnull List<String> administrators, @Nonnull List<String> moderators, int online, int total){
+            this.administrators = administrators;
+            this.moderators = moderators;
+            this.online = online;
+            this.total = total;
+        }
+
+        @Nonnull
+        public List<String> getAdministrators(){
+            return administrators;
+        }
+
+        @Nonnull
+        public List<String> getModerators(){
+            return moderators;
+        }
+
+        public int getOnline(){
+            return online;
+        }
+
+        public int getTotal(){
+            return total;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class JDAMember extends Member{
@@ -48,7 +49,7 @@ public class JDAMember extends Member{
         return MemberFactory.create(
                 () -> new JDAMember(member),
                 JDAOnlineStatus.transform(member.getOnlineStatus()),
-                JSONRanks.RANKS.getRanks().get(member.getIdLong()),
+                JSONRanks.getRanks().view(member.getIdLong()),
                 member.getIdLong(),
                 member.getUser().getName()
         );
@@ -61,15 +62,9 @@ public class JDAMember extends Member{
         this.member = member;
     }
 
-    @Nonnull
     @Override
-    public Set<Permission> getPermissions(@Nonnull TextChannel textChannel) {
-        net.dv8tion.jda.api.entities.TextChannel jdaTextChannel = member.getGuild().getTextChannelById(textChannel.getId());
-
-        if(jdaTextChannel == null)
-            return Collections.emptySet();
-        else
-            return member.getPermissions(jdaTextChannel).stream().map(JDAPermission::transform).collect(Collectors.toSet());
+    public long getPermissionsRaw(@Nonnull TextChannel textChannel) {
+        return JDAPermission.getRaw(member, textChannel);
     }
 
     @Override
@@ -79,6 +74,12 @@ public class JDAMember extends Member{
 
     @Override
     public void modifyRoles(Collection<Role> rolesToAdd, Collection<Role> rolesToRemove) {
+        CompletableFutures.join(modifyRolesAsync(rolesToAdd, rolesToRemove));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> modifyRolesAsync(@Nonnull Collection<Role> rolesToAdd, @Nonnull Collection<Role> rolesToRemove) {
         List<net.dv8tion.jda.api.entities.Role> jdaRolesToAdd = rolesToAdd.stream()
                 .map(Snowflake::getId)
                 .map(member.getGuild()::getRoleById)
@@ -91,7 +92,7 @@ public class JDAMember extends Member{
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
-        member.getGuild().modifyMemberRoles(member, jdaRolesToAdd, jdaRolesToRemove).complete();
+        return JDAFutures.queue(member.getGuild().modifyMemberRoles(member, jdaRolesToAdd, jdaRolesToRemove));
     }
 
     @Override
@@ -101,7 +102,7 @@ public class JDAMember extends Member{
 
     @Override
     public PrivateChannel retrievePrivateChannel() {
-        return JDAPrivateChannel.create(member.getUser().openPrivateChannel().complete());
+        return JDAPrivateChannel.retrieve(member.getUser());
     }
 
     @Override
@@ -17,39 +17,72 @@
 
 package vartas.discord.blanc;
 
+import com.google.common.base.Suppliers;
 import vartas.discord.blanc.$factory.MessageFactory;
 
 import javax.annotation.Nonnull;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * The internal representation of a JDA message.<br>
+ * Since most messages are only checked for their content, the author, embeds and attachments are only transformed
+ * once they are accessed for the first time.
+ */
 public class JDAMessage extends Message {
     @Nonnull
     public static Message create(net.dv8tion.jda.api.entities.Message message){
-        return MessageFactory.create(
+        //The author is resolved lazily by the message itself
+        Message jdaMessage = MessageFactory.create(
             () -> new JDAMessage(message),
             message.getIdLong(),
             message.getTimeCreated().toInstant(),
-            JDAUser.create(message.getAuthor()),
-            message.getContentRaw().isEmpty() ? Optional.empty() : Optional.of(message.getContentRaw()),
-            message.getEmbeds().stream().map(JDAMessageEmbed::create).collect(Collectors.toList()),
-            message.getAttachments().stream().map(JDAAttachment::create).collect(Collectors.toList())
+            null
         );
+
+        if(!message.getContentRaw().isEmpty())
+            jdaMessage.setContent(message.getContentRaw());
+
+        jdaMessage.setMessageEmbeds(new LazyList<>(() -> message.getEmbeds().stream().map(JDAMessageEmbed::create).collect(Collectors.toList())));
+        jdaMessage.setAttachments(new LazyList<>(() -> message.getAttachments().stream().map(JDAAttachment::create).collect(Collectors.toList())));
+
+        return jdaMessage;
     }
 
     private final net.dv8tion.jda.api.entities.Message jdaMessage;
+    @Nonnull
+    private final Supplier<User> lazyAuthor;
 
     private JDAMessage(net.dv8tion.jda.api.entities.Message jdaMessage){
         this.jdaMessage = jdaMessage;
+        this.lazyAuthor = Suppliers.memoize(() -> JDAUser.create(jdaMessage.getAuthor()));
+    }
+
+    @Override
+    public User getAuthor(){
+        return lazyAuthor.get();
     }
 
     @Override
     public void delete(){
-        jdaMessage.delete().complete();
+        CompletableFutures.join(deleteAsync());
     }
 
     @Override
     public void react(String emote){
-        jdaMessage.addReaction(emote).complete();
+        CompletableFutures.join(reactAsync(emote));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> deleteAsync(){
+        return JDAFutures.queue(jdaMessage.delete());
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> reactAsync(@Nonnull String emote){
+        return JDAFutures.queue(jdaMessage.addReaction(emote));
     }
 }
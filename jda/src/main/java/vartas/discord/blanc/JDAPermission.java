@@ -17,46 +17,25 @@
 
 package vartas.discord.blanc;
 
-import java.util.HashMap;
-import java.util.Map;
+import net.dv8tion.jda.internal.utils.PermissionUtil;
 
-public class JDAPermission {
-    private static final Map<net.dv8tion.jda.api.Permission, Permission> PERMISSIONS = new HashMap<>();
+import javax.annotation.Nonnull;
 
-    static {
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.CREATE_INSTANT_INVITE, Permission.CREATE_INSTANT_INVITE);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.BAN_MEMBERS, Permission.BAN_MEMBERS);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.ADMINISTRATOR, Permission.ADMINISTRATOR);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MANAGE_CHANNEL, Permission.MANAGE_CHANNELS);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MANAGE_SERVER, Permission.MANAGE_GUILD);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MESSAGE_ADD_REACTION, Permission.ADD_REACTIONS);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.VIEW_AUDIT_LOGS, Permission.VIEW_AUDIT_LOG);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MESSAGE_READ, Permission.VIEW_CHANNEL);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MESSAGE_WRITE, Permission.SEND_MESSAGES);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MESSAGE_TTS, Permission.SEND_TTS_MESSAGES);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MESSAGE_MANAGE, Permission.MANAGE_MESSAGES);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MESSAGE_EMBED_LINKS, Permission.EMBED_LINKS);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MESSAGE_ATTACH_FILES, Permission.ATTACH_FILES);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MESSAGE_HISTORY, Permission.READ_MESSAGE_HISTORY);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MESSAGE_MENTION_EVERYONE, Permission.MENTION_EVERYONE);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MESSAGE_EXT_EMOJI, Permission.USE_EXTERNAL_EMOJIS);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.UNKNOWN, Permission.VIEW_GUILD_INSIGHTS);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.VOICE_CONNECT, Permission.CONNECT);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.VOICE_SPEAK, Permission.SPEAK);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.VOICE_MUTE_OTHERS, Permission.MUTE_MEMBERS);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.VOICE_DEAF_OTHERS, Permission.DEAFEN_MEMBERS);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.VOICE_MOVE_OTHERS, Permission.MOVE_MEMBERS);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.VOICE_USE_VAD, Permission.USE_VAD);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.PRIORITY_SPEAKER, Permission.PRIORITY_SPEAKER);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.VOICE_STREAM, Permission.STREAM);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.NICKNAME_CHANGE, Permission.CHANGE_NICKNAME);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.NICKNAME_MANAGE, Permission.MANAGE_NICKNAMES);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MANAGE_ROLES, Permission.MANAGE_ROLES);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MANAGE_WEBHOOKS, Permission.MANAGE_WEBHOOKS);
-        PERMISSIONS.put(net.dv8tion.jda.api.Permission.MANAGE_EMOTES, Permission.MANAGE_EMOJIS);
-    }
+public class JDAPermission {
+    /**
+     * JDA uses the same flags as Discord, which allows using the raw permissions as they are.
+     * @param member the JDA member the permissions are granted to.
+     * @param textChannel the {@link TextChannel} the permissions are granted in.
+     * @return the raw permissions of the member in the text channel or <code>0</code> if the text channel doesn't
+     *         exist in the guild of the member.
+     * @see Permissions
+     */
+    public static long getRaw(@Nonnull net.dv8tion.jda.api.entities.Member member, @Nonnull TextChannel textChannel){
+        net.dv8tion.jda.api.entities.TextChannel jdaTextChannel = member.getGuild().getTextChannelById(textChannel.getId());
 
-    public static Permission transform(net.dv8tion.jda.api.Permission jdaPermission){
-        return PERMISSIONS.get(jdaPermission);
+        if(jdaTextChannel == null)
+            return 0;
+        else
+            return PermissionUtil.getEffectivePermission(jdaTextChannel, member) & Permissions.ALL;
     }
 }
@@ -17,25 +17,58 @@
 
 package vartas.discord.blanc;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import vartas.discord.blanc.$factory.PrivateChannelFactory;
 
 import javax.annotation.Nonnull;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class JDAPrivateChannel extends PrivateChannel{
+    private static final Cache<Long, PrivateChannel> PRIVATE_CHANNELS = CacheBuilder.newBuilder().expireAfterAccess(Duration.ofHours(1)).build();
+
     private static final Logger log = LoggerFactory.getLogger(JDATextChannel.class.getSimpleName());
 
     public static PrivateChannel create(net.dv8tion.jda.api.entities.PrivateChannel privateChannel){
-        return PrivateChannelFactory.create(
+        long userId = privateChannel.getUser().getIdLong();
+        PrivateChannel jdaPrivateChannel = PRIVATE_CHANNELS.getIfPresent(userId);
+
+        //Private channel cached?
+        if(jdaPrivateChannel != null)
+            return jdaPrivateChannel;
+
+        jdaPrivateChannel = PrivateChannelFactory.create(
                 () -> new JDAPrivateChannel(privateChannel),
                 privateChannel.getIdLong(),
                 privateChannel.getName()
         );
+
+        PRIVATE_CHANNELS.put(userId, jdaPrivateChannel);
+
+        return jdaPrivateChannel;
+    }
+
+    /**
+     * Opening a private channel requires a request to the Discord server, unless the channel has been used recently.
+     * @param user the user the private channel belongs to.
+     * @return the private channel of the user.
+     */
+    @Nonnull
+    public static PrivateChannel retrieve(@Nonnull net.dv8tion.jda.api.entities.User user){
+        PrivateChannel privateChannel = PRIVATE_CHANNELS.getIfPresent(user.getIdLong());
+
+        if(privateChannel != null)
+            return privateChannel;
+        else
+            return create(user.openPrivateChannel().complete());
     }
 
     @Nonnull
@@ -69,7 +102,7 @@ public class JDAPrivateChannel extends PrivateChannel{
     @Override
     public void send(Message message) {
         try {
-            privateChannel.sendMessage(MessageBuilder.buildMessage(message)).complete();
+            CompletableFutures.join(sendAsync(message));
         }catch (Exception e){
             log.error(e.getMessage());
         }
@@ -78,9 +111,36 @@ public class JDAPrivateChannel extends PrivateChannel{
     @Override
     public void send(byte[] bytes, String qualifiedName) {
         try {
-            privateChannel.sendFile(bytes, qualifiedName).complete();
+            CompletableFutures.join(sendAsync(bytes, qualifiedName));
+        } catch (Exception e) {
+            log.error(e.getMessage());
+        }
+    }
+
+    @Override
+    public void send(@Nonnull InputStream inputStream, @Nonnull String qualifiedName) {
+        try {
+            CompletableFutures.join(sendAsync(inputStream, qualifiedName));
         } catch (Exception e) {
             log.error(e.getMessage());
         }
     }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> sendAsync(@Nonnull Message message) {
+        return JDAFutures.queue(privateChannel.sendMessage(MessageBuilder.buildMessage(message)));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> sendAsync(@Nonnull byte[] bytes, @Nonnull String qualifiedName) {
+        return JDAFutures.queue(privateChannel.sendFile(bytes, qualifiedName));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> sendAsync(@Nonnull InputStream inputStream, @Nonnull String qualifiedName) {
+        return JDAFutures.queue(privateChannel.sendFile(inputStream, qualifiedName));
+    }
 }
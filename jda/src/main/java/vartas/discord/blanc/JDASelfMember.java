@@ -29,6 +29,7 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class JDASelfMember extends SelfMember{
@@ -47,19 +48,13 @@ public class JDASelfMember extends SelfMember{
                 member.getIdLong(),
                 member.getUser().getName()
         );
-        selfMember.setRanks(JSONRanks.RANKS.getRanks().get(member.getIdLong()));
+        selfMember.setRanks(JSONRanks.getRanks().view(member.getIdLong()));
         return selfMember;
     }
 
-    @Nonnull
     @Override
-    public Set<Permission> getPermissions(@Nonnull TextChannel textChannel) {
-        net.dv8tion.jda.api.entities.TextChannel jdaTextChannel = member.getGuild().getTextChannelById(textChannel.getId());
-
-        if(jdaTextChannel == null)
-            return Collections.emptySet();
-        else
-            return member.getPermissions(jdaTextChannel).stream().map(JDAPermission::transform).collect(Collectors.toSet());
+    public long getPermissionsRaw(@Nonnull TextChannel textChannel) {
+        return JDAPermission.getRaw(member, textChannel);
     }
 
     @Override
@@ -74,6 +69,12 @@ public class JDASelfMember extends SelfMember{
 
     @Override
     public void modifyRoles(Collection<Role> rolesToAdd, Collection<Role> rolesToRemove) {
+        CompletableFutures.join(modifyRolesAsync(rolesToAdd, rolesToRemove));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> modifyRolesAsync(@Nonnull Collection<Role> rolesToAdd, @Nonnull Collection<Role> rolesToRemove) {
         List<net.dv8tion.jda.api.entities.Role> jdaRolesToAdd = rolesToAdd.stream()
                 .map(Snowflake::getId)
                 .map(member.getGuild()::getRoleById)
@@ -86,7 +87,7 @@ public class JDASelfMember extends SelfMember{
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
-        member.getGuild().modifyMemberRoles(member, jdaRolesToAdd, jdaRolesToRemove).complete();
+        return JDAFutures.queue(member.getGuild().modifyMemberRoles(member, jdaRolesToAdd, jdaRolesToRemove));
     }
 
     @Override
@@ -112,7 +113,7 @@ public class JDASelfMember extends SelfMember{
 
     @Override
     public PrivateChannel retrievePrivateChannel() {
-        return JDAPrivateChannel.create(member.getUser().openPrivateChannel().complete());
+        return JDAPrivateChannel.retrieve(member.getUser());
     }
 
     @Override
@@ -45,7 +45,7 @@ public class JDASelfUser extends SelfUser{
                 selfUser.getName()
         );
 
-        jdaSelfUser.setRanks(JSONRanks.RANKS.getRanks().get(selfUser.getIdLong()));
+        jdaSelfUser.setRanks(JSONRanks.getRanks().view(selfUser.getIdLong()));
 
         return jdaSelfUser;
     }
@@ -68,7 +68,7 @@ public class JDASelfUser extends SelfUser{
 
     @Override
     public PrivateChannel retrievePrivateChannel() {
-        return JDAPrivateChannel.create(selfUser.openPrivateChannel().complete());
+        return JDAPrivateChannel.retrieve(selfUser);
     }
 
     @Override
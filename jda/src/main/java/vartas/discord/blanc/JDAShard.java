@@ -52,8 +52,9 @@ public class JDAShard extends Shard {
 
     @Override
     public void shutdown(){
-        jda.shutdownNow();
+        //The registered components may still send requests while shutting down
         super.shutdown();
+        jda.shutdownNow();
     }
 
     @Override
@@ -23,33 +23,24 @@ import net.dv8tion.jda.api.OnlineStatus;
 import net.dv8tion.jda.api.requests.GatewayIntent;
 import net.dv8tion.jda.api.sharding.DefaultShardManagerBuilder;
 import net.dv8tion.jda.api.sharding.ShardManager;
+import net.dv8tion.jda.api.utils.ConcurrentSessionController;
 import net.dv8tion.jda.api.utils.MemberCachePolicy;
-import org.apache.commons.lang3.concurrent.TimedSemaphore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import vartas.discord.blanc.$factory.ShardFactory;
+import vartas.discord.blanc.cluster.ShardRange;
 import vartas.discord.blanc.command.CommandBuilder;
 import vartas.discord.blanc.io.Credentials;
-import vartas.discord.blanc.listener.BlacklistListener;
-import vartas.discord.blanc.listener.GuildCommandListener;
-import vartas.discord.blanc.listener.GuildMessageListener;
-import vartas.discord.blanc.listener.PrivateCommandListener;
+import vartas.discord.blanc.listener.*;
+import vartas.discord.blanc.parser.JDANameIndex;
 import vartas.discord.blanc.visitor.RedditVisitor;
 import vartas.reddit.Client;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 import javax.security.auth.login.LoginException;
-import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
 public class JDAShardLoader extends ShardLoader{
-    /**
-     * The minimum amount of time between connecting multiple JDA instances is 5 seconds.<br>
-     * We use an additional second as buffer, bringing the time up to 6 seconds.
-     */
-    @Nonnull
-    private static final TimedSemaphore rateLimiter = new TimedSemaphore(6, TimeUnit.SECONDS, 1);
     /**
      * The builder for creating one JDA instance for each shard.
      */
@@ -60,64 +51,122 @@ public class JDAShardLoader extends ShardLoader{
      */
     @Nonnull
     private final BiFunction<Shard, JDA, CommandBuilder> commandBuilderFunction;
-    /**
-     * The JDA instance of the currently visited shard.
-     */
-    @Nullable
-    private JDA currentJda;
 
     @Nonnull
     private final RedditVisitor redditVisitor;
+    /**
+     * The shards operated by this process.
+     */
+    @Nonnull
+    private final ShardRange shards;
+    /**
+     * Whether this process is responsible for the work that is done once for all shards, such as the status messages.
+     */
+    private final boolean leader;
 
     private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
     public JDAShardLoader(@Nonnull Credentials credentials, @Nonnull BiFunction<Shard, JDA, CommandBuilder> commandBuilderFunction) {
+        this(credentials, commandBuilderFunction, ShardRange.all(credentials.getShardCount()), true);
+    }
+
+    /**
+     * Creates a loader which only connects the specified shards. Used when the shards are distributed over multiple
+     * processes.
+     * @param credentials the configuration of the application.
+     * @param commandBuilderFunction the builder for transforming the received messages into executable commands.
+     * @param shards the shards operated by this process.
+     * @param leader whether this process is responsible for the work that is done once for all shards.
+     */
+    public JDAShardLoader(@Nonnull Credentials credentials, @Nonnull BiFunction<Shard, JDA, CommandBuilder> commandBuilderFunction, @Nonnull ShardRange shards, boolean leader) {
+        this(credentials, commandBuilderFunction, createShardManager(credentials, shards), createRedditVisitor(credentials, shards), shards, leader);
+    }
+
+    /**
+     * Creates a loader operating on already existing connections. This allows running the shards against a stand-in
+     * for Discord and Reddit, instead of the live services.
+     * @param credentials the configuration of the application.
+     * @param commandBuilderFunction the builder for transforming the received messages into executable commands.
+     * @param shardManager the manager providing the JDA instance of each shard.
+     * @param redditVisitor the visitor requesting the latest submissions of each subreddit.
+     * @param shards the shards operated by this process.
+     * @param leader whether this process is responsible for the work that is done once for all shards.
+     */
+    public JDAShardLoader(@Nonnull Credentials credentials, @Nonnull BiFunction<Shard, JDA, CommandBuilder> commandBuilderFunction, @Nonnull ShardManager shardManager, @Nonnull RedditVisitor redditVisitor, @Nonnull ShardRange shards, boolean leader) {
         super(credentials);
         this.commandBuilderFunction = commandBuilderFunction;
+        this.jdaBuilder = shardManager;
+        this.redditVisitor = redditVisitor;
+        this.shards = shards;
+        this.leader = leader;
+    }
+
+    @Nonnull
+    private static ShardManager createShardManager(@Nonnull Credentials credentials, @Nonnull ShardRange shards){
+        //Shards in different buckets may identify at the same time
+        ConcurrentSessionController sessionController = new ConcurrentSessionController();
+        sessionController.setConcurrency(credentials.getMaxConcurrency());
         try {
-            this.jdaBuilder = DefaultShardManagerBuilder.createDefault(credentials.getDiscordToken(), GatewayIntent.getIntents(GatewayIntent.ALL_INTENTS))
+            return DefaultShardManagerBuilder.createDefault(credentials.getDiscordToken(), GatewayIntent.getIntents(GatewayIntent.ALL_INTENTS))
                     .setStatus(OnlineStatus.ONLINE)
                     .setShardsTotal(credentials.getShardCount())
+                    .setShards(shards.getFirst(), shards.getLast())
+                    .setSessionController(sessionController)
                     .setMemberCachePolicy(MemberCachePolicy.ALL)
                     .build();
         } catch(LoginException e) {
             //TODO Error Messages;
             throw new RuntimeException();
         }
+    }
+
+    @Nonnull
+    private static RedditVisitor createRedditVisitor(@Nonnull Credentials credentials, @Nonnull ShardRange shards){
         Client redditClient = new vartas.reddit.JrawClient(
                 credentials.getRedditAccount(),
                 credentials.getVersion(),
                 credentials.getRedditId(),
                 credentials.getRedditSecret()
         );
-        this.redditVisitor = new RedditVisitor(redditClient);
+        return new RedditVisitor(redditClient, shards.getFirst());
     }
 
+    /**
+     * Waits until the shard is connected and registers all listeners. The shards are connected by the
+     * {@link ShardManager}, which limits how many shards identify at the same time. This method may therefore be
+     * called for multiple shards concurrently.
+     * @param shardId the id of the shard.
+     * @return the shard, ready to process events.
+     */
     @Override
     public Shard load(int shardId){
         try {
-            rateLimiter.acquire();
-
-            currentJda = Preconditions.checkNotNull(jdaBuilder.getShardById(shardId)).awaitReady();
+            JDA jda = Preconditions.checkNotNull(jdaBuilder.getShardById(shardId)).awaitReady();
 
             Shard shard;
-            SelfUser selfUser = JDASelfUser.create(currentJda.getSelfUser());
-            //Only the master shard has to modify the status messages
-            if(shardId == 0) {
+            SelfUser selfUser = JDASelfUser.create(jda.getSelfUser());
+            //Only a single shard in the whole cluster has to modify the status messages
+            if(leader && shardId == shards.getFirst()) {
                 StatusMessageRunnable statusMessageRunnable = createStatusMessageRunnable(selfUser);
-                shard = ShardFactory.create(() -> new JDAShard(redditVisitor, statusMessageRunnable, currentJda), shardId);
+                shard = ShardFactory.create(() -> new JDAShard(redditVisitor, statusMessageRunnable, jda), shardId);
             }else{
-                shard = ShardFactory.create(() -> new JDAShard(redditVisitor, currentJda), shardId);
+                shard = ShardFactory.create(() -> new JDAShard(redditVisitor, jda), shardId);
             }
 
             shard.accept(this);
 
             //Load listeners
-            CommandBuilder commandBuilder = commandBuilderFunction.apply(shard, currentJda);
-            currentJda.addEventListener(new GuildCommandListener(commandBuilder, shard));
-            currentJda.addEventListener(new PrivateCommandListener(commandBuilder, shard));
-            currentJda.addEventListener(new GuildMessageListener(shard));
-            currentJda.addEventListener(new BlacklistListener(shard));
+            CommandBuilder commandBuilder = commandBuilderFunction.apply(shard, jda);
+            GuildMessageDispatcher dispatcher = new GuildMessageDispatcher(shard);
+            dispatcher.addStage(new GuildMessageListener());
+            BlacklistModerator moderator = new BlacklistModerator();
+            shard.register(moderator);
+            dispatcher.addStage(new BlacklistListener(moderator));
+            dispatcher.addStage(new GuildCommandListener(commandBuilder, shard));
+            jda.addEventListener(dispatcher);
+            jda.addEventListener(new PrivateCommandListener(commandBuilder, shard));
+            jda.addEventListener(JDANameIndex.NAME_INDEX);
+            jda.addEventListener(JDAGuildSummary.GUILD_SUMMARY);
 
             return shard;
         } catch( InterruptedException e) {
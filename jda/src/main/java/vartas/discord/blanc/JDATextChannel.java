@@ -27,10 +27,12 @@ import vartas.discord.blanc.$json.JSONTextChannel;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class JDATextChannel extends TextChannel{
@@ -88,12 +90,35 @@ public class JDATextChannel extends TextChannel{
 
     @Override
     public void send(Message message) {
-        textChannel.sendMessage(MessageBuilder.buildMessage(message)).complete();
+        CompletableFutures.join(sendAsync(message));
     }
 
     @Override
     public void send(byte[] bytes, String qualifiedName) {
-        textChannel.sendFile(bytes, qualifiedName).complete();
+        CompletableFutures.join(sendAsync(bytes, qualifiedName));
+    }
+
+    @Override
+    public void send(@Nonnull InputStream inputStream, @Nonnull String qualifiedName) {
+        CompletableFutures.join(sendAsync(inputStream, qualifiedName));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> sendAsync(@Nonnull Message message) {
+        return JDAFutures.queue(textChannel.sendMessage(MessageBuilder.buildMessage(message)));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> sendAsync(@Nonnull byte[] bytes, @Nonnull String qualifiedName) {
+        return JDAFutures.queue(textChannel.sendFile(bytes, qualifiedName));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> sendAsync(@Nonnull InputStream inputStream, @Nonnull String qualifiedName) {
+        return JDAFutures.queue(textChannel.sendFile(inputStream, qualifiedName));
     }
 
     @Override
@@ -41,7 +41,7 @@ public class JDAUser extends User{
         return UserFactory.create(
                 () -> new JDAUser(user),
                 OnlineStatus.UNKNOWN,
-                JSONRanks.RANKS.getRanks().get(user.getIdLong()),
+                JSONRanks.getRanks().view(user.getIdLong()),
                 user.getIdLong(),
                 user.getName()
         );
@@ -56,7 +56,7 @@ public class JDAUser extends User{
 
     @Override
     public PrivateChannel retrievePrivateChannel(){
-        return JDAPrivateChannel.create(user.openPrivateChannel().complete());
+        return JDAPrivateChannel.retrieve(user);
     }
 
     @Override
@@ -29,10 +29,12 @@ import vartas.discord.blanc.$json.JSONWebhook;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
@@ -106,24 +108,63 @@ public class JDAWebhook extends Webhook{
         }
     }
 
+    /**
+     * Webhook messages are sent without waiting for a response from the Discord server. Failures are logged once the
+     * request has been processed.
+     * @param message the submitted {@link Message}.
+     */
     @Override
     public void send(Message message) {
+        log(sendAsync(message));
+    }
+
+    @Override
+    public void send(byte[] bytes, String qualifiedName) {
+        log(sendAsync(bytes, qualifiedName));
+    }
+
+    @Override
+    public void send(@Nonnull InputStream inputStream, @Nonnull String qualifiedName) {
+        log(sendAsync(inputStream, qualifiedName));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> sendAsync(@Nonnull Message message) {
         try {
-            webhookClient.send(WebhookMessageBuilder.buildMessage(webhook.getJDA().getSelfUser(), message));
+            return webhookClient.send(WebhookMessageBuilder.buildMessage(webhook.getJDA().getSelfUser(), message)).thenAccept(ignored -> {});
         }catch(Exception e){
-            log.error(e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
     }
 
+    @Nonnull
     @Override
-    public void send(byte[] bytes, String qualifiedName) {
+    public CompletableFuture<Void> sendAsync(@Nonnull byte[] bytes, @Nonnull String qualifiedName) {
         try {
-            webhookClient.send(bytes, qualifiedName);
+            return webhookClient.send(bytes, qualifiedName).thenAccept(ignored -> {});
         }catch(Exception e){
-            log.error(e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Void> sendAsync(@Nonnull InputStream inputStream, @Nonnull String qualifiedName) {
+        try {
+            return webhookClient.send(inputStream, qualifiedName).thenAccept(ignored -> {});
+        }catch(Exception e){
+            return CompletableFuture.failedFuture(e);
         }
     }
 
+    private void log(@Nonnull CompletableFuture<Void> future){
+        future.whenComplete((ignored, e) -> {
+            if(e != null)
+                log.error(e.getMessage());
+        });
+    }
+
     @Override
     public void shutdown(){
         EXECUTOR_SERVICE.shutdown();
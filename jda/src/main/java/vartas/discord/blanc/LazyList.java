@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc;
+
+import com.google.common.base.Suppliers;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A list whose elements are only computed once they are accessed for the first time.<br>
+ * This allows the wrappers around JDA entities to defer the transformation of their children, until they are
+ * actually required. After its initialization, the list behaves like a regular, mutable {@link ArrayList}.
+ * @param <E> the type of the list elements.
+ */
+@Nonnull
+class LazyList<E> extends AbstractList<E> {
+    /**
+     * The memoized list containing the actual elements.
+     */
+    @Nonnull
+    private final Supplier<List<E>> delegate;
+
+    LazyList(@Nonnull Supplier<? extends List<E>> initializer){
+        this.delegate = Suppliers.memoize(() -> new ArrayList<>(initializer.get()));
+    }
+
+    @Override
+    public E get(int index) {
+        return delegate.get().get(index);
+    }
+
+    @Override
+    public E set(int index, E element) {
+        return delegate.get().set(index, element);
+    }
+
+    @Override
+    public void add(int index, E element) {
+        delegate.get().add(index, element);
+        ++modCount;
+    }
+
+    @Override
+    public E remove(int index) {
+        ++modCount;
+        return delegate.get().remove(index);
+    }
+
+    @Override
+    public int size() {
+        return delegate.get().size();
+    }
+}
@@ -20,10 +20,12 @@ package vartas.discord.blanc.listener;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import vartas.discord.blanc.CompletableFutures;
 import vartas.discord.blanc.MessageBuilder;
 import vartas.discord.blanc.MessageChannel;
 import vartas.discord.blanc.Shard;
 import vartas.discord.blanc.command.Command;
+import vartas.discord.blanc.io.$json.JSONCredentials;
 
 import javax.annotation.Nonnull;
 import java.util.Optional;
@@ -50,7 +52,10 @@ public abstract class AbstractCommandListener extends ListenerAdapter {
             }catch(Exception e){
                 e.printStackTrace();
                 log.error(e.toString(), e);
-                messageChannel.send(MessageBuilder.buildMessage(e));
+                if(JSONCredentials.getCredentials().getAsyncCommands())
+                    CompletableFutures.log(messageChannel.sendAsync(MessageBuilder.buildMessage(e)), log);
+                else
+                    messageChannel.send(MessageBuilder.buildMessage(e));
             }
         });
     }
@@ -20,20 +20,24 @@ package vartas.discord.blanc.listener;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
 import net.dv8tion.jda.internal.utils.PermissionUtil;
-import vartas.discord.blanc.$visitor.ArchitectureVisitor;
-import vartas.discord.blanc.*;
 
 import javax.annotation.Nonnull;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-public class BlacklistListener extends AbstractCommandListener {
-    public BlacklistListener(@Nonnull Shard shard){
-        super(shard);
+public class BlacklistListener implements GuildMessageStage {
+    @Nonnull
+    private final BlacklistModerator moderator;
+
+    /**
+     * @param moderator the moderation stage checking the received messages. Its lifetime is managed by the shard.
+     */
+    public BlacklistListener(@Nonnull BlacklistModerator moderator){
+        this.moderator = moderator;
     }
 
     @Override
-    public void onGuildMessageReceived(@Nonnull GuildMessageReceivedEvent event){
+    public void accept(@Nonnull GuildMessageContext context){
+        GuildMessageReceivedEvent event = context.getEvent();
+
         //Exclude the bot itself from the blacklist
         //Required in order to display all blacklisted words, for example.
         if(isSelfUser(event.getAuthor()))
@@ -42,57 +46,23 @@ public class BlacklistListener extends AbstractCommandListener {
         if(!hasRequiredPermissions(event.getGuild(), event.getChannel()))
             return;
 
-        Guild guild = shard.retrieveGuild(event.getGuild().getIdLong()).orElseThrow();
-        //Only proceed if a pattern has been declared for this guild
-        guild.getPattern().ifPresent(pattern -> {
-            Message message = JDAMessage.create(event.getMessage());
-            if(MessageChecker.checkMessage(pattern, message))
-                message.delete();
-        });
+        //The actual check is done outside of the event thread
+        moderator.submit(context);
+    }
+
+    /**
+     * @return the moderation stage checking the received messages.
+     */
+    @Nonnull
+    public BlacklistModerator getModerator(){
+        return moderator;
     }
 
     private boolean isSelfUser(net.dv8tion.jda.api.entities.User author){
-        return author.getIdLong() == shard.retrieveSelfUser().getId();
+        return author.getIdLong() == author.getJDA().getSelfUser().getIdLong();
     }
 
     private boolean hasRequiredPermissions(net.dv8tion.jda.api.entities.Guild guild, net.dv8tion.jda.api.entities.TextChannel channel){
         return PermissionUtil.checkPermission(channel, guild.getSelfMember(), Permission.MESSAGE_MANAGE);
     }
-
-    private static class MessageChecker implements ArchitectureVisitor {
-        @Nonnull
-        private final Pattern pattern;
-        private boolean shouldDelete = false;
-
-        private MessageChecker(@Nonnull Pattern pattern){
-            this.pattern = pattern;
-        }
-
-        public static boolean checkMessage(@Nonnull Pattern pattern, @Nonnull Message message){
-            MessageChecker checker = new MessageChecker(pattern);
-            message.accept(checker);
-            return checker.shouldDelete;
-        }
-
-        @Override
-        public void visit(Field field){
-            shouldDelete |= pattern.matcher(field.getTitle()).find();
-            shouldDelete |= pattern.matcher(field.getContent().toString()).find();
-        }
-
-        @Override
-        public void visit(Author author){
-            shouldDelete |= pattern.matcher(author.getName()).find();
-        }
-
-        @Override
-        public void visit(Title title){
-            shouldDelete |= pattern.matcher(title.getName()).find();
-        }
-
-        @Override
-        public void visit(Message message){
-            shouldDelete |= message.getContent().map(pattern::matcher).map(Matcher::find).orElse(false);
-        }
-    }
 }
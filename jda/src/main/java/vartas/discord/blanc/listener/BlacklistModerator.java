@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.listener;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.requests.RestAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import vartas.discord.blanc.Errors;
+import vartas.discord.blanc.Killable;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The moderation stage for blacklisted messages.<br>
+ * Received messages are put in a bounded queue and checked by a fixed number of worker threads, so that the
+ * JDA event thread is never blocked by the scan itself or by the REST requests for deleting messages.
+ * Deletions are collected per {@link TextChannel} for a short amount of time, so that multiple hits in the same
+ * channel can be removed with a single bulk-delete request.
+ */
+@Nonnull
+public class BlacklistModerator implements Killable {
+    /**
+     * The maximum number of messages waiting to be checked.<br>
+     * Any message exceeding this limit is skipped, rather than blocking the event thread.
+     */
+    public static final int QUEUE_CAPACITY = 1024;
+    /**
+     * The number of threads checking the messages.
+     */
+    public static final int WORKER_COUNT = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    /**
+     * The time messages are collected before they are deleted.
+     */
+    @Nonnull
+    public static final Duration BATCH_DELAY = Duration.ofSeconds(1);
+    /**
+     * Discord only allows to bulk-delete up to 100 messages at once.
+     */
+    public static final int BATCH_SIZE = 100;
+    /**
+     * The maximum time the queued messages are still checked after a shutdown.
+     */
+    @Nonnull
+    public static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+    /**
+     * How often the collected statistics are logged.
+     */
+    @Nonnull
+    public static final Duration REPORT_RATE = Duration.ofMinutes(30);
+    /**
+     * This class' logger.
+     */
+    @Nonnull
+    private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+    /**
+     * The threads checking the received messages.
+     */
+    @Nonnull
+    private final ThreadPoolExecutor worker;
+    /**
+     * The thread sending the collected deletions.
+     */
+    @Nonnull
+    private final ScheduledExecutorService executor;
+    /**
+     * All blacklisted messages that haven't been deleted yet, grouped by their channel id.
+     */
+    @Nonnull
+    private final Map<Long, List<net.dv8tion.jda.api.entities.Message>> deletions = new ConcurrentHashMap<>();
+    //----------------------------------------------------------------------------------------------------------------//
+    //
+    //      Statistics
+    //
+    //----------------------------------------------------------------------------------------------------------------//
+    @Nonnull
+    private final LongAdder scanned = new LongAdder();
+    @Nonnull
+    private final LongAdder deleted = new LongAdder();
+    @Nonnull
+    private final LongAdder skipped = new LongAdder();
+    @Nonnull
+    private final LongAdder latency = new LongAdder();
+    @Nonnull
+    private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+    public BlacklistModerator(){
+        this.worker = new ThreadPoolExecutor(
+                WORKER_COUNT,
+                WORKER_COUNT,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                new ThreadFactoryBuilder().setNameFormat("Blacklist#%d").setDaemon(true).build(),
+                (runnable, executor) -> {
+                    //Messages received during the shutdown aren't an overload
+                    if(executor.isShutdown())
+                        return;
+
+                    skipped.increment();
+                    log.warn(Errors.BLACKLIST_OVERLOADED.toString(), executor.getQueue().size());
+                }
+        );
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("Blacklist-Delete#%d").setDaemon(true).build()
+        );
+        this.executor.scheduleAtFixedRate(this::report, REPORT_RATE.toMinutes(), REPORT_RATE.toMinutes(), TimeUnit.MINUTES);
+    }
+
+    /**
+     * Queues the message for the blacklist check. This method never blocks.
+     * @param context the shared state of the received message.
+     */
+    public void submit(@Nonnull GuildMessageContext context){
+        long received = System.nanoTime();
+        worker.execute(() -> check(context, received));
+    }
+
+    private void check(@Nonnull GuildMessageContext context, long received){
+        try {
+            //Only proceed if a pattern has been declared for this guild
+            context.getGuild().getPattern().ifPresent(pattern -> {
+                if (pattern.matches(context.getMessage()))
+                    delete(context.getEvent().getMessage());
+            });
+        }catch(Exception e){
+            log.error(e.toString(), e);
+        }finally{
+            long elapsed = System.nanoTime() - received;
+            scanned.increment();
+            latency.add(elapsed);
+            maxLatency.accumulate(elapsed);
+        }
+    }
+
+    private void delete(@Nonnull net.dv8tion.jda.api.entities.Message message){
+        long channelId = message.getChannel().getIdLong();
+        deletions.compute(channelId, (key, messages) -> {
+            //The first message in the batch, send the collected messages after the delay has passed
+            if(messages == null){
+                messages = new ArrayList<>();
+                executor.schedule(() -> flush(channelId), BATCH_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            messages.add(message);
+            return messages;
+        });
+    }
+
+    private void flush(long channelId){
+        flush(channelId, false);
+    }
+
+    /**
+     * Deletes the collected messages of the channel.
+     * @param channelId the id of the channel.
+     * @param blocking whether to wait for the requests, rather than queuing them.
+     */
+    private void flush(long channelId, boolean blocking){
+        List<net.dv8tion.jda.api.entities.Message> messages = deletions.remove(channelId);
+
+        if(messages == null || messages.isEmpty())
+            return;
+
+        TextChannel channel = messages.get(0).getTextChannel();
+
+        for(int i = 0 ; i < messages.size() ; i += BATCH_SIZE){
+            List<net.dv8tion.jda.api.entities.Message> batch = messages.subList(i, Math.min(i + BATCH_SIZE, messages.size()));
+
+            //A bulk-delete requires at least two messages
+            RestAction<Void> request = batch.size() == 1 ? batch.get(0).delete() : channel.deleteMessages(new ArrayList<>(batch));
+            int size = batch.size();
+
+            if(!blocking) {
+                request.queue(success -> deleted.add(size), this::fail);
+                continue;
+            }
+
+            try {
+                request.complete();
+                deleted.add(size);
+            }catch(RuntimeException e){
+                fail(e);
+            }
+        }
+    }
+
+    private void fail(@Nonnull Throwable throwable){
+        log.error(Errors.BLACKLIST_DELETE_FAILED.toString(), throwable.toString());
+    }
+
+    private void report(){
+        log.info(
+                "Blacklist: {} scanned, {} deleted, {} skipped, {}µs average latency, {}µs maximum latency, {} queued",
+                getScanned(),
+                getDeleted(),
+                getSkipped(),
+                TimeUnit.NANOSECONDS.toMicros(getAverageLatency()),
+                TimeUnit.NANOSECONDS.toMicros(maxLatency.getThenReset()),
+                getQueueDepth()
+        );
+    }
+
+    /**
+     * @return the number of messages that have been checked so far.
+     */
+    public long getScanned(){
+        return scanned.sum();
+    }
+
+    /**
+     * @return the number of messages that have been deleted so far.
+     */
+    public long getDeleted(){
+        return deleted.sum();
+    }
+
+    /**
+     * @return the number of messages that weren't checked due to a full queue.
+     */
+    public long getSkipped(){
+        return skipped.sum();
+    }
+
+    /**
+     * @return the average time in nanoseconds between receiving a message and the end of its check.
+     */
+    public long getAverageLatency(){
+        long count = scanned.sum();
+        return count == 0 ? 0 : latency.sum() / count;
+    }
+
+    /**
+     * @return the number of messages waiting to be checked.
+     */
+    public int getQueueDepth(){
+        return worker.getQueue().size();
+    }
+
+    /**
+     * Stops accepting new messages. The messages that are already queued are still checked and all collected
+     * deletions are sent before this method returns, rather than waiting for their batch delay.
+     */
+    @Override
+    public void shutdown(){
+        worker.shutdown();
+        try {
+            if(!worker.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS))
+                log.warn("Skipped {} queued messages during shutdown.", worker.shutdownNow().size());
+
+            //Once all checks are done, no further deletions are scheduled
+            executor.shutdownNow();
+            executor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        }catch(InterruptedException e){
+            worker.shutdownNow();
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        for(Long channelId : deletions.keySet())
+            flush(channelId, true);
+    }
+}
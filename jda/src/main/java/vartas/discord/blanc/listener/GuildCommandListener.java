@@ -17,14 +17,15 @@
 
 package vartas.discord.blanc.listener;
 
-import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
-import vartas.discord.blanc.*;
+import vartas.discord.blanc.Guild;
+import vartas.discord.blanc.Shard;
+import vartas.discord.blanc.TextChannel;
 import vartas.discord.blanc.command.CommandBuilder;
 
 import javax.annotation.Nonnull;
 
 @Nonnull
-public class GuildCommandListener extends AbstractCommandListener {
+public class GuildCommandListener extends AbstractCommandListener implements GuildMessageStage {
     @Nonnull
     private final CommandBuilder commandBuilder;
 
@@ -34,15 +35,15 @@ public class GuildCommandListener extends AbstractCommandListener {
     }
 
     @Override
-    public void onGuildMessageReceived(@Nonnull GuildMessageReceivedEvent event){
+    public void accept(@Nonnull GuildMessageContext context){
         //Ignore bots
-        if(event.getAuthor().isBot())
+        if(context.getEvent().getAuthor().isBot())
             return;
 
-        Message message = JDAMessage.create(event.getMessage());
-        Guild guild = shard.retrieveGuild(event.getGuild().getIdLong()).orElseThrow();
-        TextChannel textChannel = guild.retrieveTextChannel(event.getChannel().getIdLong()).orElseThrow();
+        Guild guild = context.getGuild();
+        TextChannel textChannel = context.getTextChannel();
 
-        submit(textChannel, () -> commandBuilder.build(message, guild, textChannel));
+        //The message is only transformed once the command is built
+        submit(textChannel, () -> commandBuilder.build(context.getMessage(), guild, textChannel));
     }
 }
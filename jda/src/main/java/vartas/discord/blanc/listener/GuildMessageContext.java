@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.listener;
+
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import vartas.discord.blanc.*;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The shared state of a single received guild message.<br>
+ * All internal representations are created on demand and at most once, regardless of how many
+ * {@link GuildMessageStage stages} request them. Instances may be handed to other threads.
+ */
+@Nonnull
+public final class GuildMessageContext {
+    /**
+     * The {@link Shard} the message has been received by.
+     */
+    @Nonnull
+    private final Shard shard;
+    /**
+     * The JDA event of the received message.
+     */
+    @Nonnull
+    private final GuildMessageReceivedEvent event;
+    @Nullable
+    private volatile Guild guild;
+    @Nullable
+    private volatile TextChannel textChannel;
+    @Nullable
+    private volatile Message message;
+
+    public GuildMessageContext(@Nonnull Shard shard, @Nonnull GuildMessageReceivedEvent event){
+        this.shard = shard;
+        this.event = event;
+    }
+
+    /**
+     * @return the {@link Shard} the message has been received by.
+     */
+    @Nonnull
+    public Shard getShard(){
+        return shard;
+    }
+
+    /**
+     * @return the JDA event of the received message.
+     */
+    @Nonnull
+    public GuildMessageReceivedEvent getEvent(){
+        return event;
+    }
+
+    /**
+     * @return the internal representation of the {@link Guild} the message was sent in.
+     */
+    @Nonnull
+    public Guild getGuild(){
+        Guild result = guild;
+        if(result == null) {
+            synchronized (this) {
+                result = guild;
+                if (result == null)
+                    guild = result = shard.retrieveGuild(event.getGuild().getIdLong()).orElseThrow();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the internal representation of the {@link TextChannel} the message was sent in.
+     */
+    @Nonnull
+    public TextChannel getTextChannel(){
+        TextChannel result = textChannel;
+        if(result == null) {
+            synchronized (this) {
+                result = textChannel;
+                if (result == null)
+                    textChannel = result = getGuild().retrieveTextChannel(event.getChannel().getIdLong()).orElseThrow();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the internal representation of the received message.
+     */
+    @Nonnull
+    public Message getMessage(){
+        Message result = message;
+        if(result == null) {
+            synchronized (this) {
+                result = message;
+                if (result == null)
+                    message = result = JDAMessage.create(event.getMessage());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.listener;
+
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import vartas.discord.blanc.Shard;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The single listener for all received guild messages.<br>
+ * For every message, one {@link GuildMessageContext} is created and passed to all registered
+ * {@link GuildMessageStage stages} in the order they were added. This way, the internal representation of
+ * the guild, channel and message is shared among all stages, instead of being created by each listener individually.
+ */
+@Nonnull
+public class GuildMessageDispatcher extends ListenerAdapter {
+    /**
+     * This class' logger.
+     */
+    @Nonnull
+    private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+    /**
+     * The {@link Shard} the messages are received by.
+     */
+    @Nonnull
+    private final Shard shard;
+    /**
+     * All stages that are executed for every received message.
+     */
+    @Nonnull
+    private final List<GuildMessageStage> stages = new CopyOnWriteArrayList<>();
+
+    public GuildMessageDispatcher(@Nonnull Shard shard){
+        this.shard = shard;
+    }
+
+    /**
+     * Appends the stage to the end of the pipeline.
+     * @param stage the new stage.
+     */
+    public void addStage(@Nonnull GuildMessageStage stage){
+        stages.add(stage);
+    }
+
+    @Override
+    public void onGuildMessageReceived(@Nonnull GuildMessageReceivedEvent event){
+        GuildMessageContext context = new GuildMessageContext(shard, event);
+
+        for(GuildMessageStage stage : stages) {
+            //A failing stage mustn't prevent the remaining stages from being executed
+            try {
+                stage.accept(context);
+            } catch (Exception e) {
+                log.error(e.toString(), e);
+            }
+        }
+    }
+}
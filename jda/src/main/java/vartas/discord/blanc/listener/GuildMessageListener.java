@@ -17,26 +17,11 @@
 
 package vartas.discord.blanc.listener;
 
-import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
-import net.dv8tion.jda.api.hooks.ListenerAdapter;
-import vartas.discord.blanc.Guild;
-import vartas.discord.blanc.Shard;
-import vartas.discord.blanc.TextChannel;
-
 import javax.annotation.Nonnull;
 
-public class GuildMessageListener extends ListenerAdapter {
-    @Nonnull
-    private final Shard shard;
-
-    public GuildMessageListener(@Nonnull Shard shard){
-        this.shard = shard;
-    }
+public class GuildMessageListener implements GuildMessageStage {
     @Override
-    public void onGuildMessageReceived(@Nonnull GuildMessageReceivedEvent event){
-        Guild guild = shard.retrieveGuild(event.getGuild().getIdLong()).orElseThrow();
-        TextChannel textChannel = guild.retrieveTextChannel(event.getChannel().getIdLong()).orElseThrow();
-
-        guild.getActivity().countMessage(textChannel);
+    public void accept(@Nonnull GuildMessageContext context){
+        context.getGuild().getActivity().countMessage(context.getTextChannel());
     }
 }
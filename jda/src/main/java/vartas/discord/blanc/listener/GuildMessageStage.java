@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.listener;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A single step that is executed for every received guild message.
+ * @see GuildMessageDispatcher
+ */
+@FunctionalInterface
+public interface GuildMessageStage {
+    /**
+     * Processes the received message. Implementations should return quickly, since this method is called from the
+     * JDA event thread. Any expensive work should be submitted to a separate thread.
+     * @param context the shared state of the received message.
+     */
+    void accept(@Nonnull GuildMessageContext context);
+}
@@ -19,7 +19,7 @@ package vartas.discord.blanc.listener;
 
 import net.dv8tion.jda.api.events.message.priv.PrivateMessageReceivedEvent;
 import vartas.discord.blanc.JDAMessage;
-import vartas.discord.blanc.Message;
+import vartas.discord.blanc.JDAPrivateChannel;
 import vartas.discord.blanc.PrivateChannel;
 import vartas.discord.blanc.Shard;
 import vartas.discord.blanc.command.CommandBuilder;
@@ -37,12 +37,18 @@ public class PrivateCommandListener extends AbstractCommandListener {
 
     @Override
     public void onPrivateMessageReceived(@Nonnull PrivateMessageReceivedEvent event){
+        //Ignore bots
         if(event.getAuthor().isBot())
             return;
 
-        Message message = JDAMessage.create(event.getMessage());
-        PrivateChannel channel = message.getAuthor().retrievePrivateChannel();
+        //Reject everything that can't be a command, before any request to Discord is made
+        if(!commandBuilder.hasGlobalPrefix(event.getMessage().getContentRaw()))
+            return;
+
+        //The channel is provided by the event, so it doesn't have to be opened again
+        PrivateChannel channel = JDAPrivateChannel.create(event.getChannel());
 
-        submit(channel, () -> commandBuilder.build(message, channel));
+        //The message is only transformed once the command is built
+        submit(channel, () -> commandBuilder.build(JDAMessage.create(event.getMessage()), channel));
     }
 }
@@ -23,13 +23,26 @@ import org.slf4j.LoggerFactory;
 import vartas.discord.blanc.Guild;
 import vartas.discord.blanc.Shard;
 import vartas.discord.blanc.TextChannel;
+import vartas.discord.blanc.io.$json.JSONCredentials;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntFunction;
 
 public abstract class AbstractJDAGuildResolver<U, V> implements GuildTypeResolver<V>{
+    /**
+     * A name is only resolved if it identifies a single entity, so two matches are enough to reject it.
+     */
+    private static final int LIMIT = 2;
+    /**
+     * The maximum number of characters in which a name may differ from the requested name in the fuzzy mode.
+     */
+    private static final int DISTANCE = 1;
     @Nonnull
     protected final Logger log = LoggerFactory.getLogger(getClass().getSimpleName());
     @Nonnull
@@ -77,6 +90,57 @@ public abstract class AbstractJDAGuildResolver<U, V> implements GuildTypeResolve
         snowflake = resolveByNumber(argument.getValue().longValue());
     }
 
+    /**
+     * Looks up the entities in the name index of the guild. Only exact matches are considered, unless the fuzzy mode
+     * is enabled in the credentials. In that case, matches by prefix take precedence over matches by distance.
+     * @param index the name index of the guild.
+     * @param name the name of the requested entity.
+     * @return all entities of the first lookup that yielded a result.
+     */
+    @Nonnull
+    protected Collection<U> resolveByIndex(@Nonnull NameIndex index, @Nonnull String name){
+        List<U> snowflakes = resolveById(limit -> index.get(name));
+
+        if(!snowflakes.isEmpty() || !JSONCredentials.getCredentials().getFuzzyNameResolution())
+            return snowflakes;
+
+        snowflakes = resolveById(limit -> index.getByPrefix(name, limit));
+
+        if(snowflakes.isEmpty())
+            snowflakes = resolveById(limit -> index.getByDistance(name, DISTANCE, limit));
+
+        return snowflakes;
+    }
+
+    /**
+     * @param lookup the index lookup, accepting the maximum number of returned ids.
+     * @return the entities of all returned ids that are still cached.
+     */
+    @Nonnull
+    private List<U> resolveById(@Nonnull IntFunction<Set<Long>> lookup){
+        Set<Long> ids = lookup.apply(LIMIT);
+        List<U> snowflakes = resolveById(ids);
+
+        //A stale id may hide another match, in which case the result would falsely appear unique
+        if(snowflakes.size() < LIMIT && ids.size() >= LIMIT)
+            snowflakes = resolveById(lookup.apply(Integer.MAX_VALUE));
+
+        return snowflakes;
+    }
+
+    @Nonnull
+    private List<U> resolveById(@Nonnull Set<Long> ids){
+        List<U> snowflakes = new ArrayList<>(ids.size());
+
+        for(long id : ids){
+            U snowflake = resolveByNumber(id);
+            if(snowflake != null)
+                snowflakes.add(snowflake);
+        }
+
+        return snowflakes;
+    }
+
     @Nonnull
     protected abstract Collection<U> resolveByName(String name);
 
@@ -29,6 +29,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
 
+import static vartas.discord.blanc.parser.JDANameIndex.NAME_INDEX;
+
 public class JDAMemberResolver extends AbstractJDAGuildResolver<net.dv8tion.jda.api.entities.Member, Member> {
     public JDAMemberResolver(@Nonnull Shard shard, @Nonnull JDA jda){
         super(shard, jda);
@@ -39,7 +41,7 @@ public class JDAMemberResolver extends AbstractJDAGuildResolver<net.dv8tion.jda.
     protected Collection<net.dv8tion.jda.api.entities.Member> resolveByName(String name) {
         if(guild == null) return Collections.emptyList();
 
-        return guild.getMembersByName(name, true);
+        return resolveByIndex(NAME_INDEX.getMembers(guild), name);
     }
 
     @Nullable
@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.parser;
+
+import com.google.common.base.Throwables;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.events.channel.text.TextChannelCreateEvent;
+import net.dv8tion.jda.api.events.channel.text.TextChannelDeleteEvent;
+import net.dv8tion.jda.api.events.channel.text.update.TextChannelUpdateNameEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.guild.member.update.GuildMemberUpdateNicknameEvent;
+import net.dv8tion.jda.api.events.role.RoleCreateEvent;
+import net.dv8tion.jda.api.events.role.RoleDeleteEvent;
+import net.dv8tion.jda.api.events.role.update.RoleUpdateNameEvent;
+import net.dv8tion.jda.api.events.user.update.UserUpdateNameEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The name indices of all guilds, used for resolving members, roles and text channels by their name.
+ * <p>
+ * The index of a guild is built from the JDA cache the first time it is requested. Afterwards, it is kept up to date
+ * via the events of the guild, which is why this listener has to be registered on every shard. The index is
+ * registered before it is built, so that events received in the meantime aren't lost. Entities which have been
+ * removed, but couldn't be removed from the index, are skipped by the resolvers, since they are no longer part of
+ * the JDA cache.
+ */
+@Nonnull
+public class JDANameIndex extends ListenerAdapter {
+    /**
+     * The name indices shared between all shards.
+     */
+    @Nonnull
+    public static final JDANameIndex NAME_INDEX = new JDANameIndex();
+    /**
+     * The name indices of all guilds that have been requested at least once.
+     */
+    @Nonnull
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param guild the guild containing the members.
+     * @return the index over the names and nicknames of all members in the guild.
+     */
+    @Nonnull
+    public NameIndex getMembers(@Nonnull Guild guild){
+        return getEntry(guild).members;
+    }
+
+    /**
+     * @param guild the guild containing the roles.
+     * @return the index over the names of all roles in the guild.
+     */
+    @Nonnull
+    public NameIndex getRoles(@Nonnull Guild guild){
+        return getEntry(guild).roles;
+    }
+
+    /**
+     * @param guild the guild containing the text channels.
+     * @return the index over the names of all text channels in the guild.
+     */
+    @Nonnull
+    public NameIndex getTextChannels(@Nonnull Guild guild){
+        return getEntry(guild).textChannels;
+    }
+
+    @Nonnull
+    private Entry getEntry(@Nonnull Guild guild){
+        Entry entry = entries.get(guild.getIdLong());
+
+        if(entry == null){
+            Entry created = new Entry();
+            entry = entries.putIfAbsent(guild.getIdLong(), created);
+
+            //Only the thread registering the index builds it, all other threads wait for it
+            if(entry == null){
+                entry = created;
+                try {
+                    entry.build(guild);
+                }catch(RuntimeException e){
+                    entries.remove(guild.getIdLong(), entry);
+                    throw e;
+                }
+            }
+        }
+
+        try {
+            entry.built.join();
+        }catch(CompletionException e){
+            //The index couldn't be built and has already been discarded by the building thread
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+
+        return entry;
+    }
+
+    /**
+     * Events of guilds without an index can be ignored, since their index is built from the current state once it
+     * is requested. Indices which are still being built are returned as well, since the event may have been
+     * received after the affected entity has been visited.
+     * @param guild the guild an event has been received from.
+     * @return the index of the guild or null, if it hasn't been requested yet.
+     */
+    @Nullable
+    private Entry getEntryIfPresent(@Nonnull Guild guild){
+        return entries.get(guild.getIdLong());
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Guild
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void onGuildLeave(@Nonnull GuildLeaveEvent event){
+        entries.remove(event.getGuild().getIdLong());
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Member
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void onGuildMemberJoin(@Nonnull GuildMemberJoinEvent event){
+        Entry entry = getEntryIfPresent(event.getGuild());
+
+        if(entry != null)
+            entry.add(event.getMember());
+    }
+
+    @Override
+    public void onGuildMemberRemove(@Nonnull GuildMemberRemoveEvent event){
+        Entry entry = getEntryIfPresent(event.getGuild());
+
+        if(entry == null)
+            return;
+
+        Member member = event.getMember();
+
+        if(member != null)
+            entry.remove(member);
+        else
+            entry.members.remove(event.getUser().getName(), event.getUser().getIdLong());
+    }
+
+    @Override
+    public void onGuildMemberUpdateNickname(@Nonnull GuildMemberUpdateNicknameEvent event){
+        Entry entry = getEntryIfPresent(event.getGuild());
+
+        if(entry == null)
+            return;
+
+        long id = event.getMember().getIdLong();
+
+        //The nickname may be the same as the name
+        if(event.getOldNickname() != null && !event.getOldNickname().equalsIgnoreCase(event.getUser().getName()))
+            entry.members.remove(event.getOldNickname(), id);
+        if(event.getNewNickname() != null)
+            entry.members.add(event.getNewNickname(), id);
+    }
+
+    @Override
+    public void onUserUpdateName(@Nonnull UserUpdateNameEvent event){
+        for(Guild guild : event.getUser().getMutualGuilds()){
+            Entry entry = getEntryIfPresent(guild);
+
+            if(entry == null)
+                continue;
+
+            long id = event.getUser().getIdLong();
+            Member member = guild.getMember(event.getUser());
+            String nickname = member == null ? null : member.getNickname();
+
+            //The name may be the same as the nickname
+            if(nickname == null || !nickname.equalsIgnoreCase(event.getOldName()))
+                entry.members.remove(event.getOldName(), id);
+            entry.members.add(event.getNewName(), id);
+        }
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Role
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void onRoleCreate(@Nonnull RoleCreateEvent event){
+        Entry entry = getEntryIfPresent(event.getGuild());
+
+        if(entry != null)
+            entry.roles.add(event.getRole().getName(), event.getRole().getIdLong());
+    }
+
+    @Override
+    public void onRoleDelete(@Nonnull RoleDeleteEvent event){
+        Entry entry = getEntryIfPresent(event.getGuild());
+
+        if(entry != null)
+            entry.roles.remove(event.getRole().getName(), event.getRole().getIdLong());
+    }
+
+    @Override
+    public void onRoleUpdateName(@Nonnull RoleUpdateNameEvent event){
+        Entry entry = getEntryIfPresent(event.getGuild());
+
+        if(entry != null) {
+            entry.roles.remove(event.getOldName(), event.getRole().getIdLong());
+            entry.roles.add(event.getNewName(), event.getRole().getIdLong());
+        }
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Text Channel
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void onTextChannelCreate(@Nonnull TextChannelCreateEvent event){
+        Entry entry = getEntryIfPresent(event.getGuild());
+
+        if(entry != null)
+            entry.textChannels.add(event.getChannel().getName(), event.getChannel().getIdLong());
+    }
+
+    @Override
+    public void onTextChannelDelete(@Nonnull TextChannelDeleteEvent event){
+        Entry entry = getEntryIfPresent(event.getGuild());
+
+        if(entry != null)
+            entry.textChannels.remove(event.getChannel().getName(), event.getChannel().getIdLong());
+    }
+
+    @Override
+    public void onTextChannelUpdateName(@Nonnull TextChannelUpdateNameEvent event){
+        Entry entry = getEntryIfPresent(event.getGuild());
+
+        if(entry != null) {
+            entry.textChannels.remove(event.getOldName(), event.getChannel().getIdLong());
+            entry.textChannels.add(event.getNewName(), event.getChannel().getIdLong());
+        }
+    }
+
+    /**
+     * The name indices of a single guild.
+     */
+    private static final class Entry {
+        @Nonnull
+        private final NameIndex members = new NameIndex();
+        @Nonnull
+        private final NameIndex roles = new NameIndex();
+        @Nonnull
+        private final NameIndex textChannels = new NameIndex();
+        /**
+         * Completed once the index contains all entities of the JDA cache, or exceptionally if it couldn't be built.
+         */
+        @Nonnull
+        private final CompletableFuture<Void> built = new CompletableFuture<>();
+
+        private void build(@Nonnull Guild guild){
+            try {
+                guild.getMemberCache().forEach(this::add);
+
+                for (Role role : guild.getRoleCache())
+                    roles.add(role.getName(), role.getIdLong());
+
+                for (TextChannel textChannel : guild.getTextChannelCache())
+                    textChannels.add(textChannel.getName(), textChannel.getIdLong());
+
+                built.complete(null);
+            }catch(RuntimeException | Error e){
+                built.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        private void add(@Nonnull Member member){
+            members.add(member.getUser().getName(), member.getIdLong());
+
+            if(member.getNickname() != null)
+                members.add(member.getNickname(), member.getIdLong());
+        }
+
+        private void remove(@Nonnull Member member){
+            members.remove(member.getUser().getName(), member.getIdLong());
+
+            if(member.getNickname() != null)
+                members.remove(member.getNickname(), member.getIdLong());
+        }
+    }
+}
@@ -29,6 +29,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
 
+import static vartas.discord.blanc.parser.JDANameIndex.NAME_INDEX;
+
 public class JDARoleResolver extends AbstractJDAGuildResolver<net.dv8tion.jda.api.entities.Role, Role> {
     public JDARoleResolver(@Nonnull Shard shard, @Nonnull JDA jda) {
         super(shard, jda);
@@ -39,7 +41,7 @@ public class JDARoleResolver extends AbstractJDAGuildResolver<net.dv8tion.jda.ap
     protected Collection<net.dv8tion.jda.api.entities.Role> resolveByName(String name) {
         if(guild == null) return Collections.emptyList();
 
-        return guild.getRolesByName(name, true);
+        return resolveByIndex(NAME_INDEX.getRoles(guild), name);
     }
 
     @Nullable
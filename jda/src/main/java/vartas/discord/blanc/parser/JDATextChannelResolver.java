@@ -28,6 +28,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
 
+import static vartas.discord.blanc.parser.JDANameIndex.NAME_INDEX;
+
 public class JDATextChannelResolver extends AbstractJDAGuildResolver<net.dv8tion.jda.api.entities.TextChannel, TextChannel> {
     public JDATextChannelResolver(@Nonnull Shard shard, @Nonnull JDA jda) {
         super(shard, jda);
@@ -38,7 +40,7 @@ public class JDATextChannelResolver extends AbstractJDAGuildResolver<net.dv8tion
     protected Collection<net.dv8tion.jda.api.entities.TextChannel> resolveByName(String name) {
         if(guild == null) return Collections.emptyList();
 
-        return guild.getTextChannelsByName(name, true);
+        return resolveByIndex(NAME_INDEX.getTextChannels(guild), name);
     }
 
     @Nullable
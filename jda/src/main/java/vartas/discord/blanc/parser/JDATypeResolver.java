@@ -24,98 +24,117 @@ import vartas.discord.blanc.prettyprint.ArgumentPrettyPrinter;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
+/**
+ * The resolver for all Discord entities. A single instance is created per shard. The visitors for the individual
+ * entities are stateful, which is why each thread is given its own instances, rather than creating them for every
+ * argument.
+ */
 @Nonnull
 public class JDATypeResolver extends AbstractTypeResolver{
     @Nonnull
-    private final Shard shard;
+    private final ThreadLocal<JDAGuildResolver> guildResolver;
+    @Nonnull
+    private final ThreadLocal<JDATextChannelResolver> textChannelResolver;
+    @Nonnull
+    private final ThreadLocal<JDAUserResolver> userResolver;
+    @Nonnull
+    private final ThreadLocal<JDARoleResolver> roleResolver;
+    @Nonnull
+    private final ThreadLocal<JDAMemberResolver> memberResolver;
     @Nonnull
-    private final JDA jda;
+    private final ThreadLocal<JDAMessageResolver> messageResolver;
 
     public JDATypeResolver(@Nonnull Shard shard, @Nonnull JDA jda){
-        this(shard, jda, null, null);
-    }
-
-    public JDATypeResolver(@Nonnull Shard shard, @Nonnull JDA jda, @Nullable Guild guild, @Nullable TextChannel textChannel){
-        super(guild, textChannel);
-        this.shard = shard;
-        this.jda = jda;
+        this.guildResolver = ThreadLocal.withInitial(() -> new JDAGuildResolver(shard, jda));
+        this.textChannelResolver = ThreadLocal.withInitial(() -> new JDATextChannelResolver(shard, jda));
+        this.userResolver = ThreadLocal.withInitial(() -> new JDAUserResolver(shard, jda));
+        this.roleResolver = ThreadLocal.withInitial(() -> new JDARoleResolver(shard, jda));
+        this.memberResolver = ThreadLocal.withInitial(() -> new JDAMemberResolver(shard, jda));
+        this.messageResolver = ThreadLocal.withInitial(() -> new JDAMessageResolver(shard, jda));
     }
 
     /**
      * Attempts to transform the provided {@link Argument} into a {@link Guild}.<br>
+     * @param guild the {@link Guild} the command was received in. May be <code>null</code>.
+     * @param textChannel the {@link TextChannel} the command was received in. May be <code>null</code>.
      * @param argument the {@link Argument} associated with the {@link Guild}.
      * @return the {@link Guild} associated with the {@link Argument}.
      * @throws NoSuchElementException if the {@link Argument} can't be resolved as a {@link Guild}.
      */
     @Nonnull
     @Override
-    public Guild resolveGuild(@Nonnull Argument argument) throws NoSuchElementException {
-        return new JDAGuildResolver(shard, jda).apply(argument).orElseThrow(
-                () -> TypeResolverException.of(Errors.UNKNOWN_ENTITY, ArgumentPrettyPrinter.printPretty(argument))
-        );
+    public Guild resolveGuild(@Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull Argument argument) throws NoSuchElementException {
+        return orElseThrow(guildResolver.get().apply(argument), argument);
     }
 
     /**
      * Attempts to transform the provided {@link Argument} into a {@link TextChannel}.<br>
+     * @param guild the {@link Guild} the command was received in. May be <code>null</code>.
+     * @param textChannel the {@link TextChannel} the command was received in. May be <code>null</code>.
      * @param argument the {@link Argument} associated with the {@link TextChannel}.
      * @return the {@link TextChannel} associated with the {@link Argument}.
      * @throws NoSuchElementException if the {@link Argument} can't be resolved as a {@link TextChannel}.
      */
     @Nonnull
     @Override
-    public TextChannel resolveTextChannel(@Nonnull Argument argument) throws NoSuchElementException{
-        return new JDATextChannelResolver(shard, jda).apply(guild, textChannel, argument).orElseThrow(
-                () -> TypeResolverException.of(Errors.UNKNOWN_ENTITY, ArgumentPrettyPrinter.printPretty(argument))
-        );
+    public TextChannel resolveTextChannel(@Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull Argument argument) throws NoSuchElementException{
+        return orElseThrow(textChannelResolver.get().apply(guild, textChannel, argument), argument);
     }
 
     /**
      * Attempts to transform the provided {@link Argument} into an {@link User}.<br>
+     * @param guild the {@link Guild} the command was received in. May be <code>null</code>.
+     * @param textChannel the {@link TextChannel} the command was received in. May be <code>null</code>.
      * @param argument the {@link Argument} associated with the {@link User}.
      * @return the {@link User} associated with the {@link Argument}.
      * @throws NoSuchElementException if the {@link Argument} can't be resolved as a {@link User}.
      */
     @Nonnull
     @Override
-    public User resolveUser(@Nonnull Argument argument) throws NoSuchElementException{
-        return new JDAUserResolver(shard, jda).apply(argument).orElseThrow(
-                () -> TypeResolverException.of(Errors.UNKNOWN_ENTITY, ArgumentPrettyPrinter.printPretty(argument))
-        );
+    public User resolveUser(@Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull Argument argument) throws NoSuchElementException{
+        return orElseThrow(userResolver.get().apply(argument), argument);
     }
 
     /**
      * Attempts to transform the provided {@link Argument} into a {@link Role}.<br>
+     * @param guild the {@link Guild} the command was received in. May be <code>null</code>.
+     * @param textChannel the {@link TextChannel} the command was received in. May be <code>null</code>.
      * @param argument the {@link Argument} associated with the {@link Role}.
      * @return the {@link Role} associated with the {@link Argument}.
      * @throws NoSuchElementException if the {@link Argument} can't be resolved as a {@link Role}.
      */
     @Nonnull
     @Override
-    public Role resolveRole(@Nonnull Argument argument) throws NoSuchElementException{
-        return new JDARoleResolver(shard, jda).apply(guild, textChannel, argument).orElseThrow(
-                () -> TypeResolverException.of(Errors.UNKNOWN_ENTITY, ArgumentPrettyPrinter.printPretty(argument))
-        );
+    public Role resolveRole(@Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull Argument argument) throws NoSuchElementException{
+        return orElseThrow(roleResolver.get().apply(guild, textChannel, argument), argument);
     }
 
     /**
      * Attempts to transform the provided {@link Argument} into a {@link Member}.<br>
+     * @param guild the {@link Guild} the command was received in. May be <code>null</code>.
+     * @param textChannel the {@link TextChannel} the command was received in. May be <code>null</code>.
      * @param argument the {@link Argument} associated with the {@link Member}.
      * @return the {@link Member} associated with the {@link Argument}.
      * @throws NoSuchElementException if the {@link Argument} can't be resolved as a {@link Member}.
      */
     @Nonnull
     @Override
-    public Member resolveMember(@Nonnull Argument argument) throws NoSuchElementException{
-        return new JDAMemberResolver(shard, jda).apply(guild, textChannel, argument).orElseThrow(
-                () -> TypeResolverException.of(Errors.UNKNOWN_ENTITY, ArgumentPrettyPrinter.printPretty(argument))
-        );
+    public Member resolveMember(@Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull Argument argument) throws NoSuchElementException{
+        return orElseThrow(memberResolver.get().apply(guild, textChannel, argument), argument);
     }
 
     @Override
-    public Message resolveMessage(Argument argument) throws NoSuchElementException {
-        return new JDAMessageResolver(shard, jda).apply(guild, textChannel, argument).orElseThrow(
-                () -> TypeResolverException.of(Errors.UNKNOWN_ENTITY, ArgumentPrettyPrinter.printPretty(argument))
-        );
+    public Message resolveMessage(@Nullable Guild guild, @Nullable TextChannel textChannel, @Nonnull Argument argument) throws NoSuchElementException {
+        return orElseThrow(messageResolver.get().apply(guild, textChannel, argument), argument);
+    }
+
+    @Nonnull
+    private static <T> T orElseThrow(@Nonnull Optional<T> value, @Nonnull Argument argument) throws NoSuchElementException{
+        if(value.isPresent())
+            return value.get();
+        else
+            throw TypeResolverException.of(Errors.UNKNOWN_ENTITY, ArgumentPrettyPrinter.printPretty(argument));
     }
 }
@@ -24,13 +24,42 @@ import vartas.discord.blanc.callable._parser.CallableParser;
 import vartas.discord.blanc.parser.IntermediateCommand;
 import vartas.discord.blanc.parser.Parser;
 
+import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.util.Optional;
 
 public class MontiCoreCommandParser implements Parser {
+    /**
+     * Commands covering every kind of argument, which are parsed once before the first actual message is received.
+     */
+    @Nonnull
+    private static final String[] WARM_UP = {
+            "b: command -Flag Argument",
+            "b: command \"12345\"",
+            "b: command <@12345> <@!12345> <@&12345> <#12345>",
+            "b: command sqrt(5)+3*2"
+    };
     private final Logger log = LoggerFactory.getLogger(getClass().getSimpleName());
     private final CallableParser parser = new CallableParser();
 
+    /**
+     * Parsing the first message loads and initializes the whole MontiCore and ANTLR stack, including the lexer and
+     * parser caches of the grammar. This method does this work ahead of time, so that it doesn't delay the first
+     * command received by the bot.
+     * @return the current instance.
+     */
+    @Nonnull
+    public MontiCoreCommandParser warmUp(){
+        for(String content : WARM_UP){
+            try{
+                parser.parse_String(content);
+            }catch(IOException e){
+                log.warn(e.getMessage(), e);
+            }
+        }
+        return this;
+    }
+
     @Override
     public Optional<? extends IntermediateCommand> parse(Message message) {
         try {
@@ -1,13 +1,15 @@
 ${signature("permissions", "ranks", "requiresAttachment")}
-<#list permissions as permission>
-    ${tc.include("command.validate.CheckPermission", permission)}
-</#list>
+<#if permissions?has_content>
+        checkPermissions(get$Author(), get$TextChannel(), <#rt>
+    <#list permissions as permission>
+        ${tc.include("command.validate.CheckPermission", permission)}<#t>
+        <#sep> | </#sep><#t>
+    </#list>
+        );<#lt>
+</#if>
 <#list ranks as rank>
     ${tc.include("command.validate.CheckRank", rank)}
 </#list>
-<#list permissions as permission>
-    ${tc.include("command.validate.CheckPermission", permission)}
-</#list>
 <#if requiresAttachment>
     ${tc.include("command.validate.CheckAttachment")}
 </#if>
\ No newline at end of file
@@ -1,7 +1,9 @@
 ${signature("cdMethod")}
 <#assign name = cdMethod.getCDParameter(0)>
-<#assign arguments = cdMethod.getCDParameter(1)>
-<#assign flags = cdMethod.getCDParameter(2)>
+<#assign guild = cdMethod.getCDParameter(1)>
+<#assign textChannel = cdMethod.getCDParameter(2)>
+<#assign arguments = cdMethod.getCDParameter(3)>
+<#assign flags = cdMethod.getCDParameter(4)>
         return Optional.ofNullable(
             commands.computeIfAbsent(
                 ${name.getName()},
@@ -9,4 +11,4 @@ ${signature("cdMethod")}
                     throw CommandException.of(Errors.UNKNOWN_COMMAND, $name);
                 }
             )
-        ).map(_function -> _function.apply(${arguments.getName()}, ${flags.getName()}));
\ No newline at end of file
+        ).map(_function -> _function.apply(${guild.getName()}, ${textChannel.getName()}, ${arguments.getName()}, ${flags.getName()}));
\ No newline at end of file
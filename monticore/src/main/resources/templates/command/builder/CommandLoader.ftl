@@ -1,7 +1,9 @@
 ${signature("commands", "resolver", "command", "factory", "parameters", "requiresGuild")}
+<#assign guild = "$guild">
+<#assign textChannel = "$textChannel">
 <#assign arguments = "$arguments">
 <#assign flags = "$flags">
-        ${commands.getName()}.put("${command}", (${arguments}, ${flags}) -> {
+        ${commands.getName()}.put("${command}", (${guild}, ${textChannel}, ${arguments}, ${flags}) -> {
             //Check fails with optional arguments
             //Preconditions.checkArgument(<#rt>
             //    ${arguments}.size() >= ${parameters?size},<#t>
@@ -13,7 +15,7 @@ ${signature("commands", "resolver", "command", "factory", "parameters", "require
                     tc.includeArgs(
                         "command.builder.resolve.Resolve",
                         parameter,
-                        [resolver.getName(), parameterName, arguments, parameter?index]
+                        [resolver.getName(), parameterName, guild, textChannel, arguments, parameter?index]
                     )
                 }<#t>
                 ,<#lt>
@@ -1,2 +1,2 @@
-${signature("resolver", "parameter", "source", "index")}
-        throw new UnsupportedOperationException("No template associated with this parameter.");
\ No newline at end of file
+${signature("resolver", "parameter", "guild", "textChannel", "source", "index")}
+        throw new UnsupportedOperationException("No template associated with this parameter.")
\ No newline at end of file
@@ -1,5 +1,8 @@
-${signature("resolver", "parameter", "source", "index")}
+${signature("resolver", "parameter", "guild", "textChannel", "source", "index")}
                 ${resolver}.resolveMany(<#rt>
-                    ${source}.subList(${index}, ${source}.size()),<#t>
-                    ${resolver}::resolve${parameter}<#t>
+                    ${guild},<#t>
+                    ${textChannel},<#t>
+                    ${source},<#t>
+                    ${index},<#t>
+                    AbstractTypeResolver::resolve${parameter}<#t>
                 )<#lt>
\ No newline at end of file
@@ -1,6 +1,8 @@
-${signature("resolver", "parameter", "source", "index")}
+${signature("resolver", "parameter", "guild", "textChannel", "source", "index")}
                 ${resolver}.resolveOptional(<#rt>
+                    ${guild},<#t>
+                    ${textChannel},<#t>
                     ${source},<#t>
                     ${index},<#t>
-                    ${resolver}::resolve${parameter}<#t>
+                    AbstractTypeResolver::resolve${parameter}<#t>
                 )<#lt>
\ No newline at end of file
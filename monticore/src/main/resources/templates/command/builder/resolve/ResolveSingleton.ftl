@@ -1,2 +1,2 @@
-${signature("resolver", "parameter", "source", "index")}
-                ${resolver}.resolve${parameter}(${source}.get(${index}))
\ No newline at end of file
+${signature("resolver", "parameter", "guild", "textChannel", "source", "index")}
+                ${resolver}.resolve${parameter}(${guild}, ${textChannel}, ${source}.get(${index}))
\ No newline at end of file
@@ -1 +1 @@
-        checkPermission(get$Author(), get$TextChannel(), Permission.${ast.getName()});
\ No newline at end of file
+Permissions.getRaw(Permission.${ast.getName()})
\ No newline at end of file
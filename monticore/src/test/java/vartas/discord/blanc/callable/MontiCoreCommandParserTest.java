@@ -44,6 +44,17 @@ public class MontiCoreCommandParserTest {
         message = MessageFactory.create(0, Instant.now(), author);
     }
 
+    @Test
+    public void testWarmUp(){
+        parser = new MontiCoreCommandParser().warmUp();
+        message.setContent("b: command <#12345>");
+        IntermediateCommand command = parser.parse(message).orElseThrow();
+
+        assertThat(command.getArguments()).hasSize(1);
+        assertThat(command.getArguments().get(0)).isInstanceOf(ASTTextChannelArgument.class);
+        assertThat(command.getName()).isEqualTo("command");
+    }
+
     @Test
     public void testParseEmpty(){
         assertThat(parser.parse(message)).isEmpty();
@@ -18,9 +18,23 @@
 package vartas.discord.blanc.command;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class CommandGeneratorTest extends BasicCommandTest {
     @BeforeEach
     public void setUp(){
@@ -30,6 +44,7 @@ public class CommandGeneratorTest extends BasicCommandTest {
     @ParameterizedTest
     @CsvSource({
             "    kick, vartas.discord.blanc.command.Guild",
+            "     ban, vartas.discord.blanc.command.Guild",
             "activity, vartas.discord.blanc.command.Guild",
             "    info, vartas.discord.blanc.command.Guild",
     })
@@ -37,4 +52,27 @@ public class CommandGeneratorTest extends BasicCommandTest {
         parseCommand(commandName, groupName);
         CommandGenerator.generate(CLASSES_PATH, TEMPLATES_PATH, SOURCES_PATH, OUTPUT_PATH, cmdArtifact);
     }
+
+    @Test
+    public void testCompilePermissions(@TempDir Path outputPath) throws IOException {
+        parseCommand("ban", "vartas.discord.blanc.command.Guild");
+        CommandGenerator.generate(CLASSES_PATH, TEMPLATES_PATH, SOURCES_PATH, outputPath, cmdArtifact);
+
+        List<String> sources;
+        try(Stream<Path> files = Files.walk(outputPath)){
+            sources = files.filter(file -> file.toString().endsWith(".java")).map(Path::toString).collect(Collectors.toList());
+        }
+
+        Path banClass = sources.stream().map(Path::of).filter(file -> file.endsWith("BanClass.java")).findAny().orElseThrow();
+        assertThat(Files.readString(banClass).replaceAll("\\s", ""))
+                .contains("Permissions.getRaw(Permission.BAN_MEMBERS)|Permissions.getRaw(Permission.KICK_MEMBERS)");
+
+        //Surefire only puts its booter on the class path of the forked JVM
+        String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        List<String> arguments = new ArrayList<>(List.of("-proc:none", "-d", outputPath.resolve("classes").toString(), "-cp", classPath));
+        arguments.addAll(sources);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertThat(compiler.run(null, null, null, arguments.toArray(new String[0]))).isEqualTo(0);
+    }
 }
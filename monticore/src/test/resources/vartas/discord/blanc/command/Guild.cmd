@@ -8,6 +8,13 @@ group vartas.discord.blanc.guild {
               rank : User, Developer
     }
 
+    command ban requires Guild {
+             class : BanClass
+        permission : BAN_MEMBERS, KICK_MEMBERS
+         parameter : Member member
+              rank : User
+    }
+
     command activity requires Guild {
              class : ActivityClass
          parameter : TextChannel channel*
@@ -18,8 +18,16 @@
 package vartas.discord.blanc;
 
 import de.se_rwth.commons.logging.Log;
+import org.slf4j.LoggerFactory;
 import vartas.discord.blanc.callable.MontiCoreCommandParser;
+import vartas.discord.blanc.cluster.ClusterMember;
+import vartas.discord.blanc.cluster.LeaseDirectory;
+import vartas.discord.blanc.cluster.ShardRange;
+import vartas.discord.blanc.command.reddit.ResultCache;
+import vartas.discord.blanc.command.reddit.aggregation.RollupStore;
 import vartas.discord.blanc.io.$json.JSONCredentials;
+import vartas.discord.blanc.io.$json.JSONRanks;
+import vartas.discord.blanc.io.$json.JSONStatusMessages;
 import vartas.discord.blanc.io.Credentials;
 import vartas.discord.blanc.monticore.MontiCoreCommandBuilder;
 import vartas.discord.blanc.parser.JDATypeResolver;
@@ -30,23 +38,62 @@ import vartas.reddit.PushshiftClient;
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
 
 public class Main {
     //TODO Integrate into the architecture
     public static vartas.reddit.Client REDDIT_CLIENT;
+    public static RollupStore REDDIT_ROLLUPS;
+    @Nonnull
+    public static final ResultCache REDDIT_RESULTS = new ResultCache();
     @Nonnull
     public static final Client CLIENT = new Client();
+    /**
+     * Only initializes the application, without connecting to Discord. Used by the build to record the classes that
+     * are stored in the class-data sharing archive.
+     */
     @Nonnull
-    private static final Parser PARSER = new MontiCoreCommandParser();
+    private static final String TRAINING = "--training";
 
     static{
         //The application would terminate on an invalid command, for example
         Log.enableFailQuick(false);
     }
 
-    public static void main(String[] args) throws IOException {
+    /**
+     * Loading the parser pulls in the whole MontiCore stack. It is therefore created in the background, while the
+     * shards are connecting, and is only waited upon once the first shard is ready.
+     */
+    @Nonnull
+    private static final CompletableFuture<Parser> PARSER = CompletableFuture.supplyAsync(() -> new MontiCoreCommandParser().warmUp());
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if(args.length > 0 && args[0].equals(TRAINING)){
+            train();
+            return;
+        }
+
         Credentials credentials = JSONCredentials.fromJson(new Credentials(), Paths.get("credentials.json"));
-        ShardLoader shardLoader = createShardLoader(credentials);
+        //Share the configuration with the rest of the application, instead of reading it a second time
+        JSONCredentials.setCredentials(credentials);
+        ShardRange shards = ShardRange.all(credentials.getShardCount());
+        boolean leader = true;
+
+        //Only operate on a part of the shards, the remaining shards are operated by other processes
+        if(credentials.getClusterSize() > 1){
+            ClusterMember member = ClusterMember.join(
+                    credentials.getClusterDirectory(),
+                    credentials.getClusterSize(),
+                    credentials.getShardCount(),
+                    Main::shutdown,
+                    lease -> takeover(credentials, lease)
+            );
+            Runtime.getRuntime().addShutdownHook(new Thread(member::shutdown));
+            shards = member.getShards();
+            leader = member.isLeader();
+        }
+
+        ShardLoader shardLoader = createShardLoader(credentials, shards, leader);
 
         REDDIT_CLIENT = new PushshiftClient(
                 credentials.getRedditAccount(),
@@ -55,16 +102,51 @@ public class Main {
                 credentials.getRedditSecret()
         );
         REDDIT_CLIENT = new JSONClient(REDDIT_CLIENT, Paths.get("reddit"));
+        REDDIT_ROLLUPS = new RollupStore(Paths.get("rollups"));
+
+        //Shards are able to process commands as soon as they are ready
+        new ShardStartup(shardLoader).start(shards, Main::addShard).join();
+    }
+
+    /**
+     * Performs the work done at startup that doesn't require a connection to Discord, so that all involved classes
+     * are loaded.
+     */
+    private static void train(){
+        PARSER.join();
+        JSONCredentials.getCredentials();
+        JSONRanks.getRanks();
+        JSONStatusMessages.getStatusMessages();
+    }
+
+    /**
+     * Called when this process has taken over the shards of another process, which stopped without releasing them.
+     * The shards are operated by a separate {@link ShardLoader}, since each loader is bound to its own shard range.
+     */
+    private static void takeover(Credentials credentials, LeaseDirectory.Lease lease){
+        ShardLoader shardLoader = createShardLoader(credentials, lease.getShards(), lease.isLeader());
+        CompletableFutures.log(new ShardStartup(shardLoader).start(lease.getShards(), Main::addShard), LoggerFactory.getLogger(Main.class.getSimpleName()));
+    }
 
-        for(int i = 0 ; i < credentials.getShardCount() ; ++i)
-            CLIENT.addShards(loadShard(shardLoader, i));
+    private static void addShard(Shard shard){
+        synchronized (CLIENT){
+            CLIENT.addShards(shard);
+        }
     }
 
-    private static ShardLoader createShardLoader(Credentials credentials){
-        return new JDAShardLoader(credentials, (shard, jda) -> new MontiCoreCommandBuilder((guild, textChannel) -> new JDATypeResolver(shard, jda, guild, textChannel), shard, PARSER, credentials.getGlobalPrefix()));
+    /**
+     * Called when another process has taken over the shards of this process. Continuing would mean that the same
+     * shards are operated twice, so the process terminates immediately.
+     */
+    private static void shutdown(){
+        LoggerFactory.getLogger(Main.class.getSimpleName()).error("Lost the lease of this process, shutting down.");
+        synchronized (CLIENT){
+            CLIENT.getShards().forEach(Shard::shutdown);
+        }
+        System.exit(1);
     }
 
-    private static Shard loadShard(ShardLoader shardLoader, int shardId){
-        return shardLoader.load(shardId);
+    private static ShardLoader createShardLoader(Credentials credentials, ShardRange shards, boolean leader){
+        return new JDAShardLoader(credentials, (shard, jda) -> new MontiCoreCommandBuilder(new JDATypeResolver(shard, jda), shard, PARSER.join(), credentials.getGlobalPrefix()), shards, leader);
     }
 }
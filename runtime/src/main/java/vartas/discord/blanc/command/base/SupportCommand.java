@@ -27,7 +27,7 @@ public class SupportCommand extends SupportCommandTOP{
     public void run(){
         StringBuilder stringBuilder = new StringBuilder()
                 .append("If you have any questions, hit me up in the support server:\n")
-                .append(JSONCredentials.CREDENTIALS.getInviteSupportServer());
+                .append(JSONCredentials.getCredentials().getInviteSupportServer());
         get$MessageChannel().send(stringBuilder);
     }
 }
@@ -24,7 +24,7 @@ public class DeleteCommand extends DeleteCommandTOP{
     @Override
     public void run() {
         if(getMessage().getAuthor().equals(get$Shard().retrieveSelfUser())){
-            getMessage().delete();
+            complete(getMessage().deleteAsync());
         }else{
             get$TextChannel().send("I can only delete my own messages.");
         }
@@ -20,6 +20,7 @@ package vartas.discord.blanc.command.developer;
 import org.json.JSONObject;
 import vartas.discord.blanc.Rank;
 import vartas.discord.blanc.Shard;
+import vartas.discord.blanc.io.RankTable;
 import vartas.discord.blanc.io.$json.JSONRanks;
 
 import java.nio.file.Paths;
@@ -79,25 +80,27 @@ public class FailsafeCommand extends FailsafeCommandTOP {
     public void run(){
         String message;
 
-        if(get$Author().containsRanks(Rank.DEVELOPER)){
+        //Toggle both ranks atomically, in case the command is executed multiple times simultaneously
+        int ranks = JSONRanks.getRanks().update(get$Author().getId(), mask -> {
+            if((mask & RankTable.mask(Rank.DEVELOPER)) != 0)
+                return mask & ~RankTable.mask(Rank.DEVELOPER) | RankTable.mask(Rank.ROOT);
+            else
+                return mask & ~RankTable.mask(Rank.ROOT) | RankTable.mask(Rank.DEVELOPER);
+        });
+
+        if((ranks & RankTable.mask(Rank.ROOT)) != 0){
             get$Author().removeRanks(Rank.DEVELOPER);
             get$Author().addRanks(Rank.ROOT);
 
-            JSONRanks.RANKS.getRanks().remove(get$Author().getId(), Rank.DEVELOPER);
-            JSONRanks.RANKS.getRanks().put(get$Author().getId(), Rank.ROOT);
-
             message = String.format(BECOME_ROOT[RANDOM.nextInt(BECOME_ROOT.length)], get$Author().getName());
         }else{
             get$Author().removeRanks(Rank.ROOT);
             get$Author().addRanks(Rank.DEVELOPER);
 
-            JSONRanks.RANKS.getRanks().remove(get$Author().getId(), Rank.ROOT);
-            JSONRanks.RANKS.getRanks().put(get$Author().getId(), Rank.DEVELOPER);
-
             message = String.format(BECOME_DEVELOPER[RANDOM.nextInt(BECOME_DEVELOPER.length)], get$Author().getName());
         }
 
         get$MessageChannel().send(message);
-        Shard.write(JSONRanks.toJson(JSONRanks.RANKS, new JSONObject()), Paths.get("ranks.json"));
+        Shard.write(JSONRanks.toJson(JSONRanks.getRanks().toRanks(), new JSONObject()), Paths.get("ranks.json"));
     }
 }
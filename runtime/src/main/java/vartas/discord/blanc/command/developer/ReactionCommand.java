@@ -23,6 +23,6 @@ package vartas.discord.blanc.command.developer;
 public class ReactionCommand extends ReactionCommandTOP{
     @Override
     public void run(){
-        getMessage().react(getReaction());
+        complete(getMessage().reactAsync(getReaction()));
     }
 }
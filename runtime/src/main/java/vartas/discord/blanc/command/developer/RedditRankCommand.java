@@ -19,6 +19,7 @@ package vartas.discord.blanc.command.developer;
 import org.json.JSONObject;
 import vartas.discord.blanc.Rank;
 import vartas.discord.blanc.Shard;
+import vartas.discord.blanc.io.RankTable;
 import vartas.discord.blanc.io.$json.JSONRanks;
 
 import java.nio.file.Paths;
@@ -29,20 +30,19 @@ import java.nio.file.Paths;
 public class RedditRankCommand extends RedditRankCommandTOP{
     @Override
     public void run(){
-        if(get$Author().containsRanks(Rank.REDDIT)){
-            get$Author().removeRanks(Rank.REDDIT);
+        //Toggle the rank atomically, in case the command is executed multiple times simultaneously
+        int ranks = JSONRanks.getRanks().update(getUser().getId(), mask -> mask ^ RankTable.mask(Rank.REDDIT));
 
-            JSONRanks.RANKS.getRanks().remove(get$Author().getId(), Rank.REDDIT);
+        if((ranks & RankTable.mask(Rank.REDDIT)) == 0){
+            getUser().removeRanks(Rank.REDDIT);
 
             get$MessageChannel().send(String.format("Removed Reddit rank from %s.", getUser().getName()));
         }else{
-            get$Author().addRanks(Rank.REDDIT);
-
-            JSONRanks.RANKS.getRanks().put(get$Author().getId(), Rank.REDDIT);
+            getUser().addRanks(Rank.REDDIT);
 
             get$MessageChannel().send(String.format("Granted Reddit rank to %s.", getUser().getName()));
         }
 
-        Shard.write(JSONRanks.toJson(JSONRanks.RANKS, new JSONObject()), Paths.get("ranks.json"));
+        Shard.write(JSONRanks.toJson(JSONRanks.getRanks().toRanks(), new JSONObject()), Paths.get("ranks.json"));
     }
 }
\ No newline at end of file
@@ -19,47 +19,62 @@ package vartas.discord.blanc.command.reddit;
 
 import com.google.common.collect.Range;
 import net.steppschuh.markdowngenerator.link.Link;
-import net.steppschuh.markdowngenerator.table.Table;
 import net.steppschuh.markdowngenerator.text.emphasis.BoldText;
 import vartas.discord.blanc.$factory.MessageEmbedFactory;
 import vartas.discord.blanc.MessageEmbed;
+import vartas.discord.blanc.command.reddit.aggregation.Aggregation;
+import vartas.discord.blanc.command.reddit.aggregation.CollectionAccumulator;
+import vartas.discord.blanc.command.reddit.aggregation.ColumnStatistics;
+import vartas.discord.blanc.command.reddit.aggregation.TopK;
 import vartas.reddit.Comment;
 import vartas.reddit.Submission;
 import vartas.reddit.Subreddit;
 
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZoneOffset;
-import java.util.Set;
+import java.util.List;
 
 import static vartas.discord.blanc.Main.REDDIT_CLIENT;
+import static vartas.discord.blanc.Main.REDDIT_RESULTS;
 
 public class AccountCommand extends AccountCommandTOP implements SnowflakeCommand{
     private static final int size = 5;
 
     private final MessageEmbed messageEmbed = MessageEmbedFactory.create();
-    private final Table.Builder markdown = new Table.Builder();
+    private ReportWriter markdown;
 
     private Range<Instant> range ;
     private Subreddit subreddit;
 
     @Override
     public void run() {
+        ResultCache.Key key = new ResultCache.Key(getClass(), getSubreddit(), getFrom(), getTo(), getAccount(), get$Flags());
+        complete(REDDIT_RESULTS.get(key, this::render).sendAsync(get$MessageChannel()));
+    }
+
+    private RenderedResult render(){
         Instant inclusiveFrom = getFrom().atStartOfDay(ZoneOffset.UTC).toInstant();
         Instant exclusiveTo = getTo().atStartOfDay(ZoneOffset.UTC).toInstant();
         range = Range.closedOpen(inclusiveFrom, exclusiveTo);
         subreddit = REDDIT_CLIENT.getUncheckedSubreddits(getSubreddit());
+        markdown = new ReportWriter(getAccount()+".md", SnowflakeCommand.isCompressed(get$Flags())).beginTable(2);
+
+        //Gather all statistics within a single pass
+        Aggregation aggregation = new Aggregation(subreddit, range);
+        ColumnStatistics statistics = aggregation.columns(new ColumnStatistics(getAccount(), true));
+        CollectionAccumulator<Submission, TopK<Submission>> topSubmissions = aggregation.submissions(SnowflakeCommand.topSubmissions(getAccount()::equals, size));
+        CollectionAccumulator<Comment, TopK<Comment>> topComments = aggregation.comments(SnowflakeCommand.topComments(getAccount()::equals, size));
+        aggregation.run();
 
         buildTitle();
-        buildSubmissions();
-        buildSubmissionsPerDay();
-        buildComments();
-        buildCommentsPerDay();
-        buildTopSubmissions();
-        buildTopComments();
-
-        get$MessageChannel().send(messageEmbed);
-        get$MessageChannel().send(markdown.build().toString().getBytes(StandardCharsets.UTF_8),getAccount()+".md");
+        buildSubmissions(statistics.getSubmissions());
+        buildSubmissionsPerDay(SnowflakeCommand.perDay(statistics.getSubmissions(), range));
+        buildComments(statistics.getComments());
+        buildCommentsPerDay(SnowflakeCommand.perDay(statistics.getComments(), range));
+        buildTopSubmissions(topSubmissions.get().toList());
+        buildTopComments(topComments.get().toList());
+
+        return RenderedResult.of(messageEmbed).and(markdown.toResult());
     }
 
     private void buildTitle(){
@@ -67,61 +82,51 @@ public class AccountCommand extends AccountCommandTOP implements SnowflakeComman
         String link = "https://www.reddit.com/u/"+getAccount();
 
         messageEmbed.setAuthor(name, link);
-        markdown.addRow(new Link(name, link), null);
+        markdown.row(new Link(name, link), null);
     }
 
-    private void buildSubmissions(){
-        long count = countSubmissions(subreddit, range, getAccount());
-
+    private void buildSubmissions(long count){
         messageEmbed.addFields("#Submissions", count, true);
-        markdown.addRow(new BoldText("#Submissions"), count);
+        markdown.row(new BoldText("#Submissions"), count);
     }
 
-    private void buildSubmissionsPerDay(){
-        double count = countSubmissionsPerDay(subreddit, range, getAccount());
-
+    private void buildSubmissionsPerDay(double count){
         messageEmbed.addFields("#Submissions/day", count, true);
-        markdown.addRow(new BoldText("#Submissions/day"), count);
+        markdown.row(new BoldText("#Submissions/day"), count);
     }
 
-    private void buildComments(){
-        long count = countComments(subreddit, range, getAccount());
-
+    private void buildComments(long count){
         messageEmbed.addFields("#Comments", count, true);
-        markdown.addRow(new BoldText("#Comments"), count);
+        markdown.row(new BoldText("#Comments"), count);
     }
 
-    private void buildCommentsPerDay(){
-        double count = countCommentsPerDay(subreddit, range, getAccount());
-
+    private void buildCommentsPerDay(double count){
         messageEmbed.addFields("#Comments/day", count, true);
-        markdown.addRow(new BoldText("#Comments/day"), count);
+        markdown.row(new BoldText("#Comments/day"), count);
     }
 
-    private void buildTopSubmissions(){
+    private void buildTopSubmissions(List<Submission> submissions){
         StringBuilder stringBuilder = new StringBuilder();
-        Set<Submission> submissions = getTopSubmissions(subreddit, range, getAccount(), size);
 
-        markdown.addRow(new BoldText("Top Submission"), new BoldText("Score"));
+        markdown.row(new BoldText("Top Submission"), new BoldText("Score"));
         for(Submission submission : submissions){
             Link link = new Link(submission.getTitle(), submission.getShortLink());
 
-            markdown.addRow(link, submission.getScore());
+            markdown.row(link, submission.getScore());
             stringBuilder.append(link).append("[").append(submission.getScore()).append("]").append("\n");
         }
 
         messageEmbed.addFields("Top Submissions", stringBuilder.toString());
     }
 
-    private void buildTopComments(){
+    private void buildTopComments(List<Comment> comments){
         StringBuilder stringBuilder = new StringBuilder();
-        Set<Comment> comments = getTopComments(subreddit, range, getAccount(), size);
 
-        markdown.addRow(new BoldText("Top Comments"), new BoldText("Score"));
+        markdown.row(new BoldText("Top Comments"), new BoldText("Score"));
         for(Comment comment : comments){
             Link link = new Link(comment.getSubmission().getTitle(), comment.getPermaLink());
 
-            markdown.addRow(link, comment.getScore());
+            markdown.row(link, comment.getScore());
             stringBuilder.append(link).append("[").append(comment.getScore()).append("]").append("\n");
         }
 
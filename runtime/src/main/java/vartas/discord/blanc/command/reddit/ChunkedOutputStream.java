@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An in-memory output stream, storing its content in fixed-size chunks.
+ * <p>
+ * In contrast to a {@link java.io.ByteArrayOutputStream}, the content is never copied while the stream grows and
+ * doesn't have to be copied again into a single array, once the stream is read. The content can be read any number
+ * of times, but must not be written anymore once it has been read.
+ */
+@Nonnull
+final class ChunkedOutputStream extends OutputStream {
+    /**
+     * The size of a single chunk, in bytes.
+     */
+    static final int CHUNK_SIZE = 1 << 14;
+    /**
+     * All full chunks, followed by the current chunk.
+     */
+    @Nonnull
+    private final List<byte[]> chunks = new ArrayList<>();
+    /**
+     * The current chunk.
+     */
+    @Nonnull
+    private byte[] chunk = new byte[CHUNK_SIZE];
+    /**
+     * The number of bytes in the current chunk.
+     */
+    private int position;
+    /**
+     * The number of bytes in all full chunks.
+     */
+    private long size;
+
+    ChunkedOutputStream(){
+        chunks.add(chunk);
+    }
+
+    @Override
+    public void write(int b){
+        if(position == CHUNK_SIZE)
+            nextChunk();
+
+        chunk[position++] = (byte)b;
+    }
+
+    @Override
+    public void write(@Nonnull byte[] bytes, int offset, int length){
+        while(length > 0){
+            if(position == CHUNK_SIZE)
+                nextChunk();
+
+            int count = Math.min(length, CHUNK_SIZE - position);
+            System.arraycopy(bytes, offset, chunk, position, count);
+            position += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    private void nextChunk(){
+        size += CHUNK_SIZE;
+        chunk = new byte[CHUNK_SIZE];
+        chunks.add(chunk);
+        position = 0;
+    }
+
+    /**
+     * @return the number of bytes written to this stream.
+     */
+    long size(){
+        return size + position;
+    }
+
+    /**
+     * @return a new stream over the content of this stream, without copying it.
+     */
+    @Nonnull
+    InputStream toInputStream(){
+        List<InputStream> streams = new ArrayList<>(chunks.size());
+        for(int i = 0 ; i < chunks.size() - 1 ; ++i)
+            streams.add(new ByteArrayInputStream(chunks.get(i)));
+        streams.add(new ByteArrayInputStream(chunk, 0, position));
+
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+}
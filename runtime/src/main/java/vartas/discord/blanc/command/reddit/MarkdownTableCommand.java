@@ -19,26 +19,32 @@ package vartas.discord.blanc.command.reddit;
 
 import com.google.common.collect.Range;
 import net.steppschuh.markdowngenerator.link.Link;
-import net.steppschuh.markdowngenerator.list.ListBuilder;
-import net.steppschuh.markdowngenerator.table.Table;
 import net.steppschuh.markdowngenerator.text.emphasis.BoldText;
 import net.steppschuh.markdowngenerator.text.emphasis.ItalicText;
+import vartas.discord.blanc.command.reddit.aggregation.Leader;
 import vartas.reddit.Comment;
 import vartas.reddit.Submission;
 import vartas.reddit.Subreddit;
 
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZoneOffset;
-import java.util.*;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import static vartas.discord.blanc.Main.REDDIT_CLIENT;
+import static vartas.discord.blanc.Main.REDDIT_RESULTS;
 
 public class MarkdownTableCommand extends MarkdownTableCommandTOP implements SnowflakeCommand{
     private static final int size = 10;
 
     @Override
     public void run() {
+        ResultCache.Key key = new ResultCache.Key(getClass(), getSubreddit(), getFrom(), getTo(), getType(), get$Flags());
+        complete(REDDIT_RESULTS.get(key, this::render).sendAsync(get$MessageChannel()));
+    }
+
+    private RenderedResult render(){
         Instant inclusiveFrom = getFrom().atStartOfDay(ZoneOffset.UTC).toInstant();
         Instant exclusiveTo = getTo().atStartOfDay(ZoneOffset.UTC).toInstant();
         Range<Instant> range = Range.closedOpen(inclusiveFrom, exclusiveTo);
@@ -47,119 +53,111 @@ public class MarkdownTableCommand extends MarkdownTableCommandTOP implements Sno
 
         switch(getType().toLowerCase(Locale.ENGLISH)){
             case "submission":
-                printTopSubmissions(subreddit, range);
-                break;
+                return printTopSubmissions(subreddit, range);
             case "submitter":
-                printTopSubmitters(subreddit, range);
-                break;
+                return printTopSubmitters(subreddit, range);
             case "comment":
-                printTopComments(subreddit, range);
-                break;
+                return printTopComments(subreddit, range);
             case "commenter":
-                printTopCommenters(subreddit, range);
-                break;
+                return printTopCommenters(subreddit, range);
             case "core":
-                printCore(subreddit, range);
-                break;
+                return printCore(subreddit, range);
             default:
                 throw new IllegalArgumentException(type + " is not a valid type.");
         }
     }
 
-    private void printTopSubmissions(Subreddit subreddit, Range<Instant> range){
-        ListBuilder markdown = new ListBuilder();
+    private ReportWriter createReport(){
+        return new ReportWriter(getType()+".md", SnowflakeCommand.isCompressed(get$Flags()));
+    }
+
+    private RenderedResult printTopSubmissions(Subreddit subreddit, Range<Instant> range){
+        ReportWriter markdown = createReport();
 
         for(Submission submission : getTopSubmissions(subreddit, range, size)){
             Link link = new Link(submission.getTitle(), submission.getPermaLink());
-            markdown.append(link + " " + new ItalicText("by") + " " + submission.getAuthor() + "(" + submission.getScore() + ")");
+            markdown.item(link + " " + new ItalicText("by") + " " + submission.getAuthor() + "(" + submission.getScore() + ")");
         }
 
-        get$MessageChannel().send(markdown.build().toString().getBytes(StandardCharsets.UTF_8), getType()+".md");
+        return markdown.toResult();
     }
 
-    private void printTopComments(Subreddit subreddit, Range<Instant> range){
-        ListBuilder markdown = new ListBuilder();
+    private RenderedResult printTopComments(Subreddit subreddit, Range<Instant> range){
+        ReportWriter markdown = createReport();
 
         for(Comment comment : getTopComments(subreddit, range, size)){
             Link link = new Link(comment.getSubmission().getTitle(), comment.getPermaLink());
-            markdown.append(new ItalicText("in") + " " + link + " " + new ItalicText("by") + " " + comment.getAuthor() + "(" + comment.getScore() + ")");
+            markdown.item(new ItalicText("in") + " " + link + " " + new ItalicText("by") + " " + comment.getAuthor() + "(" + comment.getScore() + ")");
         }
 
-        get$MessageChannel().send(markdown.build().toString().getBytes(StandardCharsets.UTF_8), getType()+".md");
+        return markdown.toResult();
     }
 
-    private void printTopSubmitters(Subreddit subreddit, Range<Instant> range){
-        Table.Builder markdown = new Table.Builder();
-
-        for(Map.Entry<String, SnowflakeCommand.LimitedSubmissionSet> entry : getTopSubmitters(subreddit, range, size)){
-            List<String> title = new ArrayList<>();
-            title.add(String.format("u/%s (%d)", entry.getKey(), entry.getValue().getScore()));
-            title.addAll(Collections.nCopies(10, null));
+    private RenderedResult printTopSubmitters(Subreddit subreddit, Range<Instant> range){
+        ReportWriter markdown = createReport().beginTable(size + 1);
 
-            markdown.addRow(title.toArray());
+        for(Map.Entry<Leader, List<Submission>> entry : getTopSubmitters(subreddit, range, size).entrySet()){
+            markdown.row(String.format("u/%s (%d)", entry.getKey().getAuthor(), entry.getKey().getScore()));
 
-            markdown.addRow(entry.getValue().stream().map(submission -> {
+            markdown.row(entry.getValue().stream().map(submission -> {
                 Link link = new Link(submission.getTitle(), submission.getPermaLink());
                 return link + " (" + submission.getScore() + ")";
             }).toArray());
         }
 
-        get$MessageChannel().send(markdown.build().toString().getBytes(StandardCharsets.UTF_8), getType()+".md");
+        return markdown.toResult();
     }
 
-    private void printTopCommenters(Subreddit subreddit, Range<Instant> range){
-        Table.Builder markdown = new Table.Builder();
-
-        for(Map.Entry<String, SnowflakeCommand.LimitedCommentSet> entry : getTopCommenters(subreddit, range, size)){
-            List<String> title = new ArrayList<>();
-            title.add(String.format("u/%s (%d)", entry.getKey(), entry.getValue().getScore()));
-            title.addAll(Collections.nCopies(10, null));
+    private RenderedResult printTopCommenters(Subreddit subreddit, Range<Instant> range){
+        ReportWriter markdown = createReport().beginTable(size + 1);
 
-            markdown.addRow(title.toArray());
+        for(Map.Entry<Leader, List<Comment>> entry : getTopCommenters(subreddit, range, size).entrySet()){
+            markdown.row(String.format("u/%s (%d)", entry.getKey().getAuthor(), entry.getKey().getScore()));
 
-            markdown.addRow(entry.getValue().stream().map(comment -> {
+            markdown.row(entry.getValue().stream().map(comment -> {
                 Link link = new Link(comment.getSubmission().getTitle(), comment.getPermaLink());
                 return link + " (" + comment.getScore() + ")";
             }).toArray());
         }
 
-        get$MessageChannel().send(markdown.build().toString().getBytes(StandardCharsets.UTF_8), getType()+".md");
+        return markdown.toResult();
     }
 
-    private void printCore(Subreddit subreddit, Range<Instant> range){
-        Table.Builder markdown = new Table.Builder().withAlignments(Table.ALIGN_LEFT, Table.ALIGN_LEFT);
+    private RenderedResult printCore(Subreddit subreddit, Range<Instant> range){
+        CoreStatistics statistics = getCoreStatistics(subreddit, range, SnowflakeCommand.isExact(get$Flags()));
+        ReportWriter markdown = createReport().beginTable(4, ReportWriter.Alignment.LEFT, ReportWriter.Alignment.LEFT);
 
-        markdown.addRow(
+        markdown.row(
                 "Accumulated Values",
                 null,
                 null,
                 null
         );
-        markdown.addRow(
+        markdown.row(
                 new BoldText("#Submissions"),
-                countSubmissions(subreddit, range),
+                statistics.getSubmissions(),
                 new BoldText("#Comments"),
-                countComments(subreddit, range)
+                statistics.getComments()
         );
-        markdown.addRow(
+        markdown.row(
                 new BoldText("Unique Submitters"),
-                countUniqueSubmitters(subreddit, range),
+                statistics.formatUniqueSubmitters(),
                 new BoldText("Unique Commenters"),
-                countUniqueCommenters(subreddit, range)
+                statistics.formatUniqueCommenters()
         );
-        markdown.addRow(
+        markdown.row(
                 new BoldText("Total Submission Score"),
-                countTotalSubmissionScore(subreddit, range),
+                statistics.getTotalSubmissionScore(),
                 new BoldText("Total Comment Score"),
-                countTotalCommentScore(subreddit, range)
+                statistics.getTotalCommentScore()
         );
-        markdown.addRow(
+        markdown.row(
                 new BoldText("#Submissions/day"),
-                countSubmissionsPerDay(subreddit, range),
+                statistics.getSubmissionsPerDay(),
                 new BoldText("#Comments/day"),
-                countCommentsPerDay(subreddit, range)
+                statistics.getCommentsPerDay()
         );
 
-        get$MessageChannel().send(markdown.build().toString().getBytes(StandardCharsets.UTF_8), getType()+".md");
+        return markdown.toResult();
     }
 }
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit;
+
+import vartas.discord.blanc.CompletableFutures;
+import vartas.discord.blanc.MessageChannel;
+import vartas.discord.blanc.MessageEmbed;
+
+import javax.annotation.Nonnull;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The rendered output of a Reddit command, which can be sent to an arbitrary number of channels.
+ * <p>
+ * Images are encoded only once, when the result is created, so that sending a cached result doesn't repeat the
+ * rendering. Results are shared between channels and must therefore not be modified once they have been created.
+ */
+@Nonnull
+public final class RenderedResult {
+    /**
+     * The estimated size of a single embed, in bytes. Discord limits embeds to 6000 characters.
+     */
+    private static final int EMBED_WEIGHT = 6000 * Character.BYTES;
+    /**
+     * The messages of this result, in the order they are sent.
+     */
+    @Nonnull
+    private final List<Part> parts;
+
+    private RenderedResult(@Nonnull List<Part> parts){
+        this.parts = Collections.unmodifiableList(parts);
+    }
+
+    /**
+     * @param messageEmbed the rendered embed.
+     * @return a result consisting of a single embed.
+     */
+    @Nonnull
+    public static RenderedResult of(@Nonnull MessageEmbed messageEmbed){
+        return new RenderedResult(List.of(new EmbedPart(messageEmbed)));
+    }
+
+    /**
+     * @param bytes the content of the file.
+     * @param qualifiedName the name of the file, including its extension.
+     * @return a result consisting of a single file.
+     */
+    @Nonnull
+    public static RenderedResult of(@Nonnull byte[] bytes, @Nonnull String qualifiedName){
+        return new RenderedResult(List.of(new FilePart(bytes, qualifiedName)));
+    }
+
+    /**
+     * @param content the content of the file.
+     * @param qualifiedName the name of the file, including its extension.
+     * @return a result consisting of a single file, which is sent directly from the chunks of the stream.
+     */
+    @Nonnull
+    static RenderedResult of(@Nonnull ChunkedOutputStream content, @Nonnull String qualifiedName){
+        return new RenderedResult(List.of(new StreamPart(content, qualifiedName)));
+    }
+
+    /**
+     * @param image the rendered image.
+     * @param title the name of the image, without its extension.
+     * @return a result consisting of a single PNG image.
+     */
+    @Nonnull
+    public static RenderedResult of(@Nonnull BufferedImage image, @Nonnull String title){
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try {
+            ImageIO.write(image, "png", outputStream);
+            return of(outputStream.toByteArray(), title + ".png");
+        }catch(IOException e){
+            //ByteArrayOutputStream shouldn't be able to trigger an IO exception
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param other the result that is sent after this result.
+     * @return a result consisting of the messages of this result, followed by the messages of the other result.
+     */
+    @Nonnull
+    public RenderedResult and(@Nonnull RenderedResult other){
+        List<Part> parts = new ArrayList<>(this.parts);
+        parts.addAll(other.parts);
+        return new RenderedResult(parts);
+    }
+
+    /**
+     * @return the estimated size of this result, in bytes.
+     */
+    public int getWeight(){
+        int weight = 0;
+        for(Part part : parts)
+            weight += part.getWeight();
+        return weight;
+    }
+
+    /**
+     * Sends all messages of this result to the channel.
+     * @param messageChannel the {@link MessageChannel} the result is sent to.
+     */
+    public void send(@Nonnull MessageChannel messageChannel){
+        CompletableFutures.join(sendAsync(messageChannel));
+    }
+
+    /**
+     * Sends all messages of this result to the channel without waiting for a response. Each message is only
+     * submitted once the previous message has been sent, so that the order is preserved.
+     * @param messageChannel the {@link MessageChannel} the result is sent to.
+     * @return a future that completes once all messages have been sent.
+     */
+    @Nonnull
+    public CompletableFuture<Void> sendAsync(@Nonnull MessageChannel messageChannel){
+        CompletableFuture<Void> future = CompletableFuture.completedFuture(null);
+        for(Part part : parts)
+            future = future.thenCompose(ignored -> part.sendAsync(messageChannel));
+        return future;
+    }
+
+    private interface Part {
+        int getWeight();
+
+        @Nonnull
+        CompletableFuture<Void> sendAsync(@Nonnull MessageChannel messageChannel);
+    }
+
+    private static final class EmbedPart implements Part {
+        @Nonnull
+        private final MessageEmbed messageEmbed;
+
+        private EmbedPart(@Nonnull MessageEmbed messageEmbed){
+            this.messageEmbed = messageEmbed;
+        }
+
+        @Override
+        public int getWeight(){
+            return EMBED_WEIGHT;
+        }
+
+        @Nonnull
+        @Override
+        public CompletableFuture<Void> sendAsync(@Nonnull MessageChannel messageChannel){
+            return messageChannel.sendAsync(messageEmbed);
+        }
+    }
+
+    private static final class FilePart implements Part {
+        @Nonnull
+        private final byte[] bytes;
+        @Nonnull
+        private final String qualifiedName;
+
+        private FilePart(@Nonnull byte[] bytes, @Nonnull String qualifiedName){
+            this.bytes = bytes;
+            this.qualifiedName = qualifiedName;
+        }
+
+        @Override
+        public int getWeight(){
+            return bytes.length;
+        }
+
+        @Nonnull
+        @Override
+        public CompletableFuture<Void> sendAsync(@Nonnull MessageChannel messageChannel){
+            return messageChannel.sendAsync(bytes, qualifiedName);
+        }
+    }
+
+    private static final class StreamPart implements Part {
+        @Nonnull
+        private final ChunkedOutputStream content;
+        @Nonnull
+        private final String qualifiedName;
+
+        private StreamPart(@Nonnull ChunkedOutputStream content, @Nonnull String qualifiedName){
+            this.content = content;
+            this.qualifiedName = qualifiedName;
+        }
+
+        @Override
+        public int getWeight(){
+            return (int)Math.min(content.size(), Integer.MAX_VALUE);
+        }
+
+        @Nonnull
+        @Override
+        public CompletableFuture<Void> sendAsync(@Nonnull MessageChannel messageChannel){
+            return messageChannel.sendAsync(content.toInputStream(), qualifiedName);
+        }
+    }
+}
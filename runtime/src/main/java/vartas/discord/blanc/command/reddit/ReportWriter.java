@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a markdown report directly into the attachment it is sent as.
+ * <p>
+ * Rows and list items are encoded as UTF-8 as soon as they are written and appended to a chunked in-memory buffer,
+ * instead of first building the whole document as a string. Large reports can optionally be compressed with gzip,
+ * in which case the name of the attachment ends with {@link #GZIP_EXTENSION}.<br>
+ * Once the report has been converted into a {@link RenderedResult}, the writer can no longer be used.
+ */
+@Nonnull
+public class ReportWriter {
+    /**
+     * The extension that is appended to the names of compressed reports.
+     */
+    @Nonnull
+    public static final String GZIP_EXTENSION = ".gz";
+    /**
+     * The uncompressed content of the report.
+     */
+    @Nonnull
+    private final ChunkedOutputStream content = new ChunkedOutputStream();
+    /**
+     * The encoder for the report, writing either directly into {@link #content} or into a compressor in between.
+     */
+    @Nonnull
+    private final Writer writer;
+    /**
+     * The name of the attachment, including its extensions.
+     */
+    @Nonnull
+    private final String qualifiedName;
+    /**
+     * The alignments of the columns of the current table. Null if no table has been started.
+     */
+    @Nullable
+    private Alignment[] alignments;
+    /**
+     * Whether the header of the current table still has to be written.
+     */
+    private boolean header;
+
+    /**
+     * @param qualifiedName the name of the report, including its extension.
+     * @param compressed whether the report is compressed with gzip.
+     */
+    public ReportWriter(@Nonnull String qualifiedName, boolean compressed){
+        try {
+            OutputStream output = compressed ? new GZIPOutputStream(content, ChunkedOutputStream.CHUNK_SIZE) : content;
+            this.writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+            this.qualifiedName = compressed ? qualifiedName + GZIP_EXTENSION : qualifiedName;
+        }catch(IOException e){
+            //The content is kept in memory and shouldn't be able to trigger an IO exception
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Starts a new table. The first row of the table is its header.
+     * @param columns the number of columns. Shorter rows are padded with empty cells.
+     * @param alignments the alignments of the leading columns. All other columns use the default alignment.
+     * @return this writer.
+     */
+    @Nonnull
+    public ReportWriter beginTable(int columns, @Nonnull Alignment... alignments){
+        endTable();
+
+        this.alignments = new Alignment[columns];
+        for(int i = 0 ; i < columns ; ++i)
+            this.alignments[i] = i < alignments.length ? alignments[i] : Alignment.DEFAULT;
+        this.header = true;
+
+        return this;
+    }
+
+    /**
+     * Writes a single row of the current table. Cells that are null are left empty.
+     * @param cells the content of the cells. Excess cells are ignored.
+     * @return this writer.
+     */
+    @Nonnull
+    public ReportWriter row(@Nonnull Object... cells){
+        if(alignments == null)
+            throw new IllegalStateException("No table has been started.");
+
+        write("|");
+        for(int i = 0 ; i < alignments.length ; ++i){
+            write(" ");
+            if(i < cells.length && cells[i] != null)
+                writeCell(cells[i].toString());
+            write(" |");
+        }
+        write("\n");
+
+        if(header){
+            write("|");
+            for(Alignment alignment : alignments){
+                write(" ");
+                write(alignment.separator);
+                write(" |");
+            }
+            write("\n");
+            header = false;
+        }
+
+        return this;
+    }
+
+    /**
+     * Ends the current table, if a table has been started.
+     * @return this writer.
+     */
+    @Nonnull
+    public ReportWriter endTable(){
+        if(alignments != null)
+            write("\n");
+
+        alignments = null;
+        return this;
+    }
+
+    /**
+     * Writes a single item of an unordered list.
+     * @param item the content of the item.
+     * @return this writer.
+     */
+    @Nonnull
+    public ReportWriter item(@Nonnull Object item){
+        endTable();
+
+        write("- ");
+        write(item.toString());
+        write("\n");
+
+        return this;
+    }
+
+    /**
+     * Finishes the report.
+     * @return the report as an attachment.
+     */
+    @Nonnull
+    public RenderedResult toResult(){
+        endTable();
+
+        try {
+            writer.close();
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+
+        return RenderedResult.of(content, qualifiedName);
+    }
+
+    private void writeCell(@Nonnull String cell){
+        //Line breaks and pipes would otherwise end the cell
+        for(int i = 0 ; i < cell.length() ; ++i){
+            char c = cell.charAt(i);
+            if(c == '|')
+                write("\\|");
+            else if(c == '\n' || c == '\r')
+                write(" ");
+            else
+                write(c);
+        }
+    }
+
+    private void write(@Nonnull String text){
+        try {
+            writer.write(text);
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(char c){
+        try {
+            writer.write(c);
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The alignment of a table column.
+     */
+    public enum Alignment {
+        DEFAULT("---"),
+        LEFT(":---"),
+        CENTER(":---:"),
+        RIGHT("---:");
+
+        @Nonnull
+        private final String separator;
+
+        Alignment(@Nonnull String separator){
+            this.separator = separator;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The cache for the rendered results of the Reddit commands.
+ * <p>
+ * Identical commands, i.e. commands with the same, normalized arguments, are only evaluated once. Requests for a
+ * result that is currently being computed wait for that computation, instead of starting their own. Failed
+ * computations are not cached.<br>
+ * Results over closed ranges can no longer change and are kept for a long time. Results over ranges containing
+ * the current day are only kept briefly, since new submissions may arrive at any time. Both kinds of results are
+ * stored separately, each bounded by the size of the rendered results.
+ */
+@Nonnull
+public class ResultCache {
+    /**
+     * The default maximum size of all cached results, in bytes.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64L << 20;
+    /**
+     * The default duration results over closed ranges are kept.
+     */
+    @Nonnull
+    public static final Duration DEFAULT_CLOSED_EXPIRATION = Duration.ofHours(12);
+    /**
+     * The default duration results over ranges containing the current day are kept.
+     */
+    @Nonnull
+    public static final Duration DEFAULT_OPEN_EXPIRATION = Duration.ofMinutes(5);
+    /**
+     * The results over closed ranges.
+     */
+    @Nonnull
+    private final Cache<Key, RenderedResult> closed;
+    /**
+     * The results over ranges containing the current day.
+     */
+    @Nonnull
+    private final Cache<Key, RenderedResult> open;
+
+    /**
+     * Creates a cache holding at most {@link #DEFAULT_MAXIMUM_WEIGHT} bytes.
+     */
+    public ResultCache(){
+        this(DEFAULT_MAXIMUM_WEIGHT, DEFAULT_CLOSED_EXPIRATION, DEFAULT_OPEN_EXPIRATION);
+    }
+
+    /**
+     * @param maximumWeight the maximum size of all cached results, in bytes. A quarter of it is reserved for
+     *                      results over ranges containing the current day.
+     * @param closedExpiration the duration results over closed ranges are kept.
+     * @param openExpiration the duration results over ranges containing the current day are kept.
+     */
+    public ResultCache(long maximumWeight, @Nonnull Duration closedExpiration, @Nonnull Duration openExpiration){
+        this.closed = create(maximumWeight - maximumWeight / 4, closedExpiration);
+        this.open = create(maximumWeight / 4, openExpiration);
+    }
+
+    @Nonnull
+    private static Cache<Key, RenderedResult> create(long maximumWeight, @Nonnull Duration expiration){
+        return CacheBuilder.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Key key, RenderedResult value) -> value.getWeight())
+                .expireAfterWrite(expiration)
+                .build();
+    }
+
+    /**
+     * Returns the cached result for the command or computes it, if it is missing.
+     * @param key the normalized arguments of the command.
+     * @param loader the computation of the result.
+     * @return the, possibly shared, result of the command.
+     */
+    @Nonnull
+    public RenderedResult get(@Nonnull Key key, @Nonnull Callable<RenderedResult> loader){
+        Cache<Key, RenderedResult> cache = key.isClosed() ? closed : open;
+
+        try{
+            return cache.get(key, loader);
+        }catch(ExecutionException | UncheckedExecutionException | ExecutionError e){
+            if(e.getCause() instanceof RuntimeException)
+                throw (RuntimeException)e.getCause();
+            if(e.getCause() instanceof Error)
+                throw (Error)e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return the number of cached results.
+     */
+    public long size(){
+        return closed.size() + open.size();
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void invalidateAll(){
+        closed.invalidateAll();
+        open.invalidateAll();
+    }
+
+    /**
+     * The normalized arguments of a Reddit command. The subreddit and the flags are compared case-insensitively,
+     * and the order of the flags is ignored. Commands therefore have to render the name of the subreddit as returned
+     * by Reddit and not as requested. The argument is compared exactly, since it may be part of the result, e.g. in
+     * the name of an attached file.
+     */
+    @Nonnull
+    public static final class Key {
+        @Nonnull
+        private final Class<?> command;
+        @Nonnull
+        private final String subreddit;
+        @Nonnull
+        private final LocalDate from;
+        @Nonnull
+        private final LocalDate to;
+        @Nonnull
+        private final String argument;
+        @Nonnull
+        private final Set<String> flags = new TreeSet<>();
+
+        /**
+         * @param command the class of the command.
+         * @param subreddit the name of the subreddit.
+         * @param from the first day of the range.
+         * @param to the first day after the range.
+         * @param argument the remaining argument of the command, e.g. the requested type.
+         * @param flags the flags of the command.
+         */
+        public Key(@Nonnull Class<?> command, @Nonnull String subreddit, @Nonnull LocalDate from, @Nonnull LocalDate to, @Nonnull Object argument, @Nonnull Collection<String> flags){
+            this.command = command;
+            this.subreddit = subreddit.toLowerCase(Locale.ENGLISH);
+            this.from = from;
+            this.to = to;
+            this.argument = argument.toString();
+            for(String flag : flags)
+                this.flags.add(flag.toLowerCase(Locale.ENGLISH));
+        }
+
+        /**
+         * @return true if the range ends before the current day.
+         */
+        public boolean isClosed(){
+            return !to.isAfter(LocalDate.now(ZoneOffset.UTC));
+        }
+
+        @Override
+        public boolean equals(Object o){
+            if(!(o instanceof Key))
+                return false;
+
+            Key other = (Key)o;
+            return command.equals(other.command)
+                    && subreddit.equals(other.subreddit)
+                    && from.equals(other.from)
+                    && to.equals(other.to)
+                    && argument.equals(other.argument)
+                    && flags.equals(other.flags);
+        }
+
+        @Override
+        public int hashCode(){
+            return Objects.hash(command, subreddit, from, to, argument, flags);
+        }
+    }
+}
@@ -18,22 +18,38 @@
 package vartas.discord.blanc.command.reddit;
 
 import com.google.common.collect.*;
+import vartas.discord.blanc.command.reddit.aggregation.*;
 import vartas.reddit.Comment;
 import vartas.reddit.Submission;
-import vartas.reddit.SubmissionTOP;
 import vartas.reddit.Subreddit;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public interface SnowflakeCommand {
     DiscreteDomain<Instant> domain = new InstantDomain();
     Predicate<String> defaultFilter = author -> !Objects.equals(author, "[deleted]");
+    /**
+     * The flag forcing the exact number of unique authors, instead of an estimate.
+     */
+    String EXACT_FLAG = "exact";
+    /**
+     * The flag compressing markdown reports with gzip.
+     */
+    String GZIP_FLAG = "gzip";
+    /**
+     * Orders the submissions by their score, starting with the highest score. Ties are broken by the id.
+     */
+    Comparator<Submission> submissionOrder = Comparator.comparingLong((Submission submission) -> submission.getScore()).reversed().thenComparing(Submission::getId);
+    /**
+     * Orders the comments by their score, starting with the highest score. Ties are broken by the id.
+     */
+    Comparator<Comment> commentOrder = Comparator.comparingLong((Comment comment) -> comment.getScore()).reversed().thenComparing(Comment::getId);
 
     //------------------------------------------------------------------------------------------------------------------
     //
@@ -41,28 +57,34 @@ public interface SnowflakeCommand {
     //
     //------------------------------------------------------------------------------------------------------------------
 
-    default SortedSet<Map.Entry<String, LimitedSubmissionSet>> getTopSubmitters(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, int size){
-        Comparator<Map.Entry<String, LimitedSubmissionSet>> comparator = (u,v) -> Long.compare(v.getValue().getScore(), u.getValue().getScore());
-
-        return getSubmissions(subreddit, range, defaultFilter)
-                .collect(Collectors.groupingBy(Submission::getAuthor, Collectors.toCollection(() -> new LimitedSubmissionSet(size))))
-                .entrySet()
-                .stream()
-                .sorted(comparator)
-                .limit(size)
-                .collect(Collectors.toCollection(() -> new TreeSet<>(comparator)));
+    /**
+     * Selects the submitters with the highest accumulated score, together with their top submissions.<br>
+     * The leaderboard is computed first, only keeping the score of every author. The top submissions are then
+     * collected for the selected authors only.
+     * @param subreddit the {@link Subreddit} associated with the submissions.
+     * @param range the {@link Range} specifying the submissions' age.
+     * @param size the maximum number of authors and submissions per author.
+     * @return the top submissions of every selected author, ordered by {@link Leader#ORDER}.
+     */
+    default Map<Leader, List<Submission>> getTopSubmitters(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, int size){
+        List<Leader> leaders = Aggregation.ofSubmissions(subreddit, range, submitterLeaderboard(size));
+        Map<String, TopK<Submission>> submissions = Aggregation.ofSubmissions(subreddit, range, topSubmitters(getAuthors(leaders)::contains, size));
+        return getTopAuthors(leaders, submissions);
     }
 
-    default SortedSet<Map.Entry<String, LimitedCommentSet>> getTopCommenters(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, int size){
-        Comparator<Map.Entry<String, LimitedCommentSet>> comparator = (u,v) -> Long.compare(v.getValue().getScore(), u.getValue().getScore());
-
-        return getComments(subreddit, range, defaultFilter)
-                .collect(Collectors.groupingBy(Comment::getAuthor, Collectors.toCollection(() -> new LimitedCommentSet(size))))
-                .entrySet()
-                .stream()
-                .sorted(comparator)
-                .limit(size)
-                .collect(Collectors.toCollection(() -> new TreeSet<>(comparator)));
+    /**
+     * Selects the commenters with the highest accumulated score, together with their top comments.<br>
+     * The leaderboard is computed first, only keeping the score of every author. The top comments are then
+     * collected for the selected authors only.
+     * @param subreddit the {@link Subreddit} associated with the comments.
+     * @param range the {@link Range} specifying the comments' age.
+     * @param size the maximum number of authors and comments per author.
+     * @return the top comments of every selected author, ordered by {@link Leader#ORDER}.
+     */
+    default Map<Leader, List<Comment>> getTopCommenters(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, int size){
+        List<Leader> leaders = Aggregation.ofComments(subreddit, range, commenterLeaderboard(size));
+        Map<String, TopK<Comment>> comments = Aggregation.ofComments(subreddit, range, topCommenters(getAuthors(leaders)::contains, size));
+        return getTopAuthors(leaders, comments);
     }
 
     //------------------------------------------------------------------------------------------------------------------
@@ -72,71 +94,100 @@ public interface SnowflakeCommand {
     //------------------------------------------------------------------------------------------------------------------
 
     default long countNsfwSubmissions(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
-        return getAllSubmissions(subreddit, range).filter(SubmissionTOP::getNsfw).count();
+        return getStatistics(subreddit, range, null).getNsfwSubmissions();
     }
 
     default long countSpoilerSubmissions(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
-        return getAllSubmissions(subreddit, range).filter(SubmissionTOP::getSpoiler).count();
+        return getStatistics(subreddit, range, null).getSpoilerSubmissions();
     }
 
     default long countSubmissions(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
-        return getAllSubmissions(subreddit, range).count();
+        return getStatistics(subreddit, range, null).getSubmissions();
     }
 
     default long countSubmissions(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, @Nonnull String account){
-        return getSubmissions(subreddit, range, account::equals).count();
+        return getStatistics(subreddit, range, account).getSubmissions();
     }
 
     default long countComments(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
-        return getAllComments(subreddit, range).count();
+        return getStatistics(subreddit, range, null).getComments();
     }
 
     default long countComments(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, @Nonnull String account){
-        return getComments(subreddit, range, account::equals).count();
+        return getStatistics(subreddit, range, account).getComments();
     }
 
     default long countUniqueSubmitters(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
-        return getSubmissions(subreddit, range, defaultFilter).map(Submission::getAuthor).distinct().count();
+        return countUniqueSubmitters(subreddit, range, true);
+    }
+
+    default long countUniqueSubmitters(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, boolean exact){
+        return Aggregation.ofColumns(subreddit, range, new ColumnStatistics(null, exact)).getUniqueSubmitters();
     }
 
     default long countUniqueCommenters(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
-        return getComments(subreddit, range, defaultFilter).map(Comment::getAuthor).distinct().count();
+        return countUniqueCommenters(subreddit, range, true);
+    }
+
+    default long countUniqueCommenters(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, boolean exact){
+        return Aggregation.ofColumns(subreddit, range, new ColumnStatistics(null, exact)).getUniqueCommenters();
     }
 
     default long countTotalSubmissionScore(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
-        return getAllSubmissions(subreddit, range).mapToLong(Submission::getScore).sum();
+        return getStatistics(subreddit, range, null).getSubmissionScore();
     }
 
     default long countTotalCommentScore(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
-        return getAllComments(subreddit, range).mapToLong(Comment::getScore).sum();
+        return getStatistics(subreddit, range, null).getCommentScore();
     }
 
     default double countSubmissionsPerDay(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
-        double numerator = countSubmissions(subreddit, range);
-        double denominator = domain.distance(range.lowerEndpoint(), range.upperEndpoint());
-
-        return numerator / denominator;
+        return perDay(countSubmissions(subreddit, range), range);
     }
 
     default double countSubmissionsPerDay(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, @Nonnull String author){
-        double numerator = countSubmissions(subreddit, range, author);
-        double denominator = domain.distance(range.lowerEndpoint(), range.upperEndpoint());
-
-        return numerator / denominator;
+        return perDay(countSubmissions(subreddit, range, author), range);
     }
 
     default double countCommentsPerDay(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
-        double numerator = countComments(subreddit, range);
-        double denominator = domain.distance(range.lowerEndpoint(), range.upperEndpoint());
-
-        return numerator / denominator;
+        return perDay(countComments(subreddit, range), range);
     }
 
     default double countCommentsPerDay(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, @Nonnull String author){
-        double numerator = countComments(subreddit, range, author);
-        double denominator = domain.distance(range.lowerEndpoint(), range.upperEndpoint());
+        return perDay(countComments(subreddit, range, author), range);
+    }
 
-        return numerator / denominator;
+    /**
+     * Computes the counts and scores over the cached columns of all days in the range.
+     * @param subreddit the {@link Subreddit} associated with the snowflakes.
+     * @param range the {@link Range} specifying the snowflakes' age.
+     * @param account the only author that is considered, or null if all authors are considered.
+     * @return the accumulated values.
+     */
+    default ColumnStatistics getStatistics(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, @Nullable String account){
+        return Aggregation.ofColumns(subreddit, range, new ColumnStatistics(account, true));
+    }
+
+    /**
+     * Computes all accumulated values over the submissions and comments within a single pass.
+     * The number of unique authors is estimated.
+     * @param subreddit the {@link Subreddit} associated with the snowflakes.
+     * @param range the {@link Range} specifying the snowflakes' age.
+     * @return the accumulated values.
+     */
+    default CoreStatistics getCoreStatistics(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
+        return getCoreStatistics(subreddit, range, false);
+    }
+
+    /**
+     * Computes all accumulated values over the submissions and comments within a single pass.
+     * @param subreddit the {@link Subreddit} associated with the snowflakes.
+     * @param range the {@link Range} specifying the snowflakes' age.
+     * @param exact whether the number of unique authors is counted exactly or only estimated.
+     * @return the accumulated values.
+     */
+    default CoreStatistics getCoreStatistics(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, boolean exact){
+        return new CoreStatistics(subreddit, range, exact);
     }
 
     //------------------------------------------------------------------------------------------------------------------
@@ -145,195 +196,205 @@ public interface SnowflakeCommand {
     //
     //------------------------------------------------------------------------------------------------------------------
 
-    default Set<Submission> getTopSubmissions(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, int size){
-        return getSubmissions(subreddit, range, defaultFilter).collect(Collectors.toCollection(() -> new LimitedSubmissionSet(size)));
+    default List<Submission> getTopSubmissions(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, int size){
+        return Aggregation.ofSubmissions(subreddit, range, topSubmissions(defaultFilter, size)).toList();
     }
 
-    default Set<Comment> getTopComments(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, int size){
-        return getComments(subreddit, range, defaultFilter).collect(Collectors.toCollection(() -> new LimitedCommentSet(size)));
+    default List<Comment> getTopComments(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, int size){
+        return Aggregation.ofComments(subreddit, range, topComments(defaultFilter, size)).toList();
     }
 
-    default Set<Submission> getTopSubmissions(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, String account, int size){
-        return getSubmissions(subreddit, range, account::equals).collect(Collectors.toCollection(() -> new LimitedSubmissionSet(size)));
+    default List<Submission> getTopSubmissions(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, String account, int size){
+        return Aggregation.ofSubmissions(subreddit, range, topSubmissions(account::equals, size)).toList();
     }
 
-    default Set<Comment> getTopComments(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, String account, int size){
-        return getComments(subreddit, range, account::equals).collect(Collectors.toCollection(() -> new LimitedCommentSet(size)));
+    default List<Comment> getTopComments(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, String account, int size){
+        return Aggregation.ofComments(subreddit, range, topComments(account::equals, size)).toList();
     }
 
     //------------------------------------------------------------------------------------------------------------------
     //
-    //      Helper functions
+    //      Accumulators
     //
     //------------------------------------------------------------------------------------------------------------------
 
-    default Stream<Submission> getAllSubmissions(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
-        return getSubmissions(subreddit, range, author -> true);
+    static Predicate<Submission> submittedBy(@Nonnull Predicate<String> authors){
+        return submission -> authors.test(submission.getAuthor());
     }
 
-    default Stream<Comment> getAllComments(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
-        return getComments(subreddit, range, author -> true);
+    static Predicate<Comment> commentedBy(@Nonnull Predicate<String> authors){
+        return comment -> authors.test(comment.getAuthor());
     }
 
     /**
-     * Creates an unordered {@link Stream} containing all submissions over the specified {@link Range}.
-     * @param subreddit the {@link Subreddit} associated with the submissions.
-     * @param range the {@link Range} specifying the submissions' age.
-     * @param authors a filter skipping all invalid authors.
-     * @return a {@link Stream} of submissions.
+     * @param exact whether the authors are counted exactly or only estimated.
+     * @return an accumulator over the number of unique submitters.
      */
-    default Stream<Submission> getSubmissions(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, @Nonnull Predicate<String> authors){
-        return ContiguousSet.create(range, domain)
-                .stream()
-                .map(date -> subreddit.getUncheckedSubmissions(date, domain.next(date)))
-                .flatMap(Collection::stream)
-                .filter(submission -> authors.test(submission.getAuthor()));
+    static Accumulator<Submission, Long> uniqueSubmitters(boolean exact){
+        if(exact)
+            return new UniqueAuthorAccumulator<>(Submission::getAuthor, defaultFilter);
+        else
+            return new ApproximateAuthorAccumulator<>(Submission::getAuthor, defaultFilter);
     }
 
     /**
-     * Creates an unordered {@link Stream} containing all comments over the specified {@link Range}.
-     * @param subreddit the {@link Subreddit} associated with the comments.
-     * @param range the {@link Range} specifying the comments' age.
-     * @param authors a filter skipping all invalid authors.
-     * @return a {@link Stream} of comments.
+     * @param exact whether the authors are counted exactly or only estimated.
+     * @return an accumulator over the number of unique commenters.
      */
-    default Stream<Comment> getComments(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, @Nonnull Predicate<String> authors){
-        return ContiguousSet.create(range, domain)
-                .stream()
-                .map(date -> subreddit.getUncheckedSubmissions(date, domain.next(date)))
-                .flatMap(Collection::stream)
-                .map(Submission::getComments)
-                .flatMap(Collection::stream)
-                .filter(submission -> authors.test(submission.getAuthor()));
+    static Accumulator<Comment, Long> uniqueCommenters(boolean exact){
+        if(exact)
+            return new UniqueAuthorAccumulator<>(Comment::getAuthor, defaultFilter);
+        else
+            return new ApproximateAuthorAccumulator<>(Comment::getAuthor, defaultFilter);
     }
 
-    //------------------------------------------------------------------------------------------------------------------
-    //
-    //      Utility Classes
-    //
-    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * @param flags the flags of a command.
+     * @return true if the flags contain the {@link #EXACT_FLAG}.
+     */
+    static boolean isExact(@Nonnull Collection<String> flags){
+        return flags.stream().anyMatch(EXACT_FLAG::equalsIgnoreCase);
+    }
 
-    class LimitedSubmissionSet extends LimitedSnowflakeSet<Submission> {
-        public LimitedSubmissionSet(int size) {
-            super(size);
-        }
+    /**
+     * @param flags the flags of a command.
+     * @return true if the flags contain the {@link #GZIP_FLAG}.
+     */
+    static boolean isCompressed(@Nonnull Collection<String> flags){
+        return flags.stream().anyMatch(GZIP_FLAG::equalsIgnoreCase);
+    }
 
-        @Override
-        protected long getScore(Submission object) {
-            return object.getScore();
-        }
+    static CollectionAccumulator<Submission, TopK<Submission>> topSubmissions(@Nonnull Predicate<String> authors, int size){
+        return new CollectionAccumulator<>(() -> new TopK<>(size, submissionOrder), TopK::merge, submittedBy(authors));
     }
 
-    class LimitedCommentSet extends LimitedSnowflakeSet<Comment> {
-        public LimitedCommentSet(int size) {
-            super(size);
-        }
+    static CollectionAccumulator<Comment, TopK<Comment>> topComments(@Nonnull Predicate<String> authors, int size){
+        return new CollectionAccumulator<>(() -> new TopK<>(size, commentOrder), TopK::merge, commentedBy(authors));
+    }
 
-        @Override
-        protected long getScore(Comment object) {
-            return object.getScore();
+    static AuthorGroupAccumulator<Submission, TopK<Submission>> topSubmitters(@Nonnull Predicate<String> authors, int size){
+        return new AuthorGroupAccumulator<>(Submission::getAuthor, authors, () -> new TopK<>(size, submissionOrder), TopK::merge);
+    }
+
+    static AuthorGroupAccumulator<Comment, TopK<Comment>> topCommenters(@Nonnull Predicate<String> authors, int size){
+        return new AuthorGroupAccumulator<>(Comment::getAuthor, authors, () -> new TopK<>(size, commentOrder), TopK::merge);
+    }
+
+    static LeaderboardAccumulator<Submission> submitterLeaderboard(int size){
+        return new LeaderboardAccumulator<>(Submission::getAuthor, Submission::getScore, defaultFilter, size);
+    }
+
+    static LeaderboardAccumulator<Comment> commenterLeaderboard(int size){
+        return new LeaderboardAccumulator<>(Comment::getAuthor, Comment::getScore, defaultFilter, size);
+    }
+
+    static Set<String> getAuthors(@Nonnull List<Leader> leaders){
+        return leaders.stream().map(Leader::getAuthor).collect(Collectors.toSet());
+    }
+
+    /**
+     * Associates every author on the leaderboard with its top snowflakes.
+     * @param leaders the authors with the highest combined score.
+     * @param groups the top snowflakes of the authors.
+     * @param <T> the type of the grouped snowflakes.
+     * @return the top snowflakes of every author, in the order of the leaderboard.
+     */
+    static <T> Map<Leader, List<T>> getTopAuthors(@Nonnull List<Leader> leaders, @Nonnull Map<String, TopK<T>> groups){
+        Map<Leader, List<T>> result = new LinkedHashMap<>();
+
+        for(Leader leader : leaders) {
+            TopK<T> group = groups.get(leader.getAuthor());
+            result.put(leader, group == null ? Collections.emptyList() : group.toList());
         }
+
+        return result;
     }
 
     /**
-     * A helper class to minimize the overhead when grouping entities.
-     * In case where we have to group snowflakes based on an attribute, to get the ones with the highest score,
-     * it is not required to keep those entities, that are outside of the range we are interested in.
-     * However, if we would simply discard them, we would run into troubles when sorting them based on their
-     * combined score.<br>
-     * To solve this issue, we separate the top entities from the accumulated score.
-     * @param <T> the entity type.
+     * @param count the number of snowflakes in the range.
+     * @param range the time interval of the snowflakes.
+     * @return the average number of snowflakes per day.
      */
-    abstract class LimitedSnowflakeSet<T> extends AbstractSet<T> {
-        /**
-         * The internal sorted set, containing the top snowflakes.
-         */
-        private final TreeSet<T> delegator;
-        /**
-         * The number of top snowflakes that are kept.
-         */
-        private final int size;
-        /**
-         * The combined score over all snowflakes.
-         */
-        private long score = 0;
-        /**
-         * The number of snowflakes added to the set.
-         */
-        private long count;
+    static double perDay(long count, @Nonnull Range<Instant> range){
+        double numerator = count;
+        double denominator = domain.distance(range.lowerEndpoint(), range.upperEndpoint());
+
+        return numerator / denominator;
+    }
 
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Utility Classes
+    //
+    //------------------------------------------------------------------------------------------------------------------
 
-        /**
-         * Creates an empty set.
-         * @param size the number of top snowflakes that are kept.
-         */
-        public LimitedSnowflakeSet(int size){
-            Comparator<T> comparator = Comparator.comparingLong(this::getScore);
+    /**
+     * The accumulated values of the submissions and comments over a range.
+     */
+    class CoreStatistics {
+        private final Range<Instant> range;
+        private final ColumnStatistics statistics;
 
-            this.size = size;
-            this.delegator = new TreeSet<>(comparator.reversed());
+        public CoreStatistics(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, boolean exact){
+            this.range = range;
+            this.statistics = Aggregation.ofColumns(subreddit, range, new ColumnStatistics(null, exact));
         }
 
         /**
-         * @return the combined score of all snowflakes.
+         * @return true if the number of unique authors is exact, false if it is an estimate.
          */
-        public long getScore(){
-            return score;
+        public boolean isExact(){
+            return statistics.isExact();
         }
 
-        protected abstract long getScore(T object);
+        public long getSubmissions(){
+            return statistics.getSubmissions();
+        }
 
-        /**
-         * @return the total amount of snowflakes.
-         */
-        public long getCount(){
-            return count;
+        public long getComments(){
+            return statistics.getComments();
         }
 
-        /**
-         * @return a {@link Stream} over all top snowflakes.
-         */
-        public Stream<T> getValues(){
-            return delegator.stream();
+        public long getUniqueSubmitters(){
+            return statistics.getUniqueSubmitters();
         }
 
-        /**
-         * If the score is higher than the bottom of the internal set, the bottom is removed and the new entry
-         * is added to the set. Otherwise the new element is discarded.<br>
-         * In any case, the score of the new snowflake is added to the accumulated score.
-         * @param object the object that is added to the set
-         * @return true
-         */
-        @Override
-        public synchronized boolean add(T object){
-            delegator.add(object);
-            score += getScore(object);
-            count++;
-            if(delegator.size() > size){
-                //Delete the element with the lowest score
-                Iterator<T> iterator = delegator.descendingIterator();
-                iterator.next();
-                iterator.remove();
-            }
-
-            return true;
+        public long getUniqueCommenters(){
+            return statistics.getUniqueCommenters();
         }
 
         /**
-         * @return an iterator over the top snowflakes
+         * @return the number of unique submitters, prefixed with a '~' if it is only an estimate.
          */
-        @Nonnull
-        @Override
-        public Iterator<T> iterator() {
-            return delegator.iterator();
+        public String formatUniqueSubmitters(){
+            return format(getUniqueSubmitters());
         }
 
         /**
-         * @return the number of top submissions stored so far
+         * @return the number of unique commenters, prefixed with a '~' if it is only an estimate.
          */
-        @Override
-        public int size() {
-            return delegator.size();
+        public String formatUniqueCommenters(){
+            return format(getUniqueCommenters());
+        }
+
+        private String format(long uniqueAuthors){
+            return isExact() ? Long.toString(uniqueAuthors) : "~" + uniqueAuthors;
+        }
+
+        public long getTotalSubmissionScore(){
+            return statistics.getSubmissionScore();
+        }
+
+        public long getTotalCommentScore(){
+            return statistics.getCommentScore();
+        }
+
+        public double getSubmissionsPerDay(){
+            return perDay(getSubmissions(), range);
+        }
+
+        public double getCommentsPerDay(){
+            return perDay(getComments(), range);
         }
     }
 
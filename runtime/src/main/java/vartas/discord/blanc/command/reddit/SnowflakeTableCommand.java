@@ -20,22 +20,30 @@ package vartas.discord.blanc.command.reddit;
 import com.google.common.collect.Range;
 import vartas.discord.blanc.$factory.MessageEmbedFactory;
 import vartas.discord.blanc.MessageEmbed;
+import vartas.discord.blanc.command.reddit.aggregation.Leader;
 import vartas.reddit.Comment;
 import vartas.reddit.Submission;
 import vartas.reddit.Subreddit;
 
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
 import static vartas.discord.blanc.Main.REDDIT_CLIENT;
+import static vartas.discord.blanc.Main.REDDIT_RESULTS;
 
 public class SnowflakeTableCommand extends SnowflakeTableCommandTOP implements SnowflakeCommand{
     private static final int size = 10;
 
     @Override
     public void run() {
+        ResultCache.Key key = new ResultCache.Key(getClass(), getSubreddit(), getFrom(), getTo(), getType(), get$Flags());
+        complete(REDDIT_RESULTS.get(key, this::render).sendAsync(get$MessageChannel()));
+    }
+
+    private RenderedResult render(){
         Instant inclusiveFrom = getFrom().atStartOfDay(ZoneOffset.UTC).toInstant();
         Instant exclusiveTo = getTo().atStartOfDay(ZoneOffset.UTC).toInstant();
         Range<Instant> range = Range.closedOpen(inclusiveFrom, exclusiveTo);
@@ -44,49 +52,44 @@ public class SnowflakeTableCommand extends SnowflakeTableCommandTOP implements S
 
         switch(getType().toLowerCase(Locale.ENGLISH)){
             case "submission":
-                printTopSubmissions(subreddit, range);
-                break;
+                return printTopSubmissions(subreddit, range);
             case "submitter":
-                printTopSubmitters(subreddit, range);
-                break;
+                return printTopSubmitters(subreddit, range);
             case "comment":
-                printTopComments(subreddit, range);
-                break;
+                return printTopComments(subreddit, range);
             case "commenter":
-                printTopCommenters(subreddit, range);
-                break;
+                return printTopCommenters(subreddit, range);
             case "core":
-                printCore(subreddit, range);
-                break;
+                return printCore(subreddit, range);
             default:
                 throw new IllegalArgumentException(type + " is not a valid type.");
         }
     }
 
-    private void printTopSubmissions(Subreddit subreddit, Range<Instant> range){
+    private RenderedResult printTopSubmissions(Subreddit subreddit, Range<Instant> range){
         MessageEmbed messageEmbed = MessageEmbedFactory.create();
         for(Submission submission : getTopSubmissions(subreddit, range, size)){
             String title = String.format("[%d] by u/%s", submission.getScore(), submission.getAuthor());
             String content = String.format("[%s](%s)", submission.getTitle(), submission.getShortLink());
             messageEmbed.addFields(title, content);
         }
-        get$MessageChannel().send(messageEmbed);
+        return RenderedResult.of(messageEmbed);
     }
 
-    private void printTopComments(Subreddit subreddit, Range<Instant> range){
+    private RenderedResult printTopComments(Subreddit subreddit, Range<Instant> range){
         MessageEmbed messageEmbed = MessageEmbedFactory.create();
         for(Comment comment : getTopComments(subreddit, range, size)){
             String title = String.format("[%d] by u/%s", comment.getScore(), comment.getAuthor());
             String content = String.format("[%s](%s)", comment.getSubmission().getTitle(), comment.getPermaLink());
             messageEmbed.addFields(title, content);
         }
-        get$MessageChannel().send(messageEmbed);
+        return RenderedResult.of(messageEmbed);
     }
 
-    private void printTopSubmitters(Subreddit subreddit, Range<Instant> range){
+    private RenderedResult printTopSubmitters(Subreddit subreddit, Range<Instant> range){
         MessageEmbed messageEmbed = MessageEmbedFactory.create();
-        for(Map.Entry<String, LimitedSubmissionSet> entry : getTopSubmitters(subreddit, range, size)){
-            String title = String.format("u/%s [%d]", entry.getKey(), entry.getValue().getScore());
+        for(Map.Entry<Leader, List<Submission>> entry : getTopSubmitters(subreddit, range, size).entrySet()){
+            String title = String.format("u/%s [%d]", entry.getKey().getAuthor(), entry.getKey().getScore());
             for(Submission submission : entry.getValue()){
                 String content = String.format("[%s](%s)[%d]", submission.getTitle(), submission.getShortLink(), submission.getScore());
                 messageEmbed.addFields(title, content);
@@ -94,13 +97,13 @@ public class SnowflakeTableCommand extends SnowflakeTableCommandTOP implements S
                 break;
             }
         }
-        get$MessageChannel().send(messageEmbed);
+        return RenderedResult.of(messageEmbed);
     }
 
-    private void printTopCommenters(Subreddit subreddit, Range<Instant> range){
+    private RenderedResult printTopCommenters(Subreddit subreddit, Range<Instant> range){
         MessageEmbed messageEmbed = MessageEmbedFactory.create();
-        for(Map.Entry<String, LimitedCommentSet> entry : getTopCommenters(subreddit, range, size)){
-            String title = String.format("u/%s [%d]", entry.getKey(), entry.getValue().getScore());
+        for(Map.Entry<Leader, List<Comment>> entry : getTopCommenters(subreddit, range, size).entrySet()){
+            String title = String.format("u/%s [%d]", entry.getKey().getAuthor(), entry.getKey().getScore());
             for(Comment comment : entry.getValue()){
                 String content = String.format("[%s](%s)[%d]", comment.getSubmission().getTitle(), comment.getPermaLink(), comment.getScore());
                 messageEmbed.addFields(title, content);
@@ -108,19 +111,20 @@ public class SnowflakeTableCommand extends SnowflakeTableCommandTOP implements S
                 break;
             }
         }
-        get$MessageChannel().send(messageEmbed);
+        return RenderedResult.of(messageEmbed);
     }
 
-    private void printCore(Subreddit subreddit, Range<Instant> range){
+    private RenderedResult printCore(Subreddit subreddit, Range<Instant> range){
+        CoreStatistics statistics = getCoreStatistics(subreddit, range, SnowflakeCommand.isExact(get$Flags()));
         MessageEmbed messageEmbed = MessageEmbedFactory.create();
-        messageEmbed.addFields("#Submissions", countSubmissions(subreddit, range), true);
-        messageEmbed.addFields("#Comments", countComments(subreddit, range), true);
-        messageEmbed.addFields("#Unique Submitters", countUniqueSubmitters(subreddit, range), true);
-        messageEmbed.addFields("#Unique Commenters", countUniqueCommenters(subreddit, range), true);
-        messageEmbed.addFields("Total Submission Score", countTotalSubmissionScore(subreddit, range), true);
-        messageEmbed.addFields("Total Comment Score", countTotalCommentScore(subreddit, range), true);
-        messageEmbed.addFields("#Submissions/day", countSubmissionsPerDay(subreddit, range), true);
-        messageEmbed.addFields("#Comments/day", countCommentsPerDay(subreddit, range), true);
-        get$MessageChannel().send(messageEmbed);
+        messageEmbed.addFields("#Submissions", statistics.getSubmissions(), true);
+        messageEmbed.addFields("#Comments", statistics.getComments(), true);
+        messageEmbed.addFields("#Unique Submitters", statistics.formatUniqueSubmitters(), true);
+        messageEmbed.addFields("#Unique Commenters", statistics.formatUniqueCommenters(), true);
+        messageEmbed.addFields("Total Submission Score", statistics.getTotalSubmissionScore(), true);
+        messageEmbed.addFields("Total Comment Score", statistics.getTotalCommentScore(), true);
+        messageEmbed.addFields("#Submissions/day", statistics.getSubmissionsPerDay(), true);
+        messageEmbed.addFields("#Comments/day", statistics.getCommentsPerDay(), true);
+        return RenderedResult.of(messageEmbed);
     }
 }
@@ -18,31 +18,28 @@
 package vartas.discord.blanc.command.reddit;
 
 import chart.pie.JFreePieChart;
-import com.google.common.collect.ContiguousSet;
-import com.google.common.collect.DiscreteDomain;
 import com.google.common.collect.Range;
-import org.apache.http.client.HttpResponseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import vartas.chart.pie.$factory.NumberDatasetFactory;
 import vartas.chart.pie.$factory.PieChartFactory;
 import vartas.chart.pie.Dataset;
 import vartas.chart.pie.PieChart;
-import vartas.reddit.JSONSubreddit;
-import vartas.reddit.Submission;
+import vartas.discord.blanc.command.reddit.aggregation.Aggregation;
+import vartas.discord.blanc.command.reddit.aggregation.FlairAccumulator;
+import vartas.discord.blanc.command.reddit.aggregation.TagAccumulator;
 import vartas.reddit.Subreddit;
-import vartas.reddit.UnsuccessfulRequestException;
 
 import java.awt.*;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
 import static vartas.discord.blanc.Main.REDDIT_CLIENT;
+import static vartas.discord.blanc.Main.REDDIT_RESULTS;
 
 public class SubmissionCommand extends SubmissionCommandTOP {
     private static final String BOTH = "both";
@@ -57,7 +54,6 @@ public class SubmissionCommand extends SubmissionCommandTOP {
     private static final int HEIGHT = 768;
 
     private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
-    private final DiscreteDomain<LocalDate> domain = new JSONSubreddit.DiscreteLocalDateDomain();
     private Subreddit subreddit;
     private Range<LocalDate> range;
 
@@ -70,91 +66,86 @@ public class SubmissionCommand extends SubmissionCommandTOP {
 
     @Override
     public void run() {
+        ResultCache.Key key = new ResultCache.Key(getClass(), getSubreddit(), getFrom(), getTo(), getType(), get$Flags());
+        complete(REDDIT_RESULTS.get(key, this::render).sendAsync(get$MessageChannel()));
+    }
+
+    private RenderedResult render(){
         subreddit = REDDIT_CLIENT.getUncheckedSubreddits(getSubreddit());
         range = Range.closedOpen(getFrom(), getTo());
 
-        try {
-            PieChart chart;
-            switch (type.toLowerCase(Locale.ENGLISH)) {
-                case "tag":
-                    chart = createTagChart();
-                    break;
-                case "flair":
-                    chart = createFlairChart();
-                    break;
-                default:
-                    throw new IllegalArgumentException(type + " is not a valid type.");
-            }
-
-            send$MessageChannel(chart.create(WIDTH, HEIGHT), getSubreddit());
-        }catch(HttpResponseException | UnsuccessfulRequestException e){
-            throw new IllegalStateException(e);
+        PieChart chart;
+        switch (type.toLowerCase(Locale.ENGLISH)) {
+            case "tag":
+                chart = createTagChart();
+                break;
+            case "flair":
+                chart = createFlairChart();
+                break;
+            default:
+                throw new IllegalArgumentException(type + " is not a valid type.");
         }
+
+        //The result is shared with all requests for this subreddit, regardless of how they spelled it
+        return RenderedResult.of(chart.create(WIDTH, HEIGHT), subreddit.getName());
     }
 
-    private PieChart createTagChart() throws UnsuccessfulRequestException, HttpResponseException {
-        PieChart chart = PieChartFactory.create(JFreePieChart::new, "Submission tags over r/" + getSubreddit());
-        Map<String, Long> data = countTags();
+    private PieChart createTagChart() {
+        PieChart chart = PieChartFactory.create(JFreePieChart::new, "Submission tags over r/" + subreddit.getName());
+        Map<String, Long> data = countTags(subreddit, getInstants());
         createChart(chart, data, COLORS);
         return chart;
     }
 
-    private Map<String, Long> countTags() throws HttpResponseException, UnsuccessfulRequestException {
+    /**
+     * Counts the submissions by their tags. Submissions are either untagged, NSFW, spoiler or both.
+     * @param subreddit the {@link Subreddit} containing the submissions.
+     * @param range the time interval of the submissions.
+     * @return the number of submissions for every tag.
+     */
+    public static Map<String, Long> countTags(Subreddit subreddit, Range<Instant> range) {
         Map<String, Long> data = new HashMap<>();
+        TagAccumulator tags = Aggregation.ofColumns(subreddit, range, new TagAccumulator());
 
-        //Gather data
-        for(LocalDate date : ContiguousSet.create(range, domain)){
-            Instant inclusiveFrom = date.atStartOfDay(ZoneOffset.UTC).toInstant();
-            Instant exclusiveTo = domain.next(date).atStartOfDay(ZoneOffset.UTC).toInstant();
-
-            log.info("Requesting submissions over [{}, {})", inclusiveFrom, exclusiveTo);
-            log.info(subreddit.getClass().toString());
-
-            List<Submission> submissions = subreddit.getSubmissions(inclusiveFrom, exclusiveTo);
-
-            for(Submission submission : submissions){
-                if(submission.getNsfw() && submission.getSpoiler())
-                    data.merge(BOTH, 1L, Long::sum);
-                else if(submission.getNsfw())
-                    data.merge(NSFW, 1L, Long::sum);
-                else if(submission.getSpoiler())
-                    data.merge(SPOILER, 1L, Long::sum);
-                else
-                    data.merge(UNTAGGED, 1L, Long::sum);
-            }
-        }
+        putIfPositive(data, BOTH, tags.getBoth());
+        putIfPositive(data, NSFW, tags.getNsfw());
+        putIfPositive(data, SPOILER, tags.getSpoiler());
+        putIfPositive(data, UNTAGGED, tags.getUntagged());
 
         return data;
     }
 
-    private PieChart createFlairChart() throws UnsuccessfulRequestException, HttpResponseException {
-        PieChart chart = PieChartFactory.create(JFreePieChart::new, "Submission flairs over r/"+getSubreddit());
-        Map<String, Long> data = countFlairs();
+    private static void putIfPositive(Map<String, Long> data, String tag, long count){
+        if(count > 0)
+            data.put(tag, count);
+    }
+
+    private PieChart createFlairChart() {
+        PieChart chart = PieChartFactory.create(JFreePieChart::new, "Submission flairs over r/"+subreddit.getName());
+        Map<String, Long> data = countFlairs(subreddit, getInstants());
         createChart(chart, data, new HashMap<>());
         return chart;
     }
 
-    private Map<String, Long> countFlairs() throws HttpResponseException, UnsuccessfulRequestException {
-        Map<String, Long> data = new HashMap<>();
-
-        //Gather data
-        for(LocalDate date : ContiguousSet.create(range, domain)){
-            Instant inclusiveFrom = date.atStartOfDay(ZoneOffset.UTC).toInstant();
-            Instant exclusiveTo = domain.next(date).atStartOfDay(ZoneOffset.UTC).toInstant();
-
-            log.info("Requesting submissions over ({}, {}]", inclusiveFrom, exclusiveTo);
-
-            List<Submission> submissions = subreddit.getSubmissions(inclusiveFrom, exclusiveTo);
+    /**
+     * Counts the submissions by their link flair. Submissions without a flair are labeled as
+     * {@link FlairAccumulator#UNFLAIRED unflaired}.
+     * @param subreddit the {@link Subreddit} containing the submissions.
+     * @param range the time interval of the submissions.
+     * @return the number of submissions for every flair.
+     */
+    public static Map<String, Long> countFlairs(Subreddit subreddit, Range<Instant> range) {
+        return Aggregation.ofColumns(subreddit, range, new FlairAccumulator());
+    }
 
-            for(Submission submission : submissions){
-                String label;
-                label = submission.getLinkFlairText().orElse("unflaired");
-                label = label.isBlank() ? "unflaired" : label;
-                data.merge(label, 1L, Long::sum);
-            }
-        }
+    private Range<Instant> getInstants(){
+        Range<Instant> instants = Range.closedOpen(
+                range.lowerEndpoint().atStartOfDay(ZoneOffset.UTC).toInstant(),
+                range.upperEndpoint().atStartOfDay(ZoneOffset.UTC).toInstant()
+        );
 
-        return data;
+        log.info("Requesting submissions over [{}, {})", instants.lowerEndpoint(), instants.upperEndpoint());
+        return instants;
     }
 
     private void createChart(PieChart chart, Map<String, Long> data, Map<String, Color> colors){
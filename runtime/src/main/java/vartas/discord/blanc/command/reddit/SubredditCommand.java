@@ -25,17 +25,29 @@ import vartas.chart.line.$factory.LineChartFactory;
 import vartas.chart.line.$factory.NumberDatasetFactory;
 import vartas.chart.line.LineChart;
 import vartas.chart.line.Position;
+import vartas.discord.blanc.command.reddit.aggregation.Accumulator;
+import vartas.discord.blanc.command.reddit.aggregation.Aggregation;
+import vartas.discord.blanc.command.reddit.aggregation.DailyAccumulator;
+import vartas.discord.blanc.command.reddit.aggregation.DailyRollup;
+import vartas.reddit.Comment;
 import vartas.reddit.JSONSubreddit;
+import vartas.reddit.Submission;
 import vartas.reddit.Subreddit;
 
 import java.awt.*;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.ToLongFunction;
 
 import static vartas.discord.blanc.Main.REDDIT_CLIENT;
+import static vartas.discord.blanc.Main.REDDIT_RESULTS;
+import static vartas.discord.blanc.Main.REDDIT_ROLLUPS;
 
 public class SubredditCommand extends SubredditCommandTOP implements SnowflakeCommand{
     private static final Rectangle dimension = new Rectangle(1024, 768);
@@ -46,6 +58,11 @@ public class SubredditCommand extends SubredditCommandTOP implements SnowflakeCo
 
     @Override
     public void run() {
+        ResultCache.Key key = new ResultCache.Key(getClass(), getSubreddit(), getFrom(), getTo(), getGranularity(), get$Flags());
+        complete(REDDIT_RESULTS.get(key, this::render).sendAsync(get$MessageChannel()));
+    }
+
+    private RenderedResult render(){
         subreddit = REDDIT_CLIENT.getUncheckedSubreddits(getSubreddit());
         range = Range.closedOpen(getFrom(), getTo());
 
@@ -57,73 +74,85 @@ public class SubredditCommand extends SubredditCommandTOP implements SnowflakeCo
                 String.format("Snowflake Chart over r/%s (per %s)", subreddit.getName(), getGranularity().name().toLowerCase())
         );
 
-        for(String flag : get$Flags()){
-            switch(flag.toLowerCase(Locale.ENGLISH)){
+        Range<Instant> instants = Range.closedOpen(
+                getFrom().atStartOfDay(ZoneOffset.UTC).toInstant(),
+                getTo().atStartOfDay(ZoneOffset.UTC).toInstant()
+        );
+        boolean exact = SnowflakeCommand.isExact(get$Flags());
+
+        //Closed days are read from the stored rollups, only today is computed from the raw data
+        NavigableMap<Instant, DailyRollup> rollups = REDDIT_ROLLUPS.getRollups(subreddit, instants);
+
+        //The result is shared with all requests with the same flags, regardless of their order and spelling
+        Set<String> flags = new TreeSet<>();
+        for(String flag : get$Flags())
+            flags.add(flag.toLowerCase(Locale.ENGLISH));
+
+        for(String flag : flags){
+            switch(flag){
                 case "submission":
-                    addSubmissions(chart);
+                    addEntries(chart, rollups, "#Submissions", DailyRollup::getSubmissions);
+                    addEntries(chart, rollups, "#NSFW Submissions", DailyRollup::getNsfwSubmissions);
+                    addEntries(chart, rollups, "#Spoiler Submissions", DailyRollup::getSpoilerSubmissions);
                     break;
                 case "submitter":
-                    addSubmitters(chart);
+                    if(exact)
+                        addEntries(chart, "#Unique Submitters", getExactSubmitters(subreddit, instants));
+                    else
+                        addEntries(chart, rollups, "#Unique Submitters", DailyRollup::getUniqueSubmitters);
                     break;
                 case "comment":
-                    addComments(chart);
+                    addEntries(chart, rollups, "#Comments", DailyRollup::getComments);
                     break;
                 case "commenter":
-                    addCommenters(chart);
+                    if(exact)
+                        addEntries(chart, "#Unique Commenters", getExactCommenters(subreddit, instants));
+                    else
+                        addEntries(chart, rollups, "#Unique Commenters", DailyRollup::getUniqueCommenters);
+                    break;
+                case EXACT_FLAG:
                     break;
                 default:
                     throw new IllegalArgumentException(flag + " is not a valid flag.");
             }
         }
 
-        get$MessageChannel().send(chart.create(dimension.width, dimension.height), getSubreddit()+".png");
+        return RenderedResult.of(chart.create(dimension.width, dimension.height), subreddit.getName());
     }
 
-    private void addSubmissions(LineChart chart){
-        for(LocalDate date : ContiguousSet.create(range, domain)) {
-            Instant inclusiveFrom = date.atStartOfDay(ZoneOffset.UTC).toInstant();
-            Instant exclusiveTo = domain.next(date).atStartOfDay(ZoneOffset.UTC).toInstant();
-            Range<Instant> range = Range.closedOpen(inclusiveFrom, exclusiveTo);
-            LocalDateTime day = date.atStartOfDay();
-
-            chart.addEntries(NumberDatasetFactory.create(countSubmissions(subreddit, range), day, "#Submissions", Position.LEFT));
-            chart.addEntries(NumberDatasetFactory.create(countNsfwSubmissions(subreddit, range), day, "#NSFW Submissions", Position.LEFT));
-            chart.addEntries(NumberDatasetFactory.create(countSpoilerSubmissions(subreddit, range), day, "#Spoiler Submissions", Position.LEFT));
-        }
+    /**
+     * @param subreddit the {@link Subreddit} containing the submissions.
+     * @param instants the time interval of the submissions.
+     * @return the exact number of unique submitters for every day in the range.
+     */
+    public static Map<Instant, Long> getExactSubmitters(Subreddit subreddit, Range<Instant> instants){
+        Accumulator<Submission, Long> accumulator = SnowflakeCommand.uniqueSubmitters(true);
+        return Aggregation.ofSubmissions(subreddit, instants, new DailyAccumulator<>(Submission::getCreated, accumulator));
     }
 
-    private void addComments(LineChart chart){
-        for(LocalDate date : ContiguousSet.create(range, domain)) {
-            Instant inclusiveFrom = date.atStartOfDay(ZoneOffset.UTC).toInstant();
-            Instant exclusiveTo = domain.next(date).atStartOfDay(ZoneOffset.UTC).toInstant();
-            Range<Instant> range = Range.closedOpen(inclusiveFrom, exclusiveTo);
-            LocalDateTime day = date.atStartOfDay();
-
-            chart.addEntries(NumberDatasetFactory.create(countComments(subreddit, range), day, "#Comments", Position.LEFT));
-        }
+    /**
+     * @param subreddit the {@link Subreddit} containing the comments.
+     * @param instants the time interval of the comments.
+     * @return the exact number of unique commenters for every day in the range.
+     */
+    public static Map<Instant, Long> getExactCommenters(Subreddit subreddit, Range<Instant> instants){
+        //Comments are associated with the day of their submission
+        Accumulator<Comment, Long> accumulator = SnowflakeCommand.uniqueCommenters(true);
+        return Aggregation.ofComments(subreddit, instants, new DailyAccumulator<>(comment -> comment.getSubmission().getCreated(), accumulator));
     }
 
-    private void addSubmitters(LineChart chart){
+    private void addEntries(LineChart chart, Map<Instant, DailyRollup> rollups, String label, ToLongFunction<DailyRollup> value){
         for(LocalDate date : ContiguousSet.create(range, domain)) {
-            Instant inclusiveFrom = date.atStartOfDay(ZoneOffset.UTC).toInstant();
-            Instant exclusiveTo = domain.next(date).atStartOfDay(ZoneOffset.UTC).toInstant();
-            Range<Instant> range = Range.closedOpen(inclusiveFrom, exclusiveTo);
-            LocalDateTime day = date.atStartOfDay();
-
-            chart.addEntries(NumberDatasetFactory.create(countUniqueSubmitters(subreddit, range), day, "#Unique Submitters", Position.LEFT));
-
+            DailyRollup rollup = rollups.get(date.atStartOfDay(ZoneOffset.UTC).toInstant());
+            long count = rollup == null ? 0 : value.applyAsLong(rollup);
+            chart.addEntries(NumberDatasetFactory.create(count, date.atStartOfDay(), label, Position.LEFT));
         }
     }
 
-    private void addCommenters(LineChart chart){
+    private void addEntries(LineChart chart, String label, Map<Instant, Long> values){
         for(LocalDate date : ContiguousSet.create(range, domain)) {
-            Instant inclusiveFrom = date.atStartOfDay(ZoneOffset.UTC).toInstant();
-            Instant exclusiveTo = domain.next(date).atStartOfDay(ZoneOffset.UTC).toInstant();
-            Range<Instant> range = Range.closedOpen(inclusiveFrom, exclusiveTo);
-            LocalDateTime day = date.atStartOfDay();
-
-            chart.addEntries(NumberDatasetFactory.create(countUniqueCommenters(subreddit, range), day, "#Unique Commenters", Position.LEFT));
-
+            long count = values.getOrDefault(date.atStartOfDay(ZoneOffset.UTC).toInstant(), 0L);
+            chart.addEntries(NumberDatasetFactory.create(count, date.atStartOfDay(), label, Position.LEFT));
         }
     }
 }
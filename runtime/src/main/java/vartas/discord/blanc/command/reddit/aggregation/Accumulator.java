@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+
+/**
+ * An accumulator receives every snowflake of an {@link Aggregation} exactly once and computes a single result
+ * out of them. Multiple accumulators can be attached to the same aggregation, allowing to compute all
+ * statistics within a single pass over the data.
+ * <p>
+ * In order to process the snowflakes of an aggregation in parallel, every partition is evaluated by its own
+ * {@link #copy() copy} of the accumulator. The partial results are then {@link #combine(Accumulator) combined}
+ * in a fixed order, so that the final result doesn't depend on which partition finished first.
+ * @param <T> the type of the accumulated snowflakes.
+ * @param <R> the type of the result.
+ */
+public interface Accumulator<T, R> {
+    /**
+     * Adds the snowflake to the accumulated result.
+     * @param value the next snowflake.
+     */
+    void accept(@Nonnull T value);
+
+    /**
+     * @return the result over all snowflakes that have been accepted so far.
+     */
+    @Nonnull
+    R get();
+
+    /**
+     * Creates an empty accumulator with the same configuration as this instance.
+     * @return a new accumulator that hasn't accepted any snowflakes yet.
+     */
+    @Nonnull
+    Accumulator<T, R> copy();
+
+    /**
+     * Adds the snowflakes accepted by the other accumulator to this instance.<br>
+     * The argument is always a {@link #copy() copy} of this accumulator and is no longer used afterwards.
+     * @param other an accumulator created by {@link #copy()}.
+     */
+    void combine(@Nonnull Accumulator<T, R> other);
+}
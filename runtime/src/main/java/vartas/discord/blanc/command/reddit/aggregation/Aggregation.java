@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.Range;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import vartas.discord.blanc.command.reddit.SnowflakeCommand;
+import vartas.reddit.Comment;
+import vartas.reddit.Submission;
+import vartas.reddit.Subreddit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * The engine for computing statistics over the submissions and comments of a {@link Subreddit}.<br>
+ * All {@link Accumulator accumulators} are registered before the aggregation is executed. The submissions
+ * are then requested once for every day in the range and every submission, as well as every comment, is
+ * passed to all accumulators of the corresponding type. Comments are only visited if at least one accumulator
+ * requires them.<br>
+ * {@link ColumnAccumulator Column accumulators} receive the {@link SnowflakeColumns columns} of every day instead,
+ * which are taken from the shared {@link ColumnarCache}. If only column accumulators are registered, the submissions
+ * are only requested for days that aren't cached.
+ * <p>
+ * Every day is a separate partition. Since requesting the submissions of a single day may involve reading from
+ * the disk or even a request to Reddit, multiple partitions are evaluated in parallel, each with its own copy of
+ * the accumulators. The partial results are combined in chronological order, once all partitions are done.<br>
+ * All aggregations share the same, bounded {@link #EXECUTOR}, limiting the number of concurrent requests across all
+ * commands. In addition, a single aggregation only ever occupies {@link #PARTITIONS_PER_AGGREGATION} threads, so
+ * that a command over a large range can't starve the other commands.
+ */
+@Nonnull
+public class Aggregation {
+    /**
+     * The maximum number of partitions that are evaluated concurrently over all aggregations.
+     */
+    public static final int PARALLELISM = Math.max(4, Runtime.getRuntime().availableProcessors());
+    /**
+     * The maximum number of partitions that are evaluated concurrently within a single aggregation.
+     */
+    public static final int PARTITIONS_PER_AGGREGATION = Math.max(1, PARALLELISM / 2);
+    /**
+     * The thread pool shared by all aggregations and {@link RangeLoader range loaders}.
+     */
+    @Nonnull
+    static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            PARALLELISM,
+            new ThreadFactoryBuilder().setNameFormat("Aggregation#%d").setDaemon(true).build()
+    );
+    /**
+     * The columns of all recently requested days, shared by all aggregations.
+     */
+    @Nonnull
+    public static final ColumnarCache CACHE = new ColumnarCache();
+    /**
+     * The {@link Subreddit} containing the snowflakes.
+     */
+    @Nonnull
+    private final Subreddit subreddit;
+    /**
+     * The time interval of the snowflakes.
+     */
+    @Nonnull
+    private final Range<Instant> range;
+    /**
+     * All accumulators for submissions.
+     */
+    @Nonnull
+    private final List<Accumulator<Submission, ?>> submissions = new ArrayList<>();
+    /**
+     * All accumulators for comments.
+     */
+    @Nonnull
+    private final List<Accumulator<Comment, ?>> comments = new ArrayList<>();
+    /**
+     * All accumulators for the columns.
+     */
+    @Nonnull
+    private final List<Accumulator<SnowflakeColumns, ?>> columns = new ArrayList<>();
+
+    /**
+     * @param subreddit the {@link Subreddit} containing the snowflakes.
+     * @param range the time interval of the snowflakes.
+     */
+    public Aggregation(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
+        this.subreddit = subreddit;
+        this.range = range;
+    }
+
+    /**
+     * Registers an accumulator receiving all submissions.
+     * @param accumulator the new accumulator.
+     * @param <A> the type of the accumulator.
+     * @return the accumulator, containing the result after the aggregation has been executed.
+     */
+    @Nonnull
+    public <A extends Accumulator<Submission, ?>> A submissions(@Nonnull A accumulator){
+        submissions.add(accumulator);
+        return accumulator;
+    }
+
+    /**
+     * Registers an accumulator receiving all comments.
+     * @param accumulator the new accumulator.
+     * @param <A> the type of the accumulator.
+     * @return the accumulator, containing the result after the aggregation has been executed.
+     */
+    @Nonnull
+    public <A extends Accumulator<Comment, ?>> A comments(@Nonnull A accumulator){
+        comments.add(accumulator);
+        return accumulator;
+    }
+
+    /**
+     * Registers an accumulator receiving the columns of all days.
+     * @param accumulator the new accumulator.
+     * @param <A> the type of the accumulator.
+     * @return the accumulator, containing the result after the aggregation has been executed.
+     */
+    @Nonnull
+    public <A extends ColumnAccumulator<?>> A columns(@Nonnull A accumulator){
+        columns.add(accumulator);
+        return accumulator;
+    }
+
+    /**
+     * Passes all snowflakes in the range to the registered accumulators.
+     * @throws CancellationException if the current thread was interrupted while waiting for the partitions.
+     */
+    public void run(){
+        List<Instant> days = ContiguousSet.create(range, SnowflakeCommand.domain).asList();
+
+        //Not worth the overhead
+        if(days.size() <= 1){
+            for(Instant day : days)
+                accept(day, null, submissions, comments, columns);
+            return;
+        }
+
+        Partition[] partitions = new Partition[days.size()];
+        Semaphore permits = new Semaphore(PARTITIONS_PER_AGGREGATION);
+        List<Future<?>> workers = new ArrayList<>();
+        List<Instant> missing = new ArrayList<>();
+
+        try {
+            //Days with cached columns don't have to be loaded, unless the submissions themselves are required
+            for(int i = 0 ; i < days.size() ; ++i){
+                if(submissions.isEmpty() && comments.isEmpty() && CACHE.contains(subreddit, days.get(i)))
+                    submit(partitions, i, days.get(i), null, permits, workers);
+                else
+                    missing.add(days.get(i));
+            }
+
+            //The chunks are processed in parallel, while the loader already requests the next block
+            try(RangeLoader loader = new RangeLoader(subreddit, missing, RangeLoader.DEFAULT_DAYS_PER_REQUEST)){
+                while(loader.hasNext()){
+                    RangeLoader.Chunk chunk = loader.next();
+                    int index = (int)SnowflakeCommand.domain.distance(days.get(0), chunk.getDay());
+                    submit(partitions, index, chunk.getDay(), chunk.getSubmissions(), permits, workers);
+                }
+            }
+
+            for(Future<?> future : workers)
+                future.get();
+        }catch(InterruptedException e){
+            workers.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new CancellationException(e.toString());
+        }catch(ExecutionException e){
+            workers.forEach(future -> future.cancel(true));
+            if(e.getCause() instanceof RuntimeException)
+                throw (RuntimeException)e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }catch(RuntimeException e){
+            workers.forEach(future -> future.cancel(true));
+            throw e;
+        }
+
+        //Combine in chronological order, so that the result is independent of the scheduling
+        for(Partition partition : partitions)
+            partition.combineInto(this);
+    }
+
+    /**
+     * Evaluates a single day in the background, once one of the permits of this aggregation is available.
+     */
+    private void submit(
+            @Nonnull Partition[] partitions,
+            int index,
+            @Nonnull Instant day,
+            @Nullable List<Submission> values,
+            @Nonnull Semaphore permits,
+            @Nonnull List<Future<?>> workers
+    ) throws InterruptedException {
+        permits.acquire();
+
+        try {
+            workers.add(EXECUTOR.submit(() -> {
+                try {
+                    partitions[index] = new Partition(day, values);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }catch(RejectedExecutionException e){
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void accept(
+            @Nonnull Instant day,
+            @Nullable List<Submission> values,
+            @Nonnull List<Accumulator<Submission, ?>> submissions,
+            @Nonnull List<Accumulator<Comment, ?>> comments,
+            @Nonnull List<Accumulator<SnowflakeColumns, ?>> columns
+    ){
+        if(!submissions.isEmpty() || !comments.isEmpty()) {
+            if(values == null)
+                values = subreddit.getUncheckedSubmissions(day, SnowflakeCommand.domain.next(day));
+
+            for (Submission submission : values) {
+                for (Accumulator<Submission, ?> accumulator : submissions)
+                    accumulator.accept(submission);
+
+                if (comments.isEmpty())
+                    continue;
+
+                for (Comment comment : submission.getComments())
+                    for (Accumulator<Comment, ?> accumulator : comments)
+                        accumulator.accept(comment);
+            }
+        }
+
+        if(!columns.isEmpty()) {
+            SnowflakeColumns block = CACHE.get(subreddit, day, values);
+            for (Accumulator<SnowflakeColumns, ?> accumulator : columns)
+                accumulator.accept(block);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, R> void combine(@Nonnull Accumulator<T, R> target, @Nonnull Accumulator<T, ?> source){
+        target.combine((Accumulator<T, R>)source);
+    }
+
+    /**
+     * The partial result of a single day, computed by copies of the registered accumulators.
+     */
+    private class Partition {
+        @Nonnull
+        private final List<Accumulator<Submission, ?>> submissions = new ArrayList<>();
+        @Nonnull
+        private final List<Accumulator<Comment, ?>> comments = new ArrayList<>();
+        @Nonnull
+        private final List<Accumulator<SnowflakeColumns, ?>> columns = new ArrayList<>();
+
+        private Partition(@Nonnull Instant day, @Nullable List<Submission> values){
+            for(Accumulator<Submission, ?> accumulator : Aggregation.this.submissions)
+                submissions.add(accumulator.copy());
+            for(Accumulator<Comment, ?> accumulator : Aggregation.this.comments)
+                comments.add(accumulator.copy());
+            for(Accumulator<SnowflakeColumns, ?> accumulator : Aggregation.this.columns)
+                columns.add(accumulator.copy());
+
+            accept(day, values, submissions, comments, columns);
+        }
+
+        private void combineInto(@Nonnull Aggregation aggregation){
+            for(int i = 0 ; i < submissions.size() ; ++i)
+                combine(aggregation.submissions.get(i), submissions.get(i));
+            for(int i = 0 ; i < comments.size() ; ++i)
+                combine(aggregation.comments.get(i), comments.get(i));
+            for(int i = 0 ; i < columns.size() ; ++i)
+                combine(aggregation.columns.get(i), columns.get(i));
+        }
+    }
+
+    /**
+     * Computes the result of a single accumulator over all submissions.
+     * @param subreddit the {@link Subreddit} containing the submissions.
+     * @param range the time interval of the submissions.
+     * @param accumulator the accumulator for the submissions.
+     * @param <R> the type of the result.
+     * @return the result of the accumulator.
+     */
+    @Nonnull
+    public static <R> R ofSubmissions(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, @Nonnull Accumulator<Submission, R> accumulator){
+        Aggregation aggregation = new Aggregation(subreddit, range);
+        aggregation.submissions(accumulator);
+        aggregation.run();
+        return accumulator.get();
+    }
+
+    /**
+     * Computes the result of a single accumulator over all comments.
+     * @param subreddit the {@link Subreddit} containing the comments.
+     * @param range the time interval of the comments.
+     * @param accumulator the accumulator for the comments.
+     * @param <R> the type of the result.
+     * @return the result of the accumulator.
+     */
+    @Nonnull
+    public static <R> R ofComments(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, @Nonnull Accumulator<Comment, R> accumulator){
+        Aggregation aggregation = new Aggregation(subreddit, range);
+        aggregation.comments(accumulator);
+        aggregation.run();
+        return accumulator.get();
+    }
+
+    /**
+     * Computes the result of a single accumulator over the columns of all days.
+     * @param subreddit the {@link Subreddit} containing the snowflakes.
+     * @param range the time interval of the snowflakes.
+     * @param accumulator the accumulator for the columns.
+     * @param <R> the type of the result.
+     * @return the result of the accumulator.
+     */
+    @Nonnull
+    public static <R> R ofColumns(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range, @Nonnull ColumnAccumulator<R> accumulator){
+        Aggregation aggregation = new Aggregation(subreddit, range);
+        aggregation.columns(accumulator);
+        aggregation.run();
+        return accumulator.get();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Estimates the number of distinct authors over all snowflakes using a {@link HyperLogLog} sketch.<br>
+ * In contrast to the {@link UniqueAuthorAccumulator}, the memory footprint is constant, at the cost of a small
+ * relative error, as stated by {@link HyperLogLog#getRelativeError()}.
+ * @param <T> the type of the accumulated snowflakes.
+ */
+@Nonnull
+public class ApproximateAuthorAccumulator<T> implements Accumulator<T, Long> {
+    @Nonnull
+    private final Function<? super T, String> author;
+    @Nonnull
+    private final Predicate<String> filter;
+    @Nonnull
+    private final HyperLogLog sketch = new HyperLogLog();
+
+    /**
+     * @param author the function extracting the author of a snowflake.
+     * @param filter the condition an author has to satisfy in order to be counted.
+     */
+    public ApproximateAuthorAccumulator(@Nonnull Function<? super T, String> author, @Nonnull Predicate<String> filter){
+        this.author = author;
+        this.filter = filter;
+    }
+
+    @Override
+    public void accept(@Nonnull T value) {
+        String name = author.apply(value);
+        if(filter.test(name))
+            sketch.add(name);
+    }
+
+    @Nonnull
+    @Override
+    public Long get() {
+        return sketch.estimate();
+    }
+
+    @Nonnull
+    @Override
+    public ApproximateAuthorAccumulator<T> copy(){
+        return new ApproximateAuthorAccumulator<>(author, filter);
+    }
+
+    @Override
+    public void combine(@Nonnull Accumulator<T, Long> other){
+        sketch.merge(((ApproximateAuthorAccumulator<T>)other).sketch);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Groups all snowflakes by their author.
+ * @param <T> the type of the accumulated snowflakes.
+ * @param <C> the type of the collection containing the snowflakes of a single author.
+ */
+@Nonnull
+public class AuthorGroupAccumulator<T, C extends Collection<T>> implements Accumulator<T, Map<String, C>> {
+    @Nonnull
+    private final Function<? super T, String> author;
+    @Nonnull
+    private final Predicate<String> filter;
+    @Nonnull
+    private final Supplier<C> group;
+    @Nonnull
+    private final BiConsumer<C, C> combiner;
+    @Nonnull
+    private final Map<String, C> groups = new HashMap<>();
+
+    /**
+     * Creates an accumulator whose partial groups are merged via {@link Collection#addAll(Collection)}.
+     * @param author the function extracting the author of a snowflake.
+     * @param filter the condition an author has to satisfy in order to be considered.
+     * @param group the supplier for the collection of a single author.
+     */
+    public AuthorGroupAccumulator(@Nonnull Function<? super T, String> author, @Nonnull Predicate<String> filter, @Nonnull Supplier<C> group){
+        this(author, filter, group, Collection::addAll);
+    }
+
+    /**
+     * @param author the function extracting the author of a snowflake.
+     * @param filter the condition an author has to satisfy in order to be considered.
+     * @param group the supplier for the collection of a single author.
+     * @param combiner the function adding the content of the second group to the first one.
+     */
+    public AuthorGroupAccumulator(@Nonnull Function<? super T, String> author, @Nonnull Predicate<String> filter, @Nonnull Supplier<C> group, @Nonnull BiConsumer<C, C> combiner){
+        this.author = author;
+        this.filter = filter;
+        this.group = group;
+        this.combiner = combiner;
+    }
+
+    @Override
+    public void accept(@Nonnull T value) {
+        String name = author.apply(value);
+        if(filter.test(name))
+            groups.computeIfAbsent(name, key -> group.get()).add(value);
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, C> get() {
+        return groups;
+    }
+
+    @Nonnull
+    @Override
+    public AuthorGroupAccumulator<T, C> copy(){
+        return new AuthorGroupAccumulator<>(author, filter, group, combiner);
+    }
+
+    @Override
+    public void combine(@Nonnull Accumulator<T, Map<String, C>> other){
+        for(Map.Entry<String, C> entry : other.get().entrySet())
+            groups.merge(entry.getKey(), entry.getValue(), (u, v) -> {
+                combiner.accept(u, v);
+                return u;
+            });
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * A hash map from author names to their accumulated score and number of snowflakes.
+ * <p>
+ * The scores and counts are stored in primitive arrays, using open addressing with linear probing, so that no
+ * objects are created per author apart from the name itself. {@link Leader} instances are only created for the
+ * authors that are part of the final selection.
+ */
+@Nonnull
+final class AuthorScores {
+    /**
+     * The initial number of slots. Always a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+    /**
+     * The author names. Empty slots are null.
+     */
+    @Nonnull
+    private String[] authors = new String[INITIAL_CAPACITY];
+    /**
+     * The accumulated scores. The indices match with {@link #authors}.
+     */
+    @Nonnull
+    private long[] scores = new long[INITIAL_CAPACITY];
+    /**
+     * The number of snowflakes. The indices match with {@link #authors}.
+     */
+    @Nonnull
+    private long[] counts = new long[INITIAL_CAPACITY];
+    /**
+     * The number of occupied slots.
+     */
+    private int size = 0;
+
+    /**
+     * Adds the score of a single snowflake to the author.
+     * @param author the name of the author.
+     * @param score the score of the snowflake.
+     */
+    public void add(@Nonnull String author, long score){
+        add(author, score, 1);
+    }
+
+    /**
+     * Adds all scores and counts of the other map to this map.
+     * @param other the map of a different partition.
+     */
+    public void merge(@Nonnull AuthorScores other){
+        for(int i = 0 ; i < other.authors.length ; ++i)
+            if(other.authors[i] != null)
+                add(other.authors[i], other.scores[i], other.counts[i]);
+    }
+
+    /**
+     * @return the number of distinct authors.
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Selects the authors with the highest scores.
+     * @param limit the maximum number of authors.
+     * @return the leaders, ordered by {@link Leader#ORDER}.
+     */
+    @Nonnull
+    public List<Leader> top(int limit){
+        TopK<Leader> leaders = new TopK<>(limit, Leader.ORDER);
+
+        if(limit <= 0)
+            return leaders.toList();
+
+        for(int i = 0 ; i < authors.length ; ++i)
+            if(authors[i] != null && (leaders.size() < limit || compare(i, leaders.peekWorst()) < 0))
+                leaders.add(new Leader(authors[i], scores[i], counts[i]));
+
+        return leaders.toList();
+    }
+
+    /**
+     * Compares the author in the given slot with the leader, according to {@link Leader#ORDER}.
+     */
+    private int compare(int index, @Nonnull Leader leader){
+        int result = Long.compare(leader.getScore(), scores[index]);
+        return result != 0 ? result : authors[index].compareTo(leader.getAuthor());
+    }
+
+    private void add(@Nonnull String author, long score, long count){
+        int index = indexOf(author);
+
+        if(authors[index] == null){
+            authors[index] = author;
+            ++size;
+        }
+
+        scores[index] += score;
+        counts[index] += count;
+
+        //Keep the load factor below 0.5
+        if(2 * size > authors.length)
+            resize();
+    }
+
+    private int indexOf(@Nonnull String author){
+        int mask = authors.length - 1;
+        int index = mix(author.hashCode()) & mask;
+
+        while(authors[index] != null && !authors[index].equals(author))
+            index = (index + 1) & mask;
+
+        return index;
+    }
+
+    private void resize(){
+        String[] oldAuthors = authors;
+        long[] oldScores = scores;
+        long[] oldCounts = counts;
+
+        authors = new String[oldAuthors.length * 2];
+        scores = new long[oldAuthors.length * 2];
+        counts = new long[oldAuthors.length * 2];
+
+        for(int i = 0 ; i < oldAuthors.length ; ++i){
+            if(oldAuthors[i] != null){
+                int index = indexOf(oldAuthors[i]);
+                authors[index] = oldAuthors[i];
+                scores[index] = oldScores[i];
+                counts[index] = oldCounts[i];
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of the hash code, since the lower bits of {@link String#hashCode()} cluster for similar names.
+     */
+    private static int mix(int hash){
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
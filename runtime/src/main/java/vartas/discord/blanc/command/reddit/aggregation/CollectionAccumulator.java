@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Collects all snowflakes that satisfy a given condition. In combination with a bounded collection, this can be used
+ * to only keep the top snowflakes.
+ * @param <T> the type of the accumulated snowflakes.
+ * @param <C> the type of the collection.
+ */
+@Nonnull
+public class CollectionAccumulator<T, C extends Collection<T>> implements Accumulator<T, C> {
+    @Nonnull
+    private final Supplier<C> supplier;
+    @Nonnull
+    private final BiConsumer<C, C> combiner;
+    @Nonnull
+    private final Predicate<? super T> filter;
+    @Nonnull
+    private final C collection;
+
+    /**
+     * Creates an accumulator whose partial results are merged via {@link Collection#addAll(Collection)}.
+     * @param supplier the supplier for the collection the snowflakes are added to.
+     * @param filter the condition a snowflake has to satisfy in order to be collected.
+     */
+    public CollectionAccumulator(@Nonnull Supplier<C> supplier, @Nonnull Predicate<? super T> filter){
+        this(supplier, Collection::addAll, filter);
+    }
+
+    /**
+     * @param supplier the supplier for the collection the snowflakes are added to.
+     * @param combiner the function adding the content of the second collection to the first one.
+     * @param filter the condition a snowflake has to satisfy in order to be collected.
+     */
+    public CollectionAccumulator(@Nonnull Supplier<C> supplier, @Nonnull BiConsumer<C, C> combiner, @Nonnull Predicate<? super T> filter){
+        this.supplier = supplier;
+        this.combiner = combiner;
+        this.filter = filter;
+        this.collection = supplier.get();
+    }
+
+    @Override
+    public void accept(@Nonnull T value) {
+        if(filter.test(value))
+            collection.add(value);
+    }
+
+    @Nonnull
+    @Override
+    public C get() {
+        return collection;
+    }
+
+    @Nonnull
+    @Override
+    public CollectionAccumulator<T, C> copy(){
+        return new CollectionAccumulator<>(supplier, combiner, filter);
+    }
+
+    @Override
+    public void combine(@Nonnull Accumulator<T, C> other){
+        combiner.accept(collection, other.get());
+    }
+}
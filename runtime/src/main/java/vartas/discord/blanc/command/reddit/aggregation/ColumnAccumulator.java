@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+/**
+ * An accumulator operating on the {@link SnowflakeColumns columns} of an entire day at once, instead of on the
+ * individual submission and comment objects. Aggregations only consisting of such accumulators are answered from
+ * the {@link ColumnarCache}, without requesting the submissions again.
+ * @param <R> the type of the result.
+ */
+public interface ColumnAccumulator<R> extends Accumulator<SnowflakeColumns, R> {
+}
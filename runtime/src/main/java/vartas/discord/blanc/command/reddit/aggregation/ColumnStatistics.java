@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Computes the counts, score sums and unique authors over the columns of all days.
+ * <p>
+ * The authors of a single day are first deduplicated by marking their dictionary codes in a bit set. Since the codes
+ * are only unique within a day, the names of those authors are then either collected in a set, counting them exactly,
+ * or added to a {@link HyperLogLog} sketch, estimating their number.<br>
+ * Optionally, only the snowflakes of a single author are considered.
+ */
+@Nonnull
+public class ColumnStatistics implements ColumnAccumulator<ColumnStatistics> {
+    /**
+     * The name of deleted accounts, which are not counted as unique authors.
+     */
+    @Nonnull
+    private static final String DELETED = "[deleted]";
+    /**
+     * The only author that is considered, or null if all authors are considered.
+     */
+    @Nullable
+    private final String account;
+    /**
+     * Whether unique authors are counted exactly.
+     */
+    private final boolean exact;
+    private long submissions;
+    private long nsfwSubmissions;
+    private long spoilerSubmissions;
+    private long comments;
+    private long submissionScore;
+    private long commentScore;
+    @Nonnull
+    private final Set<String> submitters = new HashSet<>();
+    @Nonnull
+    private final Set<String> commenters = new HashSet<>();
+    @Nullable
+    private final HyperLogLog submitterSketch;
+    @Nullable
+    private final HyperLogLog commenterSketch;
+
+    /**
+     * @param account the only author that is considered, or null if all authors are considered.
+     * @param exact whether unique authors are counted exactly.
+     */
+    public ColumnStatistics(@Nullable String account, boolean exact){
+        this.account = account;
+        this.exact = exact;
+        this.submitterSketch = exact ? null : new HyperLogLog();
+        this.commenterSketch = exact ? null : new HyperLogLog();
+    }
+
+    @Override
+    public void accept(@Nonnull SnowflakeColumns columns){
+        Dictionary authors = columns.getAuthors();
+        int deleted = authors.lookup(DELETED);
+        int filter = account == null ? Dictionary.ABSENT : authors.lookup(account);
+
+        //The account has neither submitted nor commented
+        if(account != null && filter == Dictionary.ABSENT)
+            return;
+
+        BitSet daySubmitters = new BitSet();
+        BitSet dayCommenters = new BitSet();
+
+        for(int row = 0 ; row < columns.getSubmissionCount() ; ++row){
+            int author = columns.getSubmissionAuthor(row);
+            if(account != null && author != filter)
+                continue;
+
+            ++submissions;
+            submissionScore += columns.getSubmissionScore(row);
+            if(columns.getNsfw(row))
+                ++nsfwSubmissions;
+            if(columns.getSpoiler(row))
+                ++spoilerSubmissions;
+            if(author != deleted)
+                daySubmitters.set(author);
+        }
+
+        for(int row = 0 ; row < columns.getCommentCount() ; ++row){
+            int author = columns.getCommentAuthor(row);
+            if(account != null && author != filter)
+                continue;
+
+            ++comments;
+            commentScore += columns.getCommentScore(row);
+            if(author != deleted)
+                dayCommenters.set(author);
+        }
+
+        addAuthors(authors, daySubmitters, submitters, submitterSketch);
+        addAuthors(authors, dayCommenters, commenters, commenterSketch);
+    }
+
+    private void addAuthors(@Nonnull Dictionary authors, @Nonnull BitSet codes, @Nonnull Set<String> exactAuthors, @Nullable HyperLogLog sketch){
+        for(int code = codes.nextSetBit(0) ; code >= 0 ; code = codes.nextSetBit(code + 1)){
+            if(sketch == null)
+                exactAuthors.add(authors.decode(code));
+            else
+                sketch.add(authors.decode(code));
+        }
+    }
+
+    @Nonnull
+    @Override
+    public ColumnStatistics get(){
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public ColumnStatistics copy(){
+        return new ColumnStatistics(account, exact);
+    }
+
+    @Override
+    public void combine(@Nonnull Accumulator<SnowflakeColumns, ColumnStatistics> other){
+        ColumnStatistics statistics = other.get();
+
+        submissions += statistics.submissions;
+        nsfwSubmissions += statistics.nsfwSubmissions;
+        spoilerSubmissions += statistics.spoilerSubmissions;
+        comments += statistics.comments;
+        submissionScore += statistics.submissionScore;
+        commentScore += statistics.commentScore;
+        submitters.addAll(statistics.submitters);
+        commenters.addAll(statistics.commenters);
+        if(submitterSketch != null && statistics.submitterSketch != null)
+            submitterSketch.merge(statistics.submitterSketch);
+        if(commenterSketch != null && statistics.commenterSketch != null)
+            commenterSketch.merge(statistics.commenterSketch);
+    }
+
+    public boolean isExact(){
+        return exact;
+    }
+
+    public long getSubmissions(){
+        return submissions;
+    }
+
+    public long getNsfwSubmissions(){
+        return nsfwSubmissions;
+    }
+
+    public long getSpoilerSubmissions(){
+        return spoilerSubmissions;
+    }
+
+    public long getComments(){
+        return comments;
+    }
+
+    public long getSubmissionScore(){
+        return submissionScore;
+    }
+
+    public long getCommentScore(){
+        return commentScore;
+    }
+
+    public long getUniqueSubmitters(){
+        return submitterSketch == null ? submitters.size() : submitterSketch.estimate();
+    }
+
+    public long getUniqueCommenters(){
+        return commenterSketch == null ? commenters.size() : commenterSketch.estimate();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import vartas.discord.blanc.command.reddit.SnowflakeCommand;
+import vartas.reddit.Submission;
+import vartas.reddit.Subreddit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The in-memory cache for the {@link SnowflakeColumns columns} of every subreddit and day.
+ * <p>
+ * The columns of a day are built once, from the submissions returned by the Reddit client, and then reused by all
+ * subsequent aggregations. The cache is bounded by the total number of rows and dictionary entries and evicts the
+ * least recently used days first. Since every day owns its dictionaries, they are evicted together with the columns.
+ * The current day is never cached, since its submissions may still change.
+ */
+@Nonnull
+public class ColumnarCache {
+    /**
+     * The default maximum number of rows and dictionary entries, over all cached days.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 1L << 22;
+    /**
+     * The cached columns, grouped by the (lower case) subreddit name and day.
+     */
+    @Nonnull
+    private final Cache<Key, SnowflakeColumns> columns;
+
+    /**
+     * Creates a cache holding at most {@link #DEFAULT_MAXIMUM_WEIGHT} rows.
+     */
+    public ColumnarCache(){
+        this(DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /**
+     * @param maximumWeight the maximum number of rows and dictionary entries, over all cached days.
+     */
+    public ColumnarCache(long maximumWeight){
+        this.columns = CacheBuilder.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Key key, SnowflakeColumns value) -> value.getWeight())
+                .build();
+    }
+
+    /**
+     * Returns the columns of a single day. If they are missing, they are built from the given submissions or,
+     * if none are given, from the submissions requested from the subreddit.
+     * @param subreddit the {@link Subreddit} containing the submissions.
+     * @param day the start of the day.
+     * @param submissions the submissions of the day, if they have already been requested.
+     * @return the columns over all submissions and comments of the day.
+     */
+    @Nonnull
+    public SnowflakeColumns get(@Nonnull Subreddit subreddit, @Nonnull Instant day, @Nullable List<Submission> submissions){
+        String name = subreddit.getName().toLowerCase(Locale.ENGLISH);
+
+        if(!day.isBefore(Instant.now().truncatedTo(ChronoUnit.DAYS)))
+            return build(subreddit, day, submissions);
+
+        try {
+            return columns.get(new Key(name, day), () -> build(subreddit, day, submissions));
+        }catch(ExecutionException | UncheckedExecutionException e){
+            if(e.getCause() instanceof RuntimeException)
+                throw (RuntimeException)e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @param subreddit the {@link Subreddit} containing the submissions.
+     * @param day the start of the day.
+     * @return true if the columns of the day are currently cached.
+     */
+    public boolean contains(@Nonnull Subreddit subreddit, @Nonnull Instant day){
+        String name = subreddit.getName().toLowerCase(Locale.ENGLISH);
+        return columns.getIfPresent(new Key(name, day)) != null;
+    }
+
+    /**
+     * @return the number of cached days.
+     */
+    public long size(){
+        return columns.size();
+    }
+
+    /**
+     * Removes all cached columns.
+     */
+    public void invalidateAll(){
+        columns.invalidateAll();
+    }
+
+    @Nonnull
+    private static SnowflakeColumns build(@Nonnull Subreddit subreddit, @Nonnull Instant day, @Nullable List<Submission> submissions){
+        if(submissions == null)
+            submissions = subreddit.getUncheckedSubmissions(day, SnowflakeCommand.domain.next(day));
+
+        return new SnowflakeColumns(day, submissions);
+    }
+
+    private static final class Key {
+        @Nonnull
+        private final String subreddit;
+        @Nonnull
+        private final Instant day;
+
+        private Key(@Nonnull String subreddit, @Nonnull Instant day){
+            this.subreddit = subreddit;
+            this.day = day;
+        }
+
+        @Override
+        public boolean equals(Object o){
+            if(!(o instanceof Key))
+                return false;
+
+            Key other = (Key)o;
+            return subreddit.equals(other.subreddit) && day.equals(other.day);
+        }
+
+        @Override
+        public int hashCode(){
+            return Objects.hash(subreddit, day);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import java.util.function.Predicate;
+
+/**
+ * Counts all snowflakes that satisfy a given condition.
+ * @param <T> the type of the accumulated snowflakes.
+ */
+@Nonnull
+public class CountAccumulator<T> implements Accumulator<T, Long> {
+    @Nonnull
+    private final Predicate<? super T> filter;
+    private long count = 0;
+
+    /**
+     * Creates an accumulator counting all snowflakes.
+     */
+    public CountAccumulator(){
+        this(value -> true);
+    }
+
+    /**
+     * @param filter the condition a snowflake has to satisfy in order to be counted.
+     */
+    public CountAccumulator(@Nonnull Predicate<? super T> filter){
+        this.filter = filter;
+    }
+
+    @Override
+    public void accept(@Nonnull T value) {
+        if(filter.test(value))
+            ++count;
+    }
+
+    @Nonnull
+    @Override
+    public Long get() {
+        return count;
+    }
+
+    @Nonnull
+    @Override
+    public CountAccumulator<T> copy(){
+        return new CountAccumulator<>(filter);
+    }
+
+    @Override
+    public void combine(@Nonnull Accumulator<T, Long> other){
+        count += ((CountAccumulator<T>)other).count;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Evaluates a separate accumulator for every day, allowing to compute a time series within a single pass.<br>
+ * Days without any snowflakes are not contained in the result.
+ * @param <T> the type of the accumulated snowflakes.
+ * @param <R> the type of the result of a single day.
+ */
+@Nonnull
+public class DailyAccumulator<T, R> implements Accumulator<T, NavigableMap<Instant, R>> {
+    @Nonnull
+    private final Function<? super T, Instant> date;
+    @Nonnull
+    private final Accumulator<T, R> prototype;
+    @Nonnull
+    private final NavigableMap<Instant, Accumulator<T, R>> days = new TreeMap<>();
+
+    /**
+     * @param date the function extracting the date a snowflake is associated with.
+     * @param prototype the accumulator whose {@link Accumulator#copy() copies} are used for every day.
+     */
+    public DailyAccumulator(@Nonnull Function<? super T, Instant> date, @Nonnull Accumulator<T, R> prototype){
+        this.date = date;
+        this.prototype = prototype;
+    }
+
+    @Override
+    public void accept(@Nonnull T value) {
+        Instant day = date.apply(value).truncatedTo(ChronoUnit.DAYS);
+        days.computeIfAbsent(day, key -> prototype.copy()).accept(value);
+    }
+
+    @Nonnull
+    @Override
+    public NavigableMap<Instant, R> get() {
+        NavigableMap<Instant, R> result = new TreeMap<>();
+        for(Map.Entry<Instant, Accumulator<T, R>> entry : days.entrySet())
+            result.put(entry.getKey(), entry.getValue().get());
+        return result;
+    }
+
+    @Nonnull
+    @Override
+    public DailyAccumulator<T, R> copy(){
+        return new DailyAccumulator<>(date, prototype);
+    }
+
+    @Override
+    public void combine(@Nonnull Accumulator<T, NavigableMap<Instant, R>> other){
+        for(Map.Entry<Instant, Accumulator<T, R>> entry : ((DailyAccumulator<T, R>)other).days.entrySet())
+            days.merge(entry.getKey(), entry.getValue(), (u, v) -> {
+                u.combine(v);
+                return u;
+            });
+    }
+}
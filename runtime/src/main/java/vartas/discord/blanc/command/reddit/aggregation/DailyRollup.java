@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import org.json.JSONObject;
+import vartas.reddit.Comment;
+import vartas.reddit.Submission;
+
+import javax.annotation.Nonnull;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * The pre-aggregated statistics over the submissions of a single day, including their comments.<br>
+ * Rollups of different days can be {@link #combine(Accumulator) combined}, in order to get the statistics
+ * over a longer time interval.<br>
+ * The distinct submitters and commenters are kept as {@link HyperLogLog} sketches, so that the size of a rollup
+ * doesn't grow with the number of authors. The number of unique authors is therefore only an estimate. Sketches
+ * over only a few authors are persisted in the sparse format of {@link HyperLogLog#toByteArray()}.
+ */
+@Nonnull
+public class DailyRollup implements Accumulator<Submission, DailyRollup> {
+    private long submissions;
+    private long nsfwSubmissions;
+    private long spoilerSubmissions;
+    private long comments;
+    private long submissionScore;
+    private long commentScore;
+    @Nonnull
+    private HyperLogLog submitters = new HyperLogLog();
+    @Nonnull
+    private HyperLogLog commenters = new HyperLogLog();
+
+    public long getSubmissions(){
+        return submissions;
+    }
+
+    public long getNsfwSubmissions(){
+        return nsfwSubmissions;
+    }
+
+    public long getSpoilerSubmissions(){
+        return spoilerSubmissions;
+    }
+
+    public long getComments(){
+        return comments;
+    }
+
+    public long getSubmissionScore(){
+        return submissionScore;
+    }
+
+    public long getCommentScore(){
+        return commentScore;
+    }
+
+    public long getUniqueSubmitters(){
+        return submitters.estimate();
+    }
+
+    public long getUniqueCommenters(){
+        return commenters.estimate();
+    }
+
+    /**
+     * Adds the submission, as well as all of its comments, to the rollup.
+     * @param submission the next submission.
+     */
+    @Override
+    public void accept(@Nonnull Submission submission){
+        ++submissions;
+        submissionScore += submission.getScore();
+        if(submission.getNsfw())
+            ++nsfwSubmissions;
+        if(submission.getSpoiler())
+            ++spoilerSubmissions;
+        if(isValid(submission.getAuthor()))
+            submitters.add(submission.getAuthor());
+
+        for(Comment comment : submission.getComments()){
+            ++comments;
+            commentScore += comment.getScore();
+            if(isValid(comment.getAuthor()))
+                commenters.add(comment.getAuthor());
+        }
+    }
+
+    private static boolean isValid(String author){
+        return !Objects.equals(author, "[deleted]");
+    }
+
+    @Nonnull
+    @Override
+    public DailyRollup get(){
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public DailyRollup copy(){
+        return new DailyRollup();
+    }
+
+    @Override
+    public void combine(@Nonnull Accumulator<Submission, DailyRollup> other){
+        DailyRollup rollup = other.get();
+
+        submissions += rollup.submissions;
+        nsfwSubmissions += rollup.nsfwSubmissions;
+        spoilerSubmissions += rollup.spoilerSubmissions;
+        comments += rollup.comments;
+        submissionScore += rollup.submissionScore;
+        commentScore += rollup.commentScore;
+        submitters.merge(rollup.submitters);
+        commenters.merge(rollup.commenters);
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      JSON
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    @Nonnull
+    public JSONObject toJson(){
+        JSONObject target = new JSONObject();
+        target.put("submissions", submissions);
+        target.put("nsfwSubmissions", nsfwSubmissions);
+        target.put("spoilerSubmissions", spoilerSubmissions);
+        target.put("comments", comments);
+        target.put("submissionScore", submissionScore);
+        target.put("commentScore", commentScore);
+        target.put("submitters", Base64.getEncoder().encodeToString(submitters.toByteArray()));
+        target.put("commenters", Base64.getEncoder().encodeToString(commenters.toByteArray()));
+        return target;
+    }
+
+    @Nonnull
+    public static DailyRollup fromJson(@Nonnull JSONObject source){
+        DailyRollup target = new DailyRollup();
+        target.submissions = source.getLong("submissions");
+        target.nsfwSubmissions = source.getLong("nsfwSubmissions");
+        target.spoilerSubmissions = source.getLong("spoilerSubmissions");
+        target.comments = source.getLong("comments");
+        target.submissionScore = source.getLong("submissionScore");
+        target.commentScore = source.getLong("commentScore");
+
+        target.submitters = getSketch(source, "submitters");
+        target.commenters = getSketch(source, "commenters");
+
+        return target;
+    }
+
+    @Nonnull
+    private static HyperLogLog getSketch(@Nonnull JSONObject source, @Nonnull String key){
+        return HyperLogLog.fromByteArray(Base64.getDecoder().decode(source.getString(key)));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe, append-only mapping between strings and consecutive integers, starting at 0.<br>
+ * Columns store the integer codes instead of the strings, so that every distinct string is only kept once.
+ */
+@Nonnull
+public final class Dictionary {
+    /**
+     * The code returned for strings that are not contained in the dictionary.
+     */
+    public static final int ABSENT = -1;
+    @Nonnull
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    @Nonnull
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * @param value an arbitrary string.
+     * @return the code of the string. A new code is assigned if the string hasn't been encoded before.
+     */
+    public int encode(@Nonnull String value){
+        Integer code = codes.get(value);
+        if(code != null)
+            return code;
+
+        synchronized (values){
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * @param value an arbitrary string.
+     * @return the code of the string or {@link #ABSENT}, if the string hasn't been encoded before.
+     */
+    public int lookup(@Nonnull String value){
+        return codes.getOrDefault(value, ABSENT);
+    }
+
+    /**
+     * @param code a code returned by {@link #encode(String)}.
+     * @return the string associated with the code.
+     */
+    @Nonnull
+    public String decode(int code){
+        synchronized (values){
+            return values.get(code);
+        }
+    }
+
+    /**
+     * @return the number of distinct strings.
+     */
+    public int size(){
+        return codes.size();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the submissions by their link flair, over the columns of all days.<br>
+ * The flairs of a single day are counted by their dictionary code first, so that each distinct flair is only
+ * decoded once per day.
+ */
+@Nonnull
+public class FlairAccumulator implements ColumnAccumulator<Map<String, Long>> {
+    /**
+     * The label of submissions without a flair.
+     */
+    @Nonnull
+    public static final String UNFLAIRED = "unflaired";
+    @Nonnull
+    private final Map<String, Long> flairs = new HashMap<>();
+
+    @Override
+    public void accept(@Nonnull SnowflakeColumns columns){
+        long[] counts = new long[columns.getFlairs().size()];
+        long unflaired = 0;
+
+        for(int row = 0 ; row < columns.getSubmissionCount() ; ++row){
+            int flair = columns.getSubmissionFlair(row);
+            if(flair == SnowflakeColumns.NO_FLAIR)
+                ++unflaired;
+            else
+                ++counts[flair];
+        }
+
+        for(int code = 0 ; code < counts.length ; ++code)
+            if(counts[code] > 0)
+                flairs.merge(columns.getFlairs().decode(code), counts[code], Long::sum);
+
+        if(unflaired > 0)
+            flairs.merge(UNFLAIRED, unflaired, Long::sum);
+    }
+
+    /**
+     * @return the number of submissions for every flair.
+     */
+    @Nonnull
+    @Override
+    public Map<String, Long> get(){
+        return flairs;
+    }
+
+    @Nonnull
+    @Override
+    public FlairAccumulator copy(){
+        return new FlairAccumulator();
+    }
+
+    @Override
+    public void combine(@Nonnull Accumulator<SnowflakeColumns, Map<String, Long>> other){
+        other.get().forEach((flair, count) -> flairs.merge(flair, count, Long::sum));
+    }
+}
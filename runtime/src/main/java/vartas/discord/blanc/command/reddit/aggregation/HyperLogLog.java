@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import javax.annotation.Nonnull;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A HyperLogLog sketch for estimating the number of distinct strings.
+ * <p>
+ * Instead of storing all strings, the sketch only keeps 2<sup>p</sup> one-byte registers, where p is the precision.
+ * The memory footprint is therefore independent of the number of strings. The relative standard error of the
+ * estimate is about 1.04/&radic;(2<sup>p</sup>), i.e. roughly 1.6% for the {@link #DEFAULT_PRECISION default
+ * precision}. Small cardinalities are estimated via linear counting, which is nearly exact.<br>
+ * Two sketches with the same precision can be {@link #merge(HyperLogLog) merged}, resulting in the sketch over
+ * the union of both sets.
+ */
+@Nonnull
+public class HyperLogLog {
+    /**
+     * The default precision, using 4096 registers.
+     */
+    public static final int DEFAULT_PRECISION = 12;
+    /**
+     * The smallest supported precision.
+     */
+    public static final int MIN_PRECISION = 4;
+    /**
+     * The largest supported precision.
+     */
+    public static final int MAX_PRECISION = 18;
+    /**
+     * The flag in the first byte of a serialized sketch, marking the sparse format.
+     */
+    private static final int SPARSE = 0x80;
+    /**
+     * The number of bytes for every non-empty register in the sparse format.
+     */
+    private static final int SPARSE_ENTRY_SIZE = 3;
+    /**
+     * The number of bits for the rank of a register in the sparse format.
+     */
+    private static final int RANK_BITS = 6;
+    /**
+     * The hash function for the strings. It has to be stable across restarts, since sketches are persisted.
+     */
+    @Nonnull
+    private static final HashFunction HASH = Hashing.murmur3_128();
+    /**
+     * The number of leading bits of the hash used for selecting the register.
+     */
+    private final int precision;
+    /**
+     * The maximum rank observed in each register.
+     */
+    @Nonnull
+    private final byte[] registers;
+
+    /**
+     * Creates an empty sketch with the {@link #DEFAULT_PRECISION default precision}.
+     */
+    public HyperLogLog(){
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates an empty sketch.
+     * @param precision the number of bits used for selecting the register.
+     */
+    public HyperLogLog(int precision){
+        Preconditions.checkArgument(precision >= MIN_PRECISION && precision <= MAX_PRECISION, "Invalid precision %s", precision);
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * @return the number of bits used for selecting the register.
+     */
+    public int getPrecision(){
+        return precision;
+    }
+
+    /**
+     * @return the relative standard error of the estimate.
+     */
+    public double getRelativeError(){
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    /**
+     * Adds a string to the sketch.
+     * @param value the new string.
+     */
+    public void add(@Nonnull String value){
+        long hash = HASH.hashString(value, StandardCharsets.UTF_8).asLong();
+        int index = (int)(hash >>> (Long.SIZE - precision));
+        //The position of the first 1-bit after the index bits. The appended 1-bit caps the rank.
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+
+        if(rank > registers[index])
+            registers[index] = (byte)rank;
+    }
+
+    /**
+     * Adds all strings of the other sketch to this sketch.
+     * @param other a sketch with the same precision.
+     */
+    public void merge(@Nonnull HyperLogLog other){
+        Preconditions.checkArgument(precision == other.precision, "Incompatible precisions %s and %s", precision, other.precision);
+
+        for(int i = 0 ; i < registers.length ; ++i)
+            if(other.registers[i] > registers[i])
+                registers[i] = other.registers[i];
+    }
+
+    /**
+     * @return the estimated number of distinct strings.
+     */
+    public long estimate(){
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+
+        for(byte register : registers){
+            sum += 1.0 / (1L << register);
+            if(register == 0)
+                ++zeros;
+        }
+
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+
+        //Linear counting is more accurate for small cardinalities
+        if(estimate <= 2.5 * m && zeros > 0)
+            estimate = m * Math.log((double) m / zeros);
+
+        return Math.round(estimate);
+    }
+
+    /**
+     * Serializes the sketch in whichever format is smaller. In the dense format, the first byte contains the
+     * precision, followed by all registers. In the sparse format, the first byte contains the precision with the
+     * {@link #SPARSE} flag set, followed by three bytes for every non-empty register, which contain its index and
+     * rank. Sketches over only a few strings are therefore much smaller than their number of registers.
+     * @return the serialized sketch.
+     */
+    @Nonnull
+    public byte[] toByteArray(){
+        int size = 0;
+        for(byte register : registers)
+            if(register != 0)
+                ++size;
+
+        if(SPARSE_ENTRY_SIZE * size >= registers.length)
+            return toDenseByteArray();
+
+        byte[] result = new byte[SPARSE_ENTRY_SIZE * size + 1];
+        result[0] = (byte)(precision | SPARSE);
+        for(int i = 0, j = 1 ; i < registers.length ; ++i){
+            if(registers[i] == 0)
+                continue;
+
+            //The index requires at most 18 bits, the rank at most 6 bits
+            int entry = (i << RANK_BITS) | registers[i];
+            result[j++] = (byte)(entry >>> 16);
+            result[j++] = (byte)(entry >>> 8);
+            result[j++] = (byte)entry;
+        }
+        return result;
+    }
+
+    @Nonnull
+    private byte[] toDenseByteArray(){
+        byte[] result = new byte[registers.length + 1];
+        result[0] = (byte)precision;
+        System.arraycopy(registers, 0, result, 1, registers.length);
+        return result;
+    }
+
+    /**
+     * @param bytes a sketch serialized via {@link #toByteArray()}, either in the dense or the sparse format.
+     * @return the deserialized sketch.
+     */
+    @Nonnull
+    public static HyperLogLog fromByteArray(@Nonnull byte[] bytes){
+        Preconditions.checkArgument(bytes.length > 0, "Empty sketch");
+        HyperLogLog result = new HyperLogLog(bytes[0] & ~SPARSE & 0xFF);
+
+        if((bytes[0] & SPARSE) == 0){
+            Preconditions.checkArgument(bytes.length == result.registers.length + 1, "Invalid sketch length %s", bytes.length);
+            System.arraycopy(bytes, 1, result.registers, 0, result.registers.length);
+        }else{
+            Preconditions.checkArgument((bytes.length - 1) % SPARSE_ENTRY_SIZE == 0, "Invalid sketch length %s", bytes.length);
+            for(int j = 1 ; j < bytes.length ; j += SPARSE_ENTRY_SIZE){
+                int entry = (bytes[j] & 0xFF) << 16 | (bytes[j + 1] & 0xFF) << 8 | (bytes[j + 2] & 0xFF);
+                int index = entry >>> RANK_BITS;
+                Preconditions.checkArgument(index < result.registers.length, "Invalid register %s", index);
+                result.registers[index] = (byte)(entry & ((1 << RANK_BITS) - 1));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o){
+        if(!(o instanceof HyperLogLog))
+            return false;
+        return Arrays.equals(registers, ((HyperLogLog)o).registers);
+    }
+
+    @Override
+    public int hashCode(){
+        return Arrays.hashCode(registers);
+    }
+}
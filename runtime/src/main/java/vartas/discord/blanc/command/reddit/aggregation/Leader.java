@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import java.util.Comparator;
+
+/**
+ * An entry of the author leaderboard.
+ */
+@Nonnull
+public final class Leader {
+    /**
+     * Orders the leaders by their accumulated score, starting with the highest score. Ties are broken by the
+     * author names.
+     */
+    @Nonnull
+    public static final Comparator<Leader> ORDER = Comparator.comparingLong(Leader::getScore).reversed().thenComparing(Leader::getAuthor);
+    @Nonnull
+    private final String author;
+    private final long score;
+    private final long count;
+
+    /**
+     * @param author the name of the author.
+     * @param score the accumulated score over all snowflakes of the author.
+     * @param count the number of snowflakes of the author.
+     */
+    public Leader(@Nonnull String author, long score, long count){
+        this.author = author;
+        this.score = score;
+        this.count = count;
+    }
+
+    @Nonnull
+    public String getAuthor(){
+        return author;
+    }
+
+    public long getScore(){
+        return score;
+    }
+
+    public long getCount(){
+        return count;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("%s (%d)", author, score);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Selects the authors with the highest accumulated score over all snowflakes.<br>
+ * During the aggregation, only the score sum and the number of snowflakes are kept per author. The snowflakes
+ * themselves are discarded.
+ * @param <T> the type of the accumulated snowflakes.
+ */
+@Nonnull
+public class LeaderboardAccumulator<T> implements Accumulator<T, List<Leader>> {
+    @Nonnull
+    private final Function<? super T, String> author;
+    @Nonnull
+    private final ToLongFunction<? super T> score;
+    @Nonnull
+    private final Predicate<String> filter;
+    private final int size;
+    @Nonnull
+    private final AuthorScores scores = new AuthorScores();
+
+    /**
+     * @param author the function extracting the author of a snowflake.
+     * @param score the function extracting the score of a snowflake.
+     * @param filter the condition an author has to satisfy in order to be considered.
+     * @param size the maximum number of authors on the leaderboard.
+     */
+    public LeaderboardAccumulator(@Nonnull Function<? super T, String> author, @Nonnull ToLongFunction<? super T> score, @Nonnull Predicate<String> filter, int size){
+        this.author = author;
+        this.score = score;
+        this.filter = filter;
+        this.size = size;
+    }
+
+    @Override
+    public void accept(@Nonnull T value) {
+        String name = author.apply(value);
+        if(filter.test(name))
+            scores.add(name, score.applyAsLong(value));
+    }
+
+    /**
+     * @return the authors with the highest accumulated score, ordered by {@link Leader#ORDER}.
+     */
+    @Nonnull
+    @Override
+    public List<Leader> get() {
+        return scores.top(size);
+    }
+
+    @Nonnull
+    @Override
+    public LeaderboardAccumulator<T> copy(){
+        return new LeaderboardAccumulator<>(author, score, filter, size);
+    }
+
+    @Override
+    public void combine(@Nonnull Accumulator<T, List<Leader>> other){
+        scores.merge(((LeaderboardAccumulator<T>)other).scores);
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.Range;
+import vartas.discord.blanc.command.reddit.SnowflakeCommand;
+import vartas.reddit.Submission;
+import vartas.reddit.Subreddit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Loads the submissions of a {@link Subreddit} over many days with only a few requests.
+ * <p>
+ * Contiguous days are grouped into blocks of at most {@link #DEFAULT_DAYS_PER_REQUEST} days, and the submissions of
+ * each block are requested at once. The result is then split again into day-sized {@link Chunk chunks}, in
+ * chronological order. While the chunks of one block are consumed, the next block is already requested in the
+ * background, so that waiting for the client and processing the submissions overlap. Each loader only ever has a
+ * single request in the background, which runs on the bounded thread pool shared with all {@link Aggregation
+ * aggregations}, so that the number of concurrent requests to the client is limited across all commands.<br>
+ * A loader is meant to be consumed by a single thread and should be closed, if it isn't consumed completely.
+ */
+@Nonnull
+public class RangeLoader implements Iterator<RangeLoader.Chunk>, AutoCloseable {
+    /**
+     * The default maximum number of days that are requested at once.
+     */
+    public static final int DEFAULT_DAYS_PER_REQUEST = 7;
+    /**
+     * The {@link Subreddit} containing the submissions.
+     */
+    @Nonnull
+    private final Subreddit subreddit;
+    /**
+     * All blocks of contiguous days, in chronological order.
+     */
+    @Nonnull
+    private final List<List<Instant>> blocks = new ArrayList<>();
+    /**
+     * The index of the next block that hasn't been requested yet.
+     */
+    private int nextBlock;
+    /**
+     * The request of the next block, which hasn't been consumed yet. May be null if there is no such request.
+     */
+    @Nullable
+    private Future<List<Chunk>> pending;
+    /**
+     * The remaining chunks of the current block.
+     */
+    @Nonnull
+    private Iterator<Chunk> current = Collections.emptyIterator();
+
+    /**
+     * Loads every day in the range.
+     * @param subreddit the {@link Subreddit} containing the submissions.
+     * @param range the time interval of the submissions.
+     */
+    public RangeLoader(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
+        this(subreddit, ContiguousSet.create(range, SnowflakeCommand.domain), DEFAULT_DAYS_PER_REQUEST);
+    }
+
+    /**
+     * @param subreddit the {@link Subreddit} containing the submissions.
+     * @param days the start of every day that is loaded, in chronological order.
+     * @param daysPerRequest the maximum number of days that are requested at once.
+     */
+    public RangeLoader(@Nonnull Subreddit subreddit, @Nonnull Collection<Instant> days, int daysPerRequest){
+        if(daysPerRequest <= 0)
+            throw new IllegalArgumentException("At least one day has to be requested at once.");
+
+        this.subreddit = subreddit;
+
+        List<Instant> block = new ArrayList<>();
+        for(Instant day : days){
+            boolean adjacent = !block.isEmpty() && SnowflakeCommand.domain.next(block.get(block.size() - 1)).equals(day);
+            if(!block.isEmpty() && (!adjacent || block.size() == daysPerRequest)){
+                blocks.add(block);
+                block = new ArrayList<>();
+            }
+            block.add(day);
+        }
+
+        if(!block.isEmpty())
+            blocks.add(block);
+    }
+
+    /**
+     * @return true if there are chunks left.
+     * @throws CancellationException if the current thread was interrupted while waiting for the next block.
+     */
+    @Override
+    public boolean hasNext(){
+        while(!current.hasNext()){
+            if(pending == null && nextBlock < blocks.size())
+                pending = request(blocks.get(nextBlock++));
+
+            if(pending == null)
+                return false;
+
+            Future<List<Chunk>> future = pending;
+            //Request the next block, while the current one is processed
+            pending = nextBlock < blocks.size() ? request(blocks.get(nextBlock++)) : null;
+            current = await(future).iterator();
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the chunk of the next day.
+     * @throws NoSuchElementException if there are no chunks left.
+     */
+    @Nonnull
+    @Override
+    public Chunk next(){
+        if(!hasNext())
+            throw new NoSuchElementException();
+
+        return current.next();
+    }
+
+    /**
+     * Cancels the request in the background, if there is one.
+     */
+    @Override
+    public void close(){
+        if(pending != null)
+            pending.cancel(true);
+
+        pending = null;
+        nextBlock = blocks.size();
+        current = Collections.emptyIterator();
+    }
+
+    @Nonnull
+    private Future<List<Chunk>> request(@Nonnull List<Instant> block){
+        return Aggregation.EXECUTOR.submit(() -> load(block));
+    }
+
+    @Nonnull
+    private List<Chunk> load(@Nonnull List<Instant> block){
+        Instant from = block.get(0);
+        Instant to = SnowflakeCommand.domain.next(block.get(block.size() - 1));
+        Map<Instant, List<Submission>> days = new LinkedHashMap<>();
+
+        for(Instant day : block)
+            days.put(day, new ArrayList<>());
+
+        for(Submission submission : subreddit.getUncheckedSubmissions(from, to)){
+            List<Submission> submissions = days.get(submission.getCreated().truncatedTo(ChronoUnit.DAYS));
+            //Ignore submissions the client returned outside of the requested interval
+            if(submissions != null)
+                submissions.add(submission);
+        }
+
+        List<Chunk> chunks = new ArrayList<>(days.size());
+        for(Map.Entry<Instant, List<Submission>> entry : days.entrySet())
+            chunks.add(new Chunk(entry.getKey(), entry.getValue()));
+        return chunks;
+    }
+
+    @Nonnull
+    private static List<Chunk> await(@Nonnull Future<List<Chunk>> future){
+        try {
+            return future.get();
+        }catch(InterruptedException e){
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException(e.toString());
+        }catch(ExecutionException e){
+            if(e.getCause() instanceof RuntimeException)
+                throw (RuntimeException)e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * The submissions of a single day.
+     */
+    @Nonnull
+    public static final class Chunk {
+        @Nonnull
+        private final Instant day;
+        @Nonnull
+        private final List<Submission> submissions;
+
+        private Chunk(@Nonnull Instant day, @Nonnull List<Submission> submissions){
+            this.day = day;
+            this.submissions = Collections.unmodifiableList(submissions);
+        }
+
+        /**
+         * @return the start of the day.
+         */
+        @Nonnull
+        public Instant getDay(){
+            return day;
+        }
+
+        /**
+         * @return all submissions created during the day.
+         */
+        @Nonnull
+        public List<Submission> getSubmissions(){
+            return submissions;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.Range;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import vartas.discord.blanc.Errors;
+import vartas.discord.blanc.command.reddit.SnowflakeCommand;
+import vartas.reddit.Submission;
+import vartas.reddit.Subreddit;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The persistent store for the {@link DailyRollup daily rollups} of all subreddits.
+ * <p>
+ * Once a day is over, the submissions and comments of that day no longer change. Their rollup is therefore
+ * computed once, when the day is requested for the first time, and then written to disk. All subsequent requests
+ * are answered from the stored rollups. Only the current day is always computed from the raw data.<br>
+ * The rollups of each subreddit are stored in a separate file, with one rollup per line. New rollups are appended
+ * to the end of the file, so that storing a day doesn't rewrite all previous days.
+ */
+@Nonnull
+public class RollupStore {
+    /**
+     * This class' logger.
+     */
+    @Nonnull
+    private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+    /**
+     * The directory containing the rollup files.
+     */
+    @Nonnull
+    private final Path directory;
+    /**
+     * The rollups of all closed days, grouped by the (lower case) subreddit name.
+     */
+    @Nonnull
+    private final Map<String, NavigableMap<Instant, DailyRollup>> rollups = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory the directory containing the rollup files.
+     */
+    public RollupStore(@Nonnull Path directory){
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the rollups for every day in the range. Missing rollups are computed from the raw data, and stored,
+     * if the corresponding day is already over.
+     * @param subreddit the {@link Subreddit} associated with the rollups.
+     * @param range the time interval of the rollups.
+     * @return the rollups of all days in the range, in chronological order. The rollups are shared and must not
+     *         be modified.
+     */
+    @Nonnull
+    public NavigableMap<Instant, DailyRollup> getRollups(@Nonnull Subreddit subreddit, @Nonnull Range<Instant> range){
+        String key = subreddit.getName().toLowerCase(Locale.ENGLISH);
+        NavigableMap<Instant, DailyRollup> cache = rollups.computeIfAbsent(key, this::load);
+        NavigableMap<Instant, DailyRollup> result = new TreeMap<>();
+        NavigableMap<Instant, DailyRollup> closed = new TreeMap<>();
+        Instant today = Instant.now().truncatedTo(ChronoUnit.DAYS);
+
+        List<Instant> missing = new ArrayList<>();
+        synchronized (cache) {
+            for (Instant day : ContiguousSet.create(range, SnowflakeCommand.domain)) {
+                DailyRollup rollup = day.isBefore(today) ? cache.get(day) : null;
+                if (rollup == null)
+                    missing.add(day);
+                else
+                    result.put(day, rollup);
+            }
+        }
+
+        //Compute the missing days, aggregating adjacent days together
+        int from = 0;
+        for(int i = 1 ; i <= missing.size() ; ++i){
+            if(i < missing.size() && missing.get(i).equals(SnowflakeCommand.domain.next(missing.get(i - 1))))
+                continue;
+
+            Range<Instant> partition = Range.closedOpen(missing.get(from), SnowflakeCommand.domain.next(missing.get(i - 1)));
+            Aggregation aggregation = new Aggregation(subreddit, partition);
+            DailyAccumulator<Submission, DailyRollup> accumulator = aggregation.submissions(new DailyAccumulator<>(Submission::getCreated, new DailyRollup()));
+            aggregation.run();
+
+            NavigableMap<Instant, DailyRollup> values = accumulator.get();
+            for(Instant day : missing.subList(from, i)){
+                DailyRollup rollup = values.getOrDefault(day, new DailyRollup());
+                result.put(day, rollup);
+
+                if(day.isBefore(today)) {
+                    synchronized (cache) {
+                        //Another request may have stored the day in the meantime
+                        if(cache.putIfAbsent(day, rollup) == null)
+                            closed.put(day, rollup);
+                    }
+                }
+            }
+
+            from = i;
+        }
+
+        if(!closed.isEmpty())
+            store(key, cache, closed);
+
+        return result;
+    }
+
+    @Nonnull
+    private Path getPath(@Nonnull String key){
+        return directory.resolve(key + ".jsonl");
+    }
+
+    @Nonnull
+    private NavigableMap<Instant, DailyRollup> load(@Nonnull String key){
+        NavigableMap<Instant, DailyRollup> target = new TreeMap<>();
+        Path path = getPath(key);
+
+        if(Files.notExists(path))
+            return target;
+
+        try{
+            for(String line : Files.readAllLines(path, StandardCharsets.UTF_8)){
+                if(line.isBlank())
+                    continue;
+
+                //An interrupted write may leave an incomplete line, whose day is computed again
+                try{
+                    JSONObject source = new JSONObject(line);
+                    target.put(Instant.parse(source.getString("day")), DailyRollup.fromJson(source));
+                }catch(JSONException | DateTimeParseException e){
+                    log.error(Errors.INVALID_JSON_FILE.toString(), e.toString());
+                }
+            }
+        }catch(IOException e){
+            log.error(Errors.INVALID_FILE.toString(), e.toString());
+        }
+
+        return target;
+    }
+
+    private void store(@Nonnull String key, @Nonnull NavigableMap<Instant, DailyRollup> cache, @Nonnull NavigableMap<Instant, DailyRollup> rollups){
+        StringBuilder target = new StringBuilder();
+
+        //Every rollup starts on a new line, in case the previous write has been interrupted
+        for (Map.Entry<Instant, DailyRollup> entry : rollups.entrySet())
+            target.append(System.lineSeparator()).append(entry.getValue().toJson().put("day", entry.getKey().toString()));
+
+        //Appends from concurrent requests must not interleave
+        synchronized (cache) {
+            try {
+                Files.createDirectories(directory);
+                Files.writeString(getPath(key), target, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                log.error(Errors.INVALID_FILE.toString(), e.toString());
+            }
+        }
+    }
+}
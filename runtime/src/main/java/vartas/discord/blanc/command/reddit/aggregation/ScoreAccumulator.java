@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Computes the combined score of all snowflakes that satisfy a given condition.
+ * @param <T> the type of the accumulated snowflakes.
+ */
+@Nonnull
+public class ScoreAccumulator<T> implements Accumulator<T, Long> {
+    @Nonnull
+    private final ToLongFunction<? super T> score;
+    @Nonnull
+    private final Predicate<? super T> filter;
+    private long sum = 0;
+
+    /**
+     * @param score the function extracting the score of a snowflake.
+     */
+    public ScoreAccumulator(@Nonnull ToLongFunction<? super T> score){
+        this(score, value -> true);
+    }
+
+    /**
+     * @param score the function extracting the score of a snowflake.
+     * @param filter the condition a snowflake has to satisfy in order to be considered.
+     */
+    public ScoreAccumulator(@Nonnull ToLongFunction<? super T> score, @Nonnull Predicate<? super T> filter){
+        this.score = score;
+        this.filter = filter;
+    }
+
+    @Override
+    public void accept(@Nonnull T value) {
+        if(filter.test(value))
+            sum += score.applyAsLong(value);
+    }
+
+    @Nonnull
+    @Override
+    public Long get() {
+        return sum;
+    }
+
+    @Nonnull
+    @Override
+    public ScoreAccumulator<T> copy(){
+        return new ScoreAccumulator<>(score, filter);
+    }
+
+    @Override
+    public void combine(@Nonnull Accumulator<T, Long> other){
+        sum += ((ScoreAccumulator<T>)other).sum;
+    }
+}
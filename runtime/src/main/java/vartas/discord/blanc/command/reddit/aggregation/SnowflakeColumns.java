@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import vartas.reddit.Comment;
+import vartas.reddit.Submission;
+
+import javax.annotation.Nonnull;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * The submissions and comments of a single day in a columnar layout.
+ * <p>
+ * Only the attributes required for the statistics are kept, each in a separate primitive array. Authors and flairs
+ * are dictionary-encoded. Every day has its own dictionaries, so that they are released together with the columns,
+ * meaning that codes can only be compared within the same day. The NSFW and spoiler flags are packed into bit sets.
+ */
+@Nonnull
+public final class SnowflakeColumns {
+    /**
+     * The flair code of submissions without a flair or with a blank flair.
+     */
+    public static final int NO_FLAIR = -1;
+    @Nonnull
+    private final Instant day;
+    @Nonnull
+    private final Dictionary authors;
+    @Nonnull
+    private final Dictionary flairs;
+    //Submissions
+    @Nonnull
+    private final int[] submissionAuthors;
+    @Nonnull
+    private final int[] submissionScores;
+    @Nonnull
+    private final int[] submissionFlairs;
+    @Nonnull
+    private final BitSet nsfw;
+    @Nonnull
+    private final BitSet spoiler;
+    //Comments
+    @Nonnull
+    private final int[] commentAuthors;
+    @Nonnull
+    private final int[] commentScores;
+
+    /**
+     * Transforms the submissions, as well as their comments, into columns.
+     * @param day the day of the submissions.
+     * @param submissions the submissions of the day.
+     */
+    public SnowflakeColumns(@Nonnull Instant day, @Nonnull Collection<Submission> submissions){
+        int size = submissions.size();
+        int comments = 0;
+        for(Submission submission : submissions)
+            comments += submission.getComments().size();
+
+        this.day = day;
+        this.authors = new Dictionary();
+        this.flairs = new Dictionary();
+        this.submissionAuthors = new int[size];
+        this.submissionScores = new int[size];
+        this.submissionFlairs = new int[size];
+        this.nsfw = new BitSet(size);
+        this.spoiler = new BitSet(size);
+        this.commentAuthors = new int[comments];
+        this.commentScores = new int[comments];
+
+        int row = 0;
+        int offset = 0;
+        for(Submission submission : submissions){
+            submissionAuthors[row] = authors.encode(submission.getAuthor());
+            submissionScores[row] = submission.getScore();
+            submissionFlairs[row] = submission.getLinkFlairText().filter(flair -> !flair.isBlank()).map(flairs::encode).orElse(NO_FLAIR);
+            nsfw.set(row, submission.getNsfw());
+            spoiler.set(row, submission.getSpoiler());
+
+            for(Comment comment : submission.getComments()){
+                commentAuthors[offset] = authors.encode(comment.getAuthor());
+                commentScores[offset] = comment.getScore();
+                ++offset;
+            }
+
+            ++row;
+        }
+    }
+
+    /**
+     * @return the day of the submissions.
+     */
+    @Nonnull
+    public Instant getDay(){
+        return day;
+    }
+
+    /**
+     * @return the dictionary for the author names.
+     */
+    @Nonnull
+    public Dictionary getAuthors(){
+        return authors;
+    }
+
+    /**
+     * @return the dictionary for the flairs.
+     */
+    @Nonnull
+    public Dictionary getFlairs(){
+        return flairs;
+    }
+
+    /**
+     * @return the total number of rows, over all submissions and comments, plus the number of dictionary entries.
+     */
+    public int getWeight(){
+        return getSubmissionCount() + getCommentCount() + authors.size() + flairs.size();
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Submissions
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    public int getSubmissionCount(){
+        return submissionAuthors.length;
+    }
+
+    public int getSubmissionAuthor(int row){
+        return submissionAuthors[row];
+    }
+
+    public int getSubmissionScore(int row){
+        return submissionScores[row];
+    }
+
+    public int getSubmissionFlair(int row){
+        return submissionFlairs[row];
+    }
+
+    public boolean getNsfw(int row){
+        return nsfw.get(row);
+    }
+
+    public boolean getSpoiler(int row){
+        return spoiler.get(row);
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    //
+    //      Comments
+    //
+    //------------------------------------------------------------------------------------------------------------------
+
+    public int getCommentCount(){
+        return commentAuthors.length;
+    }
+
+    public int getCommentAuthor(int row){
+        return commentAuthors[row];
+    }
+
+    public int getCommentScore(int row){
+        return commentScores[row];
+    }
+}
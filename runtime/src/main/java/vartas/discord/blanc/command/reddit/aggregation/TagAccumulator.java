@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Counts the submissions by their tags, over the columns of all days. Every submission is either untagged, NSFW,
+ * spoiler or both.
+ */
+@Nonnull
+public class TagAccumulator implements ColumnAccumulator<TagAccumulator> {
+    private long untagged;
+    private long nsfw;
+    private long spoiler;
+    private long both;
+
+    @Override
+    public void accept(@Nonnull SnowflakeColumns columns){
+        for(int row = 0 ; row < columns.getSubmissionCount() ; ++row){
+            if(columns.getNsfw(row) && columns.getSpoiler(row))
+                ++both;
+            else if(columns.getNsfw(row))
+                ++nsfw;
+            else if(columns.getSpoiler(row))
+                ++spoiler;
+            else
+                ++untagged;
+        }
+    }
+
+    @Nonnull
+    @Override
+    public TagAccumulator get(){
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public TagAccumulator copy(){
+        return new TagAccumulator();
+    }
+
+    @Override
+    public void combine(@Nonnull Accumulator<SnowflakeColumns, TagAccumulator> other){
+        TagAccumulator source = other.get();
+
+        untagged += source.untagged;
+        nsfw += source.nsfw;
+        spoiler += source.spoiler;
+        both += source.both;
+    }
+
+    public long getUntagged(){
+        return untagged;
+    }
+
+    /**
+     * @return the number of submissions that are NSFW, but not marked as spoiler.
+     */
+    public long getNsfw(){
+        return nsfw;
+    }
+
+    /**
+     * @return the number of submissions that are marked as spoiler, but not NSFW.
+     */
+    public long getSpoiler(){
+        return spoiler;
+    }
+
+    public long getBoth(){
+        return both;
+    }
+}
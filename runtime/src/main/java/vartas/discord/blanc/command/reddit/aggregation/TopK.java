@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * A bounded collection keeping only the top elements with respect to a given order.
+ * <p>
+ * The elements are stored in a min-heap, whose head is the worst of the kept elements. A new element is rejected
+ * after a single comparison with the head, unless it is better, in which case it replaces the head. This requires
+ * O(log k) time for every accepted element and O(1) for every rejected one.<br>
+ * The order has to be total, e.g. by breaking ties via the id. Otherwise, the kept elements may depend on the
+ * order in which they have been added.
+ * @param <T> the type of the elements.
+ */
+@Nonnull
+public class TopK<T> extends AbstractCollection<T> {
+    /**
+     * The maximum number of kept elements.
+     */
+    private final int capacity;
+    /**
+     * The order of the elements, starting with the best element.
+     */
+    @Nonnull
+    private final Comparator<? super T> order;
+    /**
+     * The kept elements, with the worst element at the head.
+     */
+    @Nonnull
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param capacity the maximum number of kept elements.
+     * @param order the order of the elements, starting with the best element.
+     */
+    public TopK(int capacity, @Nonnull Comparator<? super T> order){
+        this.capacity = capacity;
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.max(1, capacity), Collections.reverseOrder(order));
+    }
+
+    /**
+     * Adds the element, if it is among the top elements.
+     * @param value the new element.
+     * @return true if the element has been kept.
+     */
+    @Override
+    public boolean add(@Nonnull T value){
+        if(heap.size() < capacity)
+            return heap.add(value);
+
+        if(capacity == 0 || order.compare(value, heap.peek()) >= 0)
+            return false;
+
+        heap.poll();
+        return heap.add(value);
+    }
+
+    /**
+     * Adds the top elements of the other collection to this collection.
+     * @param other the collection of a different partition.
+     */
+    public void merge(@Nonnull TopK<T> other){
+        for(T value : other.heap)
+            add(value);
+    }
+
+    /**
+     * @return the worst of the kept elements or null, if the collection is empty.
+     */
+    public T peekWorst(){
+        return heap.peek();
+    }
+
+    /**
+     * @return the kept elements, starting with the best element.
+     */
+    @Nonnull
+    public List<T> toList(){
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+
+    /**
+     * @return an iterator over the kept elements, starting with the best element.
+     */
+    @Nonnull
+    @Override
+    public Iterator<T> iterator(){
+        return Collections.unmodifiableList(toList()).iterator();
+    }
+
+    @Override
+    public int size(){
+        return heap.size();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import javax.annotation.Nonnull;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Counts the number of distinct authors over all snowflakes.
+ * @param <T> the type of the accumulated snowflakes.
+ */
+@Nonnull
+public class UniqueAuthorAccumulator<T> implements Accumulator<T, Long> {
+    @Nonnull
+    private final Function<? super T, String> author;
+    @Nonnull
+    private final Predicate<String> filter;
+    @Nonnull
+    private final Set<String> authors = new HashSet<>();
+
+    /**
+     * @param author the function extracting the author of a snowflake.
+     * @param filter the condition an author has to satisfy in order to be counted.
+     */
+    public UniqueAuthorAccumulator(@Nonnull Function<? super T, String> author, @Nonnull Predicate<String> filter){
+        this.author = author;
+        this.filter = filter;
+    }
+
+    @Override
+    public void accept(@Nonnull T value) {
+        String name = author.apply(value);
+        if(filter.test(name))
+            authors.add(name);
+    }
+
+    @Nonnull
+    @Override
+    public Long get() {
+        return (long)authors.size();
+    }
+
+    @Nonnull
+    @Override
+    public UniqueAuthorAccumulator<T> copy(){
+        return new UniqueAuthorAccumulator<>(author, filter);
+    }
+
+    @Override
+    public void combine(@Nonnull Accumulator<T, Long> other){
+        authors.addAll(((UniqueAuthorAccumulator<T>)other).authors);
+    }
+}
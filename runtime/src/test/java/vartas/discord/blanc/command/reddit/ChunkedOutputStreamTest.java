@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChunkedOutputStreamTest {
+    @Test
+    public void testEmpty() throws IOException {
+        ChunkedOutputStream stream = new ChunkedOutputStream();
+
+        assertThat(stream.size()).isEqualTo(0);
+        assertThat(stream.toInputStream().readAllBytes()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, ChunkedOutputStream.CHUNK_SIZE - 1, ChunkedOutputStream.CHUNK_SIZE, ChunkedOutputStream.CHUNK_SIZE + 1, 5 * ChunkedOutputStream.CHUNK_SIZE / 2})
+    public void testWrite(int size) throws IOException {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+
+        ChunkedOutputStream stream = new ChunkedOutputStream();
+        //Spans multiple chunks with a single call
+        stream.write(bytes, 0, size);
+
+        assertThat(stream.size()).isEqualTo(size);
+        assertThat(stream.toInputStream().readAllBytes()).isEqualTo(bytes);
+    }
+
+    @Test
+    public void testWriteByte() throws IOException {
+        byte[] bytes = new byte[ChunkedOutputStream.CHUNK_SIZE + 10];
+        new Random(0).nextBytes(bytes);
+
+        ChunkedOutputStream stream = new ChunkedOutputStream();
+        for(byte b : bytes)
+            stream.write(b);
+
+        assertThat(stream.size()).isEqualTo(bytes.length);
+        assertThat(stream.toInputStream().readAllBytes()).isEqualTo(bytes);
+    }
+
+    @Test
+    public void testToInputStream() throws IOException {
+        ChunkedOutputStream stream = new ChunkedOutputStream();
+        stream.write(new byte[]{1, 2, 3});
+
+        //Every stream starts at the beginning of the content
+        try(InputStream first = stream.toInputStream(); InputStream second = stream.toInputStream()){
+            assertThat(first.readAllBytes()).containsExactly(1, 2, 3);
+            assertThat(second.readAllBytes()).containsExactly(1, 2, 3);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.mock.PrivateChannelMock;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ReportWriterTest {
+    PrivateChannelMock channel;
+
+    @BeforeEach
+    public void setUp(){
+        channel = new PrivateChannelMock();
+    }
+
+    private String send(ReportWriter writer, String qualifiedName){
+        writer.toResult().send(channel);
+        assertThat(channel.files).containsKey(qualifiedName);
+        return new String(channel.files.get(qualifiedName), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testTable(){
+        ReportWriter writer = new ReportWriter("report.md", false)
+                .beginTable(3, ReportWriter.Alignment.LEFT, ReportWriter.Alignment.RIGHT)
+                .row("Author", "Score", "Comments")
+                .row("User", 10)
+                .row("Other", null, 5);
+
+        assertThat(send(writer, "report.md")).isEqualTo(
+                "| Author | Score | Comments |\n" +
+                "| :--- | ---: | --- |\n" +
+                "| User | 10 |  |\n" +
+                "| Other |  | 5 |\n" +
+                "\n"
+        );
+    }
+
+    @Test
+    public void testEscape(){
+        ReportWriter writer = new ReportWriter("report.md", false)
+                .beginTable(1)
+                .row("Title")
+                .row("A|B\nC");
+
+        assertThat(send(writer, "report.md")).contains("| A\\|B C |\n");
+    }
+
+    @Test
+    public void testItem(){
+        ReportWriter writer = new ReportWriter("report.md", false)
+                .beginTable(1)
+                .row("Title")
+                .item("First")
+                .item("Second");
+
+        //Items end the current table
+        assertThat(send(writer, "report.md")).isEqualTo(
+                "| Title |\n" +
+                "| --- |\n" +
+                "\n" +
+                "- First\n" +
+                "- Second\n"
+        );
+    }
+
+    @Test
+    public void testRowWithoutTable(){
+        assertThrows(IllegalStateException.class, () -> new ReportWriter("report.md", false).row("Cell"));
+    }
+
+    @Test
+    public void testLargeReport(){
+        ReportWriter writer = new ReportWriter("report.md", false).beginTable(2).row("Index", "Value");
+        for(int i = 0 ; i < 10000 ; ++i)
+            writer.row(i, "Value" + i);
+
+        //The content exceeds a single chunk
+        String content = send(writer, "report.md");
+        assertThat(content.length()).isGreaterThan(ChunkedOutputStream.CHUNK_SIZE);
+        assertThat(content).endsWith("| 9999 | Value9999 |\n\n");
+    }
+
+    @Test
+    public void testCompressed() throws IOException {
+        ReportWriter writer = new ReportWriter("report.md", true).item("Item");
+        writer.toResult().send(channel);
+
+        byte[] bytes = channel.files.get("report.md" + ReportWriter.GZIP_EXTENSION);
+        assertThat(bytes).isNotNull();
+        try(GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))){
+            assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("- Item\n");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ResultCacheTest {
+    LocalDate from = LocalDate.of(2020, 5, 1);
+    LocalDate to = LocalDate.of(2020, 5, 8);
+    LocalDate tomorrow = LocalDate.now(ZoneOffset.UTC).plusDays(1);
+    ResultCache cache;
+    AtomicInteger renders;
+
+    @BeforeEach
+    public void setUp(){
+        cache = new ResultCache(1 << 20, Duration.ofHours(1), Duration.ofMillis(1));
+        renders = new AtomicInteger();
+    }
+
+    private RenderedResult render(){
+        renders.incrementAndGet();
+        return RenderedResult.of(new byte[16], "result.png");
+    }
+
+    @Test
+    public void testKey(){
+        ResultCache.Key key = new ResultCache.Key(getClass(), "Subreddit", from, to, "tag", List.of("Submission", "comment"));
+
+        assertThat(key).isEqualTo(new ResultCache.Key(getClass(), "subreddit", from, to, "tag", List.of("comment", "SUBMISSION")));
+        assertThat(key).hasSameHashCodeAs(new ResultCache.Key(getClass(), "SUBREDDIT", from, to, "tag", List.of("submission", "Comment")));
+        assertThat(key).isNotEqualTo(new ResultCache.Key(getClass(), "Subreddit", from, to, "Tag", List.of("Submission", "comment")));
+        assertThat(key).isNotEqualTo(new ResultCache.Key(getClass(), "Subreddit", from, to, "tag", List.of("Submission")));
+        assertThat(key).isNotEqualTo(new ResultCache.Key(Object.class, "Subreddit", from, to, "tag", List.of("Submission", "comment")));
+        assertThat(key).isNotEqualTo(new ResultCache.Key(getClass(), "Subreddit", from, tomorrow, "tag", List.of("Submission", "comment")));
+    }
+
+    @Test
+    public void testIsClosed(){
+        assertThat(new ResultCache.Key(getClass(), "Subreddit", from, to, "tag", List.of()).isClosed()).isTrue();
+        assertThat(new ResultCache.Key(getClass(), "Subreddit", from, tomorrow, "tag", List.of()).isClosed()).isFalse();
+    }
+
+    @Test
+    public void testGetClosed() throws InterruptedException {
+        RenderedResult result = cache.get(new ResultCache.Key(getClass(), "Subreddit", from, to, "tag", List.of()), this::render);
+        Thread.sleep(50);
+
+        assertThat(cache.get(new ResultCache.Key(getClass(), "subreddit", from, to, "tag", List.of()), this::render)).isSameAs(result);
+        assertThat(renders).hasValue(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetOpen() throws InterruptedException {
+        ResultCache.Key key = new ResultCache.Key(getClass(), "Subreddit", from, tomorrow, "tag", List.of());
+
+        RenderedResult result = cache.get(key, this::render);
+        Thread.sleep(50);
+
+        //Results over the current day expire much sooner
+        assertThat(cache.get(key, this::render)).isNotSameAs(result);
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    public void testGetFailure(){
+        ResultCache.Key key = new ResultCache.Key(getClass(), "Subreddit", from, to, "tag", List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get(key, () -> {
+            throw new IllegalArgumentException();
+        }));
+        assertThat(cache.size()).isEqualTo(0);
+
+        cache.get(key, this::render);
+        assertThat(renders).hasValue(1);
+    }
+
+    @Test
+    public void testInvalidateAll(){
+        cache = new ResultCache();
+        cache.get(new ResultCache.Key(getClass(), "Subreddit", from, to, "tag", List.of()), this::render);
+        cache.get(new ResultCache.Key(getClass(), "Subreddit", from, tomorrow, "tag", List.of()), this::render);
+        assertThat(cache.size()).isEqualTo(2);
+
+        cache.invalidateAll();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Range;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.command.reddit.SnowflakeCommand;
+import vartas.discord.blanc.mock.CommentMock;
+import vartas.discord.blanc.mock.SubmissionMock;
+import vartas.discord.blanc.mock.SubredditMock;
+import vartas.reddit.Comment;
+import vartas.reddit.Submission;
+
+import javax.annotation.Nonnull;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AggregationTest {
+    static final Instant FROM = Instant.parse("2020-05-01T00:00:00Z");
+    static final int DAYS = 10;
+    static final String[] AUTHORS = {"A", "B", "C", "[deleted]"};
+    SnowflakeCommand command = new SnowflakeCommand(){};
+    SubredditMock subreddit;
+    Range<Instant> range;
+    List<Comment> comments;
+
+    @BeforeEach
+    public void setUp(){
+        Aggregation.CACHE.invalidateAll();
+        subreddit = SubredditMock.create("Subreddit");
+        range = Range.closed(day(0), day(DAYS - 1));
+        comments = new ArrayList<>();
+
+        for(int i = 0 ; i < DAYS ; ++i){
+            for(int j = 0 ; j < 4 ; ++j){
+                Submission submission = SubmissionMock.create(i + "_" + j, AUTHORS[(i + j) % 4], (i * 7 + j * 3) % 11, day(i).plusSeconds(3600 * j));
+                subreddit.submissions.add(submission);
+                for(int k = 0 ; k <= j ; ++k)
+                    comments.add(CommentMock.create(submission, AUTHORS[(i + k) % 4], (i + j + k) % 5));
+            }
+        }
+    }
+
+    static Instant day(int offset){
+        return FROM.plus(offset, ChronoUnit.DAYS);
+    }
+
+    static List<Instant> days(int from, int to){
+        List<Instant> days = new ArrayList<>();
+        for(int i = from ; i < to ; ++i)
+            days.add(day(i));
+        return days;
+    }
+
+    @Test
+    public void testEveryDayOnce(){
+        Aggregation aggregation = new Aggregation(subreddit, range);
+        List<Submission> submissions = aggregation.submissions(new CollectionAccumulator<Submission, List<Submission>>(ArrayList::new, submission -> true)).get();
+        List<Comment> comments = aggregation.comments(new CollectionAccumulator<Comment, List<Comment>>(ArrayList::new, comment -> true)).get();
+        List<Instant> days = aggregation.columns(new DayAccumulator()).get();
+        aggregation.run();
+
+        assertThat(submissions).containsExactlyInAnyOrderElementsOf(subreddit.submissions);
+        assertThat(comments).containsExactlyInAnyOrderElementsOf(this.comments);
+        assertThat(days).containsExactlyInAnyOrderElementsOf(days(0, DAYS));
+        //The columns are built from the loaded submissions, without requesting a day twice
+        assertThat(subreddit.requests).containsExactlyInAnyOrder(
+                Range.closedOpen(day(0), day(7)),
+                Range.closedOpen(day(7), day(DAYS))
+        );
+    }
+
+    @Test
+    public void testCounts(){
+        Aggregation aggregation = new Aggregation(subreddit, range);
+        CountAccumulator<Submission> submissions = aggregation.submissions(new CountAccumulator<>());
+        ScoreAccumulator<Submission> submissionScore = aggregation.submissions(new ScoreAccumulator<>(Submission::getScore));
+        CountAccumulator<Comment> comments = aggregation.comments(new CountAccumulator<>(comment -> comment.getAuthor().equals("A")));
+        ScoreAccumulator<Comment> commentScore = aggregation.comments(new ScoreAccumulator<>(Comment::getScore));
+        ColumnStatistics statistics = aggregation.columns(new ColumnStatistics(null, true));
+        aggregation.run();
+
+        long expectedSubmissionScore = subreddit.submissions.stream().mapToLong(Submission::getScore).sum();
+        long expectedCommentScore = this.comments.stream().mapToLong(Comment::getScore).sum();
+
+        assertThat(submissions.get()).isEqualTo(subreddit.submissions.size());
+        assertThat(submissionScore.get()).isEqualTo(expectedSubmissionScore);
+        assertThat(comments.get()).isEqualTo(this.comments.stream().filter(comment -> comment.getAuthor().equals("A")).count());
+        assertThat(commentScore.get()).isEqualTo(expectedCommentScore);
+
+        assertThat(statistics.getSubmissions()).isEqualTo(subreddit.submissions.size());
+        assertThat(statistics.getComments()).isEqualTo(this.comments.size());
+        assertThat(statistics.getSubmissionScore()).isEqualTo(expectedSubmissionScore);
+        assertThat(statistics.getCommentScore()).isEqualTo(expectedCommentScore);
+        assertThat(statistics.getUniqueSubmitters()).isEqualTo(3);
+        assertThat(statistics.getUniqueCommenters()).isEqualTo(3);
+    }
+
+    @Test
+    public void testTopSubmissions(){
+        List<Submission> expected = subreddit.submissions.stream()
+                .filter(SnowflakeCommand.submittedBy(SnowflakeCommand.defaultFilter))
+                .sorted(SnowflakeCommand.submissionOrder)
+                .limit(5)
+                .collect(Collectors.toList());
+
+        assertThat(command.getTopSubmissions(subreddit, range, 5)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void testTopComments(){
+        List<Comment> expected = comments.stream()
+                .filter(SnowflakeCommand.commentedBy(SnowflakeCommand.defaultFilter))
+                .sorted(SnowflakeCommand.commentOrder)
+                .limit(5)
+                .collect(Collectors.toList());
+
+        assertThat(command.getTopComments(subreddit, range, 5)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void testTopSubmitters(){
+        Map<Leader, List<Submission>> result = command.getTopSubmitters(subreddit, range, 2);
+
+        Map<String, List<Submission>> groups = subreddit.submissions.stream()
+                .filter(SnowflakeCommand.submittedBy(SnowflakeCommand.defaultFilter))
+                .collect(Collectors.groupingBy(Submission::getAuthor));
+        List<String> authors = groups.keySet().stream()
+                .sorted(Comparator.comparingLong((String author) -> score(groups.get(author))).reversed().thenComparing(author -> author))
+                .limit(2)
+                .collect(Collectors.toList());
+
+        assertThat(result.keySet()).extracting(Leader::getAuthor).containsExactlyElementsOf(authors);
+        for(Map.Entry<Leader, List<Submission>> entry : result.entrySet()){
+            List<Submission> submissions = groups.get(entry.getKey().getAuthor());
+            assertThat(entry.getKey().getScore()).isEqualTo(score(submissions));
+            assertThat(entry.getKey().getCount()).isEqualTo(submissions.size());
+            assertThat(entry.getValue()).containsExactlyElementsOf(submissions.stream().sorted(SnowflakeCommand.submissionOrder).limit(2).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testChronologicalOrder(){
+        Aggregation aggregation = new Aggregation(subreddit, range);
+        List<Submission> submissions = aggregation.submissions(new CollectionAccumulator<Submission, List<Submission>>(ArrayList::new, submission -> true)).get();
+        List<Instant> days = aggregation.columns(new DayAccumulator()).get();
+        aggregation.run();
+
+        //The partitions are merged by day, regardless of when they finished
+        assertThat(submissions).containsExactlyElementsOf(subreddit.submissions);
+        assertThat(days).containsExactlyElementsOf(days(0, DAYS));
+    }
+
+    @Test
+    public void testRepeatedRuns(){
+        List<Submission> expectedSubmissions = command.getTopSubmissions(subreddit, range, 5);
+        List<Comment> expectedComments = command.getTopComments(subreddit, range, 5);
+        ColumnStatistics expected = command.getStatistics(subreddit, range, null);
+
+        for(int i = 0 ; i < 5 ; ++i){
+            //Alternate between cached and freshly built columns
+            if(i % 2 == 0)
+                Aggregation.CACHE.invalidateAll();
+
+            ColumnStatistics statistics = command.getStatistics(subreddit, range, null);
+
+            assertThat(command.getTopSubmissions(subreddit, range, 5)).containsExactlyElementsOf(expectedSubmissions);
+            assertThat(command.getTopComments(subreddit, range, 5)).containsExactlyElementsOf(expectedComments);
+            assertThat(statistics.getSubmissions()).isEqualTo(expected.getSubmissions());
+            assertThat(statistics.getComments()).isEqualTo(expected.getComments());
+            assertThat(statistics.getSubmissionScore()).isEqualTo(expected.getSubmissionScore());
+            assertThat(statistics.getCommentScore()).isEqualTo(expected.getCommentScore());
+            assertThat(statistics.getUniqueSubmitters()).isEqualTo(expected.getUniqueSubmitters());
+            assertThat(statistics.getUniqueCommenters()).isEqualTo(expected.getUniqueCommenters());
+        }
+    }
+
+    @Test
+    public void testPartiallyCached(){
+        for(int i = 2 ; i < 5 ; ++i)
+            Aggregation.CACHE.get(subreddit, day(i), null);
+        subreddit.requests.clear();
+
+        Aggregation aggregation = new Aggregation(subreddit, range);
+        List<Instant> days = aggregation.columns(new DayAccumulator()).get();
+        ColumnStatistics statistics = aggregation.columns(new ColumnStatistics(null, true));
+        aggregation.run();
+
+        //Only the missing days are requested
+        assertThat(subreddit.requests).containsExactlyInAnyOrder(
+                Range.closedOpen(day(0), day(2)),
+                Range.closedOpen(day(5), day(DAYS))
+        );
+        assertThat(days).containsExactlyElementsOf(days(0, DAYS));
+        assertThat(statistics.getSubmissions()).isEqualTo(subreddit.submissions.size());
+        assertThat(statistics.getComments()).isEqualTo(comments.size());
+    }
+
+    @Test
+    public void testCachedSubmissions(){
+        for(int i = 0 ; i < DAYS ; ++i)
+            Aggregation.CACHE.get(subreddit, day(i), null);
+        subreddit.requests.clear();
+
+        //The columns don't contain the submissions themselves
+        assertThat(Aggregation.ofSubmissions(subreddit, range, new CountAccumulator<>())).isEqualTo(subreddit.submissions.size());
+        assertThat(subreddit.requests).containsExactlyInAnyOrder(
+                Range.closedOpen(day(0), day(7)),
+                Range.closedOpen(day(7), day(DAYS))
+        );
+    }
+
+    @Test
+    public void testPartitionLimit(){
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maximum = new AtomicInteger();
+
+        Aggregation.ofColumns(subreddit, range, new ConcurrencyAccumulator(active, maximum));
+
+        assertThat(maximum.get()).isBetween(1, Aggregation.PARTITIONS_PER_AGGREGATION);
+    }
+
+    @Test
+    public void testSubredditFailure(){
+        RuntimeException failure = new IllegalStateException();
+        subreddit.failure = failure;
+
+        assertThatThrownBy(() -> command.getTopSubmissions(subreddit, range, 5))
+                .satisfies(e -> assertThat(Throwables.getCausalChain(e)).contains(failure));
+
+        //The failed aggregation mustn't leave any workers behind
+        subreddit.failure = null;
+        assertThat(command.getTopSubmissions(subreddit, range, 5)).hasSize(5);
+    }
+
+    @Test
+    public void testAccumulatorFailure(){
+        RuntimeException failure = new IllegalStateException();
+        Aggregation aggregation = new Aggregation(subreddit, range);
+        aggregation.columns(new DayAccumulator(){
+            @Override
+            public void accept(@Nonnull SnowflakeColumns columns){
+                if(columns.getDay().equals(day(5)))
+                    throw failure;
+            }
+
+            @Nonnull
+            @Override
+            public DayAccumulator copy(){
+                return this;
+            }
+        });
+
+        //The cause of the failed partition is rethrown
+        assertThatThrownBy(aggregation::run).isSameAs(failure);
+    }
+
+    private static long score(@Nonnull List<Submission> submissions){
+        return submissions.stream().mapToLong(Submission::getScore).sum();
+    }
+
+    /**
+     * Collects the day of every column block it receives.
+     */
+    static class DayAccumulator implements ColumnAccumulator<List<Instant>> {
+        final List<Instant> days = new ArrayList<>();
+
+        @Override
+        public void accept(@Nonnull SnowflakeColumns columns){
+            days.add(columns.getDay());
+        }
+
+        @Nonnull
+        @Override
+        public List<Instant> get(){
+            return days;
+        }
+
+        @Nonnull
+        @Override
+        public DayAccumulator copy(){
+            return new DayAccumulator();
+        }
+
+        @Override
+        public void combine(@Nonnull Accumulator<SnowflakeColumns, List<Instant>> other){
+            days.addAll(other.get());
+        }
+    }
+
+    /**
+     * Keeps track of the maximum number of partitions that are evaluated at the same time.
+     */
+    static class ConcurrencyAccumulator implements ColumnAccumulator<Integer> {
+        final AtomicInteger active;
+        final AtomicInteger maximum;
+
+        ConcurrencyAccumulator(@Nonnull AtomicInteger active, @Nonnull AtomicInteger maximum){
+            this.active = active;
+            this.maximum = maximum;
+        }
+
+        @Override
+        public void accept(@Nonnull SnowflakeColumns columns){
+            maximum.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Uninterruptibles.sleepUninterruptibly(20, TimeUnit.MILLISECONDS);
+            active.decrementAndGet();
+        }
+
+        @Nonnull
+        @Override
+        public Integer get(){
+            return maximum.get();
+        }
+
+        @Nonnull
+        @Override
+        public ConcurrencyAccumulator copy(){
+            return new ConcurrencyAccumulator(active, maximum);
+        }
+
+        @Override
+        public void combine(@Nonnull Accumulator<SnowflakeColumns, Integer> other){
+        }
+    }
+}
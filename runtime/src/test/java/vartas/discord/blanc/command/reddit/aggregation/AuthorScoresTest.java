@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AuthorScoresTest {
+    @Test
+    public void testAdd(){
+        AuthorScores scores = new AuthorScores();
+        scores.add("User1", 10);
+        scores.add("User2", 5);
+        scores.add("User1", -3);
+
+        List<Leader> leaders = scores.top(2);
+        assertThat(scores.size()).isEqualTo(2);
+        assertThat(leaders).extracting(Leader::getAuthor).containsExactly("User1", "User2");
+        assertThat(leaders).extracting(Leader::getScore).containsExactly(7L, 5L);
+        assertThat(leaders).extracting(Leader::getCount).containsExactly(2L, 1L);
+    }
+
+    @Test
+    public void testResize(){
+        AuthorScores scores = new AuthorScores();
+        //Exceeds the initial capacity several times
+        for(int i = 0 ; i < 10000 ; ++i)
+            scores.add("User" + i, i);
+        for(int i = 0 ; i < 10000 ; ++i)
+            scores.add("User" + i, i);
+
+        assertThat(scores.size()).isEqualTo(10000);
+        assertThat(scores.top(10000)).allSatisfy(leader -> {
+            assertThat(leader.getScore()).isEqualTo(2L * Long.parseLong(leader.getAuthor().substring(4)));
+            assertThat(leader.getCount()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    public void testTop(){
+        AuthorScores scores = new AuthorScores();
+        scores.add("User3", 1);
+        scores.add("User2", 5);
+        scores.add("User1", 5);
+        scores.add("User4", 3);
+
+        //Ties are broken by the name
+        assertThat(scores.top(3)).extracting(Leader::getAuthor).containsExactly("User1", "User2", "User4");
+        assertThat(scores.top(0)).isEmpty();
+    }
+
+    @Test
+    public void testMerge(){
+        AuthorScores first = new AuthorScores();
+        AuthorScores second = new AuthorScores();
+
+        first.add("User1", 1);
+        first.add("User2", 2);
+        second.add("User2", 3);
+        second.add("User3", 4);
+
+        first.merge(second);
+
+        assertThat(first.size()).isEqualTo(3);
+        assertThat(first.top(3)).extracting(Leader::getAuthor).containsExactly("User2", "User3", "User1");
+        assertThat(first.top(1).get(0).getCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.mock.CommentMock;
+import vartas.discord.blanc.mock.SubmissionMock;
+import vartas.reddit.Submission;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ColumnStatisticsTest {
+    private static final Instant DAY = Instant.now().truncatedTo(ChronoUnit.DAYS).minus(7, ChronoUnit.DAYS);
+    SnowflakeColumns first;
+    SnowflakeColumns second;
+
+    @BeforeEach
+    public void setUp(){
+        Submission submission1 = SubmissionMock.create("a", "User1", 10, DAY);
+        Submission submission2 = SubmissionMock.create("b", "User2", 5, DAY);
+        Submission submission3 = SubmissionMock.create("c", "[deleted]", 1, DAY);
+        submission2.setNsfw(true);
+        submission3.setSpoiler(true);
+        CommentMock.create(submission1, "User2", 3);
+        CommentMock.create(submission1, "User3", -1);
+        CommentMock.create(submission2, "User1", 2);
+
+        Instant next = DAY.plus(1, ChronoUnit.DAYS);
+        Submission submission4 = SubmissionMock.create("d", "User3", 7, next);
+        CommentMock.create(submission4, "User1", 4);
+
+        first = new SnowflakeColumns(DAY, List.of(submission1, submission2, submission3));
+        second = new SnowflakeColumns(next, List.of(submission4));
+    }
+
+    @Test
+    public void testAccept(){
+        ColumnStatistics statistics = new ColumnStatistics(null, true);
+        statistics.accept(first);
+        statistics.accept(second);
+
+        assertThat(statistics.isExact()).isTrue();
+        assertThat(statistics.getSubmissions()).isEqualTo(4);
+        assertThat(statistics.getNsfwSubmissions()).isEqualTo(1);
+        assertThat(statistics.getSpoilerSubmissions()).isEqualTo(1);
+        assertThat(statistics.getComments()).isEqualTo(4);
+        assertThat(statistics.getSubmissionScore()).isEqualTo(23);
+        assertThat(statistics.getCommentScore()).isEqualTo(8);
+        //Deleted accounts aren't counted
+        assertThat(statistics.getUniqueSubmitters()).isEqualTo(3);
+        assertThat(statistics.getUniqueCommenters()).isEqualTo(3);
+    }
+
+    @Test
+    public void testAccount(){
+        ColumnStatistics statistics = new ColumnStatistics("User1", true);
+        statistics.accept(first);
+        statistics.accept(second);
+
+        assertThat(statistics.getSubmissions()).isEqualTo(1);
+        assertThat(statistics.getSubmissionScore()).isEqualTo(10);
+        assertThat(statistics.getComments()).isEqualTo(2);
+        assertThat(statistics.getCommentScore()).isEqualTo(6);
+        assertThat(statistics.getUniqueSubmitters()).isEqualTo(1);
+        assertThat(statistics.getUniqueCommenters()).isEqualTo(1);
+    }
+
+    @Test
+    public void testUnknownAccount(){
+        ColumnStatistics statistics = new ColumnStatistics("User4", true);
+        statistics.accept(first);
+
+        assertThat(statistics.getSubmissions()).isEqualTo(0);
+        assertThat(statistics.getComments()).isEqualTo(0);
+    }
+
+    @Test
+    public void testApproximate(){
+        ColumnStatistics statistics = new ColumnStatistics(null, false);
+        statistics.accept(first);
+        statistics.accept(second);
+
+        assertThat(statistics.isExact()).isFalse();
+        assertThat(statistics.getUniqueSubmitters()).isEqualTo(3);
+        assertThat(statistics.getUniqueCommenters()).isEqualTo(3);
+    }
+
+    @Test
+    public void testCombine(){
+        ColumnStatistics statistics = new ColumnStatistics(null, true);
+        ColumnStatistics other = statistics.copy();
+        statistics.accept(first);
+        other.accept(second);
+        statistics.combine(other);
+
+        assertThat(statistics.getSubmissions()).isEqualTo(4);
+        assertThat(statistics.getComments()).isEqualTo(4);
+        assertThat(statistics.getUniqueSubmitters()).isEqualTo(3);
+        assertThat(statistics.getUniqueCommenters()).isEqualTo(3);
+    }
+}
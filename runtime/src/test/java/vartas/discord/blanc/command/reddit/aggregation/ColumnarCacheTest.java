@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.mock.CommentMock;
+import vartas.discord.blanc.mock.SubmissionMock;
+import vartas.discord.blanc.mock.SubredditMock;
+import vartas.reddit.Submission;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ColumnarCacheTest {
+    private static final Instant TODAY = Instant.now().truncatedTo(ChronoUnit.DAYS);
+    private static final Instant YESTERDAY = TODAY.minus(1, ChronoUnit.DAYS);
+    SubredditMock subreddit;
+    ColumnarCache cache;
+
+    @BeforeEach
+    public void setUp(){
+        subreddit = SubredditMock.create("Subreddit");
+        cache = new ColumnarCache();
+
+        Submission submission = SubmissionMock.create("a", "User1", 10, YESTERDAY.plusSeconds(60));
+        CommentMock.create(submission, "User2", 3);
+        subreddit.submissions.add(submission);
+        subreddit.submissions.add(SubmissionMock.create("b", "User2", 5, TODAY.plusSeconds(60)));
+    }
+
+    @Test
+    public void testGet(){
+        SnowflakeColumns columns = cache.get(subreddit, YESTERDAY, null);
+
+        assertThat(columns.getDay()).isEqualTo(YESTERDAY);
+        assertThat(columns.getSubmissionCount()).isEqualTo(1);
+        assertThat(columns.getCommentCount()).isEqualTo(1);
+        assertThat(columns.getAuthors().decode(columns.getSubmissionAuthor(0))).isEqualTo("User1");
+        assertThat(columns.getAuthors().decode(columns.getCommentAuthor(0))).isEqualTo("User2");
+        assertThat(cache.contains(subreddit, YESTERDAY)).isTrue();
+        assertThat(subreddit.requests).hasSize(1);
+
+        //The second request is answered by the cache
+        assertThat(cache.get(subreddit, YESTERDAY, null)).isSameAs(columns);
+        assertThat(subreddit.requests).hasSize(1);
+    }
+
+    @Test
+    public void testGetWithSubmissions(){
+        SnowflakeColumns columns = cache.get(subreddit, YESTERDAY, List.of());
+
+        assertThat(columns.getSubmissionCount()).isEqualTo(0);
+        assertThat(subreddit.requests).isEmpty();
+    }
+
+    @Test
+    public void testIgnoreCase(){
+        SnowflakeColumns columns = cache.get(subreddit, YESTERDAY, null);
+
+        assertThat(cache.contains(SubredditMock.create("subreddit"), YESTERDAY)).isTrue();
+        assertThat(cache.get(SubredditMock.create("SUBREDDIT"), YESTERDAY, null)).isSameAs(columns);
+    }
+
+    @Test
+    public void testToday(){
+        //The current day may still change and is therefore never cached
+        assertThat(cache.get(subreddit, TODAY, null).getSubmissionCount()).isEqualTo(1);
+        assertThat(cache.contains(subreddit, TODAY)).isFalse();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testMaximumWeight(){
+        cache = new ColumnarCache(1);
+
+        //The columns are still returned, even if they can't be cached
+        assertThat(cache.get(subreddit, YESTERDAY, null).getSubmissionCount()).isEqualTo(1);
+        assertThat(cache.contains(subreddit, YESTERDAY)).isFalse();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testInvalidateAll(){
+        cache.get(subreddit, YESTERDAY, null);
+        cache.invalidateAll();
+
+        assertThat(cache.contains(subreddit, YESTERDAY)).isFalse();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.mock.CommentMock;
+import vartas.discord.blanc.mock.SubmissionMock;
+import vartas.reddit.Submission;
+
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DailyRollupTest {
+    DailyRollup rollup;
+    Instant day = Instant.parse("2020-05-01T00:00:00Z");
+
+    @BeforeEach
+    public void setUp(){
+        Submission first = SubmissionMock.create("a", "User", 10, day);
+        first.setNsfw(true);
+        CommentMock.create(first, "User", 1);
+        CommentMock.create(first, "Commenter", 2);
+        CommentMock.create(first, "[deleted]", 3);
+
+        Submission second = SubmissionMock.create("b", "[deleted]", 20, day);
+        second.setSpoiler(true);
+
+        rollup = new DailyRollup();
+        rollup.accept(first);
+        rollup.accept(second);
+    }
+
+    @Test
+    public void testAccept(){
+        assertThat(rollup.getSubmissions()).isEqualTo(2);
+        assertThat(rollup.getNsfwSubmissions()).isEqualTo(1);
+        assertThat(rollup.getSpoilerSubmissions()).isEqualTo(1);
+        assertThat(rollup.getSubmissionScore()).isEqualTo(30);
+        assertThat(rollup.getComments()).isEqualTo(3);
+        assertThat(rollup.getCommentScore()).isEqualTo(6);
+        assertThat(rollup.getUniqueSubmitters()).isEqualTo(1);
+        assertThat(rollup.getUniqueCommenters()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCombine(){
+        DailyRollup other = rollup.copy();
+        other.accept(SubmissionMock.create("c", "Submitter", 5, day));
+
+        rollup.combine(other);
+        assertThat(rollup.getSubmissions()).isEqualTo(3);
+        assertThat(rollup.getSubmissionScore()).isEqualTo(35);
+        assertThat(rollup.getUniqueSubmitters()).isEqualTo(2);
+        assertThat(rollup.getUniqueCommenters()).isEqualTo(2);
+    }
+
+    @Test
+    public void testToJson(){
+        JSONObject json = rollup.toJson();
+        DailyRollup copy = DailyRollup.fromJson(json);
+
+        assertThat(copy.getSubmissions()).isEqualTo(2);
+        assertThat(copy.getCommentScore()).isEqualTo(6);
+        assertThat(copy.getUniqueSubmitters()).isEqualTo(1);
+        assertThat(copy.getUniqueCommenters()).isEqualTo(2);
+        //Small sketches are stored in the sparse format
+        assertThat(Base64.getDecoder().decode(json.getString("commenters"))).hasSize(7);
+    }
+
+    @Test
+    public void testFromDenseJson(){
+        HyperLogLog sketch = new HyperLogLog();
+        for(int i = 0 ; i < 100000 ; ++i)
+            sketch.add("User" + i);
+
+        JSONObject json = rollup.toJson();
+        json.put("submitters", Base64.getEncoder().encodeToString(sketch.toByteArray()));
+
+        assertThat(DailyRollup.fromJson(json).getUniqueSubmitters()).isEqualTo(sketch.estimate());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DictionaryTest {
+    @Test
+    public void testEncode(){
+        Dictionary dictionary = new Dictionary();
+        assertThat(dictionary.encode("User1")).isEqualTo(0);
+        assertThat(dictionary.encode("User2")).isEqualTo(1);
+        assertThat(dictionary.encode("User1")).isEqualTo(0);
+        assertThat(dictionary.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testLookup(){
+        Dictionary dictionary = new Dictionary();
+        dictionary.encode("User");
+        assertThat(dictionary.lookup("User")).isEqualTo(0);
+        assertThat(dictionary.lookup("Other")).isEqualTo(Dictionary.ABSENT);
+        //A lookup doesn't assign a new code
+        assertThat(dictionary.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDecode(){
+        Dictionary dictionary = new Dictionary();
+        for(int i = 0 ; i < 100 ; ++i)
+            assertThat(dictionary.decode(dictionary.encode("User" + i))).isEqualTo("User" + i);
+    }
+
+    @Test
+    public void testConcurrentEncode(){
+        Dictionary dictionary = new Dictionary();
+        IntStream.range(0, 10000).parallel().forEach(i -> dictionary.encode("User" + (i % 1000)));
+
+        assertThat(dictionary.size()).isEqualTo(1000);
+        for(int i = 0 ; i < 1000 ; ++i)
+            assertThat(dictionary.decode(dictionary.lookup("User" + i))).isEqualTo("User" + i);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.mock.SubmissionMock;
+import vartas.reddit.Submission;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FlairAccumulatorTest {
+    Instant day = Instant.parse("2020-05-01T00:00:00Z");
+    SnowflakeColumns first;
+    SnowflakeColumns second;
+
+    private Submission create(String id, Instant created, String flair){
+        Submission submission = SubmissionMock.create(id, "User", 1, created);
+        submission.setLinkFlairText(Optional.ofNullable(flair));
+        return submission;
+    }
+
+    @BeforeEach
+    public void setUp(){
+        Instant next = day.plus(1, ChronoUnit.DAYS);
+
+        first = new SnowflakeColumns(day, List.of(create("a", day, "Meme"), create("b", day, "News"), create("c", day, "Meme"), create("d", day, null)));
+        second = new SnowflakeColumns(next, List.of(create("e", next, "News"), create("f", next, " ")));
+    }
+
+    @Test
+    public void testAccept(){
+        FlairAccumulator accumulator = new FlairAccumulator();
+        accumulator.accept(first);
+        accumulator.accept(second);
+
+        //Blank flairs are treated as missing flairs
+        assertThat(accumulator.get()).isEqualTo(Map.of("Meme", 2L, "News", 2L, FlairAccumulator.UNFLAIRED, 2L));
+    }
+
+    @Test
+    public void testCombine(){
+        FlairAccumulator accumulator = new FlairAccumulator();
+        FlairAccumulator other = accumulator.copy();
+        accumulator.accept(first);
+        other.accept(second);
+        accumulator.combine(other);
+
+        assertThat(accumulator.get()).isEqualTo(Map.of("Meme", 2L, "News", 2L, FlairAccumulator.UNFLAIRED, 2L));
+    }
+}
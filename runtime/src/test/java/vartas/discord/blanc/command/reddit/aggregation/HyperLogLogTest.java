@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HyperLogLogTest {
+    @Test
+    public void testEmpty(){
+        assertThat(new HyperLogLog().estimate()).isEqualTo(0);
+    }
+
+    @Test
+    public void testDuplicates(){
+        HyperLogLog sketch = new HyperLogLog();
+        for(int i = 0 ; i < 1000 ; ++i)
+            sketch.add("User");
+        assertThat(sketch.estimate()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 10000, 100000})
+    public void testErrorBound(int size){
+        HyperLogLog sketch = new HyperLogLog();
+        for(int i = 0 ; i < size ; ++i)
+            sketch.add("User" + i);
+        //Three standard deviations
+        assertThat((double)sketch.estimate()).isCloseTo(size, within(3 * sketch.getRelativeError() * size));
+    }
+
+    @Test
+    public void testMerge(){
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+
+        for(int i = 0 ; i < 20000 ; ++i){
+            if(i < 15000)
+                first.add("User" + i);
+            if(i >= 5000)
+                second.add("User" + i);
+            union.add("User" + i);
+        }
+
+        first.merge(second);
+        assertThat(first).isEqualTo(union);
+    }
+
+    @Test
+    public void testMergeIncompatible(){
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(10).merge(new HyperLogLog(12)));
+    }
+
+    @Test
+    public void testInvalidPrecision(){
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(HyperLogLog.MIN_PRECISION - 1));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(HyperLogLog.MAX_PRECISION + 1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 100, 100000})
+    public void testToByteArray(int size){
+        HyperLogLog sketch = new HyperLogLog();
+        for(int i = 0 ; i < size ; ++i)
+            sketch.add("User" + i);
+        assertThat(HyperLogLog.fromByteArray(sketch.toByteArray())).isEqualTo(sketch);
+    }
+
+    @Test
+    public void testSparseByteArray(){
+        HyperLogLog sketch = new HyperLogLog();
+        for(int i = 0 ; i < 10 ; ++i)
+            sketch.add("User" + i);
+        //Three bytes per register, instead of one byte for each of the 4096 registers
+        assertThat(sketch.toByteArray()).hasSize(31);
+    }
+
+    @Test
+    public void testDenseByteArray(){
+        HyperLogLog sketch = new HyperLogLog();
+        for(int i = 0 ; i < 100000 ; ++i)
+            sketch.add("User" + i);
+        assertThat(sketch.toByteArray()).hasSize(4097);
+    }
+
+    @Test
+    public void testInvalidByteArray(){
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromByteArray(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromByteArray(new byte[]{12, 0, 0}));
+    }
+}
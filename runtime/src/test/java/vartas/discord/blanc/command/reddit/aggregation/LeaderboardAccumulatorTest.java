@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LeaderboardAccumulatorTest {
+    private static final List<String> SNOWFLAKES = List.of("A:5", "B:3", "A:1", "C:4", "B:3", "A:2", "D:1");
+
+    private LeaderboardAccumulator<String> create(int size){
+        return new LeaderboardAccumulator<>(
+                value -> value.substring(0, 1),
+                value -> Long.parseLong(value.substring(2)),
+                author -> !author.equals("D"),
+                size
+        );
+    }
+
+    @Test
+    public void testGet(){
+        LeaderboardAccumulator<String> accumulator = create(2);
+        SNOWFLAKES.forEach(accumulator::accept);
+
+        List<Leader> leaders = accumulator.get();
+        assertThat(leaders).extracting(Leader::getAuthor).containsExactly("A", "B");
+        assertThat(leaders).extracting(Leader::getScore).containsExactly(8L, 6L);
+        assertThat(leaders).extracting(Leader::getCount).containsExactly(3L, 2L);
+    }
+
+    @Test
+    public void testFilter(){
+        LeaderboardAccumulator<String> accumulator = create(10);
+        SNOWFLAKES.forEach(accumulator::accept);
+
+        assertThat(accumulator.get()).extracting(Leader::getAuthor).containsExactly("A", "B", "C");
+    }
+
+    @Test
+    public void testCombine(){
+        LeaderboardAccumulator<String> expected = create(2);
+        LeaderboardAccumulator<String> first = create(2);
+        LeaderboardAccumulator<String> second = first.copy();
+
+        for(int i = 0 ; i < SNOWFLAKES.size() ; ++i){
+            expected.accept(SNOWFLAKES.get(i));
+            (i % 2 == 0 ? first : second).accept(SNOWFLAKES.get(i));
+        }
+
+        first.combine(second);
+        //Leaders don't implement equals
+        assertThat(first.get()).extracting(Leader::toString).isEqualTo(expected.get().stream().map(Leader::toString).collect(Collectors.toList()));
+    }
+}
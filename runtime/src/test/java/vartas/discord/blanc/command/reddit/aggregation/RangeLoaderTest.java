@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import com.google.common.collect.Range;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.mock.SubmissionMock;
+import vartas.discord.blanc.mock.SubredditMock;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RangeLoaderTest {
+    private static final Instant FROM = Instant.parse("2020-05-01T00:00:00Z");
+    SubredditMock subreddit;
+
+    @BeforeEach
+    public void setUp(){
+        subreddit = SubredditMock.create("Subreddit");
+        for(int i = 0 ; i < 10 ; ++i)
+            subreddit.submissions.add(SubmissionMock.create(Integer.toString(i), "User", i, day(i).plusSeconds(3600)));
+    }
+
+    private static Instant day(int offset){
+        return FROM.plus(offset, ChronoUnit.DAYS);
+    }
+
+    private static List<Instant> days(int... offsets){
+        List<Instant> days = new ArrayList<>();
+        for(int offset : offsets)
+            days.add(day(offset));
+        return days;
+    }
+
+    private static List<RangeLoader.Chunk> consume(RangeLoader loader){
+        List<RangeLoader.Chunk> chunks = new ArrayList<>();
+        while(loader.hasNext())
+            chunks.add(loader.next());
+        return chunks;
+    }
+
+    @Test
+    public void testBlocks(){
+        List<RangeLoader.Chunk> chunks = consume(new RangeLoader(subreddit, days(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), 4));
+
+        assertThat(chunks).extracting(RangeLoader.Chunk::getDay).isEqualTo(days(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        assertThat(subreddit.requests).containsExactlyInAnyOrder(
+                Range.closedOpen(day(0), day(4)),
+                Range.closedOpen(day(4), day(8)),
+                Range.closedOpen(day(8), day(10))
+        );
+    }
+
+    @Test
+    public void testGaps(){
+        List<RangeLoader.Chunk> chunks = consume(new RangeLoader(subreddit, days(0, 1, 3, 4, 5, 9), 7));
+
+        //Days that aren't adjacent are requested separately
+        assertThat(chunks).extracting(RangeLoader.Chunk::getDay).isEqualTo(days(0, 1, 3, 4, 5, 9));
+        assertThat(subreddit.requests).containsExactlyInAnyOrder(
+                Range.closedOpen(day(0), day(2)),
+                Range.closedOpen(day(3), day(6)),
+                Range.closedOpen(day(9), day(10))
+        );
+    }
+
+    @Test
+    public void testChunks(){
+        subreddit.submissions.add(SubmissionMock.create("a", "User", 0, day(1).plusSeconds(7200)));
+        List<RangeLoader.Chunk> chunks = consume(new RangeLoader(subreddit, Range.closed(day(0), day(2))));
+
+        assertThat(chunks).extracting(RangeLoader.Chunk::getDay).isEqualTo(days(0, 1, 2));
+        assertThat(chunks.get(0).getSubmissions()).extracting(submission -> submission.getId()).containsExactly("0");
+        assertThat(chunks.get(1).getSubmissions()).extracting(submission -> submission.getId()).containsExactly("1", "a");
+        assertThat(chunks.get(2).getSubmissions()).extracting(submission -> submission.getId()).containsExactly("2");
+        assertThat(subreddit.requests).containsExactly(Range.closedOpen(day(0), day(3)));
+    }
+
+    @Test
+    public void testEmptyDays(){
+        subreddit.submissions.clear();
+        List<RangeLoader.Chunk> chunks = consume(new RangeLoader(subreddit, days(0, 1), 7));
+
+        //Days without submissions still have a chunk
+        assertThat(chunks).extracting(RangeLoader.Chunk::getDay).isEqualTo(days(0, 1));
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.getSubmissions()).isEmpty());
+    }
+
+    @Test
+    public void testNoDays(){
+        RangeLoader loader = new RangeLoader(subreddit, List.of(), 7);
+
+        assertThat(loader.hasNext()).isFalse();
+        assertThrows(NoSuchElementException.class, loader::next);
+        assertThat(subreddit.requests).isEmpty();
+    }
+
+    @Test
+    public void testClose(){
+        RangeLoader loader = new RangeLoader(subreddit, days(0, 1, 2, 3, 4, 5, 6, 7, 8), 3);
+
+        assertThat(loader.next().getDay()).isEqualTo(day(0));
+        loader.close();
+
+        assertThat(loader.hasNext()).isFalse();
+        assertThrows(NoSuchElementException.class, loader::next);
+        //At most the current and the next block have been requested
+        assertThat(subreddit.requests).contains(Range.closedOpen(day(0), day(3)));
+        assertThat(subreddit.requests).doesNotContain(Range.closedOpen(day(6), day(9)));
+    }
+
+    @Test
+    public void testInvalidDaysPerRequest(){
+        assertThrows(IllegalArgumentException.class, () -> new RangeLoader(subreddit, days(0), 0));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import com.google.common.collect.Range;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.mock.CommentMock;
+import vartas.discord.blanc.mock.SubmissionMock;
+import vartas.discord.blanc.mock.SubredditMock;
+import vartas.reddit.Submission;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RollupStoreTest {
+    Path directory = Paths.get("target", "test", "rollups");
+    Instant from = Instant.parse("2020-05-01T00:00:00Z");
+    SubredditMock subreddit;
+    RollupStore store;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        if(Files.exists(directory))
+            try(Stream<Path> paths = Files.walk(directory)){
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+
+        subreddit = SubredditMock.create("Subreddit");
+        store = new RollupStore(directory);
+
+        for(int i = 0 ; i < 4 ; ++i){
+            Submission submission = SubmissionMock.create(Integer.toString(i), "User" + i, i, day(i).plusSeconds(3600));
+            CommentMock.create(submission, "Commenter", 1);
+            subreddit.submissions.add(submission);
+        }
+    }
+
+    private Instant day(int offset){
+        return from.plus(offset, ChronoUnit.DAYS);
+    }
+
+    private Range<Instant> range(int first, int last){
+        return Range.closed(day(first), day(last));
+    }
+
+    private List<String> readLines() throws IOException {
+        return Files.readAllLines(directory.resolve("subreddit.jsonl")).stream().filter(line -> !line.isBlank()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testGetRollups() throws IOException {
+        NavigableMap<Instant, DailyRollup> rollups = store.getRollups(subreddit, range(0, 2));
+
+        assertThat(rollups.keySet()).containsExactly(day(0), day(1), day(2));
+        assertThat(rollups.values()).extracting(DailyRollup::getSubmissions).containsExactly(1L, 1L, 1L);
+        assertThat(rollups.values()).extracting(DailyRollup::getSubmissionScore).containsExactly(0L, 1L, 2L);
+        assertThat(rollups.values()).extracting(DailyRollup::getComments).containsExactly(1L, 1L, 1L);
+        assertThat(rollups.values()).extracting(DailyRollup::getUniqueCommenters).containsExactly(1L, 1L, 1L);
+        //One rollup per line
+        assertThat(readLines()).hasSize(3);
+    }
+
+    @Test
+    public void testCache(){
+        store.getRollups(subreddit, range(0, 2));
+        int requests = subreddit.requests.size();
+
+        assertThat(store.getRollups(subreddit, range(0, 2))).hasSize(3);
+        assertThat(subreddit.requests).hasSize(requests);
+    }
+
+    @Test
+    public void testPersistence(){
+        store.getRollups(subreddit, range(0, 2));
+        SubredditMock other = SubredditMock.create("SUBREDDIT");
+
+        //The rollups of a new instance are read from disk
+        NavigableMap<Instant, DailyRollup> rollups = new RollupStore(directory).getRollups(other, range(0, 2));
+        assertThat(rollups.values()).extracting(DailyRollup::getSubmissionScore).containsExactly(0L, 1L, 2L);
+        assertThat(other.requests).isEmpty();
+    }
+
+    @Test
+    public void testAppend() throws IOException {
+        store.getRollups(subreddit, range(0, 1));
+        List<String> lines = readLines();
+        subreddit.requests.clear();
+
+        store.getRollups(subreddit, range(0, 3));
+
+        //Only the new days are requested and appended to the file
+        assertThat(subreddit.requests).containsExactly(Range.closedOpen(day(2), day(4)));
+        assertThat(readLines()).hasSize(4).startsWith(lines.toArray(new String[0]));
+    }
+
+    @Test
+    public void testToday() throws IOException {
+        Instant today = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        store.getRollups(subreddit, Range.closed(today.minus(1, ChronoUnit.DAYS), today));
+        subreddit.requests.clear();
+
+        //The current day is never stored
+        store.getRollups(subreddit, Range.closed(today.minus(1, ChronoUnit.DAYS), today));
+        assertThat(subreddit.requests).containsExactly(Range.closedOpen(today, today.plus(1, ChronoUnit.DAYS)));
+        assertThat(readLines()).hasSize(1);
+    }
+
+    @Test
+    public void testInvalidLine() throws IOException {
+        store.getRollups(subreddit, range(0, 1));
+        //An interrupted write
+        Files.writeString(directory.resolve("subreddit.jsonl"), readLines().get(0) + System.lineSeparator() + "{\"submissions\":", StandardCharsets.UTF_8);
+        subreddit.requests.clear();
+
+        NavigableMap<Instant, DailyRollup> rollups = new RollupStore(directory).getRollups(subreddit, range(0, 1));
+
+        assertThat(rollups.values()).extracting(DailyRollup::getSubmissionScore).containsExactly(0L, 1L);
+        assertThat(subreddit.requests).containsExactly(Range.closedOpen(day(1), day(2)));
+    }
+}
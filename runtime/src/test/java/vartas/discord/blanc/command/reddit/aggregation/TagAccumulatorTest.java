@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vartas.discord.blanc.mock.SubmissionMock;
+import vartas.reddit.Submission;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TagAccumulatorTest {
+    Instant day = Instant.parse("2020-05-01T00:00:00Z");
+    SnowflakeColumns columns;
+
+    @BeforeEach
+    public void setUp(){
+        Submission nsfw = SubmissionMock.create("a", "User", 1, day);
+        Submission spoiler = SubmissionMock.create("b", "User", 1, day);
+        Submission both = SubmissionMock.create("c", "User", 1, day);
+        Submission untagged = SubmissionMock.create("d", "User", 1, day);
+
+        nsfw.setNsfw(true);
+        spoiler.setSpoiler(true);
+        both.setNsfw(true);
+        both.setSpoiler(true);
+
+        columns = new SnowflakeColumns(day, List.of(nsfw, spoiler, both, untagged, SubmissionMock.create("e", "User", 1, day)));
+    }
+
+    @Test
+    public void testAccept(){
+        TagAccumulator accumulator = new TagAccumulator();
+        accumulator.accept(columns);
+
+        assertThat(accumulator.getNsfw()).isEqualTo(1);
+        assertThat(accumulator.getSpoiler()).isEqualTo(1);
+        assertThat(accumulator.getBoth()).isEqualTo(1);
+        assertThat(accumulator.getUntagged()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCombine(){
+        TagAccumulator accumulator = new TagAccumulator();
+        TagAccumulator other = accumulator.copy();
+        accumulator.accept(columns);
+        other.accept(columns);
+        accumulator.combine(other);
+
+        assertThat(accumulator.getNsfw()).isEqualTo(2);
+        assertThat(accumulator.getSpoiler()).isEqualTo(2);
+        assertThat(accumulator.getBoth()).isEqualTo(2);
+        assertThat(accumulator.getUntagged()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.command.reddit.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TopKTest {
+    @Test
+    public void testAdd(){
+        TopK<Integer> top = new TopK<>(3, Comparator.reverseOrder());
+        for(int i = 0 ; i < 10 ; ++i)
+            top.add(i);
+        assertThat(top).containsExactly(9, 8, 7);
+        assertThat(top.peekWorst()).isEqualTo(7);
+    }
+
+    @Test
+    public void testReject(){
+        TopK<Integer> top = new TopK<>(2, Comparator.reverseOrder());
+        assertThat(top.add(5)).isTrue();
+        assertThat(top.add(4)).isTrue();
+        assertThat(top.add(3)).isFalse();
+        assertThat(top.add(6)).isTrue();
+        assertThat(top.toList()).containsExactly(6, 5);
+    }
+
+    @Test
+    public void testTies(){
+        Comparator<String> order = Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder());
+        TopK<String> first = new TopK<>(2, order);
+        TopK<String> second = new TopK<>(2, order);
+
+        List.of("ccc", "bbb", "aaa").forEach(first::add);
+        List.of("aaa", "bbb", "ccc").forEach(second::add);
+        //The result doesn't depend on the insertion order
+        assertThat(first.toList()).containsExactly("aaa", "bbb");
+        assertThat(second.toList()).isEqualTo(first.toList());
+    }
+
+    @Test
+    public void testMerge(){
+        TopK<Integer> first = new TopK<>(3, Comparator.reverseOrder());
+        TopK<Integer> second = new TopK<>(3, Comparator.reverseOrder());
+
+        List.of(1, 5, 9, 3).forEach(first::add);
+        List.of(2, 8, 4, 7).forEach(second::add);
+
+        first.merge(second);
+        assertThat(first).containsExactly(9, 8, 7);
+    }
+
+    @Test
+    public void testZeroCapacity(){
+        TopK<Integer> top = new TopK<>(0, Comparator.reverseOrder());
+        assertThat(top.add(1)).isFalse();
+        assertThat(top).isEmpty();
+        assertThat(top.peekWorst()).isNull();
+    }
+}
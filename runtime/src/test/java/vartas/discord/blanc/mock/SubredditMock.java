@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2020 Zavarov
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package vartas.discord.blanc.mock;
+
+import com.google.common.collect.Range;
+import vartas.reddit.Submission;
+import vartas.reddit.Subreddit;
+import vartas.reddit.factory.SubredditFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+public class SubredditMock extends Subreddit {
+    public List<Submission> submissions = new CopyOnWriteArrayList<>();
+    public List<Range<Instant>> requests = new CopyOnWriteArrayList<>();
+    public RuntimeException failure;
+
+    public static SubredditMock create(String name){
+        return (SubredditMock) SubredditFactory.create(SubredditMock::new, name, "Description", 0, name, Instant.EPOCH);
+    }
+
+    @Override
+    public List<Submission> getSubmissions(Instant inclusiveFrom, Instant exclusiveTo) {
+        Range<Instant> range = Range.closedOpen(inclusiveFrom, exclusiveTo);
+        requests.add(range);
+        if(failure != null)
+            throw failure;
+        return submissions.stream().filter(submission -> range.contains(submission.getCreated())).collect(Collectors.toCollection(ArrayList::new));
+    }
+}